@@ -0,0 +1,24 @@
+package com.serviciudad.application.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultarDeudaLoteRequest {
+
+    public static final int MAXIMO_CLIENTES = 5000;
+
+    @NotEmpty(message = "La lista de clientes es obligatoria")
+    @Size(max = MAXIMO_CLIENTES, message = "Se pueden consultar hasta " + MAXIMO_CLIENTES + " clientes por lote")
+    private List<@NotBlank(message = "El ID del cliente es obligatorio")
+        @Pattern(regexp = "^\\d{10}$", message = "El ID del cliente debe tener exactamente 10 dígitos") String> clienteIds;
+}
@@ -0,0 +1,24 @@
+package com.serviciudad.application.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrarPagosLoteRequest {
+
+    public static final int MAXIMO_FACTURAS = 20000;
+
+    @NotEmpty(message = "La lista de facturas es obligatoria")
+    @Size(max = MAXIMO_FACTURAS, message = "Se pueden pagar hasta " + MAXIMO_FACTURAS + " facturas por lote")
+    private List<@NotNull(message = "El ID de la factura es obligatorio")
+        @Positive(message = "El ID de la factura debe ser positivo") Long> facturaIds;
+}
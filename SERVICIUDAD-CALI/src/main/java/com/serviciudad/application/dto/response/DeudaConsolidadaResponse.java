@@ -27,4 +27,7 @@ public class DeudaConsolidadaResponse {
     
     private List<String> alertas;
     private EstadisticasResponse estadisticas;
+    
+    private boolean parcial;
+    private List<String> fuentesNoDisponibles;
 }
@@ -0,0 +1,30 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeudaConsolidadaResumenResponse {
+
+    private String clienteId;
+    private LocalDateTime fechaConsulta;
+
+    private BigDecimal deudaTotalAcueducto;
+    private BigDecimal deudaTotalEnergia;
+    private BigDecimal totalGeneral;
+
+    private List<String> alertas;
+    private EstadisticasResponse estadisticas;
+
+    private boolean parcial;
+    private List<String> fuentesNoDisponibles;
+}
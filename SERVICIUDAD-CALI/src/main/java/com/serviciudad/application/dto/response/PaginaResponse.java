@@ -0,0 +1,22 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pagina de un historial. {@code siguienteCursor} se envia como parametro {@code cursor}
+ * para pedir la pagina siguiente; es {@code null} en la ultima.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponse<T> {
+
+    private List<T> elementos;
+    private String siguienteCursor;
+}
@@ -0,0 +1,31 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PagosLoteResponse {
+
+    private int totalSolicitados;
+    private int pagadas;
+    private int yaPagadas;
+    private int anuladas;
+    private int noEncontradas;
+    private List<ResultadoPagoResponse> resultados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResultadoPagoResponse {
+
+        private Long facturaId;
+        private String resultado;
+    }
+}
@@ -0,0 +1,27 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacionResponse {
+
+    private String archivo;
+    private String modo;
+    private long offsetInicial;
+    private long offsetFinal;
+    private long registrosLeidos;
+    private long registrosImportados;
+    private long registrosRechazados;
+    private long registrosInsertados;
+    private long registrosActualizados;
+    private long registrosSinCambios;
+    private int lotesConfirmados;
+    private boolean reanudada;
+    private boolean archivoReemplazado;
+}
@@ -0,0 +1,31 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenDeudaResponse {
+
+    private String clienteId;
+    private BigDecimal deudaTotalAcueducto;
+    private BigDecimal deudaTotalEnergia;
+    private BigDecimal totalGeneral;
+
+    private int totalFacturasAcueducto;
+    private int facturasPendientes;
+    private int facturasVencidas;
+    private double promedioConsumoAcueducto;
+
+    private int totalConsumosEnergia;
+    private double promedioConsumoEnergia;
+
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,28 @@
+package com.serviciudad.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrabajoResponse {
+
+    private String id;
+    private String tipo;
+    private String estado;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private Long total;
+    private long procesados;
+    private long actualizados;
+    private double procesadosPorSegundo;
+    private Long segundosRestantes;
+    private String error;
+}
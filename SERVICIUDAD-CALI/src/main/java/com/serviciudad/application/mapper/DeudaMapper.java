@@ -2,12 +2,16 @@ package com.serviciudad.application.mapper;
 
 import com.serviciudad.application.dto.response.ConsumoEnergiaResponse;
 import com.serviciudad.application.dto.response.DeudaConsolidadaResponse;
+import com.serviciudad.application.dto.response.DeudaConsolidadaResumenResponse;
 import com.serviciudad.application.dto.response.EstadisticasResponse;
 import com.serviciudad.application.dto.response.FacturaResponse;
+import com.serviciudad.application.dto.response.ResumenDeudaResponse;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.DeudaConsolidadaResumen;
 import com.serviciudad.domain.model.EstadisticasDeuda;
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.ResumenDeuda;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -26,6 +30,38 @@ public class DeudaMapper {
             .consumosEnergia(toConsumoEnergiaResponseList(deuda.getConsumosEnergia()))
             .alertas(deuda.getAlertas())
             .estadisticas(toEstadisticasResponse(deuda.getEstadisticas()))
+            .parcial(deuda.isParcial())
+            .fuentesNoDisponibles(deuda.getFuentesNoDisponibles())
+            .build();
+    }
+
+    public static DeudaConsolidadaResumenResponse toResponse(DeudaConsolidadaResumen deuda) {
+        return DeudaConsolidadaResumenResponse.builder()
+            .clienteId(deuda.getClienteId().getValor())
+            .fechaConsulta(deuda.getFechaConsulta())
+            .deudaTotalAcueducto(deuda.getDeudaTotalAcueducto().getMonto())
+            .deudaTotalEnergia(deuda.getDeudaTotalEnergia().getMonto())
+            .totalGeneral(deuda.getTotalGeneral().getMonto())
+            .alertas(deuda.getAlertas())
+            .estadisticas(toEstadisticasResponse(deuda.getEstadisticas()))
+            .parcial(deuda.isParcial())
+            .fuentesNoDisponibles(deuda.getFuentesNoDisponibles())
+            .build();
+    }
+
+    public static ResumenDeudaResponse toResponse(ResumenDeuda resumen) {
+        return ResumenDeudaResponse.builder()
+            .clienteId(resumen.getClienteId().getValor())
+            .deudaTotalAcueducto(resumen.getDeudaAcueducto().getMonto())
+            .deudaTotalEnergia(resumen.getDeudaEnergia().getMonto())
+            .totalGeneral(resumen.totalGeneral().getMonto())
+            .totalFacturasAcueducto(resumen.getTotalFacturasAcueducto())
+            .facturasPendientes(resumen.getFacturasPendientes())
+            .facturasVencidas(resumen.getFacturasVencidas())
+            .promedioConsumoAcueducto(resumen.promedioConsumoAcueducto())
+            .totalConsumosEnergia(resumen.getTotalConsumosEnergia())
+            .promedioConsumoEnergia(resumen.promedioConsumoEnergia())
+            .fechaActualizacion(resumen.getFechaActualizacion())
             .build();
     }
 
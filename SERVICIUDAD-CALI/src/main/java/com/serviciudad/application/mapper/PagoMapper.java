@@ -0,0 +1,30 @@
+package com.serviciudad.application.mapper;
+
+import com.serviciudad.application.dto.response.PagosLoteResponse;
+import com.serviciudad.application.dto.response.PagosLoteResponse.ResultadoPagoResponse;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.valueobject.FacturaId;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PagoMapper {
+
+    public static PagosLoteResponse toResponse(Map<FacturaId, ResultadoPago> resultados) {
+        Map<ResultadoPago, Integer> totales = new EnumMap<>(ResultadoPago.class);
+        resultados.values().forEach(resultado -> totales.merge(resultado, 1, Integer::sum));
+        List<ResultadoPagoResponse> items = resultados.entrySet().stream()
+            .map(e -> new ResultadoPagoResponse(e.getKey().getValor(), e.getValue().name()))
+            .collect(Collectors.toList());
+        return PagosLoteResponse.builder()
+            .totalSolicitados(resultados.size())
+            .pagadas(totales.getOrDefault(ResultadoPago.PAGADA, 0))
+            .yaPagadas(totales.getOrDefault(ResultadoPago.YA_PAGADA, 0))
+            .anuladas(totales.getOrDefault(ResultadoPago.ANULADA, 0))
+            .noEncontradas(totales.getOrDefault(ResultadoPago.NO_ENCONTRADA, 0))
+            .resultados(items)
+            .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.serviciudad.application.mapper;
+
+import com.serviciudad.application.dto.response.TrabajoResponse;
+import com.serviciudad.domain.model.Trabajo;
+
+public class TrabajoMapper {
+
+    public static TrabajoResponse toResponse(Trabajo trabajo) {
+        return TrabajoResponse.builder()
+            .id(trabajo.getId())
+            .tipo(trabajo.getTipo())
+            .estado(trabajo.getEstado().name())
+            .fechaCreacion(trabajo.getFechaCreacion())
+            .fechaInicio(trabajo.getFechaInicio())
+            .fechaFin(trabajo.getFechaFin())
+            .total(trabajo.getTotal())
+            .procesados(trabajo.getProcesados())
+            .actualizados(trabajo.getActualizados())
+            .procesadosPorSegundo(Math.round(trabajo.getProcesadosPorSegundo() * 10) / 10.0)
+            .segundosRestantes(trabajo.getSegundosRestantes())
+            .error(trabajo.getError())
+            .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+import com.serviciudad.domain.port.input.ConciliarPagosUseCase;
+import com.serviciudad.domain.port.output.ConciliacionPagosPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Conciliacion de archivos de pagos bancarios con las reglas de
+ * {@link FacturaAcueducto#aplicarPago(com.serviciudad.domain.valueobject.Dinero)}.
+ *
+ * <p>Igual que en el registro de pagos por lote, la cache de deudas se invalida para los clientes
+ * de cada bloque apenas se confirma, de modo que una conciliacion larga o interrumpida no deja
+ * deudas cacheadas con facturas ya pagadas.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConciliarPagosUseCaseImpl implements ConciliarPagosUseCase {
+
+    private final ConciliacionPagosPort conciliacionPagos;
+    private final DeudaCachePort deudaCache;
+
+    @Override
+    public ResultadoConciliacion conciliarArchivo(String archivo, ProgresoTrabajo progreso) {
+        ResultadoConciliacion resultado = conciliacionPagos.conciliar(archivo, FacturaAcueducto::aplicarPago, progreso,
+            clientes -> clientes.forEach(deudaCache::invalidar));
+        log.info("Conciliacion de {} finalizada: {} registros, {} facturas pagadas, {} excepciones en {} ({} ms)",
+            resultado.getArchivo(), resultado.getRegistrosLeidos(), resultado.getFacturasPagadas(),
+            resultado.getExcepciones(), resultado.getReporteExcepciones(), resultado.getDuracionMs());
+        return resultado;
+    }
+}
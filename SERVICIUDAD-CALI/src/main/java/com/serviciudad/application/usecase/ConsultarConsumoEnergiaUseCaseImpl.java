@@ -1,6 +1,7 @@
 package com.serviciudad.application.usecase;
 
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.Pagina;
 import com.serviciudad.domain.port.input.ConsultarConsumoEnergiaUseCase;
 import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
 import com.serviciudad.domain.valueobject.ClienteId;
@@ -19,8 +20,10 @@ public class ConsultarConsumoEnergiaUseCaseImpl implements ConsultarConsumoEnerg
 
     @Override
     @Transactional(readOnly = true)
-    public List<ConsumoEnergiaModel> consultarConsumosPorCliente(ClienteId clienteId) {
-        return consumoEnergiaReader.findByClienteId(clienteId);
+    public Pagina<ConsumoEnergiaModel> consultarConsumosPorCliente(ClienteId clienteId, Periodo antesDe, int limite) {
+        Pagina.validarLimite(limite);
+        return Pagina.de(consumoEnergiaReader.findByClienteIdAntesDe(clienteId, antesDe, limite + 1), limite,
+            ConsumoEnergiaModel::getPeriodo);
     }
 
     @Override
@@ -0,0 +1,80 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.input.ConsultarDeudaLoteUseCase;
+import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Consulta la deuda consolidada de muchos clientes a la vez.
+ *
+ * <p>Los clientes (sin repetidos) se resuelven en bloques de {@code deuda.lote.clientes-por-consulta}:
+ * por cada bloque se hace una consulta {@code IN} sobre facturas y otra sobre consumos, las filas se
+ * agrupan por cliente en memoria y cada deuda se entrega en cuanto se construye. Asi la memoria y el
+ * tamano de cada consulta quedan acotados por el bloque y no por el lote completo.</p>
+ *
+ * <p>Un cliente sin facturas ni consumos se reporta como no encontrado en lugar de fallar el lote.</p>
+ */
+@Slf4j
+@Service
+public class ConsultarDeudaLoteUseCaseImpl implements ConsultarDeudaLoteUseCase {
+
+    private final FacturaRepositoryPort facturaRepository;
+    private final ConsumoEnergiaReaderPort consumoEnergiaReader;
+    private final int clientesPorConsulta;
+
+    public ConsultarDeudaLoteUseCaseImpl(
+            FacturaRepositoryPort facturaRepository,
+            ConsumoEnergiaReaderPort consumoEnergiaReader,
+            @Value("${deuda.lote.clientes-por-consulta:500}") int clientesPorConsulta) {
+        if (clientesPorConsulta <= 0) {
+            throw new IllegalArgumentException("deuda.lote.clientes-por-consulta debe ser positivo");
+        }
+        this.facturaRepository = facturaRepository;
+        this.consumoEnergiaReader = consumoEnergiaReader;
+        this.clientesPorConsulta = clientesPorConsulta;
+    }
+
+    @Override
+    public List<ClienteId> consultarDeudaLote(List<ClienteId> clienteIds, Consumer<DeudaConsolidada> resultado) {
+        List<ClienteId> clientes = new ArrayList<>(new LinkedHashSet<>(clienteIds));
+        List<ClienteId> noEncontrados = new ArrayList<>();
+        for (int desde = 0; desde < clientes.size(); desde += clientesPorConsulta) {
+            consultarBloque(clientes.subList(desde, Math.min(desde + clientesPorConsulta, clientes.size())),
+                resultado, noEncontrados);
+        }
+        log.info("Deuda consultada en lote para {} clientes ({} no encontrados)", clientes.size(), noEncontrados.size());
+        return noEncontrados;
+    }
+
+    private void consultarBloque(List<ClienteId> bloque, Consumer<DeudaConsolidada> resultado,
+                                 List<ClienteId> noEncontrados) {
+        Map<ClienteId, List<FacturaAcueducto>> facturas = facturaRepository.findByClienteIds(bloque).stream()
+            .collect(Collectors.groupingBy(FacturaAcueducto::getClienteId));
+        Map<ClienteId, List<ConsumoEnergiaModel>> consumos = consumoEnergiaReader.findByClienteIds(bloque).stream()
+            .collect(Collectors.groupingBy(ConsumoEnergiaModel::getClienteId));
+
+        for (ClienteId clienteId : bloque) {
+            List<FacturaAcueducto> facturasCliente = facturas.getOrDefault(clienteId, List.of());
+            List<ConsumoEnergiaModel> consumosCliente = consumos.getOrDefault(clienteId, List.of());
+            if (facturasCliente.isEmpty() && consumosCliente.isEmpty()) {
+                noEncontrados.add(clienteId);
+            } else {
+                resultado.accept(DeudaConsolidada.construir(clienteId, facturasCliente, consumosCliente));
+            }
+        }
+    }
+}
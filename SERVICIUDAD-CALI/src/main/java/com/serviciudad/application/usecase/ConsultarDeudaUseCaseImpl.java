@@ -1,31 +1,280 @@
 package com.serviciudad.application.usecase;
 
+import com.serviciudad.domain.model.AgregadoConsumos;
+import com.serviciudad.domain.model.AgregadoFacturas;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.DeudaConsolidadaResumen;
 import com.serviciudad.domain.model.FacturaAcueducto;
 import com.serviciudad.domain.port.input.ConsultarDeudaUseCase;
 import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
 import com.serviciudad.domain.port.output.FacturaRepositoryPort;
 import com.serviciudad.domain.valueobject.ClienteId;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+/**
+ * Consulta la deuda consolidada leyendo acueducto y energia en paralelo.
+ *
+ * <p>Cada fuente se consulta en el ejecutor acotado {@code consultaDeudaExecutor} con su propio
+ * tiempo maximo de espera. Si una fuente no responde a tiempo, su lectura se cancela (interrumpiendo
+ * el hilo que la ejecuta, para no agotar el ejecutor) y la deuda se consolida con la otra y se marca
+ * como parcial. Si el ejecutor esta saturado y rechaza la lectura, la fuente cuenta igual como no
+ * disponible en lugar de ejecutarse en el hilo de la peticion. Los errores de una fuente se propagan
+ * igual que antes.</p>
+ *
+ * <p>Metricas: {@code deuda.consulta.fuente} (latencia por fuente), {@code deuda.consulta.total}
+ * (latencia de la consulta), {@code deuda.consulta.latencia.ahorrada} (suma de las latencias de
+ * las fuentes menos la latencia total, es decir, lo que costaria consultarlas en serie) y
+ * {@code deuda.consulta.parcial} (consultas sin respuesta de una fuente).</p>
+ *
+ * <p>Las deudas completas se guardan en {@link DeudaCachePort}; las parciales no, para que la
+ * siguiente consulta vuelva a intentar la fuente que fallo.</p>
+ *
+ * <p>El resumen ({@link #consultarDeudaResumen}) sigue el mismo esquema con los agregados de
+ * cada fuente en lugar de sus filas.</p>
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ConsultarDeudaUseCaseImpl implements ConsultarDeudaUseCase {
 
+    static final String FUENTE_ACUEDUCTO = "acueducto";
+    static final String FUENTE_ENERGIA = "energia";
+
     private final FacturaRepositoryPort facturaRepository;
     private final ConsumoEnergiaReaderPort consumoEnergiaReader;
+    private final DeudaCachePort deudaCache;
+    private final Executor executor;
+    private final long timeoutAcueductoMs;
+    private final long timeoutEnergiaMs;
+    private final Timer latenciaTotal;
+    private final Timer latenciaAhorrada;
+    private final Fuente acueducto;
+    private final Fuente energia;
+
+    public ConsultarDeudaUseCaseImpl(
+            FacturaRepositoryPort facturaRepository,
+            ConsumoEnergiaReaderPort consumoEnergiaReader,
+            DeudaCachePort deudaCache,
+            @Qualifier("consultaDeudaExecutor") Executor executor,
+            @Value("${deuda.consulta.timeout-acueducto-ms:2000}") long timeoutAcueductoMs,
+            @Value("${deuda.consulta.timeout-energia-ms:2000}") long timeoutEnergiaMs,
+            MeterRegistry meterRegistry) {
+        this.facturaRepository = facturaRepository;
+        this.consumoEnergiaReader = consumoEnergiaReader;
+        this.deudaCache = deudaCache;
+        this.executor = executor;
+        this.timeoutAcueductoMs = timeoutAcueductoMs;
+        this.timeoutEnergiaMs = timeoutEnergiaMs;
+        this.latenciaTotal = Timer.builder("deuda.consulta.total")
+                .description("Latencia de la consulta de deuda consolidada")
+                .register(meterRegistry);
+        this.latenciaAhorrada = Timer.builder("deuda.consulta.latencia.ahorrada")
+                .description("Latencia ahorrada al consultar las fuentes en paralelo")
+                .register(meterRegistry);
+        this.acueducto = new Fuente(FUENTE_ACUEDUCTO, meterRegistry);
+        this.energia = new Fuente(FUENTE_ENERGIA, meterRegistry);
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public DeudaConsolidada consultarDeudaConsolidada(ClienteId clienteId) {
-        List<FacturaAcueducto> facturas = facturaRepository.findByClienteId(clienteId);
-        List<ConsumoEnergiaModel> consumos = consumoEnergiaReader.findByClienteId(clienteId);
-        
-        return DeudaConsolidada.construir(clienteId, facturas, consumos);
+        long versionEnergia = consumoEnergiaReader.versionDatos();
+        Optional<DeudaConsolidada> enCache = deudaCache.obtener(clienteId, versionEnergia);
+        if (enCache.isPresent()) {
+            return enCache.get();
+        }
+        long marca = deudaCache.marcaInvalidacion();
+        DeudaConsolidada deuda = consolidar(clienteId);
+        if (!deuda.isParcial()) {
+            deudaCache.guardar(deuda, marca, versionEnergia);
+        }
+        return deuda;
+    }
+
+    private DeudaConsolidada consolidar(ClienteId clienteId) {
+        long inicio = System.nanoTime();
+        Consulta<List<FacturaAcueducto>> facturas =
+                consultar(acueducto, () -> facturaRepository.findByClienteId(clienteId));
+        Consulta<List<ConsumoEnergiaModel>> consumos =
+                consultar(energia, () -> consumoEnergiaReader.findByClienteId(clienteId));
+
+        try {
+            List<String> noDisponibles = new ArrayList<>();
+            List<FacturaAcueducto> facturasObtenidas =
+                    facturas.esperar(inicio, timeoutAcueductoMs, clienteId, noDisponibles, List.of());
+            List<ConsumoEnergiaModel> consumosObtenidos =
+                    consumos.esperar(inicio, timeoutEnergiaMs, clienteId, noDisponibles, List.of());
+            registrarLatencias(inicio, facturas, consumos);
+
+            return DeudaConsolidada.construir(clienteId, facturasObtenidas, consumosObtenidos, noDisponibles);
+        } finally {
+            facturas.cancelar();
+            consumos.cancelar();
+        }
+    }
+
+    /**
+     * Resumen de la deuda sin cargar facturas ni consumos: cada fuente retorna sus agregados
+     * calculados en la base de datos. Es barato y no pasa por la cache.
+     */
+    @Override
+    public DeudaConsolidadaResumen consultarDeudaResumen(ClienteId clienteId) {
+        long inicio = System.nanoTime();
+        LocalDateTime ahora = LocalDateTime.now();
+        Consulta<AgregadoFacturas> facturas =
+                consultar(acueducto, () -> facturaRepository.agregarPorCliente(clienteId, ahora.toLocalDate()));
+        Consulta<AgregadoConsumos> consumos =
+                consultar(energia, () -> consumoEnergiaReader.agregarPorCliente(clienteId));
+
+        try {
+            List<String> noDisponibles = new ArrayList<>();
+            AgregadoFacturas agregadoFacturas =
+                    facturas.esperar(inicio, timeoutAcueductoMs, clienteId, noDisponibles, AgregadoFacturas.vacio());
+            AgregadoConsumos agregadoConsumos =
+                    consumos.esperar(inicio, timeoutEnergiaMs, clienteId, noDisponibles, AgregadoConsumos.vacio());
+            registrarLatencias(inicio, facturas, consumos);
+
+            return DeudaConsolidadaResumen.construir(clienteId, agregadoFacturas, agregadoConsumos, noDisponibles, ahora);
+        } finally {
+            facturas.cancelar();
+            consumos.cancelar();
+        }
+    }
+
+    private void registrarLatencias(long inicio, Consulta<?> facturas, Consulta<?> consumos) {
+        long total = System.nanoTime() - inicio;
+        latenciaTotal.record(total, TimeUnit.NANOSECONDS);
+        long serie = facturas.duracion() + consumos.duracion();
+        latenciaAhorrada.record(Math.max(0, serie - total), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> Consulta<T> consultar(Fuente fuente, Supplier<T> lectura) {
+        Consulta<T> consulta = new Consulta<>(fuente);
+        // FutureTask y no CompletableFuture: cancel(true) debe interrumpir el hilo de la lectura
+        consulta.futuro = new FutureTask<>(() -> {
+            long inicio = System.nanoTime();
+            try {
+                return lectura.get();
+            } finally {
+                consulta.duracionNanos = System.nanoTime() - inicio;
+                fuente.latencia.record(consulta.duracionNanos, TimeUnit.NANOSECONDS);
+            }
+        });
+        try {
+            executor.execute(consulta.futuro);
+        } catch (RejectedExecutionException e) {
+            consulta.rechazada = true;
+        }
+        return consulta;
+    }
+
+    /**
+     * Nombre de una fuente y sus medidores, registrados una sola vez al crear el caso de uso.
+     */
+    private static final class Fuente {
+
+        private final String nombre;
+        private final Timer latencia;
+        private final Counter parciales;
+
+        private Fuente(String nombre, MeterRegistry meterRegistry) {
+            this.nombre = nombre;
+            this.latencia = Timer.builder("deuda.consulta.fuente")
+                    .tag("fuente", nombre)
+                    .description("Latencia de cada fuente de la deuda consolidada")
+                    .register(meterRegistry);
+            this.parciales = Counter.builder("deuda.consulta.parcial")
+                    .tag("fuente", nombre)
+                    .description("Consultas de deuda sin respuesta de una fuente")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Lectura en curso de una fuente.
+     */
+    private static final class Consulta<T> {
+
+        private final Fuente fuente;
+        private FutureTask<T> futuro;
+        private boolean rechazada;
+        private volatile long duracionNanos = -1;
+
+        private Consulta(Fuente fuente) {
+            this.fuente = fuente;
+        }
+
+        /**
+         * Espera la fuente hasta {@code timeoutMs} desde el inicio de la consulta. Si no responde,
+         * la registra en {@code noDisponibles} y retorna {@code sinRespuesta}.
+         */
+        private T esperar(long inicioConsulta, long timeoutMs, ClienteId clienteId, List<String> noDisponibles,
+                          T sinRespuesta) {
+            if (rechazada) {
+                log.warn("El ejecutor de consultas esta saturado y rechazo la fuente {} para el cliente {}; " +
+                        "deuda parcial", fuente.nombre, clienteId.getValor());
+                return sinRespuesta(noDisponibles, sinRespuesta);
+            }
+            long restante = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - inicioConsulta);
+            try {
+                return futuro.get(Math.max(0, restante), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                futuro.cancel(true);
+                log.warn("La fuente {} no respondio en {} ms para el cliente {}; deuda parcial",
+                        fuente.nombre, timeoutMs, clienteId.getValor());
+                return sinRespuesta(noDisponibles, sinRespuesta);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Consulta de deuda interrumpida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException("Fallo la consulta de " + fuente.nombre, e.getCause());
+            }
+        }
+
+        private T sinRespuesta(List<String> noDisponibles, T sinRespuesta) {
+            fuente.parciales.increment();
+            noDisponibles.add(fuente.nombre);
+            return sinRespuesta;
+        }
+
+        /**
+         * Cancela la lectura si sigue pendiente (por ejemplo, cuando la otra fuente fallo).
+         */
+        private void cancelar() {
+            if (!rechazada) {
+                futuro.cancel(true);
+            }
+        }
+
+        /**
+         * Latencia de la fuente, o 0 si todavia no termino.
+         */
+        private long duracion() {
+            return Math.max(0, duracionNanos);
+        }
     }
 }
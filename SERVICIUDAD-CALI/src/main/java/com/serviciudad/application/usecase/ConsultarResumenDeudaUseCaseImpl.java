@@ -0,0 +1,36 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.port.input.ConsultarResumenDeudaUseCase;
+import com.serviciudad.domain.port.output.DeudaResumenPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Consulta el resumen de deuda por cliente desde el modelo de lectura {@code deuda_resumen},
+ * sin cargar facturas ni consumos.
+ *
+ * <p>La reconstruccion recalcula todos los resumenes en una sola transaccion; se usa tras una
+ * carga masiva por fuera de la aplicacion o si se sospecha que el modelo de lectura diverge.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsultarResumenDeudaUseCaseImpl implements ConsultarResumenDeudaUseCase {
+
+    private final DeudaResumenPort deudaResumen;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumenDeuda consultarResumen(ClienteId clienteId) {
+        return deudaResumen.findByClienteId(clienteId)
+            .orElseGet(() -> ResumenDeuda.vacio(clienteId));
+    }
+
+    @Override
+    @Transactional
+    public long reconstruirResumenes() {
+        return deudaResumen.reconstruir();
+    }
+}
@@ -0,0 +1,39 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.VersionDatosCliente;
+import com.serviciudad.domain.port.input.ConsultarVersionDatosUseCase;
+import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Calcula la version de los datos de un cliente sin cargar facturas ni consumos, para validar
+ * respuestas condicionales.
+ *
+ * <p>La version se lee antes que los datos de la respuesta: si cambian entre ambas lecturas la
+ * respuesta queda asociada a una version anterior y la siguiente validacion la descarta, nunca
+ * al reves.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsultarVersionDatosUseCaseImpl implements ConsultarVersionDatosUseCase {
+
+    private final FacturaRepositoryPort facturaRepository;
+    private final ConsumoEnergiaReaderPort consumoEnergiaReader;
+
+    @Override
+    public VersionDatosCliente versionFacturas(ClienteId clienteId) {
+        return new VersionDatosCliente(clienteId, facturaRepository.versionPorCliente(clienteId), 0L, LocalDate.now());
+    }
+
+    @Override
+    public VersionDatosCliente versionDeuda(ClienteId clienteId) {
+        long versionEnergia = consumoEnergiaReader.versionDatos();
+        return new VersionDatosCliente(clienteId, facturaRepository.versionPorCliente(clienteId), versionEnergia,
+            LocalDate.now());
+    }
+}
@@ -0,0 +1,61 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.input.ExportarFacturasUseCase;
+import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.valueobject.Periodo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Exporta las facturas de un periodo recorriendolas dentro de una transaccion de solo lectura,
+ * de modo que la memoria usada no depende del numero de facturas.
+ *
+ * <p>Metricas: {@code facturas.exportacion.filas} (facturas exportadas; su tasa son las filas
+ * por segundo) y {@code facturas.exportacion.duracion}. Al terminar se registra en el log el
+ * total y las filas por segundo de la exportacion.</p>
+ */
+@Slf4j
+@Service
+public class ExportarFacturasUseCaseImpl implements ExportarFacturasUseCase {
+
+    private final FacturaRepositoryPort facturaRepository;
+    private final Counter filas;
+    private final Timer duracion;
+
+    public ExportarFacturasUseCaseImpl(FacturaRepositoryPort facturaRepository, MeterRegistry meterRegistry) {
+        this.facturaRepository = facturaRepository;
+        this.filas = Counter.builder("facturas.exportacion.filas")
+                .description("Facturas escritas por las exportaciones")
+                .register(meterRegistry);
+        this.duracion = Timer.builder("facturas.exportacion.duracion")
+                .description("Duracion de las exportaciones de facturas por periodo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPorPeriodo(Periodo periodo, Consumer<FacturaAcueducto> destino) {
+        long inicio = System.nanoTime();
+        long total = facturaRepository.recorrerPorPeriodo(periodo, factura -> {
+            destino.accept(factura);
+            filas.increment();
+        });
+        long nanos = System.nanoTime() - inicio;
+        duracion.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("Exportadas {} facturas del periodo {} en {} ms ({} filas/s)", total, periodo.getValor(),
+                TimeUnit.NANOSECONDS.toMillis(nanos), filasPorSegundo(total, nanos));
+        return total;
+    }
+
+    static long filasPorSegundo(long total, long nanos) {
+        return nanos == 0 ? total : total * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
@@ -1,27 +1,50 @@
 package com.serviciudad.application.usecase;
 
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.Pagina;
+import com.serviciudad.domain.model.PosicionPendiente;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoMarcadoVencidas;
 import com.serviciudad.domain.port.input.GestionarFacturaUseCase;
+import com.serviciudad.domain.port.output.DeudaCachePort;
 import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.port.output.VencimientoFacturasPort;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.FacturaId;
 import com.serviciudad.domain.valueobject.Periodo;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class GestionarFacturaUseCaseImpl implements GestionarFacturaUseCase {
 
     private final FacturaRepositoryPort facturaRepository;
-    
-    private static final int BATCH_SIZE = 100;
+    private final DeudaCachePort deudaCache;
+    private final VencimientoFacturasPort vencimientoFacturas;
+    private final int tamanoLoteVencimiento;
+
+    public GestionarFacturaUseCaseImpl(
+            FacturaRepositoryPort facturaRepository,
+            DeudaCachePort deudaCache,
+            VencimientoFacturasPort vencimientoFacturas,
+            @Value("${facturas.vencimiento.tamano-lote:5000}") int tamanoLoteVencimiento) {
+        if (tamanoLoteVencimiento < 1) {
+            throw new IllegalArgumentException("El tamano de lote de vencimiento debe ser positivo");
+        }
+        this.facturaRepository = facturaRepository;
+        this.deudaCache = deudaCache;
+        this.vencimientoFacturas = vencimientoFacturas;
+        this.tamanoLoteVencimiento = tamanoLoteVencimiento;
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -32,8 +55,10 @@ public class GestionarFacturaUseCaseImpl implements GestionarFacturaUseCase {
 
     @Override
     @Transactional(readOnly = true)
-    public List<FacturaAcueducto> consultarFacturasPorCliente(ClienteId clienteId) {
-        return facturaRepository.findByClienteId(clienteId);
+    public Pagina<FacturaAcueducto> consultarFacturasPorCliente(ClienteId clienteId, Periodo antesDe, int limite) {
+        Pagina.validarLimite(limite);
+        return Pagina.de(facturaRepository.findByClienteIdAntesDe(clienteId, antesDe, limite + 1), limite,
+            FacturaAcueducto::getPeriodo);
     }
 
     @Override
@@ -48,6 +73,7 @@ public class GestionarFacturaUseCaseImpl implements GestionarFacturaUseCase {
         FacturaAcueducto factura = consultarFactura(facturaId);
         factura.registrarPago();
         facturaRepository.save(factura);
+        deudaCache.invalidar(factura.getClienteId());
     }
 
     @Override
@@ -56,54 +82,47 @@ public class GestionarFacturaUseCaseImpl implements GestionarFacturaUseCase {
         FacturaAcueducto factura = consultarFactura(facturaId);
         factura.anular();
         facturaRepository.save(factura);
+        deudaCache.invalidar(factura.getClienteId());
     }
 
+    /**
+     * Marca como vencidas las facturas pendientes cuyo vencimiento ya paso, en lotes de
+     * {@code tamanoLoteVencimiento} que se confirman uno a uno. Termina con el primer lote
+     * incompleto; la deuda en cache de cada cliente afectado se invalida tras el commit de su lote.
+     */
     @Override
-    @Transactional
-    public void marcarFacturasVencidas() {
-        int pageNumber = 0;
-        int totalProcesadas = 0;
-        int totalActualizadas = 0;
-        
-        log.info("Iniciando proceso de marcado de facturas vencidas con paginación (tamaño de lote: {})", BATCH_SIZE);
-        
-        boolean hasMore;
+    public ResultadoMarcadoVencidas marcarFacturasVencidas(ProgresoTrabajo progreso) {
+        LocalDate hoy = LocalDate.now();
+        long inicio = System.nanoTime();
+        progreso.estimarTotal(vencimientoFacturas.contarPorVencer(hoy));
+        List<Integer> facturasPorLote = new ArrayList<>();
+        long total = 0;
+
+        log.info("Iniciando marcado de facturas vencidas antes de {} (tamano de lote: {})", hoy, tamanoLoteVencimiento);
+        LoteFacturasVencidas lote;
+        PosicionPendiente posicion = null;
         do {
-            log.debug("Procesando lote {}, facturas procesadas hasta ahora: {}", pageNumber + 1, totalProcesadas);
-            
-            List<FacturaAcueducto> facturasPendientes = facturaRepository.findFacturasPendientes(pageNumber, BATCH_SIZE);
-            
-            if (facturasPendientes.isEmpty()) {
-                log.debug("No se encontraron más facturas pendientes en el lote {}", pageNumber + 1);
+            lote = vencimientoFacturas.marcarVencidas(hoy, posicion, tamanoLoteVencimiento);
+            if (lote.getClientes().isEmpty()) {
                 break;
             }
-            
-            List<FacturaAcueducto> facturasActualizadas = facturasPendientes.stream()
-                .filter(factura -> {
-                    boolean vencida = factura.estaVencida();
-                    if (vencida) {
-                        log.debug("Factura {} está vencida, marcando como vencida", factura.getId().getValor());
-                    }
-                    return vencida;
-                })
-                .peek(FacturaAcueducto::marcarComoVencida)
-                .collect(Collectors.toList());
-            
-            if (!facturasActualizadas.isEmpty()) {
-                facturaRepository.saveAll(facturasActualizadas);
-                facturaRepository.flush();
-                totalActualizadas += facturasActualizadas.size();
-                log.debug("Lote {}: {} facturas marcadas como vencidas de {} procesadas", 
-                         pageNumber + 1, facturasActualizadas.size(), facturasPendientes.size());
-            }
-            
-            totalProcesadas += facturasPendientes.size();
-            hasMore = facturaRepository.hasMoreFacturasPendientes(pageNumber, BATCH_SIZE);
-            pageNumber++;
-            
-        } while (hasMore);
-        
-        log.info("Proceso finalizado. Total facturas procesadas: {}, Total facturas marcadas como vencidas: {}", 
-                totalProcesadas, totalActualizadas);
+            posicion = lote.getUltima();
+            lote.getClientes().forEach(deudaCache::invalidar);
+            progreso.registrar(lote.getFacturas(), lote.getFacturas());
+            facturasPorLote.add(lote.getFacturas());
+            total += lote.getFacturas();
+            log.debug("Lote {}: {} facturas marcadas como vencidas de {} clientes",
+                facturasPorLote.size(), lote.getFacturas(), lote.getClientes().size());
+        } while (lote.getFacturas() == tamanoLoteVencimiento);
+
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        log.info("Marcado de vencidas finalizado: {} facturas en {} lotes ({} ms)",
+            total, facturasPorLote.size(), duracionMs);
+        return ResultadoMarcadoVencidas.builder()
+            .fechaCorte(hoy)
+            .facturasMarcadas(total)
+            .facturasPorLote(List.copyOf(facturasPorLote))
+            .duracionMs(duracionMs)
+            .build();
     }
 }
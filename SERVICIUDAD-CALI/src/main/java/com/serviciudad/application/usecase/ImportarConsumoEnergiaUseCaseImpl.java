@@ -0,0 +1,51 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import com.serviciudad.domain.port.output.ConsumoEnergiaImportPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportarConsumoEnergiaUseCaseImpl implements ImportarConsumoEnergiaUseCase {
+
+    private final ConsumoEnergiaImportPort consumoEnergiaImport;
+    private final DeudaCachePort deudaCache;
+
+    @Override
+    public ResultadoImportacion importarArchivoLegacy(boolean reiniciar, ModoImportacion modo) {
+        ResultadoImportacion resultado = consumoEnergiaImport.importar(reiniciar, modo);
+        deudaCache.invalidarTodo();
+        log.info("Importacion de energia ({}) finalizada: {} registros importados, {} rechazados, offset {} -> {}",
+                resultado.getModo(), resultado.getRegistrosImportados(), resultado.getRegistrosRechazados(),
+                resultado.getOffsetInicial(), resultado.getOffsetFinal());
+        if (resultado.getModo() != null && resultado.getModo().esFusion()) {
+            log.info("Fusion de energia: {} insertados, {} actualizados, {} sin cambios",
+                    resultado.getRegistrosInsertados(), resultado.getRegistrosActualizados(),
+                    resultado.getRegistrosSinCambios());
+        }
+        return resultado;
+    }
+
+    @Override
+    public ResultadoImportacion importarNuevosRegistros() {
+        ResultadoImportacion resultado = consumoEnergiaImport.importarNuevosRegistros();
+        if (resultado.getRegistrosImportados() > 0 || resultado.isArchivoReemplazado()) {
+            deudaCache.invalidarTodo();
+        }
+        if (resultado.isArchivoReemplazado()) {
+            log.warn("El archivo de energia {} fue reemplazado; se importo completo de nuevo", resultado.getArchivo());
+        }
+        if (resultado.getRegistrosLeidos() > 0) {
+            log.info("Registros de energia agregados al archivo: {} importados, {} rechazados, offset {} -> {}",
+                    resultado.getRegistrosImportados(), resultado.getRegistrosRechazados(),
+                    resultado.getOffsetInicial(), resultado.getOffsetFinal());
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,69 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.LotePagos;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.port.input.RegistrarPagosLoteUseCase;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.port.output.PagoFacturasPort;
+import com.serviciudad.domain.valueobject.FacturaId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registra pagos de facturas en lote, por ejemplo los reportados por los bancos.
+ *
+ * <p>Las facturas (sin repetidas) se procesan en bloques de {@code facturas.pagos.facturas-por-lote}:
+ * cada bloque se lee con una consulta {@code IN}, se le aplican las reglas de
+ * {@link FacturaAcueducto#aplicarPago()} y se guarda en su propia transaccion. Una factura ya
+ * pagada, anulada o inexistente se reporta en su resultado en lugar de fallar el lote; si un
+ * bloque falla, los anteriores ya quedaron confirmados.</p>
+ */
+@Slf4j
+@Service
+public class RegistrarPagosLoteUseCaseImpl implements RegistrarPagosLoteUseCase {
+
+    private final PagoFacturasPort pagoFacturas;
+    private final DeudaCachePort deudaCache;
+    private final int facturasPorLote;
+
+    public RegistrarPagosLoteUseCaseImpl(
+            PagoFacturasPort pagoFacturas,
+            DeudaCachePort deudaCache,
+            @Value("${facturas.pagos.facturas-por-lote:1000}") int facturasPorLote) {
+        if (facturasPorLote <= 0) {
+            throw new IllegalArgumentException("facturas.pagos.facturas-por-lote debe ser positivo");
+        }
+        this.pagoFacturas = pagoFacturas;
+        this.deudaCache = deudaCache;
+        this.facturasPorLote = facturasPorLote;
+    }
+
+    @Override
+    public Map<FacturaId, ResultadoPago> registrarPagos(List<FacturaId> facturaIds) {
+        List<FacturaId> facturas = new ArrayList<>(new LinkedHashSet<>(facturaIds));
+        Map<FacturaId, ResultadoPago> resultados = new LinkedHashMap<>();
+        int pagadas = 0;
+        for (int desde = 0; desde < facturas.size(); desde += facturasPorLote) {
+            List<FacturaId> bloque = facturas.subList(desde, Math.min(desde + facturasPorLote, facturas.size()));
+            LotePagos lote = pagoFacturas.pagar(bloque, FacturaAcueducto::aplicarPago);
+            lote.getClientes().forEach(deudaCache::invalidar);
+            for (FacturaId facturaId : bloque) {
+                ResultadoPago resultado = lote.getResultados().getOrDefault(facturaId, ResultadoPago.NO_ENCONTRADA);
+                resultados.put(facturaId, resultado);
+                if (resultado == ResultadoPago.PAGADA) {
+                    pagadas++;
+                }
+            }
+        }
+        log.info("Pagos registrados en lote: {} de {} facturas", pagadas, facturas.size());
+        return resultados;
+    }
+}
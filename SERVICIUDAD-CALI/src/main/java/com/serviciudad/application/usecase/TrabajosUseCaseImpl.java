@@ -0,0 +1,58 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.port.input.ConciliarPagosUseCase;
+import com.serviciudad.domain.port.input.GestionarFacturaUseCase;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
+import com.serviciudad.domain.port.output.EjecutorTrabajosPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Lanza operaciones masivas como trabajos asincronos y consulta su avance.
+ *
+ * <p>El marcado de vencidas y la conciliacion de pagos reportan su avance por lote; la
+ * importacion de energia reporta sus conteos al terminar.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TrabajosUseCaseImpl implements TrabajosUseCase {
+
+    static final String MARCADO_VENCIDAS = "marcado-vencidas";
+    static final String IMPORTACION_ENERGIA = "importacion-energia";
+    static final String CONCILIACION_PAGOS = "conciliacion-pagos";
+
+    private final EjecutorTrabajosPort ejecutorTrabajos;
+    private final GestionarFacturaUseCase gestionarFacturaUseCase;
+    private final ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+    private final ConciliarPagosUseCase conciliarPagosUseCase;
+
+    @Override
+    public Trabajo lanzarMarcadoVencidas() {
+        return ejecutorTrabajos.enviar(MARCADO_VENCIDAS, gestionarFacturaUseCase::marcarFacturasVencidas);
+    }
+
+    @Override
+    public Trabajo lanzarImportacionEnergia(boolean reiniciar, ModoImportacion modo) {
+        return ejecutorTrabajos.enviar(IMPORTACION_ENERGIA, progreso -> {
+            ResultadoImportacion resultado = importarConsumoEnergiaUseCase.importarArchivoLegacy(reiniciar, modo);
+            progreso.registrar(resultado.getRegistrosLeidos(), resultado.getRegistrosImportados());
+        });
+    }
+
+    @Override
+    public Trabajo lanzarConciliacionPagos(String archivo) {
+        return ejecutorTrabajos.enviar(CONCILIACION_PAGOS,
+            progreso -> conciliarPagosUseCase.conciliarArchivo(archivo, progreso));
+    }
+
+    @Override
+    public Optional<Trabajo> consultar(String id) {
+        return ejecutorTrabajos.consultar(id);
+    }
+}
@@ -0,0 +1,125 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.ParticionVencimiento;
+import com.serviciudad.domain.port.input.VencimientoProgramadoUseCase;
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort;
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort.Bloqueo;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.port.output.VencimientoFacturasPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marcado programado de facturas vencidas, seguro con varias instancias de la aplicacion.
+ *
+ * <p>Solo coordina la instancia que obtiene el bloqueo {@value #RECURSO}; las demas omiten la
+ * ejecucion. El rango de ids de facturas se divide en particiones que recorren en paralelo los
+ * hilos de {@code vencimientoFacturasExecutor}, en tramos de {@code tamano-lote} ids confirmados
+ * cada uno en su propia transaccion. Como el avance de cada particion queda guardado, una
+ * ejecucion interrumpida continua en la siguiente (en esta u otra instancia) desde el ultimo
+ * tramo confirmado y las particiones completas no se vuelven a recorrer el mismo dia.</p>
+ */
+@Slf4j
+@Service
+public class VencimientoProgramadoUseCaseImpl implements VencimientoProgramadoUseCase {
+
+    static final String RECURSO = "facturas.vencimiento";
+
+    private final VencimientoFacturasPort vencimientoFacturas;
+    private final BloqueoDistribuidoPort bloqueos;
+    private final DeudaCachePort deudaCache;
+    private final Executor executor;
+    private final int particiones;
+    private final int tamanoLote;
+
+    public VencimientoProgramadoUseCaseImpl(
+            VencimientoFacturasPort vencimientoFacturas,
+            BloqueoDistribuidoPort bloqueos,
+            DeudaCachePort deudaCache,
+            @Qualifier("vencimientoFacturasExecutor") Executor executor,
+            @Value("${facturas.vencimiento.programacion.particiones:8}") int particiones,
+            @Value("${facturas.vencimiento.tamano-lote:5000}") int tamanoLote) {
+        if (particiones < 1 || tamanoLote < 1) {
+            throw new IllegalArgumentException("Las particiones y el tamano de lote de vencimiento deben ser positivos");
+        }
+        this.vencimientoFacturas = vencimientoFacturas;
+        this.bloqueos = bloqueos;
+        this.deudaCache = deudaCache;
+        this.executor = executor;
+        this.particiones = particiones;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Override
+    public Optional<List<ParticionVencimiento>> ejecutar() {
+        Optional<Bloqueo> bloqueo = bloqueos.intentarAdquirir(RECURSO);
+        if (bloqueo.isEmpty()) {
+            log.debug("Otra instancia coordina el marcado de vencidas; se omite esta ejecucion");
+            return Optional.empty();
+        }
+        try (Bloqueo adquirido = bloqueo.get()) {
+            return Optional.of(recorrer(LocalDate.now()));
+        }
+    }
+
+    private List<ParticionVencimiento> recorrer(LocalDate hoy) {
+        long inicio = System.nanoTime();
+        List<ParticionVencimiento> actuales = vencimientoFacturas.prepararParticiones(hoy, particiones);
+        List<CompletableFuture<ParticionVencimiento>> trabajos = new ArrayList<>(actuales.size());
+        for (ParticionVencimiento particion : actuales) {
+            trabajos.add(particion.estaCompletada()
+                ? CompletableFuture.completedFuture(particion)
+                : CompletableFuture.supplyAsync(() -> recorrerParticion(particion), executor));
+        }
+
+        List<ParticionVencimiento> resultado = new ArrayList<>(trabajos.size());
+        RuntimeException error = null;
+        for (CompletableFuture<ParticionVencimiento> trabajo : trabajos) {
+            try {
+                resultado.add(trabajo.join());
+            } catch (CompletionException e) {
+                RuntimeException causa = e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : e;
+                if (error == null) {
+                    error = causa;
+                } else {
+                    error.addSuppressed(causa);
+                }
+            }
+        }
+        if (error != null) {
+            log.warn("Marcado de vencidas con corte {} incompleto: {} particiones fallaron; " +
+                "la siguiente ejecucion continua desde su avance", hoy, trabajos.size() - resultado.size());
+            throw error;
+        }
+        log.info("Marcado de vencidas con corte {} terminado: {} facturas en {} particiones ({} ms)", hoy,
+            resultado.stream().mapToLong(ParticionVencimiento::getFacturasMarcadas).sum(), resultado.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return resultado;
+    }
+
+    private ParticionVencimiento recorrerParticion(ParticionVencimiento particion) {
+        ParticionVencimiento actual = particion;
+        while (!actual.estaCompletada()) {
+            long hasta = actual.siguienteHasta(tamanoLote);
+            LoteFacturasVencidas lote = vencimientoFacturas.marcarVencidasEnParticion(actual, hasta);
+            lote.getClientes().forEach(deudaCache::invalidar);
+            actual = actual.avanzar(hasta, lote.getFacturas());
+        }
+        log.debug("Particion {} ({} a {}): {} facturas marcadas como vencidas", actual.getNumero(),
+            actual.getIdDesde(), actual.getIdHasta(), actual.getFacturasMarcadas());
+        return actual;
+    }
+}
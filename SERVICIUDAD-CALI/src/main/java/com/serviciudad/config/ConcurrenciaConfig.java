@@ -0,0 +1,72 @@
+package com.serviciudad.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuracion de ejecutores acotados de la aplicacion.
+ * 
+ * El ejecutor de consultas de deuda ejecuta en paralelo las lecturas de
+ * acueducto y energia. Su cola es acotada: si se llena, la lectura se rechaza
+ * y la consulta responde con la deuda parcial de inmediato, en lugar de
+ * ejecutarla en el hilo de la peticion sin tiempo maximo de espera.
+ * 
+ * El ejecutor de vencimiento recorre en paralelo las particiones del marcado
+ * programado de facturas vencidas; cada hilo ocupa una conexion mientras
+ * confirma un tramo, por lo que debe ser menor que el pool de conexiones.
+ * 
+ * El ejecutor de trabajos corre las operaciones masivas lanzadas como
+ * trabajos asincronos (marcado de vencidas, importaciones). Con la cola
+ * llena rechaza el trabajo en lugar de ejecutarlo en el hilo de la peticion.
+ * 
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@Configuration
+public class ConcurrenciaConfig {
+
+    @Bean(name = "consultaDeudaExecutor")
+    public ThreadPoolTaskExecutor consultaDeudaExecutor(
+            @Value("${deuda.consulta.hilos:8}") int hilos,
+            @Value("${deuda.consulta.capacidad-cola:100}") int capacidadCola) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(capacidadCola);
+        executor.setThreadNamePrefix("consulta-deuda-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "vencimientoFacturasExecutor")
+    public ThreadPoolTaskExecutor vencimientoFacturasExecutor(
+            @Value("${facturas.vencimiento.programacion.hilos:4}") int hilos) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setThreadNamePrefix("vencimiento-facturas-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "trabajosExecutor")
+    public ThreadPoolTaskExecutor trabajosExecutor(
+            @Value("${trabajos.hilos:2}") int hilos,
+            @Value("${trabajos.capacidad-cola:10}") int capacidadCola) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(capacidadCola);
+        executor.setThreadNamePrefix("trabajo-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,20 @@
+package com.serviciudad.domain.exception;
+
+/**
+ * Excepción de dominio lanzada cuando no se puede aceptar un trabajo asíncrono
+ * porque la cola de trabajos está llena.
+ * 
+ * @author Equipo ServiCiudad
+ * @since 2.0.0
+ */
+public class TrabajosSaturadosException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción con un mensaje descriptivo.
+     * 
+     * @param mensaje Descripción del error
+     */
+    public TrabajosSaturadosException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,124 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.Dinero;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula en una sola pasada sobre facturas y consumos todo lo que necesita
+ * {@link DeudaConsolidada}: deudas en centavos, conteos por estado, sumas de consumo y
+ * facturas proximas a vencer.
+ *
+ * <p>Los dias hasta el vencimiento se calculan contra una sola fecha {@code hoy} tomada al
+ * inicio de la consulta, de modo que todas las facturas se evaluan con el mismo reloj.</p>
+ */
+final class AcumuladorDeuda {
+
+    /**
+     * Dias maximos hasta el vencimiento para alertar una factura pendiente.
+     */
+    static final int DIAS_ALERTA_VENCIMIENTO = 5;
+
+    private final LocalDate hoy;
+
+    private long deudaAcueductoCentavos;
+    private long deudaEnergiaCentavos;
+    private int totalFacturas;
+    private int facturasVencidas;
+    private int facturasPendientes;
+    private int facturasProximasVencer;
+    private long sumaMetrosCubicos;
+    private int totalConsumos;
+    private long sumaKilovatiosHora;
+
+    AcumuladorDeuda(LocalDate hoy) {
+        this.hoy = hoy;
+    }
+
+    AcumuladorDeuda acumularFacturas(List<FacturaAcueducto> facturas) {
+        for (int i = 0, n = facturas.size(); i < n; i++) {
+            FacturaAcueducto factura = facturas.get(i);
+            EstadoFactura estado = factura.getEstado();
+            if (estado != EstadoFactura.PAGADA) {
+                deudaAcueductoCentavos = Math.addExact(deudaAcueductoCentavos, factura.getValorPagar().enCentavos());
+            }
+            if (estado == EstadoFactura.VENCIDA) {
+                facturasVencidas++;
+            } else if (estado == EstadoFactura.PENDIENTE) {
+                facturasPendientes++;
+                long dias = factura.diasHastaVencimiento(hoy);
+                if (dias > 0 && dias <= DIAS_ALERTA_VENCIMIENTO) {
+                    facturasProximasVencer++;
+                }
+            }
+            sumaMetrosCubicos += factura.getConsumo().getMetrosCubicos();
+        }
+        totalFacturas += facturas.size();
+        return this;
+    }
+
+    AcumuladorDeuda acumularConsumos(List<ConsumoEnergiaModel> consumos) {
+        for (int i = 0, n = consumos.size(); i < n; i++) {
+            ConsumoEnergiaModel consumo = consumos.get(i);
+            deudaEnergiaCentavos = Math.addExact(deudaEnergiaCentavos, consumo.getValorPagar().enCentavos());
+            sumaKilovatiosHora += consumo.getConsumo().getKilovatiosHora();
+        }
+        totalConsumos += consumos.size();
+        return this;
+    }
+
+    AcumuladorDeuda acumular(AgregadoFacturas agregado) {
+        deudaAcueductoCentavos = Math.addExact(deudaAcueductoCentavos, agregado.getDeuda().enCentavos());
+        totalFacturas += agregado.getTotal();
+        facturasVencidas += agregado.getVencidas();
+        facturasPendientes += agregado.getPendientes();
+        facturasProximasVencer += agregado.getProximasVencer();
+        sumaMetrosCubicos += agregado.getConsumoM3();
+        return this;
+    }
+
+    AcumuladorDeuda acumular(AgregadoConsumos agregado) {
+        deudaEnergiaCentavos = Math.addExact(deudaEnergiaCentavos, agregado.getDeuda().enCentavos());
+        totalConsumos += agregado.getTotal();
+        sumaKilovatiosHora += agregado.getConsumoKwh();
+        return this;
+    }
+
+    Dinero deudaAcueducto() {
+        return Dinero.deCentavos(deudaAcueductoCentavos);
+    }
+
+    Dinero deudaEnergia() {
+        return Dinero.deCentavos(deudaEnergiaCentavos);
+    }
+
+    Dinero totalGeneral() {
+        return Dinero.deCentavos(Math.addExact(deudaAcueductoCentavos, deudaEnergiaCentavos));
+    }
+
+    List<String> alertas() {
+        List<String> alertas = new ArrayList<>(3);
+        if (facturasVencidas > 0) {
+            alertas.add("Tiene " + facturasVencidas + " factura(s) vencida(s)");
+        }
+        if (facturasProximasVencer > 0) {
+            alertas.add("Tiene " + facturasProximasVencer + " factura(s) proxima(s) a vencer");
+        }
+        return alertas;
+    }
+
+    EstadisticasDeuda estadisticas(Dinero deudaAcueducto, Dinero deudaEnergia) {
+        return EstadisticasDeuda.builder()
+                .totalFacturasAcueducto(totalFacturas)
+                .facturasVencidas(facturasVencidas)
+                .facturasPendientes(facturasPendientes)
+                .promedioConsumoAcueducto(totalFacturas == 0 ? 0.0 : (double) sumaMetrosCubicos / totalFacturas)
+                .deudaAcumuladaAcueducto(deudaAcueducto)
+                .totalConsumosEnergia(totalConsumos)
+                .promedioConsumoEnergia(totalConsumos == 0 ? 0.0 : (double) sumaKilovatiosHora / totalConsumos)
+                .deudaAcumuladaEnergia(deudaEnergia)
+                .build();
+    }
+}
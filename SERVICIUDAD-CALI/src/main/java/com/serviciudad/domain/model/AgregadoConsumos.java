@@ -0,0 +1,22 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.Dinero;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Sumas y conteos de los consumos de energia de un cliente, calculados por la fuente sin
+ * cargar los consumos.
+ */
+@Value
+@Builder
+public class AgregadoConsumos {
+
+    int total;
+    Dinero deuda;
+    long consumoKwh;
+
+    public static AgregadoConsumos vacio() {
+        return AgregadoConsumos.builder().deuda(Dinero.cero()).build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.Dinero;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Sumas y conteos de las facturas de acueducto de un cliente, calculados por la fuente sin
+ * cargar las facturas.
+ */
+@Value
+@Builder
+public class AgregadoFacturas {
+
+    int total;
+    int pendientes;
+    int vencidas;
+
+    /**
+     * Pendientes que vencen despues de hoy y dentro de {@link DeudaConsolidada#DIAS_ALERTA_VENCIMIENTO} dias.
+     */
+    int proximasVencer;
+
+    /**
+     * Suma de las facturas no pagadas.
+     */
+    Dinero deuda;
+    long consumoM3;
+
+    public static AgregadoFacturas vacio() {
+        return AgregadoFacturas.builder().deuda(Dinero.cero()).build();
+    }
+}
@@ -6,8 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,6 +16,11 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class DeudaConsolidada {
     
+    /**
+     * Dias maximos hasta el vencimiento para alertar una factura pendiente.
+     */
+    public static final int DIAS_ALERTA_VENCIMIENTO = AcumuladorDeuda.DIAS_ALERTA_VENCIMIENTO;
+
     private ClienteId clienteId;
     private LocalDateTime fechaConsulta;
     private List<FacturaAcueducto> facturasAcueducto;
@@ -25,106 +30,64 @@ public class DeudaConsolidada {
     private Dinero totalGeneral;
     private List<String> alertas;
     private EstadisticasDeuda estadisticas;
+    private boolean parcial;
+    private List<String> fuentesNoDisponibles;
 
     public static DeudaConsolidada construir(
             ClienteId clienteId, 
             List<FacturaAcueducto> facturasAcueducto,
             List<ConsumoEnergiaModel> consumosEnergia) {
-        
-        Dinero deudaAcueducto = calcularDeudaAcueducto(facturasAcueducto);
-        Dinero deudaEnergia = calcularDeudaEnergia(consumosEnergia);
-        Dinero total = deudaAcueducto.sumar(deudaEnergia);
-        
-        List<String> alertas = generarAlertas(facturasAcueducto);
-        EstadisticasDeuda estadisticas = calcularEstadisticas(
-            facturasAcueducto, 
-            consumosEnergia,
-            deudaAcueducto,
-            deudaEnergia
-        );
+        return construir(clienteId, facturasAcueducto, consumosEnergia, List.of());
+    }
+
+    /**
+     * Construye la deuda con las fuentes que respondieron. Si alguna fuente no estuvo
+     * disponible se consolida con una lista vacia para ella y la deuda queda marcada como parcial.
+     */
+    public static DeudaConsolidada construir(
+            ClienteId clienteId, 
+            List<FacturaAcueducto> facturasAcueducto,
+            List<ConsumoEnergiaModel> consumosEnergia,
+            List<String> fuentesNoDisponibles) {
+        return construir(clienteId, facturasAcueducto, consumosEnergia, fuentesNoDisponibles, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Construye la deuda recorriendo facturas y consumos una sola vez. La fecha de consulta y
+     * los dias hasta el vencimiento de todas las facturas se toman de una misma lectura del reloj.
+     */
+    public static DeudaConsolidada construir(
+            ClienteId clienteId, 
+            List<FacturaAcueducto> facturasAcueducto,
+            List<ConsumoEnergiaModel> consumosEnergia,
+            List<String> fuentesNoDisponibles,
+            Clock reloj) {
+
+        LocalDateTime fechaConsulta = LocalDateTime.now(reloj);
+        AcumuladorDeuda acumulador = new AcumuladorDeuda(fechaConsulta.toLocalDate())
+                .acumularFacturas(facturasAcueducto)
+                .acumularConsumos(consumosEnergia);
+
+        Dinero deudaAcueducto = acumulador.deudaAcueducto();
+        Dinero deudaEnergia = acumulador.deudaEnergia();
+
+        List<String> alertas = acumulador.alertas();
+        if (!fuentesNoDisponibles.isEmpty()) {
+            alertas.add("Informacion parcial: no respondio " + String.join(", ", fuentesNoDisponibles));
+        }
 
         return DeudaConsolidada.builder()
                 .clienteId(clienteId)
-                .fechaConsulta(LocalDateTime.now())
+                .fechaConsulta(fechaConsulta)
                 .facturasAcueducto(facturasAcueducto)
                 .consumosEnergia(consumosEnergia)
                 .deudaTotalAcueducto(deudaAcueducto)
                 .deudaTotalEnergia(deudaEnergia)
-                .totalGeneral(total)
+                .totalGeneral(acumulador.totalGeneral())
                 .alertas(alertas)
-                .estadisticas(estadisticas)
-                .build();
-    }
-
-    private static Dinero calcularDeudaAcueducto(List<FacturaAcueducto> facturas) {
-        return facturas.stream()
-                .filter(f -> !f.isPagada())
-                .map(FacturaAcueducto::getValorPagar)
-                .reduce(Dinero.cero(), Dinero::sumar);
-    }
-
-    private static Dinero calcularDeudaEnergia(List<ConsumoEnergiaModel> consumos) {
-        return consumos.stream()
-                .map(ConsumoEnergiaModel::getValorPagar)
-                .reduce(Dinero.cero(), Dinero::sumar);
-    }
-
-    private static List<String> generarAlertas(List<FacturaAcueducto> facturas) {
-        List<String> alertas = new ArrayList<>();
-        
-        long facturasVencidas = facturas.stream()
-                .filter(FacturaAcueducto::isVencida)
-                .count();
-        
-        if (facturasVencidas > 0) {
-            alertas.add("Tiene " + facturasVencidas + " factura(s) vencida(s)");
-        }
-        
-        long facturasProximasVencer = facturas.stream()
-                .filter(f -> f.isPendiente() && f.diasHastaVencimiento() <= 5 && f.diasHastaVencimiento() > 0)
-                .count();
-        
-        if (facturasProximasVencer > 0) {
-            alertas.add("Tiene " + facturasProximasVencer + " factura(s) proxima(s) a vencer");
-        }
-        
-        return alertas;
-    }
-
-    private static EstadisticasDeuda calcularEstadisticas(
-            List<FacturaAcueducto> facturasAcueducto,
-            List<ConsumoEnergiaModel> consumosEnergia,
-            Dinero deudaAcueducto,
-            Dinero deudaEnergia) {
-        
-        int totalFacturasAcueducto = facturasAcueducto.size();
-        int facturasVencidas = (int) facturasAcueducto.stream()
-                .filter(FacturaAcueducto::isVencida)
-                .count();
-        int facturasPendientes = (int) facturasAcueducto.stream()
-                .filter(FacturaAcueducto::isPendiente)
-                .count();
-        
-        double promedioConsumoAcueducto = facturasAcueducto.stream()
-                .mapToInt(f -> f.getConsumo().getMetrosCubicos())
-                .average()
-                .orElse(0.0);
-        
-        int totalConsumosEnergia = consumosEnergia.size();
-        double promedioConsumoEnergia = consumosEnergia.stream()
-                .mapToInt(c -> c.getConsumo().getKilovatiosHora())
-                .average()
-                .orElse(0.0);
-        
-        return EstadisticasDeuda.builder()
-                .totalFacturasAcueducto(totalFacturasAcueducto)
-                .facturasVencidas(facturasVencidas)
-                .facturasPendientes(facturasPendientes)
-                .promedioConsumoAcueducto(promedioConsumoAcueducto)
-                .deudaAcumuladaAcueducto(deudaAcueducto)
-                .totalConsumosEnergia(totalConsumosEnergia)
-                .promedioConsumoEnergia(promedioConsumoEnergia)
-                .deudaAcumuladaEnergia(deudaEnergia)
+                .estadisticas(acumulador.estadisticas(deudaAcueducto, deudaEnergia))
+                .parcial(!fuentesNoDisponibles.isEmpty())
+                .fuentesNoDisponibles(List.copyOf(fuentesNoDisponibles))
                 .build();
     }
 
@@ -133,6 +96,9 @@ public class DeudaConsolidada {
     }
 
     public boolean tieneFacturasVencidas() {
+        if (estadisticas != null) {
+            return estadisticas.getFacturasVencidas() > 0;
+        }
         return facturasAcueducto.stream().anyMatch(FacturaAcueducto::isVencida);
     }
 
@@ -0,0 +1,72 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deuda consolidada sin el detalle de facturas y consumos: totales, alertas y estadisticas
+ * calculados desde los agregados de cada fuente. Usa los mismos criterios que
+ * {@link DeudaConsolidada}, de modo que ambas vistas coinciden para el mismo cliente.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class DeudaConsolidadaResumen {
+
+    private ClienteId clienteId;
+    private LocalDateTime fechaConsulta;
+    private Dinero deudaTotalAcueducto;
+    private Dinero deudaTotalEnergia;
+    private Dinero totalGeneral;
+    private List<String> alertas;
+    private EstadisticasDeuda estadisticas;
+    private boolean parcial;
+    private List<String> fuentesNoDisponibles;
+
+    /**
+     * Construye el resumen con las fuentes que respondieron; las que no, se pasan como agregados
+     * vacios y se listan en {@code fuentesNoDisponibles}.
+     *
+     * @param fechaConsulta lectura del reloj con la que la fuente calculo las facturas proximas a vencer
+     */
+    public static DeudaConsolidadaResumen construir(
+            ClienteId clienteId,
+            AgregadoFacturas facturas,
+            AgregadoConsumos consumos,
+            List<String> fuentesNoDisponibles,
+            LocalDateTime fechaConsulta) {
+        AcumuladorDeuda acumulador = new AcumuladorDeuda(fechaConsulta.toLocalDate())
+                .acumular(facturas)
+                .acumular(consumos);
+
+        Dinero deudaAcueducto = acumulador.deudaAcueducto();
+        Dinero deudaEnergia = acumulador.deudaEnergia();
+
+        List<String> alertas = acumulador.alertas();
+        if (!fuentesNoDisponibles.isEmpty()) {
+            alertas.add("Informacion parcial: no respondio " + String.join(", ", fuentesNoDisponibles));
+        }
+
+        return DeudaConsolidadaResumen.builder()
+                .clienteId(clienteId)
+                .fechaConsulta(fechaConsulta)
+                .deudaTotalAcueducto(deudaAcueducto)
+                .deudaTotalEnergia(deudaEnergia)
+                .totalGeneral(acumulador.totalGeneral())
+                .alertas(alertas)
+                .estadisticas(acumulador.estadisticas(deudaAcueducto, deudaEnergia))
+                .parcial(!fuentesNoDisponibles.isEmpty())
+                .fuentesNoDisponibles(List.copyOf(fuentesNoDisponibles))
+                .build();
+    }
+
+    public boolean tieneDeuda() {
+        return !totalGeneral.esCero();
+    }
+}
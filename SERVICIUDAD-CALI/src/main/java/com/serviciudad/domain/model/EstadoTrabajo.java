@@ -0,0 +1,12 @@
+package com.serviciudad.domain.model;
+
+public enum EstadoTrabajo {
+    EN_COLA,
+    EN_EJECUCION,
+    COMPLETADO,
+    FALLIDO;
+
+    public boolean esFinal() {
+        return this == COMPLETADO || this == FALLIDO;
+    }
+}
@@ -39,6 +39,34 @@ public class FacturaAcueducto {
         this.fechaActualizacion = LocalDateTime.now();
     }
 
+    /**
+     * Pago dentro de un lote: una factura ya pagada o anulada se reporta sin cambios en lugar
+     * de fallar.
+     */
+    public ResultadoPago aplicarPago() {
+        if (estado == EstadoFactura.PAGADA) {
+            return ResultadoPago.YA_PAGADA;
+        }
+        if (estado == EstadoFactura.ANULADA) {
+            return ResultadoPago.ANULADA;
+        }
+        registrarPago();
+        return ResultadoPago.PAGADA;
+    }
+
+    /**
+     * Pago conciliado con el valor informado por el banco: solo se paga si coincide con el
+     * valor de la factura.
+     */
+    public ResultadoPago aplicarPago(Dinero valorPagado) {
+        if (estado == EstadoFactura.PENDIENTE || estado == EstadoFactura.VENCIDA) {
+            if (!valorPagar.esIgualA(valorPagado)) {
+                return ResultadoPago.VALOR_DIFERENTE;
+            }
+        }
+        return aplicarPago();
+    }
+
     public void anular() {
         if (estado == EstadoFactura.PAGADA) {
             throw new IllegalStateException("No se puede anular una factura pagada");
@@ -59,10 +87,14 @@ public class FacturaAcueducto {
     }
 
     public long diasHastaVencimiento() {
+        return diasHastaVencimiento(LocalDate.now());
+    }
+
+    public long diasHastaVencimiento(LocalDate hoy) {
         if (fechaVencimiento == null) {
             return 0;
         }
-        return LocalDate.now().until(fechaVencimiento, java.time.temporal.ChronoUnit.DAYS);
+        return hoy.until(fechaVencimiento, java.time.temporal.ChronoUnit.DAYS);
     }
 
     public void marcarComoVencida() {
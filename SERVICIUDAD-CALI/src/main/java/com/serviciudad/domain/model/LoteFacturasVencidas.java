@@ -0,0 +1,36 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.ClienteId;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Facturas marcadas como vencidas en un lote confirmado y clientes a los que pertenecen.
+ */
+@Value
+public class LoteFacturasVencidas {
+
+    int facturas;
+    Set<ClienteId> clientes;
+
+    /**
+     * Posicion de la ultima factura del lote en orden de {@code (fechaVencimiento, id)}, desde
+     * donde continua el lote siguiente; {@code null} en un lote vacio.
+     */
+    PosicionPendiente ultima;
+
+    public LoteFacturasVencidas(int facturas, Set<ClienteId> clientes) {
+        this(facturas, clientes, null);
+    }
+
+    public LoteFacturasVencidas(int facturas, Set<ClienteId> clientes, PosicionPendiente ultima) {
+        this.facturas = facturas;
+        this.clientes = clientes;
+        this.ultima = ultima;
+    }
+
+    public static LoteFacturasVencidas vacio() {
+        return new LoteFacturasVencidas(0, Set.of());
+    }
+}
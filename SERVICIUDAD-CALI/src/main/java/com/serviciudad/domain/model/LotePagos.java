@@ -0,0 +1,19 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.FacturaId;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pagos de un bloque confirmado: resultado de cada factura encontrada y clientes con alguna
+ * factura pagada en el bloque.
+ */
+@Value
+public class LotePagos {
+
+    Map<FacturaId, ResultadoPago> resultados;
+    Set<ClienteId> clientes;
+}
@@ -0,0 +1,18 @@
+package com.serviciudad.domain.model;
+
+public enum ModoImportacion {
+    /**
+     * Inserta todos los registros leídos; la carga más rápida para archivos nuevos. Una importación
+     * reiniciada o de un archivo reemplazado se fusiona aunque se pida este modo.
+     */
+    AGREGAR,
+    /**
+     * Combina por (cliente, periodo): inserta los nuevos, actualiza los que cambiaron y deja
+     * intactos los iguales, por lo que reimportar el mismo archivo no duplica lecturas.
+     */
+    FUSIONAR;
+
+    public boolean esFusion() {
+        return this == FUSIONAR;
+    }
+}
@@ -0,0 +1,47 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.Periodo;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagina de un historial ordenado por periodo descendente (keyset): la siguiente pagina
+ * empieza en los periodos anteriores a {@code siguienteAntesDe}. Como hay un registro por
+ * cliente y periodo, el periodo identifica la posicion sin depender de un desplazamiento.
+ */
+@Value
+public class Pagina<T> {
+
+    public static final int LIMITE_MAXIMO = 200;
+
+    List<T> elementos;
+
+    /**
+     * Periodo desde el que sigue la pagina siguiente, o {@code null} si es la ultima.
+     */
+    Periodo siguienteAntesDe;
+
+    public boolean tieneSiguiente() {
+        return siguienteAntesDe != null;
+    }
+
+    /**
+     * Arma la pagina a partir de hasta {@code limite + 1} filas: la fila sobrante solo indica
+     * que hay mas.
+     */
+    public static <T> Pagina<T> de(List<T> filas, int limite, Function<T, Periodo> periodo) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(List.copyOf(filas), null);
+        }
+        List<T> elementos = List.copyOf(filas.subList(0, limite));
+        return new Pagina<>(elementos, periodo.apply(elementos.get(limite - 1)));
+    }
+
+    public static void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El limite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+    }
+}
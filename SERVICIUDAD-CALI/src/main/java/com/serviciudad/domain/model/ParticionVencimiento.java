@@ -0,0 +1,40 @@
+package com.serviciudad.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Tramo de ids de facturas que un trabajador recorre al marcar vencidas con corte
+ * {@code fechaCorte}. {@code ultimoId} es el ultimo id ya procesado y confirmado; la particion
+ * esta completa cuando alcanza {@code idHasta}.
+ */
+@Value
+public class ParticionVencimiento {
+
+    LocalDate fechaCorte;
+    int numero;
+    long idDesde;
+    long idHasta;
+    long ultimoId;
+    long facturasMarcadas;
+
+    public static ParticionVencimiento nueva(LocalDate fechaCorte, int numero, long idDesde, long idHasta) {
+        return new ParticionVencimiento(fechaCorte, numero, idDesde, idHasta, idDesde - 1, 0);
+    }
+
+    public boolean estaCompletada() {
+        return ultimoId >= idHasta;
+    }
+
+    /**
+     * Limite del siguiente tramo a procesar, de a lo sumo {@code tamano} ids.
+     */
+    public long siguienteHasta(int tamano) {
+        return Math.min(idHasta, ultimoId + tamano);
+    }
+
+    public ParticionVencimiento avanzar(long hasta, int marcadas) {
+        return new ParticionVencimiento(fechaCorte, numero, idDesde, idHasta, hasta, facturasMarcadas + marcadas);
+    }
+}
@@ -0,0 +1,18 @@
+package com.serviciudad.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Posicion de un recorrido de facturas pendientes ordenado por {@code (fechaVencimiento, id)}
+ * (keyset): el siguiente tramo empieza en las facturas posteriores a esta. El id desempata las
+ * facturas con la misma fecha de vencimiento, que no admite nulos.
+ */
+@Value
+public class PosicionPendiente {
+
+    LocalDate fechaVencimiento;
+
+    long id;
+}
@@ -0,0 +1,30 @@
+package com.serviciudad.domain.model;
+
+/**
+ * Avance que reporta una operacion masiva mientras se ejecuta como trabajo asincrono.
+ */
+public interface ProgresoTrabajo {
+
+    /**
+     * Para operaciones ejecutadas sin seguimiento.
+     */
+    ProgresoTrabajo NINGUNO = new ProgresoTrabajo() {
+        @Override
+        public void estimarTotal(long total) {
+        }
+
+        @Override
+        public void registrar(long procesados, long actualizados) {
+        }
+    };
+
+    /**
+     * Total de elementos que se espera procesar, para estimar el tiempo restante.
+     */
+    void estimarTotal(long total);
+
+    /**
+     * Suma elementos procesados y actualizados desde el ultimo registro.
+     */
+    void registrar(long procesados, long actualizados);
+}
@@ -0,0 +1,27 @@
+package com.serviciudad.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Resultado de conciliar un archivo de pagos bancarios contra las facturas.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResultadoConciliacion {
+
+    private String archivo;
+    private long registrosLeidos;
+    private long facturasPagadas;
+
+    /**
+     * Registros no aplicados (invalidos, sin factura, ya pagados, anulados o con otro valor),
+     * detallados en {@link #reporteExcepciones}.
+     */
+    private long excepciones;
+    private String reporteExcepciones;
+    private int lotesConfirmados;
+    private long duracionMs;
+}
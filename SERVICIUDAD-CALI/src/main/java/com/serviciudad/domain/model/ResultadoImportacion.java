@@ -0,0 +1,28 @@
+package com.serviciudad.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResultadoImportacion {
+
+    private String archivo;
+    private ModoImportacion modo;
+    private long offsetInicial;
+    private long offsetFinal;
+    private long registrosLeidos;
+    private long registrosImportados;
+    private long registrosRechazados;
+    private long registrosInsertados;
+    private long registrosActualizados;
+    private long registrosSinCambios;
+    private int lotesConfirmados;
+    private boolean archivoReemplazado;
+
+    public boolean fueReanudada() {
+        return offsetInicial > 0;
+    }
+}
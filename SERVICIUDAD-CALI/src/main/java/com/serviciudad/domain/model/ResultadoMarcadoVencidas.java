@@ -0,0 +1,23 @@
+package com.serviciudad.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResultadoMarcadoVencidas {
+
+    private LocalDate fechaCorte;
+    private long facturasMarcadas;
+    private List<Integer> facturasPorLote;
+    private long duracionMs;
+
+    public int getLotes() {
+        return facturasPorLote.size();
+    }
+}
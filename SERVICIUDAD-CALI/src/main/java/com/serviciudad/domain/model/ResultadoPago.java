@@ -0,0 +1,15 @@
+package com.serviciudad.domain.model;
+
+/**
+ * Resultado de aplicar un pago a una factura dentro de un lote.
+ */
+public enum ResultadoPago {
+    PAGADA,
+    YA_PAGADA,
+    ANULADA,
+    NO_ENCONTRADA,
+    /**
+     * El valor pagado no coincide con el de la factura; solo aplica cuando el pago informa su valor.
+     */
+    VALOR_DIFERENTE
+}
@@ -0,0 +1,60 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de la deuda de un cliente, mantenido en la tabla {@code deuda_resumen} en la misma
+ * transaccion que cada cambio de facturas o importacion de energia.
+ *
+ * <p>Usa los mismos criterios que {@link DeudaConsolidada}: la deuda de acueducto suma las
+ * facturas no pagadas y la de energia todos los consumos registrados.</p>
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResumenDeuda {
+
+    private ClienteId clienteId;
+    private Dinero deudaAcueducto;
+    private int facturasPendientes;
+    private int facturasVencidas;
+    private int totalFacturasAcueducto;
+    private long consumoAcueductoM3;
+    private Dinero deudaEnergia;
+    private int totalConsumosEnergia;
+    private long consumoEnergiaKwh;
+    private LocalDateTime fechaActualizacion;
+
+    /**
+     * Resumen de un cliente sin facturas ni consumos.
+     */
+    public static ResumenDeuda vacio(ClienteId clienteId) {
+        return ResumenDeuda.builder()
+                .clienteId(clienteId)
+                .deudaAcueducto(Dinero.cero())
+                .deudaEnergia(Dinero.cero())
+                .build();
+    }
+
+    public Dinero totalGeneral() {
+        return deudaAcueducto.sumar(deudaEnergia);
+    }
+
+    public boolean tieneDeuda() {
+        return !totalGeneral().esCero();
+    }
+
+    public double promedioConsumoAcueducto() {
+        return totalFacturasAcueducto == 0 ? 0.0 : (double) consumoAcueductoM3 / totalFacturasAcueducto;
+    }
+
+    public double promedioConsumoEnergia() {
+        return totalConsumosEnergia == 0 ? 0.0 : (double) consumoEnergiaKwh / totalConsumosEnergia;
+    }
+}
@@ -0,0 +1,37 @@
+package com.serviciudad.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un trabajo asincrono en el momento de la consulta.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class Trabajo {
+
+    private String id;
+    private String tipo;
+    private EstadoTrabajo estado;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+
+    /**
+     * {@code null} si la operacion no estimo su total.
+     */
+    private Long total;
+    private long procesados;
+    private long actualizados;
+    private double procesadosPorSegundo;
+
+    /**
+     * {@code null} sin total estimado, sin avance todavia o con el trabajo terminado.
+     */
+    private Long segundosRestantes;
+    private String error;
+}
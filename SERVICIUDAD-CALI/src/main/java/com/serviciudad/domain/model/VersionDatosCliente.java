@@ -0,0 +1,41 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.ClienteId;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Version de los datos con los que se construyen las respuestas de un cliente. Cambia cuando
+ * cambian sus facturas, cuando llega una version nueva de los datos de energia o cuando cambia
+ * el dia, porque los vencimientos y alertas se calculan respecto a la fecha de la consulta.
+ */
+@Value
+public class VersionDatosCliente {
+
+    ClienteId clienteId;
+    VersionFacturas facturas;
+
+    /**
+     * Version de los datos de energia, o {@code 0} si la respuesta no los usa.
+     */
+    long versionEnergia;
+
+    LocalDate fecha;
+
+    /**
+     * Identificador compacto de la version; dos versiones iguales producen la misma etiqueta.
+     */
+    public String etiqueta() {
+        long ultimaActualizacion = facturas.getUltimaActualizacion() == null ? 0
+            : facturas.getUltimaActualizacion().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                + facturas.getUltimaActualizacion().getNano();
+        return clienteId.getValor()
+            + "." + Long.toString(facturas.getTotal(), 36)
+            + "." + Long.toString(ultimaActualizacion, 36)
+            + "." + Long.toString(facturas.getSumaSegundosActualizacion(), 36)
+            + "." + Long.toString(versionEnergia, 36)
+            + "." + Long.toString(fecha.toEpochDay(), 36);
+    }
+}
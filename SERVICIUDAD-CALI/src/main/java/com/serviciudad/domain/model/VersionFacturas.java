@@ -0,0 +1,30 @@
+package com.serviciudad.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Huella de las facturas de un cliente para detectar cambios sin cargarlas: numero de
+ * facturas, ultima fecha de actualizacion y suma de las fechas de actualizacion en segundos.
+ *
+ * <p>La suma detecta un cambio confirmado con una fecha anterior a la maxima ya visible (la
+ * fecha se fija al escribir la fila, no al confirmar la transaccion); el conteo detecta altas
+ * y bajas.</p>
+ */
+@Value
+public class VersionFacturas {
+
+    long total;
+
+    /**
+     * {@code null} si el cliente no tiene facturas.
+     */
+    LocalDateTime ultimaActualizacion;
+
+    long sumaSegundosActualizacion;
+
+    public static VersionFacturas sinFacturas() {
+        return new VersionFacturas(0, null, 0);
+    }
+}
@@ -0,0 +1,13 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+
+public interface ConciliarPagosUseCase {
+
+    /**
+     * Marca como pagadas las facturas de un archivo de pagos bancarios de ancho fijo,
+     * reportando el avance de cada bloque en {@code progreso}.
+     */
+    ResultadoConciliacion conciliarArchivo(String archivo, ProgresoTrabajo progreso);
+}
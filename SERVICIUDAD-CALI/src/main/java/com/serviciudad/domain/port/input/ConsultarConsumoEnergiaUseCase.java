@@ -1,6 +1,7 @@
 package com.serviciudad.domain.port.input;
 
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.Pagina;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.Periodo;
 
@@ -8,7 +9,12 @@ import java.util.List;
 
 public interface ConsultarConsumoEnergiaUseCase {
     
-    List<ConsumoEnergiaModel> consultarConsumosPorCliente(ClienteId clienteId);
+    /**
+     * Pagina del historial de consumos del cliente, del mas reciente al mas antiguo.
+     *
+     * @param antesDe periodo desde el que continua la pagina, o {@code null} para la primera
+     */
+    Pagina<ConsumoEnergiaModel> consultarConsumosPorCliente(ClienteId clienteId, Periodo antesDe, int limite);
     
     List<ConsumoEnergiaModel> consultarConsumosPorPeriodo(ClienteId clienteId, Periodo periodo);
     
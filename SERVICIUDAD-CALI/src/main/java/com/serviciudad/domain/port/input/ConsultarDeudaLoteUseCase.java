@@ -0,0 +1,17 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.valueobject.ClienteId;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ConsultarDeudaLoteUseCase {
+
+    /**
+     * Consolida la deuda de varios clientes y entrega cada una a {@code resultado} apenas se calcula.
+     *
+     * @return clientes sin facturas ni consumos, en el orden solicitado
+     */
+    List<ClienteId> consultarDeudaLote(List<ClienteId> clienteIds, Consumer<DeudaConsolidada> resultado);
+}
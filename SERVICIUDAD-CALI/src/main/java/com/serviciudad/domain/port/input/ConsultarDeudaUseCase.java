@@ -1,9 +1,15 @@
 package com.serviciudad.domain.port.input;
 
 import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.DeudaConsolidadaResumen;
 import com.serviciudad.domain.valueobject.ClienteId;
 
 public interface ConsultarDeudaUseCase {
     
     DeudaConsolidada consultarDeudaConsolidada(ClienteId clienteId);
+
+    /**
+     * Totales, alertas y estadisticas de la deuda sin el detalle de facturas y consumos.
+     */
+    DeudaConsolidadaResumen consultarDeudaResumen(ClienteId clienteId);
 }
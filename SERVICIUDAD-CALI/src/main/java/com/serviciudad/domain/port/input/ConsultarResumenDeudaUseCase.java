@@ -0,0 +1,11 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.valueobject.ClienteId;
+
+public interface ConsultarResumenDeudaUseCase {
+
+    ResumenDeuda consultarResumen(ClienteId clienteId);
+
+    long reconstruirResumenes();
+}
@@ -0,0 +1,17 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.VersionDatosCliente;
+import com.serviciudad.domain.valueobject.ClienteId;
+
+public interface ConsultarVersionDatosUseCase {
+
+    /**
+     * Version de los datos de la consulta de facturas del cliente.
+     */
+    VersionDatosCliente versionFacturas(ClienteId clienteId);
+
+    /**
+     * Version de los datos de la deuda consolidada del cliente: facturas y energia.
+     */
+    VersionDatosCliente versionDeuda(ClienteId clienteId);
+}
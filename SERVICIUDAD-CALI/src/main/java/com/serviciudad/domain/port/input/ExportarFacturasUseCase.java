@@ -0,0 +1,16 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.valueobject.Periodo;
+
+import java.util.function.Consumer;
+
+public interface ExportarFacturasUseCase {
+
+    /**
+     * Entrega al destino las facturas del periodo una a una, sin acumularlas en memoria.
+     *
+     * @return numero de facturas exportadas
+     */
+    long exportarPorPeriodo(Periodo periodo, Consumer<FacturaAcueducto> destino);
+}
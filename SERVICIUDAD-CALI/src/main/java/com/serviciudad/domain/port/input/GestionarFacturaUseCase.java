@@ -1,6 +1,9 @@
 package com.serviciudad.domain.port.input;
 
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.Pagina;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoMarcadoVencidas;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.FacturaId;
 import com.serviciudad.domain.valueobject.Periodo;
@@ -11,7 +14,12 @@ public interface GestionarFacturaUseCase {
     
     FacturaAcueducto consultarFactura(FacturaId facturaId);
     
-    List<FacturaAcueducto> consultarFacturasPorCliente(ClienteId clienteId);
+    /**
+     * Pagina del historial de facturas del cliente, de la mas reciente a la mas antigua.
+     *
+     * @param antesDe periodo desde el que continua la pagina, o {@code null} para la primera
+     */
+    Pagina<FacturaAcueducto> consultarFacturasPorCliente(ClienteId clienteId, Periodo antesDe, int limite);
     
     List<FacturaAcueducto> consultarFacturasPorPeriodo(ClienteId clienteId, Periodo periodo);
     
@@ -19,5 +27,9 @@ public interface GestionarFacturaUseCase {
     
     void anularFactura(FacturaId facturaId);
     
-    void marcarFacturasVencidas();
+    /**
+     * Marca como vencidas las facturas pendientes con vencimiento anterior a hoy, confirmando
+     * cada lote por separado y reportando el avance de cada lote en {@code progreso}.
+     */
+    ResultadoMarcadoVencidas marcarFacturasVencidas(ProgresoTrabajo progreso);
 }
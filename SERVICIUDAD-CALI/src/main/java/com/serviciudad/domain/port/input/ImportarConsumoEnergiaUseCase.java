@@ -0,0 +1,11 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+
+public interface ImportarConsumoEnergiaUseCase {
+
+    ResultadoImportacion importarArchivoLegacy(boolean reiniciar, ModoImportacion modo);
+
+    ResultadoImportacion importarNuevosRegistros();
+}
@@ -0,0 +1,17 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.valueobject.FacturaId;
+
+import java.util.List;
+import java.util.Map;
+
+public interface RegistrarPagosLoteUseCase {
+
+    /**
+     * Registra el pago de muchas facturas a la vez, confirmando cada bloque por separado.
+     *
+     * @return resultado de cada factura, sin repetidas y en el orden solicitado
+     */
+    Map<FacturaId, ResultadoPago> registrarPagos(List<FacturaId> facturaIds);
+}
@@ -0,0 +1,17 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.Trabajo;
+
+import java.util.Optional;
+
+public interface TrabajosUseCase {
+
+    Trabajo lanzarMarcadoVencidas();
+
+    Trabajo lanzarImportacionEnergia(boolean reiniciar, ModoImportacion modo);
+
+    Trabajo lanzarConciliacionPagos(String archivo);
+
+    Optional<Trabajo> consultar(String id);
+}
@@ -0,0 +1,17 @@
+package com.serviciudad.domain.port.input;
+
+import com.serviciudad.domain.model.ParticionVencimiento;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VencimientoProgramadoUseCase {
+
+    /**
+     * Marca las facturas vencidas recorriendo en paralelo las particiones pendientes del dia,
+     * si esta instancia obtiene la coordinacion.
+     *
+     * @return particiones al terminar, o vacio si otra instancia esta coordinando
+     */
+    Optional<List<ParticionVencimiento>> ejecutar();
+}
@@ -0,0 +1,23 @@
+package com.serviciudad.domain.port.output;
+
+import java.util.Optional;
+
+/**
+ * Exclusion mutua entre instancias de la aplicacion para tareas que solo debe coordinar una.
+ */
+public interface BloqueoDistribuidoPort {
+
+    /**
+     * Intenta tomar el bloqueo del recurso sin esperar. Se mantiene hasta cerrar el
+     * {@link Bloqueo} retornado o hasta que termina el proceso que lo tiene.
+     *
+     * @return vacio si otra instancia u otro hilo ya lo tiene
+     */
+    Optional<Bloqueo> intentarAdquirir(String recurso);
+
+    interface Bloqueo extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+public interface ConciliacionPagosPort {
+
+    /**
+     * Recorre el archivo de pagos, aplica {@code regla} a la factura de cada registro con el
+     * valor pagado y guarda las que resulten {@link ResultadoPago#PAGADA}, confirmando cada bloque
+     * por separado. Los registros no pagados se escriben en un reporte de excepciones.
+     *
+     * @param archivo nombre del archivo dentro del directorio de conciliacion
+     * @param alConfirmarBloque recibe los clientes con facturas pagadas de cada bloque, ya confirmado
+     */
+    ResultadoConciliacion conciliar(String archivo, BiFunction<FacturaAcueducto, Dinero, ResultadoPago> regla,
+                                    ProgresoTrabajo progreso, Consumer<Set<ClienteId>> alConfirmarBloque);
+}
@@ -0,0 +1,11 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+
+public interface ConsumoEnergiaImportPort {
+
+    ResultadoImportacion importar(boolean reiniciar, ModoImportacion modo);
+
+    ResultadoImportacion importarNuevosRegistros();
+}
@@ -1,16 +1,39 @@
 package com.serviciudad.domain.port.output;
 
+import com.serviciudad.domain.model.AgregadoConsumos;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.Periodo;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ConsumoEnergiaReaderPort {
     
     List<ConsumoEnergiaModel> findByClienteId(ClienteId clienteId);
     
+    /**
+     * Hasta {@code limite} consumos del cliente con periodo anterior a {@code antesDe} (todos si es
+     * {@code null}), del mas reciente al mas antiguo.
+     */
+    List<ConsumoEnergiaModel> findByClienteIdAntesDe(ClienteId clienteId, Periodo antesDe, int limite);
+    
+    /**
+     * Consumos de varios clientes en una sola consulta; quien llama acota el numero de clientes.
+     */
+    List<ConsumoEnergiaModel> findByClienteIds(Collection<ClienteId> clienteIds);
+    
+    /**
+     * Sumas y conteos de los consumos del cliente sin cargarlos.
+     */
+    AgregadoConsumos agregarPorCliente(ClienteId clienteId);
+    
     List<ConsumoEnergiaModel> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo);
     
     List<ConsumoEnergiaModel> findConsumosElevados(ClienteId clienteId);
+
+    /**
+     * Version de los datos de energia; cambia cada vez que cambia lo que retorna la lectura.
+     */
+    long versionDatos();
 }
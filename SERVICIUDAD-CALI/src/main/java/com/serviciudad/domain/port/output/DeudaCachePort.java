@@ -0,0 +1,37 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.valueobject.ClienteId;
+
+import java.util.Optional;
+
+/**
+ * Cache de deudas consolidadas por cliente.
+ *
+ * <p>Las entradas se invalidan cuando cambian las facturas del cliente o los datos de
+ * energia. Para no guardar una deuda calculada con datos que cambiaron mientras se
+ * consultaban, quien la calcula toma una {@link #marcaInvalidacion()} antes de leer y la
+ * entrega al {@link #guardar}.</p>
+ */
+public interface DeudaCachePort {
+
+    /**
+     * Deuda en cache del cliente, si fue calculada con la version de energia indicada.
+     */
+    Optional<DeudaConsolidada> obtener(ClienteId clienteId, long versionEnergia);
+
+    /**
+     * Marca que cambia con cada invalidacion.
+     */
+    long marcaInvalidacion();
+
+    /**
+     * Guarda la deuda solo si no hubo invalidaciones desde {@code marca} y la version de
+     * energia sigue vigente.
+     */
+    void guardar(DeudaConsolidada deuda, long marca, long versionEnergia);
+
+    void invalidar(ClienteId clienteId);
+
+    void invalidarTodo();
+}
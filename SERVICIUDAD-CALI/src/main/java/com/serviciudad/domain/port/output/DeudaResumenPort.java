@@ -0,0 +1,24 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.valueobject.ClienteId;
+
+import java.util.Optional;
+
+/**
+ * Modelo de lectura con el resumen de deuda por cliente.
+ */
+public interface DeudaResumenPort {
+
+    /**
+     * Resumen del cliente con una busqueda por clave primaria.
+     */
+    Optional<ResumenDeuda> findByClienteId(ClienteId clienteId);
+
+    /**
+     * Recalcula todos los resumenes desde facturas y consumos.
+     *
+     * @return numero de clientes con resumen
+     */
+    long reconstruir();
+}
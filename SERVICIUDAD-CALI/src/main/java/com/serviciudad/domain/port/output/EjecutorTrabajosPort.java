@@ -0,0 +1,26 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.Trabajo;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Ejecucion en segundo plano de operaciones masivas con seguimiento de su avance.
+ */
+public interface EjecutorTrabajosPort {
+
+    /**
+     * Encola la tarea y retorna de inmediato. La tarea reporta su avance en el
+     * {@link ProgresoTrabajo} que recibe.
+     *
+     * @throws com.serviciudad.domain.exception.TrabajosSaturadosException si la cola esta llena
+     */
+    Trabajo enviar(String tipo, Consumer<ProgresoTrabajo> tarea);
+
+    /**
+     * @return vacio si el trabajo no existe o ya se descarto por antiguedad
+     */
+    Optional<Trabajo> consultar(String id);
+}
@@ -1,12 +1,17 @@
 package com.serviciudad.domain.port.output;
 
+import com.serviciudad.domain.model.AgregadoFacturas;
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.VersionFacturas;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.FacturaId;
 import com.serviciudad.domain.valueobject.Periodo;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface FacturaRepositoryPort {
     
@@ -14,13 +19,39 @@ public interface FacturaRepositoryPort {
     
     List<FacturaAcueducto> findByClienteId(ClienteId clienteId);
     
-    List<FacturaAcueducto> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo);
+    /**
+     * Hasta {@code limite} facturas del cliente con periodo anterior a {@code antesDe} (todas si es
+     * {@code null}), de la mas reciente a la mas antigua.
+     */
+    List<FacturaAcueducto> findByClienteIdAntesDe(ClienteId clienteId, Periodo antesDe, int limite);
     
-    List<FacturaAcueducto> findFacturasPendientes();
+    /**
+     * Facturas de varios clientes en una sola consulta; quien llama acota el numero de clientes.
+     */
+    List<FacturaAcueducto> findByClienteIds(Collection<ClienteId> clienteIds);
     
-    List<FacturaAcueducto> findFacturasPendientes(int pageNumber, int pageSize);
+    /**
+     * Sumas y conteos de las facturas del cliente sin cargarlas; las proximas a vencer se
+     * cuentan respecto a {@code hoy}.
+     */
+    AgregadoFacturas agregarPorCliente(ClienteId clienteId, LocalDate hoy);
     
-    boolean hasMoreFacturasPendientes(int pageNumber, int pageSize);
+    /**
+     * Huella de las facturas del cliente para detectar cambios sin cargarlas.
+     */
+    VersionFacturas versionPorCliente(ClienteId clienteId);
+    
+    List<FacturaAcueducto> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo);
+    
+    /**
+     * Entrega al destino las facturas del periodo, en orden de id, sin mantenerlas en memoria.
+     * Debe llamarse dentro de una transaccion, que queda abierta mientras dura el recorrido.
+     *
+     * @return numero de facturas entregadas
+     */
+    long recorrerPorPeriodo(Periodo periodo, Consumer<FacturaAcueducto> destino);
+    
+    List<FacturaAcueducto> findFacturasPendientes();
     
     List<FacturaAcueducto> findFacturasVencidas();
     
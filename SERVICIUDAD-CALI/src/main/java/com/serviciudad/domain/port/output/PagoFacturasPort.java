@@ -0,0 +1,21 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.LotePagos;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.valueobject.FacturaId;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+public interface PagoFacturasPort {
+
+    /**
+     * Aplica {@code regla} a las facturas del bloque y guarda las que resulten
+     * {@link ResultadoPago#PAGADA}, todo en una transaccion. Las facturas quedan bloqueadas
+     * desde la lectura hasta el commit; quien llama acota el tamano del bloque.
+     *
+     * @return resultados de las facturas encontradas; las demas no aparecen
+     */
+    LotePagos pagar(Collection<FacturaId> facturaIds, Function<FacturaAcueducto, ResultadoPago> regla);
+}
@@ -0,0 +1,41 @@
+package com.serviciudad.domain.port.output;
+
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.ParticionVencimiento;
+import com.serviciudad.domain.model.PosicionPendiente;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Transicion masiva de facturas pendientes a vencidas, sin cargarlas en memoria.
+ */
+public interface VencimientoFacturasPort {
+
+    /**
+     * Marca como vencidas hasta {@code limite} facturas pendientes con vencimiento anterior a
+     * {@code hoy}, en orden de {@code (fechaVencimiento, id)} y posteriores a {@code despuesDe}
+     * (desde la primera si es {@code null}). Para recorrer todas, cada lote continua desde
+     * {@link LoteFacturasVencidas#getUltima()} del anterior. Cada llamada se confirma en su propia
+     * transaccion antes de retornar.
+     */
+    LoteFacturasVencidas marcarVencidas(LocalDate hoy, PosicionPendiente despuesDe, int limite);
+
+    /**
+     * Facturas pendientes con vencimiento anterior a {@code hoy}, para estimar el avance.
+     */
+    long contarPorVencer(LocalDate hoy);
+
+    /**
+     * Particiones del marcado con corte {@code fechaCorte} con su avance guardado. Si aun no
+     * existen, se crean dividiendo el rango actual de ids en {@code particiones} tramos y se
+     * descartan las de cortes anteriores.
+     */
+    List<ParticionVencimiento> prepararParticiones(LocalDate fechaCorte, int particiones);
+
+    /**
+     * Marca como vencidas las facturas de la particion con id mayor a su {@code ultimoId} y hasta
+     * {@code hasta}, y guarda ese avance en la misma transaccion.
+     */
+    LoteFacturasVencidas marcarVencidasEnParticion(ParticionVencimiento particion, long hasta);
+}
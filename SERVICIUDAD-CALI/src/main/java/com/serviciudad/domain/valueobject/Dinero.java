@@ -31,6 +31,17 @@ public class Dinero {
         return new Dinero(BigDecimal.ZERO);
     }
 
+    public static Dinero deCentavos(long centavos) {
+        return new Dinero(BigDecimal.valueOf(centavos, 2));
+    }
+
+    /**
+     * Monto en centavos; exacto porque el monto siempre tiene escala 2.
+     */
+    public long enCentavos() {
+        return monto.unscaledValue().longValueExact();
+    }
+
     public boolean esNegativo() {
         return monto.compareTo(BigDecimal.ZERO) < 0;
     }
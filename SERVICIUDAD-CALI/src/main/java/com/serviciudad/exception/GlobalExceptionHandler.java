@@ -2,9 +2,11 @@ package com.serviciudad.exception;
 
 import com.serviciudad.domain.exception.FacturaDuplicadaException;
 import com.serviciudad.domain.exception.FacturaNoEncontradaException;
+import com.serviciudad.domain.exception.TrabajosSaturadosException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -157,6 +159,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Maneja el rechazo de trabajos asincronos cuando la cola esta llena.
+     * 
+     * @param ex Excepcion lanzada
+     * @param request Peticion web
+     * @return Respuesta con codigo 503
+     */
+    @ExceptionHandler(TrabajosSaturadosException.class)
+    public ResponseEntity<ErrorResponse> handleTrabajosSaturados(
+            TrabajosSaturadosException ex, WebRequest request) {
+        log.warn("Trabajo rechazado: {}", ex.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Servicio saturado")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(error);
+    }
+
     /**
      * Maneja excepciones de argumentos ilegales.
      * 
@@ -0,0 +1,165 @@
+package com.serviciudad.infrastructure.adapter.input.archivo;
+
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seguimiento del archivo legacy de energía al que el mainframe agrega lecturas durante el día.
+ *
+ * <p>Un hilo dedicado espera cambios con {@link WatchService} sobre el directorio del archivo y,
+ * como respaldo (sistemas de archivos de red, eventos perdidos o WatchService no disponible),
+ * revisa el archivo cada {@code energia.seguimiento.intervalo-sondeo-ms}. Cuando cambian el
+ * tamaño, la fecha de modificación o el inodo, se importan solo las líneas completas agregadas
+ * desde el último checkpoint; la detección de rotación o truncamiento la hace el importador.</p>
+ *
+ * <p>Se activa con {@code energia.seguimiento.habilitado=true}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "energia.seguimiento.habilitado", havingValue = "true")
+public class SeguidorArchivoEnergia {
+
+    private final ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+    private final Path rutaArchivo;
+    private final long intervaloSondeoMs;
+    private final boolean usarWatchService;
+
+    private volatile boolean activo;
+    private Thread hilo;
+    private Object claveObservada;
+    private long tamanoObservado = -1;
+    private long modificacionObservada = -1;
+
+    @Autowired
+    public SeguidorArchivoEnergia(ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase,
+                                  @Value("${energia.archivo.path}") String rutaArchivo,
+                                  @Value("${energia.seguimiento.intervalo-sondeo-ms:5000}") long intervaloSondeoMs,
+                                  @Value("${energia.seguimiento.watch-service:true}") boolean usarWatchService) {
+        this.importarConsumoEnergiaUseCase = importarConsumoEnergiaUseCase;
+        this.rutaArchivo = Paths.get(rutaArchivo).toAbsolutePath().normalize();
+        this.intervaloSondeoMs = intervaloSondeoMs;
+        this.usarWatchService = usarWatchService;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        activo = true;
+        hilo = new Thread(this::seguir, "seguidor-archivo-energia");
+        hilo.setDaemon(true);
+        hilo.start();
+        log.info("Siguiendo el archivo de energia {} (watch-service: {}, sondeo cada {} ms)",
+            rutaArchivo, usarWatchService, intervaloSondeoMs);
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        if (hilo != null) {
+            hilo.interrupt();
+            hilo.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void seguir() {
+        WatchService watchService = usarWatchService ? registrarWatchService() : null;
+        try {
+            while (activo) {
+                revisar();
+                esperarCambio(watchService);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cerrar(watchService);
+        }
+    }
+
+    private WatchService registrarWatchService() {
+        WatchService watchService = null;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            rutaArchivo.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+            return watchService;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("WatchService no disponible para {}; se usa solo sondeo: {}", rutaArchivo.getParent(), e.getMessage());
+            cerrar(watchService);
+            return null;
+        }
+    }
+
+    private void esperarCambio(WatchService watchService) throws InterruptedException {
+        if (watchService == null) {
+            Thread.sleep(intervaloSondeoMs);
+            return;
+        }
+        WatchKey clave = watchService.poll(intervaloSondeoMs, TimeUnit.MILLISECONDS);
+        if (clave != null) {
+            clave.pollEvents();
+            clave.reset();
+        }
+    }
+
+    /**
+     * Importa los registros nuevos si el archivo cambió desde la última revisión.
+     *
+     * @return {@code true} si se ejecutó una importación
+     */
+    boolean revisar() {
+        BasicFileAttributes atributos;
+        try {
+            atributos = Files.readAttributes(rutaArchivo, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("No se pudieron leer los atributos de {}: {}", rutaArchivo, e.getMessage());
+            return false;
+        }
+        long modificacion = atributos.lastModifiedTime().toMillis();
+        if (Objects.equals(atributos.fileKey(), claveObservada) && atributos.size() == tamanoObservado
+                && modificacion == modificacionObservada) {
+            return false;
+        }
+        try {
+            importarConsumoEnergiaUseCase.importarNuevosRegistros();
+        } catch (RuntimeException e) {
+            log.warn("No se importaron los registros nuevos de {}; se reintenta en la siguiente revision: {}",
+                rutaArchivo, e.getMessage());
+            return false;
+        }
+        claveObservada = atributos.fileKey();
+        tamanoObservado = atributos.size();
+        modificacionObservada = modificacion;
+        return true;
+    }
+
+    private void cerrar(WatchService watchService) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("Error cerrando WatchService", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.serviciudad.infrastructure.adapter.input.programacion;
+
+import com.serviciudad.domain.port.input.VencimientoProgramadoUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta periodicamente el marcado de facturas vencidas.
+ *
+ * <p>Un hilo dedicado lanza {@link VencimientoProgramadoUseCase#ejecutar()} cada
+ * {@code facturas.vencimiento.programacion.intervalo-ms} contados desde el fin de la ejecucion
+ * anterior. Todas las replicas lo programan; la coordinacion entre ellas la resuelve el caso de
+ * uso con un bloqueo distribuido. Un fallo se registra y se reintenta en el siguiente ciclo.</p>
+ *
+ * <p>Se activa con {@code facturas.vencimiento.programacion.habilitada=true}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "facturas.vencimiento.programacion.habilitada", havingValue = "true")
+public class ProgramadorVencimientoFacturas {
+
+    private final VencimientoProgramadoUseCase vencimientoProgramadoUseCase;
+    private final long retrasoInicialMs;
+    private final long intervaloMs;
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "programador-vencimiento-facturas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    @Autowired
+    public ProgramadorVencimientoFacturas(VencimientoProgramadoUseCase vencimientoProgramadoUseCase,
+                                          @Value("${facturas.vencimiento.programacion.retraso-inicial-ms:60000}") long retrasoInicialMs,
+                                          @Value("${facturas.vencimiento.programacion.intervalo-ms:900000}") long intervaloMs) {
+        this.vencimientoProgramadoUseCase = vencimientoProgramadoUseCase;
+        this.retrasoInicialMs = retrasoInicialMs;
+        this.intervaloMs = intervaloMs;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        programador.scheduleWithFixedDelay(this::ejecutar, retrasoInicialMs, intervaloMs, TimeUnit.MILLISECONDS);
+        log.info("Marcado de facturas vencidas programado cada {} ms", intervaloMs);
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        programador.shutdownNow();
+        programador.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Ejecuta un ciclo sin propagar errores, para no cancelar la programacion.
+     *
+     * @return {@code true} si esta instancia coordino el ciclo y termino sin errores
+     */
+    boolean ejecutar() {
+        try {
+            return vencimientoProgramadoUseCase.ejecutar().isPresent();
+        } catch (RuntimeException e) {
+            log.warn("Fallo el marcado programado de facturas vencidas; se reintenta en el siguiente ciclo: {}",
+                e.getMessage());
+            return false;
+        }
+    }
+}
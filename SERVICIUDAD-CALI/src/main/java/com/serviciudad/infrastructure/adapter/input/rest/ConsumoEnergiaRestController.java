@@ -1,7 +1,9 @@
 package com.serviciudad.infrastructure.adapter.input.rest;
 
 import com.serviciudad.application.dto.response.ConsumoEnergiaResponse;
+import com.serviciudad.application.dto.response.PaginaResponse;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.Pagina;
 import com.serviciudad.domain.port.input.ConsultarConsumoEnergiaUseCase;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.Periodo;
@@ -21,20 +23,28 @@ public class ConsumoEnergiaRestController {
 
     private final ConsultarConsumoEnergiaUseCase consultarConsumoEnergiaUseCase;
 
+    /**
+     * Historial de consumos del cliente, del periodo mas reciente al mas antiguo, en paginas de
+     * {@code limite} consumos (50 por defecto, maximo 200). La pagina siguiente se pide con el
+     * {@code siguienteCursor} de la respuesta.
+     */
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<ConsumoEnergiaResponse>> consultarConsumosPorCliente(
+    public ResponseEntity<PaginaResponse<ConsumoEnergiaResponse>> consultarConsumosPorCliente(
         @PathVariable
         @jakarta.validation.constraints.Pattern(
             regexp = "^\\d{10}$",
             message = "El ClienteId debe ser un número de 10 dígitos"
         )
         @jakarta.validation.constraints.NotBlank(message = "El ClienteId es obligatorio")
-        String clienteId
+        String clienteId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limite
     ) {
         ClienteId id = ClienteId.of(clienteId);
-        List<ConsumoEnergiaModel> consumos = consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(id);
+        Pagina<ConsumoEnergiaModel> pagina = consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(
+            id, CursorPaginacion.decodificar(cursor), limite);
         
-        List<ConsumoEnergiaResponse> responses = consumos.stream()
+        List<ConsumoEnergiaResponse> responses = pagina.getElementos().stream()
             .map(c -> ConsumoEnergiaResponse.builder()
                 .clienteId(c.getClienteId().getValor())
                 .periodo(c.getPeriodo().getValor())
@@ -47,7 +57,8 @@ public class ConsumoEnergiaRestController {
                 .build())
             .collect(Collectors.toList());
         
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(new PaginaResponse<>(responses,
+            CursorPaginacion.codificar(pagina.getSiguienteAntesDe())));
     }
 
     @GetMapping("/cliente/{clienteId}/periodo/{periodo}")
@@ -0,0 +1,46 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.valueobject.Periodo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de los historiales paginados. Codifica el periodo desde el que sigue la
+ * pagina siguiente con un prefijo de version, para poder cambiar su contenido sin romper
+ * cursores ya entregados.
+ */
+final class CursorPaginacion {
+
+    private static final String VERSION = "v1:";
+
+    private CursorPaginacion() {
+    }
+
+    static String codificar(Periodo antesDe) {
+        if (antesDe == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((VERSION + antesDe.getValor()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return el periodo del cursor, o {@code null} si no se envio cursor (primera pagina)
+     * @throws IllegalArgumentException si el cursor no fue generado por este servicio
+     */
+    static Periodo decodificar(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (valor.startsWith(VERSION)) {
+                return Periodo.of(valor.substring(VERSION.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o periodo invalidos
+        }
+        throw new IllegalArgumentException("Cursor de paginacion invalido");
+    }
+}
@@ -1,16 +1,35 @@
 package com.serviciudad.infrastructure.adapter.input.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serviciudad.application.dto.request.ConsultarDeudaLoteRequest;
 import com.serviciudad.application.dto.request.ConsultarDeudaRequest;
 import com.serviciudad.application.dto.response.DeudaConsolidadaResponse;
+import com.serviciudad.application.dto.response.DeudaConsolidadaResumenResponse;
+import com.serviciudad.application.dto.response.ResumenDeudaResponse;
 import com.serviciudad.application.mapper.DeudaMapper;
 import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.DeudaConsolidadaResumen;
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.port.input.ConsultarDeudaLoteUseCase;
 import com.serviciudad.domain.port.input.ConsultarDeudaUseCase;
+import com.serviciudad.domain.port.input.ConsultarResumenDeudaUseCase;
+import com.serviciudad.domain.port.input.ConsultarVersionDatosUseCase;
 import com.serviciudad.domain.valueobject.ClienteId;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/deuda")
@@ -18,24 +37,37 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class DeudaRestController {
 
+    static final String VISTA_COMPLETA = "completa";
+    static final String VISTA_RESUMEN = "resumen";
+
     private final ConsultarDeudaUseCase consultarDeudaUseCase;
+    private final ConsultarResumenDeudaUseCase consultarResumenDeudaUseCase;
+    private final ConsultarDeudaLoteUseCase consultarDeudaLoteUseCase;
+    private final ConsultarVersionDatosUseCase consultarVersionDatosUseCase;
+    private final RespuestaCondicional respuestaCondicional;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/consultar")
-    public ResponseEntity<DeudaConsolidadaResponse> consultarDeuda(
+    public ResponseEntity<?> consultarDeuda(
         @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Datos del cliente a consultar",
             required = true
         )
-        @Valid @RequestBody ConsultarDeudaRequest request
+        @Valid @RequestBody ConsultarDeudaRequest request,
+        @RequestParam(defaultValue = VISTA_COMPLETA) String vista
     ) {
-        ClienteId clienteId = ClienteId.of(request.getClienteId());
-        DeudaConsolidada deuda = consultarDeudaUseCase.consultarDeudaConsolidada(clienteId);
-        DeudaConsolidadaResponse response = DeudaMapper.toResponse(deuda);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(consultar(ClienteId.of(request.getClienteId()), vista));
     }
 
+    /**
+     * Deuda consolidada del cliente. Con {@code vista=resumen} retorna solo totales, alertas y
+     * estadisticas, calculados en la base de datos sin cargar facturas ni consumos.
+     *
+     * <p>Responde con ETag; con un {@code If-None-Match} vigente retorna {@code 304} sin
+     * consolidar la deuda. Una deuda parcial se entrega sin ETag.</p>
+     */
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<DeudaConsolidadaResponse> consultarDeudaPorCliente(
+    public ResponseEntity<Object> consultarDeudaPorCliente(
         @PathVariable
         @jakarta.validation.constraints.Pattern(
             regexp = "^\\d{10}$",
@@ -44,11 +76,97 @@ public class DeudaRestController {
         @jakarta.validation.constraints.NotBlank(
             message = "El ClienteId es obligatorio"
         )
-        String clienteId
+        String clienteId,
+        @RequestParam(defaultValue = VISTA_COMPLETA) String vista,
+        WebRequest request
     ) {
+        validarVista(vista);
         ClienteId id = ClienteId.of(clienteId);
-        DeudaConsolidada deuda = consultarDeudaUseCase.consultarDeudaConsolidada(id);
-        DeudaConsolidadaResponse response = DeudaMapper.toResponse(deuda);
-        return ResponseEntity.ok(response);
+        return respuestaCondicional.responder("deuda-" + vista, consultarVersionDatosUseCase.versionDeuda(id), request,
+            () -> consultar(id, vista), respuesta -> !esParcial(respuesta));
+    }
+
+    private Object consultar(ClienteId clienteId, String vista) {
+        validarVista(vista);
+        if (VISTA_RESUMEN.equals(vista)) {
+            DeudaConsolidadaResumen resumen = consultarDeudaUseCase.consultarDeudaResumen(clienteId);
+            return DeudaMapper.toResponse(resumen);
+        }
+        DeudaConsolidada deuda = consultarDeudaUseCase.consultarDeudaConsolidada(clienteId);
+        return DeudaMapper.toResponse(deuda);
+    }
+
+    private static void validarVista(String vista) {
+        if (!VISTA_COMPLETA.equals(vista) && !VISTA_RESUMEN.equals(vista)) {
+            throw new IllegalArgumentException("La vista debe ser '" + VISTA_COMPLETA + "' o '" + VISTA_RESUMEN + "'");
+        }
+    }
+
+    private static boolean esParcial(Object respuesta) {
+        if (respuesta instanceof DeudaConsolidadaResponse completa) {
+            return completa.isParcial();
+        }
+        return ((DeudaConsolidadaResumenResponse) respuesta).isParcial();
+    }
+
+    /**
+     * Deuda consolidada de varios clientes. La respuesta se escribe a medida que se consolida
+     * cada bloque de clientes: {@code resultados} con una deuda por cliente encontrado,
+     * {@code noEncontrados} con los clientes sin facturas ni consumos y {@code totalSolicitados}.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<StreamingResponseBody> consultarDeudaLote(
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Clientes a consultar (hasta " + ConsultarDeudaLoteRequest.MAXIMO_CLIENTES + ")",
+            required = true
+        )
+        @Valid @RequestBody ConsultarDeudaLoteRequest request
+    ) {
+        List<ClienteId> clienteIds = request.getClienteIds().stream()
+            .map(ClienteId::of)
+            .collect(Collectors.toList());
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("resultados");
+                List<ClienteId> noEncontrados = consultarDeudaLoteUseCase.consultarDeudaLote(clienteIds, deuda -> {
+                    try {
+                        json.writeObject(DeudaMapper.toResponse(deuda));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeArrayFieldStart("noEncontrados");
+                for (ClienteId clienteId : noEncontrados) {
+                    json.writeString(clienteId.getValor());
+                }
+                json.writeEndArray();
+                json.writeNumberField("totalSolicitados", clienteIds.size());
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(cuerpo);
+    }
+
+    @GetMapping("/cliente/{clienteId}/resumen")
+    public ResponseEntity<ResumenDeudaResponse> consultarResumenPorCliente(
+        @PathVariable
+        @jakarta.validation.constraints.Pattern(
+            regexp = "^\\d{10}$",
+            message = "El ClienteId debe ser un número de 10 dígitos"
+        )
+        String clienteId
+    ) {
+        ResumenDeuda resumen = consultarResumenDeudaUseCase.consultarResumen(ClienteId.of(clienteId));
+        return ResponseEntity.ok(DeudaMapper.toResponse(resumen));
+    }
+
+    @PostMapping("/resumen/reconstruir")
+    public ResponseEntity<Map<String, Long>> reconstruirResumenes() {
+        long clientes = consultarResumenDeudaUseCase.reconstruirResumenes();
+        return ResponseEntity.ok(Map.of("clientes", clientes));
     }
 }
@@ -0,0 +1,155 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serviciudad.application.dto.response.FacturaResponse;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.input.ExportarFacturasUseCase;
+import com.serviciudad.domain.valueobject.Periodo;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportacion de todas las facturas de un periodo para reportes.
+ *
+ * <p>Las facturas se escriben en la respuesta a medida que llegan de la base de datos, asi que
+ * la memoria usada es la de los buffers y no depende del numero de facturas. Si el cliente
+ * acepta {@code gzip} la respuesta se comprime.</p>
+ *
+ * <p>Un error antes de enviar datos se responde como cualquier otro error de la API; despues,
+ * la respuesta ya empezo y se corta, de modo que el cliente recibe un archivo incompleto
+ * (con gzip, un stream sin cierre valido).</p>
+ */
+@RestController
+@RequestMapping("/api/facturas/exportacion")
+@RequiredArgsConstructor
+public class ExportacionFacturasRestController {
+
+    static final int TAMANO_BUFFER = 64 * 1024;
+
+    static final String ENCABEZADO_CSV = "id,clienteId,periodo,consumo,valorPagar,estado,fechaVencimiento," +
+        "fechaCreacion,fechaActualizacion";
+
+    private final ExportarFacturasUseCase exportarFacturasUseCase;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param periodo periodo YYYYMM de las facturas
+     * @param formato {@code ndjson} (por defecto) o {@code csv}
+     */
+    @GetMapping
+    public void exportarPorPeriodo(
+        @RequestParam String periodo,
+        @RequestParam(defaultValue = "ndjson") String formato,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String codificaciones,
+        HttpServletResponse response
+    ) throws IOException {
+        Periodo p = Periodo.of(periodo);
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        boolean gzip = codificaciones != null && codificaciones.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(f.getTipoContenido());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("facturas-" + p.getValor() + "." + f.getExtension())
+            .build()
+            .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        OutputStream salida = response.getOutputStream();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            salida = new GZIPOutputStream(salida, TAMANO_BUFFER);
+        }
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        try {
+            if (f == FormatoExportacion.CSV) {
+                escritor.write(ENCABEZADO_CSV);
+                escritor.write('\n');
+                exportarFacturasUseCase.exportarPorPeriodo(p, factura -> escribirCsv(escritor, factura));
+            } else {
+                JsonGenerator generador = objectMapper.getFactory().createGenerator(escritor)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+                exportarFacturasUseCase.exportarPorPeriodo(p, escribirNdjson(generador));
+                generador.flush();
+            }
+        } catch (RuntimeException | IOException e) {
+            if (!response.isCommitted()) {
+                // Nada llego al cliente: se descartan las cabeceras de la exportacion para responder el error
+                response.reset();
+            }
+            throw e;
+        }
+        escritor.close();
+    }
+
+    private Consumer<FacturaAcueducto> escribirNdjson(JsonGenerator generador) {
+        return factura -> {
+            try {
+                generador.writeObject(aResponse(factura));
+                generador.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Ningun campo puede contener comas, comillas ni saltos de linea, por lo que no se escapan.
+     */
+    private static void escribirCsv(Writer escritor, FacturaAcueducto factura) {
+        try {
+            escritor.write(String.valueOf(factura.getId().getValor()));
+            escritor.write(',');
+            escritor.write(factura.getClienteId().getValor());
+            escritor.write(',');
+            escritor.write(factura.getPeriodo().getValor());
+            escritor.write(',');
+            escritor.write(String.valueOf(factura.getConsumo().getMetrosCubicos()));
+            escritor.write(',');
+            escritor.write(factura.getValorPagar().getMonto().toPlainString());
+            escritor.write(',');
+            escritor.write(factura.getEstado().name());
+            escritor.write(',');
+            escritor.write(String.valueOf(factura.getFechaVencimiento()));
+            escritor.write(',');
+            escritor.write(String.valueOf(factura.getFechaCreacion()));
+            escritor.write(',');
+            escritor.write(String.valueOf(factura.getFechaActualizacion()));
+            escritor.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FacturaResponse aResponse(FacturaAcueducto f) {
+        return FacturaResponse.builder()
+            .id(f.getId().getValor())
+            .clienteId(f.getClienteId().getValor())
+            .periodo(f.getPeriodo().getValor())
+            .consumo(java.math.BigDecimal.valueOf(f.getConsumo().getMetrosCubicos()))
+            .valorPagar(f.getValorPagar().getMonto())
+            .estado(f.getEstado().name())
+            .fechaVencimiento(f.getFechaVencimiento())
+            .fechaCreacion(f.getFechaCreacion())
+            .fechaActualizacion(f.getFechaActualizacion())
+            .vencida(f.estaVencida())
+            .diasHastaVencimiento(f.diasHastaVencimiento())
+            .build();
+    }
+}
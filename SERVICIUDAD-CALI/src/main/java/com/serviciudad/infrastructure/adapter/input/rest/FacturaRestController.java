@@ -1,9 +1,18 @@
 package com.serviciudad.infrastructure.adapter.input.rest;
 
 import com.serviciudad.application.dto.request.RegistrarPagoRequest;
+import com.serviciudad.application.dto.request.RegistrarPagosLoteRequest;
 import com.serviciudad.application.dto.response.FacturaResponse;
+import com.serviciudad.application.dto.response.PagosLoteResponse;
+import com.serviciudad.application.dto.response.PaginaResponse;
+import com.serviciudad.application.dto.response.TrabajoResponse;
+import com.serviciudad.application.mapper.PagoMapper;
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.Pagina;
+import com.serviciudad.domain.port.input.ConsultarVersionDatosUseCase;
 import com.serviciudad.domain.port.input.GestionarFacturaUseCase;
+import com.serviciudad.domain.port.input.RegistrarPagosLoteUseCase;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
 import com.serviciudad.domain.valueobject.ClienteId;
 import com.serviciudad.domain.valueobject.FacturaId;
 import com.serviciudad.domain.valueobject.Periodo;
@@ -12,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +33,10 @@ import java.util.stream.Collectors;
 public class FacturaRestController {
 
     private final GestionarFacturaUseCase gestionarFacturaUseCase;
+    private final RegistrarPagosLoteUseCase registrarPagosLoteUseCase;
+    private final ConsultarVersionDatosUseCase consultarVersionDatosUseCase;
+    private final TrabajosUseCase trabajosUseCase;
+    private final RespuestaCondicional respuestaCondicional;
 
     @GetMapping("/{facturaId}")
     public ResponseEntity<FacturaResponse> consultarFactura(
@@ -50,36 +64,50 @@ public class FacturaRestController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Historial de facturas del cliente, del periodo mas reciente al mas antiguo, en paginas de
+     * {@code limite} facturas (50 por defecto, maximo 200). La pagina siguiente se pide con el
+     * {@code siguienteCursor} de la respuesta. Responde con ETag; con un {@code If-None-Match}
+     * vigente retorna {@code 304} sin cargar las facturas.
+     */
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<FacturaResponse>> consultarFacturasPorCliente(
+    public ResponseEntity<PaginaResponse<FacturaResponse>> consultarFacturasPorCliente(
         @PathVariable
         @jakarta.validation.constraints.Pattern(
             regexp = "^\\d{10}$",
             message = "El ClienteId debe ser un número de 10 dígitos"
         )
         @jakarta.validation.constraints.NotBlank(message = "El ClienteId es obligatorio")
-        String clienteId
+        String clienteId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limite,
+        WebRequest request
     ) {
         ClienteId id = ClienteId.of(clienteId);
-        List<FacturaAcueducto> facturas = gestionarFacturaUseCase.consultarFacturasPorCliente(id);
-        
-        List<FacturaResponse> responses = facturas.stream()
-            .map(f -> FacturaResponse.builder()
-                .id(f.getId().getValor())
-                .clienteId(f.getClienteId().getValor())
-                .periodo(f.getPeriodo().getValor())
-                .consumo(java.math.BigDecimal.valueOf(f.getConsumo().getMetrosCubicos()))
-                .valorPagar(f.getValorPagar().getMonto())
-                .estado(f.getEstado().name())
-                .fechaVencimiento(f.getFechaVencimiento())
-                .fechaCreacion(f.getFechaCreacion())
-                .fechaActualizacion(f.getFechaActualizacion())
-                .vencida(f.estaVencida())
-                .diasHastaVencimiento(f.diasHastaVencimiento())
-                .build())
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responses);
+        Periodo antesDe = CursorPaginacion.decodificar(cursor);
+        Pagina.validarLimite(limite);
+        String variante = limite + (antesDe == null ? "" : "-" + antesDe.getValor());
+        return respuestaCondicional.responder("facturas", variante, consultarVersionDatosUseCase.versionFacturas(id),
+                request, () -> {
+            Pagina<FacturaAcueducto> pagina = gestionarFacturaUseCase.consultarFacturasPorCliente(id, antesDe, limite);
+
+            List<FacturaResponse> facturas = pagina.getElementos().stream()
+                .map(f -> FacturaResponse.builder()
+                    .id(f.getId().getValor())
+                    .clienteId(f.getClienteId().getValor())
+                    .periodo(f.getPeriodo().getValor())
+                    .consumo(java.math.BigDecimal.valueOf(f.getConsumo().getMetrosCubicos()))
+                    .valorPagar(f.getValorPagar().getMonto())
+                    .estado(f.getEstado().name())
+                    .fechaVencimiento(f.getFechaVencimiento())
+                    .fechaCreacion(f.getFechaCreacion())
+                    .fechaActualizacion(f.getFechaActualizacion())
+                    .vencida(f.estaVencida())
+                    .diasHastaVencimiento(f.diasHastaVencimiento())
+                    .build())
+                .collect(Collectors.toList());
+            return new PaginaResponse<>(facturas, CursorPaginacion.codificar(pagina.getSiguienteAntesDe()));
+        });
     }
 
     @GetMapping("/cliente/{clienteId}/periodo/{periodo}")
@@ -131,6 +159,37 @@ public class FacturaRestController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Pago de muchas facturas a la vez (conciliacion bancaria). Retorna el resultado de cada
+     * factura, sin repetidas y en el orden recibido: {@code PAGADA}, {@code YA_PAGADA},
+     * {@code ANULADA} o {@code NO_ENCONTRADA}, junto con los totales por resultado.
+     */
+    @PostMapping("/pagos/lote")
+    public ResponseEntity<PagosLoteResponse> registrarPagosLote(
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Facturas a pagar (hasta " + RegistrarPagosLoteRequest.MAXIMO_FACTURAS + ")",
+            required = true
+        )
+        @Valid @RequestBody RegistrarPagosLoteRequest request
+    ) {
+        List<FacturaId> facturaIds = request.getFacturaIds().stream()
+            .map(FacturaId::of)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(PagoMapper.toResponse(registrarPagosLoteUseCase.registrarPagos(facturaIds)));
+    }
+
+    /**
+     * Concilia en segundo plano un archivo de pagos bancarios de ancho fijo ubicado en
+     * {@code facturas.pagos.conciliacion.directorio}. Las facturas no pagadas quedan en
+     * {@code <archivo>.excepciones.csv}; el avance se consulta en {@code /api/jobs/{id}}.
+     */
+    @PostMapping("/pagos/conciliaciones")
+    public ResponseEntity<TrabajoResponse> conciliarPagos(
+        @RequestParam String archivo
+    ) {
+        return TrabajoRestController.aceptado(trabajosUseCase.lanzarConciliacionPagos(archivo));
+    }
+
     @PostMapping("/{facturaId}/anular")
     public ResponseEntity<Void> anularFactura(
         @PathVariable Long facturaId
@@ -141,8 +200,7 @@ public class FacturaRestController {
     }
 
     @PostMapping("/marcar-vencidas")
-    public ResponseEntity<Void> marcarFacturasVencidas() {
-        gestionarFacturaUseCase.marcarFacturasVencidas();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<TrabajoResponse> marcarFacturasVencidas() {
+        return TrabajoRestController.aceptado(trabajosUseCase.lanzarMarcadoVencidas());
     }
 }
@@ -0,0 +1,43 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import java.util.Locale;
+
+/**
+ * Formatos de la exportacion de facturas.
+ */
+public enum FormatoExportacion {
+
+    /** Un objeto JSON por linea (NDJSON). */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** CSV con encabezado y separador coma. */
+    CSV("text/csv", "csv");
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoExportacion(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el formato no existe
+     */
+    public static FormatoExportacion desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportacion no soportado: " + valor
+                + " (valores posibles: ndjson, csv)");
+        }
+    }
+}
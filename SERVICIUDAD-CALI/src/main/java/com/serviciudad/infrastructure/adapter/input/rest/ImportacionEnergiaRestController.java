@@ -0,0 +1,54 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.application.dto.response.ResultadoImportacionResponse;
+import com.serviciudad.application.dto.response.TrabajoResponse;
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/consumos-energia/importaciones")
+@RequiredArgsConstructor
+public class ImportacionEnergiaRestController {
+
+    private final ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+    private final TrabajosUseCase trabajosUseCase;
+
+    @PostMapping
+    public ResponseEntity<ResultadoImportacionResponse> importarArchivoLegacy(
+        @RequestParam(defaultValue = "false") boolean reiniciar,
+        @RequestParam(defaultValue = "AGREGAR") ModoImportacion modo
+    ) {
+        ResultadoImportacion resultado = importarConsumoEnergiaUseCase.importarArchivoLegacy(reiniciar, modo);
+
+        ResultadoImportacionResponse response = ResultadoImportacionResponse.builder()
+            .archivo(resultado.getArchivo())
+            .modo(resultado.getModo() != null ? resultado.getModo().name() : null)
+            .offsetInicial(resultado.getOffsetInicial())
+            .offsetFinal(resultado.getOffsetFinal())
+            .registrosLeidos(resultado.getRegistrosLeidos())
+            .registrosImportados(resultado.getRegistrosImportados())
+            .registrosRechazados(resultado.getRegistrosRechazados())
+            .registrosInsertados(resultado.getRegistrosInsertados())
+            .registrosActualizados(resultado.getRegistrosActualizados())
+            .registrosSinCambios(resultado.getRegistrosSinCambios())
+            .lotesConfirmados(resultado.getLotesConfirmados())
+            .reanudada(resultado.fueReanudada())
+            .archivoReemplazado(resultado.isArchivoReemplazado())
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/trabajos")
+    public ResponseEntity<TrabajoResponse> lanzarImportacion(
+        @RequestParam(defaultValue = "false") boolean reiniciar,
+        @RequestParam(defaultValue = "AGREGAR") ModoImportacion modo
+    ) {
+        return TrabajoRestController.aceptado(trabajosUseCase.lanzarImportacionEnergia(reiniciar, modo));
+    }
+}
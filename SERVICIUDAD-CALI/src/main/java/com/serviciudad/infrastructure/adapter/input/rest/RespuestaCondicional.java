@@ -0,0 +1,135 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.model.VersionDatosCliente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional con ETag a partir de la version de los datos del cliente: si
+ * {@code If-None-Match} coincide se responde {@code 304} sin construir el cuerpo.
+ *
+ * <p>Las respuestas se marcan {@code Cache-Control: private, no-cache} para que navegadores y
+ * clientes las guarden y las revaliden en cada uso. Una respuesta que no se debe reutilizar
+ * (por ejemplo una deuda parcial por una fuente que no respondio) se entrega sin ETag.</p>
+ *
+ * <p>Metrica {@code http.respuestas.condicionales} por recurso y resultado: {@code no_modificado}
+ * (304), {@code modificado} (validador obsoleto) y {@code sin_validador}. La proporcion de 304 es
+ * {@code no_modificado} sobre el total. Los contadores de cada recurso se registran una sola vez;
+ * la variante de la representacion (por ejemplo la pagina) solo forma parte del ETag, para que la
+ * metrica no crezca con cada combinacion de parametros.</p>
+ */
+@Component
+public class RespuestaCondicional {
+
+    static final String METRICA = "http.respuestas.condicionales";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Contadores> contadores = new ConcurrentHashMap<>();
+
+    public RespuestaCondicional(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> ResponseEntity<T> responder(String recurso, VersionDatosCliente version, WebRequest request,
+                                           Supplier<T> cuerpo) {
+        return responder(recurso, version, request, cuerpo, respuesta -> true);
+    }
+
+    public <T> ResponseEntity<T> responder(String recurso, VersionDatosCliente version, WebRequest request,
+                                           Supplier<T> cuerpo, Predicate<T> validable) {
+        return responder(recurso, null, version, request, cuerpo, validable);
+    }
+
+    public <T> ResponseEntity<T> responder(String recurso, String variante, VersionDatosCliente version,
+                                           WebRequest request, Supplier<T> cuerpo) {
+        return responder(recurso, variante, version, request, cuerpo, respuesta -> true);
+    }
+
+    /**
+     * @param recurso   nombre de la representacion; forma parte del ETag y de la metrica
+     * @param variante  parametros de la representacion que solo forman parte del ETag, o {@code null}
+     * @param validable indica si la respuesta construida puede reutilizarse con su ETag
+     */
+    public <T> ResponseEntity<T> responder(String recurso, String variante, VersionDatosCliente version,
+                                           WebRequest request, Supplier<T> cuerpo, Predicate<T> validable) {
+        String etag = "\"" + recurso + (variante == null ? "" : "-" + variante) + "." + version.etiqueta() + "\"";
+        Contadores contadoresRecurso = contadores.computeIfAbsent(recurso,
+            nombre -> new Contadores(nombre, meterRegistry));
+        String[] validadores = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (validadores == null) {
+            contadoresRecurso.sinValidador.increment();
+        } else if (coincide(validadores, etag)) {
+            contadoresRecurso.noModificado.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+        } else {
+            contadoresRecurso.modificado.increment();
+        }
+        T respuesta = cuerpo.get();
+        if (!validable.test(respuesta)) {
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(respuesta);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(respuesta);
+    }
+
+    /**
+     * Comparacion debil de {@code If-None-Match} (RFC 9110): ignora el prefijo {@code W/} y
+     * acepta {@code *}.
+     */
+    private static boolean coincide(String[] validadores, String etag) {
+        for (String cabecera : validadores) {
+            for (String validador : cabecera.split(",")) {
+                String candidato = validador.trim();
+                if (candidato.startsWith("W/")) {
+                    candidato = candidato.substring(2);
+                }
+                if (candidato.equals("*") || candidato.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Contadores de un recurso por resultado, registrados la primera vez que se responde.
+     */
+    private static final class Contadores {
+
+        private final Counter sinValidador;
+        private final Counter noModificado;
+        private final Counter modificado;
+
+        private Contadores(String recurso, MeterRegistry meterRegistry) {
+            this.sinValidador = contador(recurso, "sin_validador", meterRegistry);
+            this.noModificado = contador(recurso, "no_modificado", meterRegistry);
+            this.modificado = contador(recurso, "modificado", meterRegistry);
+        }
+
+        private static Counter contador(String recurso, String resultado, MeterRegistry meterRegistry) {
+            return Counter.builder(METRICA)
+                .tag("recurso", recurso)
+                .tag("resultado", resultado)
+                .description("Respuestas de GET condicionales por resultado de la validacion del ETag")
+                .register(meterRegistry);
+        }
+    }
+}
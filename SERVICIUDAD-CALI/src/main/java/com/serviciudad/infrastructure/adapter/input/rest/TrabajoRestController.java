@@ -0,0 +1,39 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.application.dto.response.TrabajoResponse;
+import com.serviciudad.application.mapper.TrabajoMapper;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Seguimiento de los trabajos asincronos lanzados por otros endpoints con {@code 202 Accepted}.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class TrabajoRestController {
+
+    private final TrabajosUseCase trabajosUseCase;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TrabajoResponse> consultarTrabajo(@PathVariable String id) {
+        return trabajosUseCase.consultar(id)
+            .map(trabajo -> ResponseEntity.ok(TrabajoMapper.toResponse(trabajo)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Respuesta {@code 202} de un trabajo recien lanzado, con su URL de seguimiento en
+     * {@code Location}.
+     */
+    static ResponseEntity<TrabajoResponse> aceptado(Trabajo trabajo) {
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/jobs/" + trabajo.getId()))
+            .body(TrabajoMapper.toResponse(trabajo));
+    }
+}
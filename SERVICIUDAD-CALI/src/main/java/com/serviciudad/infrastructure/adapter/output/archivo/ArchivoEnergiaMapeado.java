@@ -0,0 +1,249 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Vista de solo lectura del archivo legacy de energía mapeado en memoria.
+ *
+ * <p>{@link FileChannel#map} no admite regiones mayores a {@code Integer.MAX_VALUE} bytes,
+ * por lo que el archivo se divide en segmentos que siempre terminan en un salto de línea.
+ * Ningún registro queda partido entre dos segmentos y cada uno puede recorrerse de forma
+ * independiente.</p>
+ *
+ * <p>Los accesos se hacen con lecturas absolutas ({@code get(int)}), que no modifican la
+ * posición del buffer; una misma instancia puede leerse desde varios hilos.</p>
+ */
+public final class ArchivoEnergiaMapeado implements AutoCloseable {
+
+    static final long TAMANO_SEGMENTO_POR_DEFECTO = 1L << 30;
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private final long tamano;
+    private final List<Segmento> segmentos;
+
+    private ArchivoEnergiaMapeado(Path ruta, FileChannel canal, long tamano, List<Segmento> segmentos) {
+        this.ruta = ruta;
+        this.canal = canal;
+        this.tamano = tamano;
+        this.segmentos = Collections.unmodifiableList(segmentos);
+    }
+
+    public static ArchivoEnergiaMapeado abrir(Path ruta) throws IOException {
+        return abrir(ruta, TAMANO_SEGMENTO_POR_DEFECTO);
+    }
+
+    static ArchivoEnergiaMapeado abrir(Path ruta, long tamanoSegmento) throws IOException {
+        if (tamanoSegmento <= 0 || tamanoSegmento > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamaño de segmento invalido: " + tamanoSegmento);
+        }
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        try {
+            long tamano = canal.size();
+            return new ArchivoEnergiaMapeado(ruta, canal, tamano, mapearSegmentos(canal, tamano, tamanoSegmento));
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private static List<Segmento> mapearSegmentos(FileChannel canal, long tamano, long tamanoSegmento)
+            throws IOException {
+        List<Segmento> segmentos = new ArrayList<>();
+        long inicio = 0;
+        while (inicio < tamano) {
+            int longitud = (int) Math.min(tamanoSegmento, tamano - inicio);
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, inicio, longitud);
+            if (inicio + longitud < tamano) {
+                longitud = ultimoFinDeLinea(buffer, longitud) + 1;
+                if (longitud == 0) {
+                    throw new IOException("Linea mas larga que el segmento de mapeo en el byte " + inicio);
+                }
+            }
+            segmentos.add(new Segmento(buffer.slice(0, longitud), inicio));
+            inicio += longitud;
+        }
+        return segmentos;
+    }
+
+    private static int ultimoFinDeLinea(ByteBuffer buffer, int longitud) {
+        for (int i = longitud - 1; i >= 0; i--) {
+            if (buffer.get(i) == FormatoEnergiaLegacy.FIN_LINEA) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recorre las líneas de datos del archivo, omitiendo líneas vacías y comentarios.
+     * El retorno de carro final (archivos CRLF) no se incluye en la longitud.
+     */
+    public void recorrerRegistros(VisitanteRegistro visitante) {
+        recorrerRegistrosDesde(0, visitante);
+    }
+
+    /**
+     * Recorre las líneas de datos a partir de la posición absoluta {@code desde},
+     * que debe coincidir con el inicio de una línea (por ejemplo, un checkpoint).
+     */
+    public void recorrerRegistrosDesde(long desde, VisitanteRegistro visitante) {
+        recorrerRegistros(desde, tamano, visitante);
+    }
+
+    /**
+     * Recorre las líneas de datos contenidas en las posiciones absolutas {@code [desde, hasta)}.
+     * Ambos extremos deben coincidir con inicios de línea (o con el final del archivo).
+     */
+    public void recorrerRegistros(long desde, long hasta, VisitanteRegistro visitante) {
+        for (Segmento segmento : segmentos) {
+            ByteBuffer buffer = segmento.getBuffer();
+            long offset = segmento.getOffset();
+            if (offset + buffer.limit() <= desde || offset >= hasta) {
+                continue;
+            }
+            int inicio = (int) Math.max(0, desde - offset);
+            int fin = (int) Math.min(buffer.limit(), hasta - offset);
+            recorrerRegistros(buffer, inicio, fin, offset, visitante);
+        }
+    }
+
+    /**
+     * Posición siguiente al último salto de línea del archivo. Los bytes posteriores pertenecen
+     * a una línea que el productor todavía está escribiendo.
+     *
+     * @return 0 si el archivo no contiene ningún salto de línea
+     */
+    public long finUltimaLineaCompleta() {
+        for (int i = segmentos.size() - 1; i >= 0; i--) {
+            Segmento segmento = segmentos.get(i);
+            int ultimo = ultimoFinDeLinea(segmento.getBuffer(), segmento.getBuffer().limit());
+            if (ultimo >= 0) {
+                return segmento.getOffset() + ultimo + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Recorre las líneas de datos contenidas en {@code [desde, hasta)} de un buffer.
+     * {@code desde} debe coincidir con el inicio de una línea.
+     */
+    static void recorrerRegistros(ByteBuffer buffer, int desde, int hasta, long offsetBase,
+                                  VisitanteRegistro visitante) {
+        int inicio = desde;
+        while (inicio < hasta) {
+            int fin = inicio;
+            while (fin < hasta && buffer.get(fin) != FormatoEnergiaLegacy.FIN_LINEA) {
+                fin++;
+            }
+            int longitud = fin - inicio;
+            if (longitud > 0 && buffer.get(fin - 1) == FormatoEnergiaLegacy.RETORNO_CARRO) {
+                longitud--;
+            }
+            if (longitud > 0 && buffer.get(inicio) != FormatoEnergiaLegacy.COMENTARIO) {
+                visitante.visitar(buffer, inicio, longitud, offsetBase + inicio);
+            }
+            inicio = fin + 1;
+        }
+    }
+
+    /**
+     * Divide el archivo en hasta {@code cantidad} rangos contiguos que empiezan siempre al
+     * inicio de una línea y terminan justo después de un salto de línea (o al final del archivo).
+     *
+     * <p>Como ninguna línea queda partida, cada rango se puede recorrer en un hilo distinto:
+     * los comentarios y los registros cortos de 42 caracteres en los bordes se tratan igual
+     * que en un recorrido secuencial. Los rangos nunca cruzan segmentos de mapeo y se
+     * retornan en el orden del archivo.</p>
+     *
+     * @param tamanoMinimo bytes mínimos por rango, para no paralelizar archivos pequeños
+     */
+    public List<Particion> particionar(int cantidad, long tamanoMinimo) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad de particiones debe ser mayor a cero");
+        }
+        long objetivo = Math.max(Math.max(tamanoMinimo, 1), (tamano + cantidad - 1) / cantidad);
+        List<Particion> particiones = new ArrayList<>();
+        for (Segmento segmento : segmentos) {
+            ByteBuffer buffer = segmento.getBuffer();
+            int desde = 0;
+            while (desde < buffer.limit()) {
+                int hasta = (int) Math.min(buffer.limit(), desde + objetivo);
+                while (hasta < buffer.limit() && buffer.get(hasta - 1) != FormatoEnergiaLegacy.FIN_LINEA) {
+                    hasta++;
+                }
+                particiones.add(new Particion(buffer, desde, hasta, segmento.getOffset()));
+                desde = hasta;
+            }
+        }
+        return particiones;
+    }
+
+    public Path getRuta() {
+        return ruta;
+    }
+
+    public long getTamano() {
+        return tamano;
+    }
+
+    public List<Segmento> getSegmentos() {
+        return segmentos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Región mapeada del archivo. {@code offset} es la posición absoluta del primer byte.
+     */
+    @Value
+    public static class Segmento {
+        ByteBuffer buffer;
+        long offset;
+    }
+
+    /**
+     * Rango {@code [desde, hasta)} de un segmento alineado a inicios de línea.
+     */
+    @Value
+    public static class Particion {
+        ByteBuffer buffer;
+        int desde;
+        int hasta;
+        long offsetBase;
+
+        public long getOffsetInicio() {
+            return offsetBase + desde;
+        }
+
+        public void recorrerRegistros(VisitanteRegistro visitante) {
+            ArchivoEnergiaMapeado.recorrerRegistros(buffer, desde, hasta, offsetBase, visitante);
+        }
+    }
+
+    @FunctionalInterface
+    public interface VisitanteRegistro {
+
+        /**
+         * @param buffer segmento que contiene la línea
+         * @param inicio posición del primer byte de la línea dentro del segmento
+         * @param longitud bytes de la línea sin el fin de línea
+         * @param offsetArchivo posición absoluta de la línea en el archivo
+         */
+        void visitar(ByteBuffer buffer, int inicio, int longitud, long offsetArchivo);
+    }
+}
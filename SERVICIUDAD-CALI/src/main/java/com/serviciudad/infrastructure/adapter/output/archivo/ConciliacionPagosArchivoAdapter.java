@@ -0,0 +1,312 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.port.output.ConciliacionPagosPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.infrastructure.adapter.output.persistence.DeudaResumenAdapter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.FacturaRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Conciliacion en streaming de archivos de pagos bancarios ({@link FormatoPagosBanco}) contra
+ * {@code facturas_acueducto}.
+ *
+ * <p>El archivo se recorre mapeado en memoria con {@link ArchivoEnergiaMapeado} y cada linea se
+ * decodifica con un {@link RegistroPagoCursor} a arreglos primitivos del bloque, sin objetos por
+ * registro. Cada bloque de {@code tamano-lote} registros se resuelve en su propia transaccion: una
+ * consulta {@code id IN (...)} para los registros con ID de factura y otra
+ * {@code (id_cliente, periodo) IN (...)} para los demas, ambas con {@code FOR UPDATE}. Las dos
+ * consultas se resuelven a una sola instancia por ID de factura, de modo que un registro por ID y
+ * otro por cliente y periodo de la misma factura la pagan una sola vez ({@code uk_cliente_periodo}
+ * garantiza una sola factura por cliente y periodo). Las facturas que la regla paga se escriben
+ * con un batch JDBC, el resumen de deuda de sus clientes se recalcula antes del commit y, ya
+ * confirmado el bloque, sus clientes se entregan al llamador.</p>
+ *
+ * <p>Los registros no pagados se escriben, en el orden del archivo, en
+ * {@code <archivo>.excepciones.csv} junto al archivo. Una conciliacion interrumpida deja
+ * confirmados los bloques anteriores; al repetirla sus facturas se reportan como
+ * {@code YA_PAGADA}.</p>
+ */
+@Slf4j
+@Component
+public class ConciliacionPagosArchivoAdapter implements ConciliacionPagosPort {
+
+    static final String SUFIJO_REPORTE = ".excepciones.csv";
+    static final String REGISTRO_INVALIDO = "REGISTRO_INVALIDO";
+
+    private static final String ENCABEZADO_REPORTE = "offset,factura_id,cliente_id,periodo,valor_centavos,motivo\n";
+    private static final ResultadoPago[] RESULTADOS = ResultadoPago.values();
+
+    private final Path directorio;
+    private final int tamanoLote;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeudaResumenAdapter deudaResumen;
+
+    @Autowired
+    public ConciliacionPagosArchivoAdapter(
+            @Value("${facturas.pagos.conciliacion.directorio:./data/pagos}") String directorio,
+            @Value("${facturas.pagos.conciliacion.tamano-lote:5000}") int tamanoLote,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DeudaResumenAdapter deudaResumen) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("facturas.pagos.conciliacion.tamano-lote debe ser positivo");
+        }
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.tamanoLote = tamanoLote;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deudaResumen = deudaResumen;
+    }
+
+    @Override
+    public ResultadoConciliacion conciliar(String archivo, BiFunction<FacturaAcueducto, Dinero, ResultadoPago> regla,
+                                           ProgresoTrabajo progreso, Consumer<Set<ClienteId>> alConfirmarBloque) {
+        Path ruta = resolver(archivo);
+        Path reporte = ruta.resolveSibling(ruta.getFileName() + SUFIJO_REPORTE);
+        long inicio = System.nanoTime();
+        try (ArchivoEnergiaMapeado mapeado = ArchivoEnergiaMapeado.abrir(ruta);
+             Writer salida = Files.newBufferedWriter(reporte, StandardCharsets.US_ASCII)) {
+            progreso.estimarTotal(mapeado.getTamano() / (FormatoPagosBanco.LONGITUD_MINIMA + 1));
+            salida.write(ENCABEZADO_REPORTE);
+            Conciliacion conciliacion = new Conciliacion(regla, progreso, alConfirmarBloque, salida);
+            mapeado.recorrerRegistros(conciliacion::agregar);
+            conciliacion.procesarBloque();
+            return ResultadoConciliacion.builder()
+                .archivo(ruta.toString())
+                .registrosLeidos(conciliacion.leidos)
+                .facturasPagadas(conciliacion.pagadas)
+                .excepciones(conciliacion.excepciones)
+                .reporteExcepciones(reporte.toString())
+                .lotesConfirmados(conciliacion.lotes)
+                .duracionMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio))
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo conciliar el archivo de pagos " + ruta, e);
+        }
+    }
+
+    /**
+     * Solo se aceptan nombres de archivos ubicados directamente en el directorio de conciliacion.
+     */
+    private Path resolver(String archivo) {
+        Path ruta = directorio.resolve(archivo).normalize();
+        if (archivo.isBlank() || !directorio.equals(ruta.getParent())) {
+            throw new IllegalArgumentException("Nombre de archivo de pagos invalido: " + archivo);
+        }
+        if (!Files.isRegularFile(ruta)) {
+            throw new IllegalArgumentException("No existe el archivo de pagos " + archivo);
+        }
+        return ruta;
+    }
+
+    /**
+     * Estado de una conciliacion: el bloque en curso en arreglos primitivos y los conteos.
+     */
+    private final class Conciliacion {
+
+        private final BiFunction<FacturaAcueducto, Dinero, ResultadoPago> regla;
+        private final ProgresoTrabajo progreso;
+        private final Consumer<Set<ClienteId>> alConfirmarBloque;
+        private final Writer salida;
+        private final RegistroPagoCursor cursor = new RegistroPagoCursor();
+        private final StringBuilder linea = new StringBuilder(64);
+
+        private final long[] offsets = new long[tamanoLote];
+        /** ID de factura, 0 para conciliar por cliente y periodo, -1 si el registro es invalido */
+        private final long[] facturas = new long[tamanoLote];
+        private final long[] clientes = new long[tamanoLote];
+        private final int[] periodos = new int[tamanoLote];
+        private final long[] valores = new long[tamanoLote];
+        private final byte[] resultados = new byte[tamanoLote];
+        private int tamano;
+
+        private long leidos;
+        private long pagadas;
+        private long excepciones;
+        private int lotes;
+
+        private Conciliacion(BiFunction<FacturaAcueducto, Dinero, ResultadoPago> regla, ProgresoTrabajo progreso,
+                             Consumer<Set<ClienteId>> alConfirmarBloque, Writer salida) {
+            this.regla = regla;
+            this.progreso = progreso;
+            this.alConfirmarBloque = alConfirmarBloque;
+            this.salida = salida;
+        }
+
+        private void agregar(ByteBuffer buffer, int inicio, int longitud, long offsetArchivo) {
+            leidos++;
+            offsets[tamano] = offsetArchivo;
+            if (cursor.decodificar(buffer, inicio, longitud)) {
+                facturas[tamano] = cursor.getFacturaId();
+                clientes[tamano] = cursor.getClienteId();
+                periodos[tamano] = cursor.getPeriodo();
+                valores[tamano] = cursor.getValorCentavos();
+            } else {
+                facturas[tamano] = -1;
+            }
+            if (++tamano == tamanoLote) {
+                procesarBloque();
+            }
+        }
+
+        private void procesarBloque() {
+            if (tamano == 0) {
+                return;
+            }
+            List<FacturaAcueducto> pagadasBloque = transactionTemplate.execute(status -> aplicarPagos());
+            if (!pagadasBloque.isEmpty()) {
+                Set<ClienteId> clientesPagados = new LinkedHashSet<>();
+                pagadasBloque.forEach(factura -> clientesPagados.add(factura.getClienteId()));
+                alConfirmarBloque.accept(clientesPagados);
+            }
+            try {
+                escribirExcepciones();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            progreso.registrar(tamano, pagadasBloque.size());
+            pagadas += pagadasBloque.size();
+            lotes++;
+            tamano = 0;
+        }
+
+        /**
+         * Busca las facturas del bloque, aplica la regla a cada registro en el orden del archivo
+         * y guarda las pagadas. Un registro repetido, por ID o por cliente y periodo, ve la
+         * misma instancia ya pagada por el anterior.
+         *
+         * @return facturas pagadas en el bloque
+         */
+        private List<FacturaAcueducto> aplicarPagos() {
+            Set<Long> ids = new LinkedHashSet<>();
+            Set<Long> claves = new LinkedHashSet<>();
+            for (int i = 0; i < tamano; i++) {
+                if (facturas[i] > 0) {
+                    ids.add(facturas[i]);
+                } else if (facturas[i] == 0) {
+                    claves.add(RegistroPagoCursor.clave(clientes[i], periodos[i]));
+                }
+            }
+            Map<Long, FacturaAcueducto> porId = new HashMap<>();
+            Map<Long, Long> idPorClave = new HashMap<>();
+            for (FacturaAcueducto factura : buscarPorId(ids)) {
+                porId.put(factura.getId().getValor(), factura);
+            }
+            for (FacturaAcueducto factura : buscarPorClienteYPeriodo(claves)) {
+                long id = factura.getId().getValor();
+                porId.putIfAbsent(id, factura);
+                idPorClave.put(RegistroPagoCursor.clave(Long.parseLong(factura.getClienteId().getValor()),
+                    Integer.parseInt(factura.getPeriodo().getValor())), id);
+            }
+
+            List<FacturaAcueducto> aPagar = new ArrayList<>();
+            for (int i = 0; i < tamano; i++) {
+                if (facturas[i] < 0) {
+                    continue;
+                }
+                long id = facturas[i] > 0
+                    ? facturas[i]
+                    : idPorClave.getOrDefault(RegistroPagoCursor.clave(clientes[i], periodos[i]), 0L);
+                FacturaAcueducto factura = porId.get(id);
+                ResultadoPago resultado = factura == null
+                    ? ResultadoPago.NO_ENCONTRADA
+                    : regla.apply(factura, Dinero.deCentavos(valores[i]));
+                resultados[i] = (byte) resultado.ordinal();
+                if (resultado == ResultadoPago.PAGADA) {
+                    aPagar.add(factura);
+                }
+            }
+            if (aPagar.isEmpty()) {
+                return aPagar;
+            }
+
+            jdbcTemplate.batchUpdate("UPDATE facturas_acueducto SET estado = ?, fecha_actualizacion = ? WHERE id = ?",
+                aPagar, aPagar.size(), (sentencia, factura) -> {
+                    sentencia.setString(1, factura.getEstado().name());
+                    sentencia.setTimestamp(2, Timestamp.valueOf(factura.getFechaActualizacion()));
+                    sentencia.setLong(3, factura.getId().getValor());
+                });
+            Set<String> clientesPagados = new TreeSet<>();
+            aPagar.forEach(factura -> clientesPagados.add(factura.getClienteId().getValor()));
+            deudaResumen.registrarCambios(clientesPagados);
+            return aPagar;
+        }
+
+        private List<FacturaAcueducto> buscarPorId(Set<Long> ids) {
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            return jdbcTemplate.query("SELECT " + FacturaRowMapper.COLUMNAS + " FROM facturas_acueducto " +
+                "WHERE id IN (" + marcadores + ") ORDER BY id FOR UPDATE", FacturaRowMapper.INSTANCIA, ids.toArray());
+        }
+
+        private List<FacturaAcueducto> buscarPorClienteYPeriodo(Set<Long> claves) {
+            if (claves.isEmpty()) {
+                return List.of();
+            }
+            List<Object> parametros = new ArrayList<>(claves.size() * 2);
+            for (long clave : claves) {
+                parametros.add(RegistroEnergiaCursor.formatearClienteId(clave / 1_000_000L));
+                parametros.add(Long.toString(clave % 1_000_000L));
+            }
+            String marcadores = String.join(", ", Collections.nCopies(claves.size(), "(?, ?)"));
+            return jdbcTemplate.query("SELECT " + FacturaRowMapper.COLUMNAS + " FROM facturas_acueducto " +
+                "WHERE (id_cliente, periodo) IN (" + marcadores + ") ORDER BY id FOR UPDATE",
+                FacturaRowMapper.INSTANCIA, parametros.toArray());
+        }
+
+        private void escribirExcepciones() throws IOException {
+            for (int i = 0; i < tamano; i++) {
+                linea.setLength(0);
+                linea.append(offsets[i]).append(',');
+                if (facturas[i] < 0) {
+                    linea.append(",,,,").append(REGISTRO_INVALIDO);
+                } else if (resultados[i] != ResultadoPago.PAGADA.ordinal()) {
+                    linea.append(facturas[i]).append(',')
+                        .append(RegistroEnergiaCursor.formatearClienteId(clientes[i])).append(',')
+                        .append(periodos[i]).append(',')
+                        .append(valores[i]).append(',')
+                        .append(RESULTADOS[resultados[i]].name());
+                } else {
+                    continue;
+                }
+                salida.append(linea).append('\n');
+                excepciones++;
+            }
+        }
+    }
+}
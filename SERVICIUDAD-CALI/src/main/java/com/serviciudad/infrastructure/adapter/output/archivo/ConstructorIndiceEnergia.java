@@ -0,0 +1,180 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.infrastructure.adapter.output.archivo.ArchivoEnergiaMapeado.Particion;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Construye un {@link IndiceEnergiaOffHeap} a partir del archivo legacy mapeado.
+ *
+ * <ol>
+ *   <li>Cuenta en paralelo los registros válidos de cada partición.</li>
+ *   <li>Decodifica en paralelo cada partición en su tramo de columnas temporales fuera del heap
+ *       (las posiciones salen de la suma acumulada de los conteos, así se conserva el orden del archivo).</li>
+ *   <li>Ordena una permutación por ID de cliente con radix sort LSD (estable: dentro de cada
+ *       cliente se mantiene el orden del archivo).</li>
+ *   <li>Copia las columnas en el orden de la permutación y calcula los inicios por cliente.</li>
+ * </ol>
+ *
+ * <p>Todas las columnas, temporales y finales, son buffers directos: el heap solo usa los
+ * contadores del radix sort.</p>
+ */
+final class ConstructorIndiceEnergia {
+
+    private static final int BITS_POR_PASADA = 16;
+    private static final int CUBETAS = 1 << BITS_POR_PASADA;
+    private static final int MAXIMO_REGISTROS = Integer.MAX_VALUE / Long.BYTES;
+
+    private ConstructorIndiceEnergia() {
+    }
+
+    static IndiceEnergiaOffHeap construir(ArchivoEnergiaMapeado archivo, ProcesadorParaleloEnergia procesador) {
+        List<Particion> particiones = procesador.particionar(archivo);
+        List<Integer> conteos = procesador.procesar(particiones, ConstructorIndiceEnergia::contarValidos);
+
+        int[] desde = new int[particiones.size()];
+        long total = 0;
+        for (int i = 0; i < desde.length; i++) {
+            desde[i] = (int) total;
+            total += conteos.get(i);
+            if (total > MAXIMO_REGISTROS) {
+                throw new IllegalStateException("El archivo supera el maximo de registros indexables: " + MAXIMO_REGISTROS);
+            }
+        }
+        int registros = (int) total;
+
+        ByteBuffer clientesPorFila = directo(registros * Long.BYTES);
+        ByteBuffer periodos = directo(registros * Integer.BYTES);
+        ByteBuffer consumos = directo(registros * Integer.BYTES);
+        ByteBuffer valores = directo(registros * Long.BYTES);
+        ByteBuffer fechas = directo(registros * Integer.BYTES);
+        List<Integer> indices = IntStream.range(0, particiones.size()).boxed().collect(Collectors.toList());
+        procesador.procesar(indices, i -> {
+            llenar(particiones.get(i), desde[i], clientesPorFila, periodos, consumos, valores, fechas);
+            return i;
+        });
+
+        ByteBuffer orden = ordenarPorCliente(clientesPorFila, registros);
+        return reordenar(orden, registros, clientesPorFila, periodos, consumos, valores, fechas);
+    }
+
+    private static int contarValidos(Particion particion) {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        int[] validos = new int[1];
+        particion.recorrerRegistros((buffer, inicio, longitud, offset) -> {
+            if (cursor.decodificar(buffer, inicio, longitud) && cursor.cumpleReglasDominio()) {
+                validos[0]++;
+            }
+        });
+        return validos[0];
+    }
+
+    private static void llenar(Particion particion, int primeraFila, ByteBuffer clientes, ByteBuffer periodos,
+                               ByteBuffer consumos, ByteBuffer valores, ByteBuffer fechas) {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        int[] fila = {primeraFila};
+        particion.recorrerRegistros((buffer, inicio, longitud, offset) -> {
+            if (cursor.decodificar(buffer, inicio, longitud) && cursor.cumpleReglasDominio()) {
+                int i = fila[0]++;
+                clientes.putLong(i * Long.BYTES, cursor.getClienteId());
+                periodos.putInt(i * Integer.BYTES, cursor.getPeriodo());
+                consumos.putInt(i * Integer.BYTES, cursor.getConsumoKwh());
+                valores.putLong(i * Long.BYTES, cursor.getValorCentavos());
+                fechas.putInt(i * Integer.BYTES, cursor.getFecha());
+            }
+        });
+    }
+
+    /**
+     * Radix sort LSD sobre una permutación de filas, por pasadas de 16 bits del ID de cliente.
+     *
+     * @return buffer de {@code int} con las filas ordenadas por cliente
+     */
+    private static ByteBuffer ordenarPorCliente(ByteBuffer clientes, int registros) {
+        ByteBuffer orden = directo(registros * Integer.BYTES);
+        ByteBuffer auxiliar = directo(registros * Integer.BYTES);
+        long maximo = 0;
+        for (int i = 0; i < registros; i++) {
+            orden.putInt(i * Integer.BYTES, i);
+            maximo = Math.max(maximo, clientes.getLong(i * Long.BYTES));
+        }
+
+        int[] posiciones = new int[CUBETAS];
+        for (int desplazamiento = 0; desplazamiento < Long.SIZE && (maximo >>> desplazamiento) > 0;
+                desplazamiento += BITS_POR_PASADA) {
+            Arrays.fill(posiciones, 0);
+            for (int i = 0; i < registros; i++) {
+                posiciones[cubeta(clientes, orden.getInt(i * Integer.BYTES), desplazamiento)]++;
+            }
+            int acumulado = 0;
+            for (int c = 0; c < CUBETAS; c++) {
+                int cantidad = posiciones[c];
+                posiciones[c] = acumulado;
+                acumulado += cantidad;
+            }
+            for (int i = 0; i < registros; i++) {
+                int fila = orden.getInt(i * Integer.BYTES);
+                auxiliar.putInt(posiciones[cubeta(clientes, fila, desplazamiento)]++ * Integer.BYTES, fila);
+            }
+            ByteBuffer intercambio = orden;
+            orden = auxiliar;
+            auxiliar = intercambio;
+        }
+        return orden;
+    }
+
+    private static int cubeta(ByteBuffer clientes, int fila, int desplazamiento) {
+        return (int) (clientes.getLong(fila * Long.BYTES) >>> desplazamiento) & (CUBETAS - 1);
+    }
+
+    private static IndiceEnergiaOffHeap reordenar(ByteBuffer orden, int registros, ByteBuffer clientesPorFila,
+                                                  ByteBuffer periodos, ByteBuffer consumos, ByteBuffer valores,
+                                                  ByteBuffer fechas) {
+        int distintos = 0;
+        long anterior = -1;
+        for (int i = 0; i < registros; i++) {
+            long cliente = clientesPorFila.getLong(orden.getInt(i * Integer.BYTES) * Long.BYTES);
+            if (cliente != anterior) {
+                distintos++;
+                anterior = cliente;
+            }
+        }
+
+        ByteBuffer clientes = directo(distintos * Long.BYTES);
+        ByteBuffer inicios = directo((distintos + 1) * Integer.BYTES);
+        ByteBuffer periodosOrdenados = directo(registros * Integer.BYTES);
+        ByteBuffer consumosOrdenados = directo(registros * Integer.BYTES);
+        ByteBuffer valoresOrdenados = directo(registros * Long.BYTES);
+        ByteBuffer fechasOrdenadas = directo(registros * Integer.BYTES);
+        ByteBuffer estratos = directo(registros);
+
+        int posicionCliente = -1;
+        anterior = -1;
+        for (int i = 0; i < registros; i++) {
+            int fila = orden.getInt(i * Integer.BYTES);
+            long cliente = clientesPorFila.getLong(fila * Long.BYTES);
+            if (cliente != anterior) {
+                posicionCliente++;
+                clientes.putLong(posicionCliente * Long.BYTES, cliente);
+                inicios.putInt(posicionCliente * Integer.BYTES, i);
+                anterior = cliente;
+            }
+            periodosOrdenados.putInt(i * Integer.BYTES, periodos.getInt(fila * Integer.BYTES));
+            consumosOrdenados.putInt(i * Integer.BYTES, consumos.getInt(fila * Integer.BYTES));
+            valoresOrdenados.putLong(i * Long.BYTES, valores.getLong(fila * Long.BYTES));
+            fechasOrdenadas.putInt(i * Integer.BYTES, fechas.getInt(fila * Integer.BYTES));
+        }
+        inicios.putInt(distintos * Integer.BYTES, registros);
+
+        return new IndiceEnergiaOffHeap(clientes, inicios, periodosOrdenados, consumosOrdenados,
+            valoresOrdenados, fechasOrdenadas, estratos);
+    }
+
+    private static ByteBuffer directo(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(IndiceEnergiaOffHeap.ORDEN_BYTES);
+    }
+}
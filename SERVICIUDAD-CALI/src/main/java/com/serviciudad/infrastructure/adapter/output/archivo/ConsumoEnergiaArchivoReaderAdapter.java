@@ -0,0 +1,454 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.AgregadoConsumos;
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.domain.valueobject.Periodo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Lector de consumos de energía servido directamente desde el archivo legacy del mainframe.
+ *
+ * <p>Se activa con el perfil {@code energia-archivo} y reemplaza al adaptador JPA.
+ * El archivo se mapea en memoria con {@link ArchivoEnergiaMapeado} y, en segundo plano, se
+ * construye un {@link IndiceEnergiaOffHeap}: a partir de ahí cada búsqueda por cliente es una
+ * búsqueda binaria sobre columnas fuera del heap. Mientras el índice no está listo las búsquedas
+ * recorren el archivo en paralelo con {@link ProcesadorParaleloEnergia}.</p>
+ *
+ * <p>Archivo mapeado e índice forman una generación inmutable publicada en un
+ * {@link AtomicReference}. Cada {@code energia.archivo.recarga-intervalo-ms} se revisa si el
+ * archivo cambió (inodo, tamaño o fecha de modificación); si es así, la nueva generación se
+ * construye en un hilo aparte y se intercambia de forma atómica. Los lectores nunca esperan:
+ * siguen usando la generación anterior hasta que la nueva está completa.</p>
+ *
+ * <p>La versión de los datos ({@link #versionDatos()}) se deriva de la {@link IdentidadArchivo}
+ * y de la fecha de modificación, no de un contador en memoria: tras un reinicio, o en otra réplica,
+ * el mismo archivo da la misma versión y uno distinto da otra, de modo que los ETag no se repiten
+ * para datos diferentes. Si un archivo reemplazado diera una versión menor que la vigente (fecha de
+ * modificación anterior), se usa la vigente más uno para que la versión nunca retroceda.</p>
+ *
+ * <p>Con {@code energia.archivo.snapshot-path} cada índice construido se guarda como
+ * {@link SnapshotIndiceEnergia}. Al iniciar, si el snapshot corresponde al archivo actual
+ * (tamaño, fecha de modificación y checksum de la cabecera), se mapea directamente y el índice
+ * queda listo sin parsear el texto; su CRC se verifica después en segundo plano.</p>
+ */
+@Slf4j
+@Component
+@Profile("energia-archivo")
+public class ConsumoEnergiaArchivoReaderAdapter implements ConsumoEnergiaReaderPort {
+
+    private static final int UMBRAL_CONSUMO_ELEVADO = 500;
+
+    private final Path rutaArchivo;
+    private final long tamanoSegmento;
+    private final ProcesadorParaleloEnergia procesador;
+    private final long intervaloRecargaMs;
+    private final Path rutaSnapshot;
+    private final AtomicReference<Generacion> generacion = new AtomicReference<>();
+    private final ScheduledExecutorService recargas = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "indice-energia");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    @Autowired
+    public ConsumoEnergiaArchivoReaderAdapter(@Value("${energia.archivo.path}") String rutaArchivo,
+                                              @Value("${energia.archivo.paralelismo:0}") int paralelismo,
+                                              @Value("${energia.archivo.recarga-intervalo-ms:30000}") long intervaloRecargaMs,
+                                              @Value("${energia.archivo.snapshot-path:}") String rutaSnapshot) {
+        this(Paths.get(rutaArchivo), ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(paralelismo), intervaloRecargaMs,
+            rutaSnapshot.isBlank() ? null : Paths.get(rutaSnapshot));
+    }
+
+    ConsumoEnergiaArchivoReaderAdapter(Path rutaArchivo, long tamanoSegmento) {
+        this(rutaArchivo, tamanoSegmento, new ProcesadorParaleloEnergia(1));
+    }
+
+    ConsumoEnergiaArchivoReaderAdapter(Path rutaArchivo, long tamanoSegmento, ProcesadorParaleloEnergia procesador) {
+        this(rutaArchivo, tamanoSegmento, procesador, 0);
+    }
+
+    ConsumoEnergiaArchivoReaderAdapter(Path rutaArchivo, long tamanoSegmento, ProcesadorParaleloEnergia procesador,
+                                       long intervaloRecargaMs) {
+        this(rutaArchivo, tamanoSegmento, procesador, intervaloRecargaMs, null);
+    }
+
+    ConsumoEnergiaArchivoReaderAdapter(Path rutaArchivo, long tamanoSegmento, ProcesadorParaleloEnergia procesador,
+                                       long intervaloRecargaMs, Path rutaSnapshot) {
+        this.rutaArchivo = rutaArchivo;
+        this.tamanoSegmento = tamanoSegmento;
+        this.procesador = procesador;
+        this.intervaloRecargaMs = intervaloRecargaMs;
+        this.rutaSnapshot = rutaSnapshot;
+    }
+
+    @PostConstruct
+    public void abrir() {
+        Generacion inicial = mapear(1, 0);
+        IndiceEnergiaOffHeap desdeSnapshot = cargarSnapshot(inicial);
+        if (desdeSnapshot != null) {
+            generacion.set(inicial.conIndice(desdeSnapshot, true));
+            recargas.submit(this::verificarSnapshot);
+        } else {
+            generacion.set(inicial);
+            recargas.submit(() -> indexar(inicial));
+        }
+        if (intervaloRecargaMs > 0) {
+            recargas.scheduleWithFixedDelay(this::recargarSiCambio, intervaloRecargaMs, intervaloRecargaMs,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() throws IOException {
+        recargas.shutdownNow();
+        procesador.close();
+        Generacion actual = generacion.get();
+        if (actual != null) {
+            actual.archivo.close();
+        }
+    }
+
+    /**
+     * Programa la construcción de una nueva generación con el contenido actual del archivo.
+     */
+    Future<?> recargar() {
+        return recargas.submit(this::construirNuevaGeneracion);
+    }
+
+    /**
+     * Índice de la generación vigente, o {@code null} si todavía se está construyendo.
+     */
+    IndiceEnergiaOffHeap indiceActual() {
+        return generacion.get().indice;
+    }
+
+    /**
+     * Indica si el índice vigente se cargó desde el snapshot en lugar de construirse.
+     */
+    boolean indiceDesdeSnapshot() {
+        return generacion.get().desdeSnapshot;
+    }
+
+    private Generacion mapear(long numero, long versionAnterior) {
+        try {
+            FirmaArchivo firma = FirmaArchivo.leer(rutaArchivo);
+            long version = version(firma, IdentidadArchivo.leer(rutaArchivo));
+            if (version < versionAnterior) {
+                version = versionAnterior + 1;
+            }
+            ArchivoEnergiaMapeado archivo = ArchivoEnergiaMapeado.abrir(rutaArchivo, tamanoSegmento);
+            log.info("Archivo de energia mapeado (generacion {}, version {}): {} ({} bytes, {} segmento(s), " +
+                "{} hilo(s))", numero, version, rutaArchivo, archivo.getTamano(), archivo.getSegmentos().size(),
+                procesador.getParalelismo());
+            return new Generacion(numero, version, firma, archivo, null, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo mapear el archivo de energia " + rutaArchivo, e);
+        }
+    }
+
+    /**
+     * Fecha de modificación en milisegundos en los bits altos y, en los 20 bits bajos, una mezcla
+     * del tamaño y del checksum de la cabecera: crece con cada archivo nuevo y distingue archivos
+     * distintos escritos en el mismo milisegundo.
+     */
+    private static long version(FirmaArchivo firma, IdentidadArchivo identidad) {
+        long contenido = identidad.getTamano() * 31 + identidad.getChecksumCabecera();
+        return firma.getModificacion() << 20 | (Long.hashCode(contenido) & 0xFFFFF);
+    }
+
+    private void recargarSiCambio() {
+        try {
+            if (!FirmaArchivo.leer(rutaArchivo).equals(generacion.get().firma)) {
+                construirNuevaGeneracion();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo recargar el archivo de energia {}: {}", rutaArchivo, e.getMessage());
+        }
+    }
+
+    private void construirNuevaGeneracion() {
+        Generacion vigente = generacion.get();
+        indexar(mapear(vigente.numero + 1, vigente.version));
+    }
+
+    private void indexar(Generacion sinIndice) {
+        long inicio = System.nanoTime();
+        IndiceEnergiaOffHeap indice;
+        try {
+            indice = ConstructorIndiceEnergia.construir(sinIndice.archivo, procesador);
+        } catch (RuntimeException e) {
+            log.error("Error construyendo el indice de energia (generacion {}); se sigue usando la anterior",
+                sinIndice.numero, e);
+            cerrarSiNoEsVigente(sinIndice);
+            return;
+        }
+        Generacion anterior = generacion.getAndSet(sinIndice.conIndice(indice, false));
+        log.info("Indice de energia listo (generacion {}): {} registros, {} clientes, {} KB fuera del heap en {} ms",
+            sinIndice.numero, indice.getNumeroRegistros(), indice.getNumeroClientes(),
+            indice.getBytesColumnas() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        if (anterior != null && anterior.archivo != sinIndice.archivo) {
+            cerrarArchivo(anterior.archivo);
+        }
+        guardarSnapshot(sinIndice, indice);
+    }
+
+    private IndiceEnergiaOffHeap cargarSnapshot(Generacion inicial) {
+        if (rutaSnapshot == null) {
+            return null;
+        }
+        long inicio = System.nanoTime();
+        try {
+            SnapshotIndiceEnergia.Fuente fuente = SnapshotIndiceEnergia.Fuente.leer(rutaArchivo);
+            if (!correspondeA(fuente, inicial)) {
+                return null;
+            }
+            IndiceEnergiaOffHeap indice = SnapshotIndiceEnergia.abrir(rutaSnapshot, fuente).orElse(null);
+            if (indice == null) {
+                log.info("El snapshot {} no existe o no corresponde al archivo de energia actual", rutaSnapshot);
+                return null;
+            }
+            log.info("Indice de energia cargado desde {}: {} registros, {} clientes en {} ms", rutaSnapshot,
+                indice.getNumeroRegistros(), indice.getNumeroClientes(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            return indice;
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo cargar el snapshot {}; se reconstruye el indice: {}", rutaSnapshot, e.getMessage());
+            return null;
+        }
+    }
+
+    private void verificarSnapshot() {
+        try {
+            if (SnapshotIndiceEnergia.verificar(rutaSnapshot)) {
+                return;
+            }
+            log.error("El CRC de las columnas del snapshot {} no coincide; se reconstruye el indice", rutaSnapshot);
+        } catch (IOException e) {
+            log.error("No se pudo verificar el snapshot {}; se reconstruye el indice", rutaSnapshot, e);
+        }
+        construirNuevaGeneracion();
+    }
+
+    private void guardarSnapshot(Generacion generacionIndexada, IndiceEnergiaOffHeap indice) {
+        if (rutaSnapshot == null) {
+            return;
+        }
+        try {
+            SnapshotIndiceEnergia.Fuente fuente = SnapshotIndiceEnergia.Fuente.leer(rutaArchivo);
+            if (!correspondeA(fuente, generacionIndexada)) {
+                log.debug("El archivo de energia cambio durante la indexacion; no se guarda el snapshot");
+                return;
+            }
+            SnapshotIndiceEnergia.escribir(rutaSnapshot, indice, fuente);
+            log.info("Snapshot del indice de energia guardado en {}", rutaSnapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo guardar el snapshot {}: {}", rutaSnapshot, e.getMessage());
+        }
+    }
+
+    private static boolean correspondeA(SnapshotIndiceEnergia.Fuente fuente, Generacion generacion) {
+        return fuente.getTamano() == generacion.archivo.getTamano()
+            && fuente.getTamano() == generacion.firma.getTamano()
+            && fuente.getModificacion() == generacion.firma.getModificacion();
+    }
+
+    private void cerrarSiNoEsVigente(Generacion candidata) {
+        if (generacion.get().archivo != candidata.archivo) {
+            cerrarArchivo(candidata.archivo);
+        }
+    }
+
+    private void cerrarArchivo(ArchivoEnergiaMapeado archivo) {
+        // Los buffers ya entregados a lectores en curso siguen siendo válidos tras cerrar el canal
+        try {
+            archivo.close();
+        } catch (IOException e) {
+            log.debug("Error cerrando el archivo de energia de una generacion anterior", e);
+        }
+    }
+
+    /**
+     * Versión del archivo de la generación vigente; cambia al intercambiar el archivo recargado.
+     */
+    @Override
+    public long versionDatos() {
+        return generacion.get().version;
+    }
+
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteId(ClienteId clienteId) {
+        return buscar(clienteId, null, -1);
+    }
+
+    /**
+     * Los consumos del cliente ya estan agrupados en el indice; se ordenan y recortan en memoria.
+     */
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteIdAntesDe(ClienteId clienteId, Periodo antesDe, int limite) {
+        return buscar(clienteId, null, -1).stream()
+            .filter(consumo -> antesDe == null || consumo.getPeriodo().getValor().compareTo(antesDe.getValor()) < 0)
+            .sorted(Comparator.comparing((ConsumoEnergiaModel consumo) -> consumo.getPeriodo().getValor()).reversed())
+            .limit(limite)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Cada cliente es una busqueda en el indice; no hay consulta que agrupar.
+     */
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteIds(Collection<ClienteId> clienteIds) {
+        List<ConsumoEnergiaModel> consumos = new ArrayList<>();
+        for (ClienteId clienteId : clienteIds) {
+            consumos.addAll(buscar(clienteId, null, -1));
+        }
+        return consumos;
+    }
+
+    /**
+     * El indice ya agrupa los consumos del cliente; se suman los que retorna la busqueda.
+     */
+    @Override
+    public AgregadoConsumos agregarPorCliente(ClienteId clienteId) {
+        long deudaCentavos = 0;
+        long consumoKwh = 0;
+        List<ConsumoEnergiaModel> consumos = buscar(clienteId, null, -1);
+        for (ConsumoEnergiaModel consumo : consumos) {
+            deudaCentavos += consumo.getValorPagar().enCentavos();
+            consumoKwh += consumo.getConsumo().getKilovatiosHora();
+        }
+        return AgregadoConsumos.builder()
+            .total(consumos.size())
+            .deuda(Dinero.deCentavos(deudaCentavos))
+            .consumoKwh(consumoKwh)
+            .build();
+    }
+
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo) {
+        return buscar(clienteId, periodo, -1);
+    }
+
+    @Override
+    public List<ConsumoEnergiaModel> findConsumosElevados(ClienteId clienteId) {
+        return buscar(clienteId, null, UMBRAL_CONSUMO_ELEVADO);
+    }
+
+    private List<ConsumoEnergiaModel> buscar(ClienteId clienteId, Periodo periodo, int umbralConsumo) {
+        long cliente = Long.parseLong(clienteId.getValor());
+        int periodoBuscado = periodo != null ? Integer.parseInt(periodo.getValor()) : -1;
+        Generacion actual = generacion.get();
+        if (actual.indice != null) {
+            return buscarEnIndice(actual.indice, cliente, periodoBuscado, umbralConsumo);
+        }
+        return buscarEnArchivo(actual.archivo, cliente, periodoBuscado, umbralConsumo);
+    }
+
+    private List<ConsumoEnergiaModel> buscarEnIndice(IndiceEnergiaOffHeap indice, long cliente,
+                                                     int periodoBuscado, int umbralConsumo) {
+        int posicion = indice.buscarCliente(cliente);
+        if (posicion < 0) {
+            return Collections.emptyList();
+        }
+        List<ConsumoEnergiaModel> resultado = new ArrayList<>();
+        for (int fila = indice.primerRegistro(posicion); fila < indice.finRegistros(posicion); fila++) {
+            if ((periodoBuscado < 0 || indice.periodo(fila) == periodoBuscado)
+                    && indice.consumoKwh(fila) > umbralConsumo) {
+                resultado.add(indice.aModelo(cliente, fila));
+            }
+        }
+        return resultado;
+    }
+
+    private List<ConsumoEnergiaModel> buscarEnArchivo(ArchivoEnergiaMapeado archivo, long cliente,
+                                                      int periodoBuscado, int umbralConsumo) {
+        List<List<ConsumoEnergiaModel>> parciales = procesador.procesar(archivo, particion -> {
+            RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+            List<ConsumoEnergiaModel> encontrados = new ArrayList<>();
+            particion.recorrerRegistros((buffer, inicio, longitud, offset) -> {
+                if (longitud < FormatoEnergiaLegacy.LONGITUD_MINIMA
+                        || RegistroEnergiaCursor.leerClienteId(buffer, inicio) != cliente) {
+                    return;
+                }
+                if (!cursor.decodificar(buffer, inicio, longitud) || !cursor.cumpleReglasDominio()) {
+                    log.warn("Registro de energia invalido en el byte {}", offset);
+                    return;
+                }
+                if ((periodoBuscado < 0 || cursor.getPeriodo() == periodoBuscado)
+                        && cursor.getConsumoKwh() > umbralConsumo) {
+                    encontrados.add(cursor.aModelo());
+                }
+            });
+            return encontrados;
+        });
+        return parciales.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * Archivo mapeado y su índice (nulo mientras se construye). Inmutable: se reemplaza completa.
+     */
+    private static final class Generacion {
+        private final long numero;
+        private final long version;
+        private final FirmaArchivo firma;
+        private final ArchivoEnergiaMapeado archivo;
+        private final IndiceEnergiaOffHeap indice;
+        private final boolean desdeSnapshot;
+
+        private Generacion(long numero, long version, FirmaArchivo firma, ArchivoEnergiaMapeado archivo,
+                           IndiceEnergiaOffHeap indice, boolean desdeSnapshot) {
+            this.numero = numero;
+            this.version = version;
+            this.firma = firma;
+            this.archivo = archivo;
+            this.indice = indice;
+            this.desdeSnapshot = desdeSnapshot;
+        }
+
+        private Generacion conIndice(IndiceEnergiaOffHeap nuevoIndice, boolean cargadoDeSnapshot) {
+            return new Generacion(numero, version, firma, archivo, nuevoIndice, cargadoDeSnapshot);
+        }
+    }
+
+    /**
+     * Atributos baratos de leer que cambian cuando el archivo se reemplaza o se modifica.
+     */
+    @lombok.Value
+    private static class FirmaArchivo {
+        Object clave;
+        long tamano;
+        long modificacion;
+
+        static FirmaArchivo leer(Path ruta) throws IOException {
+            BasicFileAttributes atributos = Files.readAttributes(ruta, BasicFileAttributes.class);
+            return new FirmaArchivo(atributos.fileKey(), atributos.size(), atributos.lastModifiedTime().toMillis());
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.output.ConsumoEnergiaImportPort;
+import com.serviciudad.infrastructure.adapter.output.persistence.DeudaResumenAdapter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository.Checkpoint;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConsumoEnergiaBulkWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConsumoEnergiaUpsertWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConteoFusion;
+import com.serviciudad.infrastructure.adapter.output.archivo.PipelineImportacionEnergia.BloqueEnergia;
+import com.serviciudad.infrastructure.adapter.output.archivo.PipelineImportacionEnergia.ResultadoPipeline;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.LoteConsumoEnergia;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Importación en streaming del archivo legacy de energía hacia {@code consumo_energia}.
+ *
+ * <p>El archivo se recorre mapeado en memoria con el {@link PipelineImportacionEnergia}
+ * (lector → decodificador → validador → escritor, con colas acotadas). Cada bloque de hasta
+ * {@code tamano-lote} líneas se confirma en su propia transacción junto con el checkpoint
+ * (offset en bytes del primer registro pendiente), por lo que una importación interrumpida se
+ * reanuda desde el último bloque confirmado.</p>
+ *
+ * <p>El checkpoint guarda también la {@link IdentidadArchivo}: si el archivo fue rotado, truncado
+ * o reescrito desde la última importación, se vuelve a leer completo. En modo incremental
+ * ({@link #importarNuevosRegistros()}) solo se consumen líneas terminadas en salto de línea,
+ * para no leer un registro que el mainframe todavía está escribiendo.</p>
+ *
+ * <p>En modo {@link ModoImportacion#AGREGAR} la escritura usa {@code COPY FROM STDIN} en PostgreSQL
+ * y batches JDBC en otros motores. En modo {@link ModoImportacion#FUSIONAR} cada lote se combina por
+ * {@code (cliente_id, periodo)} con un {@link ConsumoEnergiaUpsertWriter}, de modo que reimportar un
+ * archivo reentregado solo escribe las diferencias. Un archivo rotado o reescrito que se vuelve a
+ * leer desde el inicio, o una importación reiniciada, se fusiona siempre: esas lecturas ya están en la
+ * tabla y el índice único por {@code (cliente_id, periodo)} rechazaría el bloque completo. Por la misma
+ * razón el modo incremental fusiona cada bloque, y una línea agregada que corrige un periodo ya
+ * importado actualiza la lectura en lugar de bloquear al seguidor en el mismo checkpoint. Como la
+ * fusión es idempotente, solo en ese modo se usan varios escritores en paralelo: cada bloque se
+ * reparte por cliente y cada escritor confirma su parte en orden de archivo, así que la última
+ * lectura de un {@code (cliente_id, periodo)} es la que queda. El checkpoint avanza hasta la
+ * última parte contigua confirmada.</p>
+ */
+@Slf4j
+@Component
+public class ConsumoEnergiaImportAdapter implements ConsumoEnergiaImportPort {
+
+    private final Path rutaArchivo;
+    private final int tamanoLote;
+    private final String estratoPorDefecto;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CheckpointImportacionRepository checkpoints;
+    private final List<ConsumoEnergiaBulkWriter> writers;
+    private final List<ConsumoEnergiaUpsertWriter> upsertWriters;
+    private final PipelineImportacionEnergia pipeline;
+    private final DeudaResumenAdapter deudaResumen;
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+
+    @Autowired
+    public ConsumoEnergiaImportAdapter(
+            @Value("${energia.archivo.path}") String rutaArchivo,
+            @Value("${energia.importacion.tamano-lote:50000}") int tamanoLote,
+            @Value("${energia.importacion.estrato-por-defecto:0}") String estratoPorDefecto,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            CheckpointImportacionRepository checkpoints,
+            List<ConsumoEnergiaBulkWriter> writers,
+            List<ConsumoEnergiaUpsertWriter> upsertWriters,
+            PipelineImportacionEnergia pipeline,
+            DeudaResumenAdapter deudaResumen) {
+        this.rutaArchivo = Paths.get(rutaArchivo);
+        this.tamanoLote = tamanoLote;
+        this.estratoPorDefecto = estratoPorDefecto;
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpoints = checkpoints;
+        this.writers = writers;
+        this.upsertWriters = upsertWriters;
+        this.pipeline = pipeline;
+        this.deudaResumen = deudaResumen;
+    }
+
+    @Override
+    public ResultadoImportacion importar(boolean reiniciar, ModoImportacion modo) {
+        return ejecutar(reiniciar, modo, false);
+    }
+
+    @Override
+    public ResultadoImportacion importarNuevosRegistros() {
+        return ejecutar(false, ModoImportacion.FUSIONAR, true);
+    }
+
+    private ResultadoImportacion ejecutar(boolean reiniciar, ModoImportacion modo, boolean soloLineasCompletas) {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una importacion de energia en curso");
+        }
+        try {
+            IdentidadArchivo identidad = IdentidadArchivo.leer(rutaArchivo);
+            try (ArchivoEnergiaMapeado archivo = ArchivoEnergiaMapeado.abrir(rutaArchivo)) {
+                return importar(archivo, identidad, reiniciar, modo, soloLineasCompletas);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de energia " + rutaArchivo, e);
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private ResultadoImportacion importar(ArchivoEnergiaMapeado archivo, IdentidadArchivo identidad,
+                                          boolean reiniciar, ModoImportacion modo,
+                                          boolean soloLineasCompletas) throws IOException {
+        String clave = rutaArchivo.toAbsolutePath().normalize().toString();
+        String producto = productoBaseDatos();
+        EstadoImportacion estado = new EstadoImportacion(clave, identidad);
+
+        Optional<Checkpoint> checkpoint = reiniciar ? Optional.empty() : checkpoints.obtener(clave);
+        if (checkpoint.isPresent()) {
+            if (continuaArchivo(checkpoint.get(), archivo.getTamano())) {
+                estado.offsetInicial = checkpoint.get().getOffset();
+                estado.importadosAcumulados = checkpoint.get().getRegistrosImportados();
+            } else {
+                estado.archivoReemplazado = true;
+                modo = ModoImportacion.FUSIONAR;
+                log.warn("El archivo {} fue rotado, truncado o reescrito desde el checkpoint (byte {}); " +
+                    "se importa desde el inicio", clave, checkpoint.get().getOffset());
+            }
+        }
+        if (reiniciar && !modo.esFusion()) {
+            log.info("Importacion reiniciada de {}: se fusiona por (cliente, periodo) con las lecturas existentes", clave);
+            modo = ModoImportacion.FUSIONAR;
+        }
+        estado.modo = modo;
+        if (modo.esFusion()) {
+            estado.upsertWriter = seleccionar(upsertWriters, w -> w.soporta(producto), producto);
+        } else {
+            estado.writer = seleccionar(writers, w -> w.soporta(producto), producto);
+        }
+        long hasta = soloLineasCompletas ? archivo.finUltimaLineaCompleta() : archivo.getTamano();
+        log.info("Importando {} bytes [{}, {}) con lotes de {} registros ({}, {})", clave, estado.offsetInicial,
+            hasta, tamanoLote, modo, (modo.esFusion() ? estado.upsertWriter : estado.writer).getClass().getSimpleName());
+
+        estado.progreso = new ProgresoBloques(estado.offsetInicial, estado.importadosAcumulados);
+        if (checkpoint.isEmpty()) {
+            // Con varios escritores las confirmaciones concurrentes solo deben actualizar la fila
+            transactionTemplate.executeWithoutResult(status ->
+                guardarCheckpoint(estado, estado.offsetInicial, estado.importadosAcumulados));
+        }
+        ResultadoPipeline procesado = pipeline.ejecutar(archivo, estado.offsetInicial, hasta, tamanoLote,
+            modo.esFusion(), bloque -> confirmar(estado, bloque));
+        transactionTemplate.executeWithoutResult(status ->
+            guardarCheckpoint(estado, hasta, estado.progreso.registrosConfirmados()));
+
+        return ResultadoImportacion.builder()
+            .archivo(clave)
+            .modo(modo)
+            .offsetInicial(estado.offsetInicial)
+            .offsetFinal(hasta)
+            .registrosLeidos(procesado.getRegistrosLeidos())
+            .registrosImportados(estado.importados)
+            .registrosRechazados(procesado.getRegistrosRechazados())
+            .registrosInsertados(estado.insertados)
+            .registrosActualizados(estado.actualizados)
+            .registrosSinCambios(estado.sinCambios)
+            .lotesConfirmados(estado.lotes)
+            .archivoReemplazado(estado.archivoReemplazado)
+            .build();
+    }
+
+    private boolean continuaArchivo(Checkpoint checkpoint, long tamanoActual) throws IOException {
+        if (checkpoint.getOffset() > tamanoActual) {
+            return false;
+        }
+        if (checkpoint.getClaveArchivo() == null) {
+            return true;
+        }
+        IdentidadArchivo anterior = new IdentidadArchivo(checkpoint.getClaveArchivo(),
+            checkpoint.getTamanoArchivo(), checkpoint.getLongitudCabecera(), checkpoint.getChecksumCabecera());
+        return anterior.esContinuadoPor(rutaArchivo);
+    }
+
+    private void confirmar(EstadoImportacion estado, BloqueEnergia bloque) {
+        LoteConsumoEnergia lote = bloque.getLote();
+        TransactionStatus transaccion = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        ConteoFusion conteo;
+        try {
+            conteo = lote.estaVacio() ? null : escribir(estado, lote, bloque.getOffsetFin());
+            deudaResumen.registrarCambios(clientes(lote));
+            // La marca se calcula, se guarda y se confirma bajo el mismo candado para que un
+            // escritor lento no sobrescriba el checkpoint con una marca anterior
+            estado.progreso.confirmar(bloque.getSecuencia(), bloque.getOffsetFin(), lote.tamano(),
+                (offset, registros) -> {
+                    guardarCheckpoint(estado, offset, registros);
+                    transactionManager.commit(transaccion);
+                });
+        } catch (RuntimeException | Error e) {
+            if (!transaccion.isCompleted()) {
+                transactionManager.rollback(transaccion);
+            }
+            throw e;
+        }
+        if (conteo != null) {
+            estado.sumar(conteo, lote.tamano());
+            log.debug("Bloque {} confirmado: {} registros, hasta el byte {}",
+                bloque.getSecuencia(), lote.tamano(), bloque.getOffsetFin());
+        }
+    }
+
+    private static Set<String> clientes(LoteConsumoEnergia lote) {
+        Set<String> clientes = new HashSet<>();
+        for (int i = 0; i < lote.tamano(); i++) {
+            clientes.add(RegistroEnergiaCursor.formatearClienteId(lote.clienteId(i)));
+        }
+        return clientes;
+    }
+
+    private void guardarCheckpoint(EstadoImportacion estado, long offset, long registrosImportados) {
+        checkpoints.guardar(estado.clave, Checkpoint.builder()
+            .offset(offset)
+            .registrosImportados(registrosImportados)
+            .claveArchivo(estado.identidad.getClave())
+            .tamanoArchivo(estado.identidad.getTamano())
+            .longitudCabecera(estado.identidad.getLongitudCabecera())
+            .checksumCabecera(estado.identidad.getChecksumCabecera())
+            .build());
+    }
+
+    private ConteoFusion escribir(EstadoImportacion estado, LoteConsumoEnergia lote, long offsetSiguiente) {
+        Connection conexion = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (estado.modo.esFusion()) {
+                return estado.upsertWriter.fusionar(conexion, lote, estratoPorDefecto);
+            }
+            estado.writer.escribir(conexion, lote, estratoPorDefecto);
+            return new ConteoFusion(lote.tamano(), 0, 0);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error escribiendo lote de energia antes del byte " + offsetSiguiente, e);
+        } finally {
+            DataSourceUtils.releaseConnection(conexion, dataSource);
+        }
+    }
+
+    private String productoBaseDatos() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("No se pudo determinar el motor de base de datos", e);
+        }
+    }
+
+    private static <T> T seleccionar(List<T> candidatos, Predicate<T> soporta, String producto) {
+        return candidatos.stream()
+            .filter(soporta)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No hay escritor masivo para " + producto));
+    }
+
+    private static final class EstadoImportacion {
+        private final String clave;
+        private final IdentidadArchivo identidad;
+        private long offsetInicial;
+        private long importadosAcumulados;
+        private boolean archivoReemplazado;
+        private ModoImportacion modo;
+        private ConsumoEnergiaBulkWriter writer;
+        private ConsumoEnergiaUpsertWriter upsertWriter;
+        private ProgresoBloques progreso;
+        private long importados;
+        private int lotes;
+        private long insertados;
+        private long actualizados;
+        private long sinCambios;
+
+        private EstadoImportacion(String clave, IdentidadArchivo identidad) {
+            this.clave = clave;
+            this.identidad = identidad;
+        }
+
+        private synchronized void sumar(ConteoFusion conteo, int registros) {
+            insertados += conteo.getInsertados();
+            actualizados += conteo.getActualizados();
+            sinCambios += conteo.getSinCambios();
+            importados += registros;
+            lotes++;
+        }
+    }
+
+    /**
+     * Marca de agua del checkpoint: posición y registros acumulados hasta el último bloque (o parte
+     * de bloque) tal que él y todos los anteriores están confirmados. Con un solo escritor los
+     * bloques llegan en orden y la marca coincide con el bloque recién escrito.
+     */
+    private static final class ProgresoBloques {
+        private final TreeMap<Long, long[]> adelantados = new TreeMap<>();
+        private long siguiente;
+        private long offset;
+        private long registros;
+
+        private ProgresoBloques(long offsetInicial, long registrosIniciales) {
+            this.offset = offsetInicial;
+            this.registros = registrosIniciales;
+        }
+
+        /**
+         * Agrega el bloque al prefijo confirmado y entrega la marca resultante a {@code confirmacion},
+         * que la persiste y confirma la transacción del bloque. Todo ocurre bajo el mismo candado, de
+         * modo que las marcas guardadas nunca retroceden; si la confirmación falla el progreso no avanza.
+         */
+        private synchronized void confirmar(long secuencia, long offsetFin, long registrosBloque,
+                                            Confirmacion confirmacion) {
+            adelantados.put(secuencia, new long[] {offsetFin, registrosBloque});
+            long marcaOffset = offset;
+            long marcaRegistros = registros;
+            long k = siguiente;
+            for (long[] bloque; (bloque = adelantados.get(k)) != null; k++) {
+                marcaOffset = bloque[0];
+                marcaRegistros += bloque[1];
+            }
+            try {
+                confirmacion.confirmar(marcaOffset, marcaRegistros);
+            } catch (RuntimeException | Error e) {
+                adelantados.remove(secuencia);
+                throw e;
+            }
+            for (; siguiente < k; siguiente++) {
+                adelantados.remove(siguiente);
+            }
+            offset = marcaOffset;
+            registros = marcaRegistros;
+        }
+
+        private synchronized long registrosConfirmados() {
+            return registros;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Confirmacion {
+        void confirmar(long offset, long registrosImportados);
+    }
+}
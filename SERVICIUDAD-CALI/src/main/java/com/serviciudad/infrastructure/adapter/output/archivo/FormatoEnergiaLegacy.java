@@ -0,0 +1,45 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+/**
+ * Layout de ancho fijo del archivo legacy de consumos de energía (mainframe).
+ *
+ * <p>Las posiciones se expresan como desplazamientos en base cero dentro de la línea.
+ * Los registros reales del archivo tienen 42 caracteres significativos; los registros
+ * largos agregan relleno reservado (ceros) hasta completar la línea:</p>
+ * <ul>
+ *   <li>Pos 1-10: ID cliente</li>
+ *   <li>Pos 11-16: Período YYYYMM</li>
+ *   <li>Pos 17-22: Consumo kWh</li>
+ *   <li>Pos 23-34: Valor a pagar en centavos</li>
+ *   <li>Pos 35-42: Fecha YYYYMMDD</li>
+ * </ul>
+ *
+ * <p>El encabezado del archivo documenta el consumo con 7 dígitos, pero los registros
+ * (incluido el propio ejemplo del encabezado) usan 6; este layout sigue a los datos.</p>
+ */
+public final class FormatoEnergiaLegacy {
+
+    public static final byte COMENTARIO = '#';
+    public static final byte FIN_LINEA = '\n';
+    public static final byte RETORNO_CARRO = '\r';
+
+    public static final int CLIENTE_INICIO = 0;
+    public static final int CLIENTE_LONGITUD = 10;
+
+    public static final int PERIODO_INICIO = 10;
+    public static final int PERIODO_LONGITUD = 6;
+
+    public static final int CONSUMO_INICIO = 16;
+    public static final int CONSUMO_LONGITUD = 6;
+
+    public static final int VALOR_INICIO = 22;
+    public static final int VALOR_LONGITUD = 12;
+
+    public static final int FECHA_INICIO = 34;
+    public static final int FECHA_LONGITUD = 8;
+
+    public static final int LONGITUD_MINIMA = FECHA_INICIO + FECHA_LONGITUD;
+
+    private FormatoEnergiaLegacy() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+/**
+ * Layout de ancho fijo de los archivos de pagos que entregan los bancos.
+ *
+ * <p>Las posiciones se expresan como desplazamientos en base cero dentro de la línea. Los
+ * registros pueden traer relleno adicional hasta completar la línea; las líneas vacías y las
+ * que empiezan con {@code #} se omiten, igual que en el archivo de energía:</p>
+ * <ul>
+ *   <li>Pos 1-12: ID factura (ceros si el banco no lo informa)</li>
+ *   <li>Pos 13-22: ID cliente</li>
+ *   <li>Pos 23-28: Período YYYYMM</li>
+ *   <li>Pos 29-40: Valor pagado en centavos</li>
+ *   <li>Pos 41-48: Fecha de pago YYYYMMDD</li>
+ * </ul>
+ *
+ * <p>Un registro con ID de factura se concilia por ID; uno sin él, por cliente y período.</p>
+ */
+public final class FormatoPagosBanco {
+
+    public static final int FACTURA_INICIO = 0;
+    public static final int FACTURA_LONGITUD = 12;
+
+    public static final int CLIENTE_INICIO = 12;
+    public static final int CLIENTE_LONGITUD = 10;
+
+    public static final int PERIODO_INICIO = 22;
+    public static final int PERIODO_LONGITUD = 6;
+
+    public static final int VALOR_INICIO = 28;
+    public static final int VALOR_LONGITUD = 12;
+
+    public static final int FECHA_INICIO = 40;
+    public static final int FECHA_LONGITUD = 8;
+
+    public static final int LONGITUD_MINIMA = FECHA_INICIO + FECHA_LONGITUD;
+
+    private FormatoPagosBanco() {
+    }
+}
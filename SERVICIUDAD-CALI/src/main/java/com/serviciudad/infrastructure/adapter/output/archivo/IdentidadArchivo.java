@@ -0,0 +1,65 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Identidad de un archivo en un momento dado: clave del sistema de archivos (dispositivo + inodo
+ * cuando el sistema operativo la expone), tamaño y CRC32 de los primeros bytes.
+ *
+ * <p>Permite distinguir un archivo al que solo se le agregaron líneas al final de uno rotado
+ * (otro inodo), truncado (menor tamaño) o reescrito en sitio (cambia la cabecera).</p>
+ */
+@Value
+public class IdentidadArchivo {
+
+    static final int LONGITUD_CABECERA = 4096;
+
+    String clave;
+    long tamano;
+    int longitudCabecera;
+    long checksumCabecera;
+
+    public static IdentidadArchivo leer(Path ruta) throws IOException {
+        return leer(ruta, LONGITUD_CABECERA);
+    }
+
+    private static IdentidadArchivo leer(Path ruta, int longitudMaximaCabecera) throws IOException {
+        BasicFileAttributes atributos = Files.readAttributes(ruta, BasicFileAttributes.class);
+        Object claveArchivo = atributos.fileKey();
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            ByteBuffer cabecera = ByteBuffer.allocate((int) Math.min(longitudMaximaCabecera, tamano));
+            int leidos;
+            do {
+                leidos = canal.read(cabecera, cabecera.position());
+            } while (leidos > 0 && cabecera.hasRemaining());
+            cabecera.flip();
+            CRC32 crc = new CRC32();
+            crc.update(cabecera);
+            return new IdentidadArchivo(claveArchivo != null ? claveArchivo.toString() : "",
+                tamano, cabecera.limit(), crc.getValue());
+        }
+    }
+
+    /**
+     * Indica si {@code ruta} sigue siendo este mismo archivo, posiblemente con más datos agregados
+     * al final: misma clave, tamaño mayor o igual y la misma cabecera.
+     */
+    public boolean esContinuadoPor(Path ruta) throws IOException {
+        IdentidadArchivo actual = leer(ruta, longitudCabecera);
+        return Objects.equals(clave, actual.clave)
+            && actual.tamano >= tamano
+            && actual.longitudCabecera == longitudCabecera
+            && actual.checksumCabecera == checksumCabecera;
+    }
+}
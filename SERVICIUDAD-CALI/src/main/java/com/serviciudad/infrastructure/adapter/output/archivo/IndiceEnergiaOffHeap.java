@@ -0,0 +1,164 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.ConsumoEnergia;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.domain.valueobject.Periodo;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+/**
+ * Índice inmutable de consumos de energía por cliente, almacenado fuera del heap.
+ *
+ * <p>Los registros están agrupados por cliente (en orden ascendente de ID y, dentro de cada
+ * cliente, en el orden del archivo) en columnas de ancho fijo sobre {@link ByteBuffer}s directos
+ * o mapeados:</p>
+ * <ul>
+ *   <li>{@code clientes}: IDs distintos como {@code long}, ordenados, para búsqueda binaria.</li>
+ *   <li>{@code inicios}: {@code int} por cliente más uno final; los registros del cliente
+ *       {@code c} ocupan las filas {@code [inicios[c], inicios[c + 1])}.</li>
+ *   <li>{@code periodos}, {@code consumos}, {@code fechas} ({@code int}), {@code valores}
+ *       (centavos, {@code long}) y {@code estratos} ({@code byte}, 0 = sin estrato).</li>
+ * </ul>
+ *
+ * <p>Solo se leen con accesos absolutos, por lo que una instancia se comparte entre hilos sin
+ * sincronización. En el heap solo vive este objeto; el tamaño del archivo no afecta al GC.</p>
+ */
+public final class IndiceEnergiaOffHeap {
+
+    static final ByteOrder ORDEN_BYTES = ByteOrder.LITTLE_ENDIAN;
+
+    private final ByteBuffer clientes;
+    private final ByteBuffer inicios;
+    private final ByteBuffer periodos;
+    private final ByteBuffer consumos;
+    private final ByteBuffer valores;
+    private final ByteBuffer fechas;
+    private final ByteBuffer estratos;
+    private final int numeroClientes;
+    private final int numeroRegistros;
+
+    IndiceEnergiaOffHeap(ByteBuffer clientes, ByteBuffer inicios, ByteBuffer periodos, ByteBuffer consumos,
+                         ByteBuffer valores, ByteBuffer fechas, ByteBuffer estratos) {
+        this.clientes = clientes.order(ORDEN_BYTES);
+        this.inicios = inicios.order(ORDEN_BYTES);
+        this.periodos = periodos.order(ORDEN_BYTES);
+        this.consumos = consumos.order(ORDEN_BYTES);
+        this.valores = valores.order(ORDEN_BYTES);
+        this.fechas = fechas.order(ORDEN_BYTES);
+        this.estratos = estratos;
+        this.numeroClientes = clientes.limit() / Long.BYTES;
+        this.numeroRegistros = estratos.limit();
+    }
+
+    /**
+     * Busca la posición del cliente en la columna ordenada de IDs.
+     *
+     * @return la posición, o -1 si el cliente no tiene registros
+     */
+    public int buscarCliente(long clienteId) {
+        int bajo = 0;
+        int alto = numeroClientes - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            long valor = clientes.getLong(medio * Long.BYTES);
+            if (valor < clienteId) {
+                bajo = medio + 1;
+            } else if (valor > clienteId) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Primera fila de los registros del cliente en {@code posicionCliente}.
+     */
+    public int primerRegistro(int posicionCliente) {
+        return inicios.getInt(posicionCliente * Integer.BYTES);
+    }
+
+    /**
+     * Fila siguiente a la última de los registros del cliente en {@code posicionCliente}.
+     */
+    public int finRegistros(int posicionCliente) {
+        return inicios.getInt((posicionCliente + 1) * Integer.BYTES);
+    }
+
+    public long clienteEn(int posicionCliente) {
+        return clientes.getLong(posicionCliente * Long.BYTES);
+    }
+
+    public int periodo(int fila) {
+        return periodos.getInt(fila * Integer.BYTES);
+    }
+
+    public int consumoKwh(int fila) {
+        return consumos.getInt(fila * Integer.BYTES);
+    }
+
+    public long valorCentavos(int fila) {
+        return valores.getLong(fila * Long.BYTES);
+    }
+
+    /**
+     * Fecha de lectura en formato numérico YYYYMMDD.
+     */
+    public int fecha(int fila) {
+        return fechas.getInt(fila * Integer.BYTES);
+    }
+
+    public int estrato(int fila) {
+        return estratos.get(fila);
+    }
+
+    /**
+     * Construye el modelo de dominio de una fila del índice.
+     */
+    public ConsumoEnergiaModel aModelo(long clienteId, int fila) {
+        int fecha = fecha(fila);
+        int estrato = estrato(fila);
+        return ConsumoEnergiaModel.builder()
+            .clienteId(ClienteId.of(RegistroEnergiaCursor.formatearClienteId(clienteId)))
+            .periodo(Periodo.of(Integer.toString(periodo(fila))))
+            .consumo(ConsumoEnergia.of(consumoKwh(fila)))
+            .valorPagar(Dinero.of(BigDecimal.valueOf(valorCentavos(fila), 2)))
+            .fechaLectura(LocalDate.of(fecha / 10000, fecha / 100 % 100, fecha % 100))
+            .estrato(estrato > 0 ? Integer.toString(estrato) : null)
+            .build();
+    }
+
+    public int getNumeroClientes() {
+        return numeroClientes;
+    }
+
+    public int getNumeroRegistros() {
+        return numeroRegistros;
+    }
+
+    /**
+     * Vistas de solo lectura de las columnas en el orden del snapshot binario: clientes, inicios,
+     * periodos, consumos, valores, fechas y estratos.
+     */
+    ByteBuffer[] columnas() {
+        ByteBuffer[] columnas = {clientes, inicios, periodos, consumos, valores, fechas, estratos};
+        for (int i = 0; i < columnas.length; i++) {
+            columnas[i] = columnas[i].asReadOnlyBuffer().order(ORDEN_BYTES);
+        }
+        return columnas;
+    }
+
+    /**
+     * Bytes ocupados por las columnas (fuera del heap).
+     */
+    public long getBytesColumnas() {
+        return (long) clientes.limit() + inicios.limit() + periodos.limit() + consumos.limit()
+            + valores.limit() + fechas.limit() + estratos.limit();
+    }
+}
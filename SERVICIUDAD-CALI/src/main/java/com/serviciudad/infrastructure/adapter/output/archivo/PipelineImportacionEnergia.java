@@ -0,0 +1,648 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.LoteConsumoEnergia;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pipeline de importación del archivo de energía en cuatro etapas conectadas por colas acotadas:
+ * lector → decodificador → validador → escritor.
+ *
+ * <ul>
+ *   <li><b>Lector</b> (un hilo): recorre el archivo mapeado y agrupa las posiciones de hasta
+ *       {@code tamanoBloque} líneas en un bloque, sin copiar bytes.</li>
+ *   <li><b>Decodificador</b>: convierte las líneas del bloque a columnas primitivas con
+ *       {@link RegistroEnergiaCursor}, descartando las mal formadas.</li>
+ *   <li><b>Validador</b>: aplica las reglas de dominio y compacta el lote.</li>
+ *   <li><b>Escritor</b>: entrega el lote a un {@link EscritorBloques} (base de datos).</li>
+ * </ul>
+ *
+ * <p>Los bloques salen de un pool de tamaño fijo que el lector toma en orden de archivo: si la
+ * base de datos se atrasa, las colas se llenan, el pool se agota y el lector se detiene. La
+ * memoria en uso queda acotada por {@code capacidad-cola} y no por el tamaño del archivo.</p>
+ *
+ * <p>Los bloques se escriben en el orden del archivo (reordenando los que llegan adelantados).
+ * Con varios escritores un repartidor toma los bloques en ese orden y cada escritor escribe, como
+ * una parte del bloque, las filas de los clientes que le corresponden por {@code cliente_id}: un
+ * {@code (cliente_id, periodo)} siempre lo escribe el mismo escritor y en orden de archivo, de modo
+ * que la última lectura gana y dos escritores nunca compiten por la misma fila.</p>
+ *
+ * <p>Métricas (etiqueta {@code etapa}): {@code energia.importacion.registros} (throughput),
+ * {@code energia.importacion.procesamiento} (tiempo por bloque), {@code energia.importacion.espera}
+ * (tiempo bloqueado, con {@code tipo=entrada} si la etapa esperó trabajo y {@code tipo=salida} si
+ * esperó espacio aguas abajo) y el gauge {@code energia.importacion.cola} con la profundidad de
+ * cada cola.</p>
+ */
+@Slf4j
+@Component
+public class PipelineImportacionEnergia {
+
+    static final String LECTOR = "lector";
+    static final String DECODIFICADOR = "decodificador";
+    static final String VALIDADOR = "validador";
+    static final String ESCRITOR = "escritor";
+
+    private static final BloqueEnergia FIN = new BloqueEnergia(0);
+
+    private final Configuracion configuracion;
+    private final MeterRegistry registry;
+    private final AtomicReference<Ejecucion> enCurso = new AtomicReference<>();
+    private final Map<String, MetricasEtapa> metricas = new HashMap<>();
+
+    @Autowired
+    public PipelineImportacionEnergia(
+            @Value("${energia.importacion.pipeline.decodificadores:2}") int decodificadores,
+            @Value("${energia.importacion.pipeline.validadores:1}") int validadores,
+            @Value("${energia.importacion.pipeline.escritores:2}") int escritores,
+            @Value("${energia.importacion.pipeline.capacidad-cola:2}") int capacidadCola,
+            MeterRegistry registry) {
+        this(new Configuracion(decodificadores, validadores, escritores, capacidadCola), registry);
+    }
+
+    PipelineImportacionEnergia(Configuracion configuracion, MeterRegistry registry) {
+        if (configuracion.getDecodificadores() <= 0 || configuracion.getValidadores() <= 0
+                || configuracion.getEscritores() <= 0 || configuracion.getCapacidadCola() <= 0) {
+            throw new IllegalArgumentException("La configuracion del pipeline de energia debe ser positiva");
+        }
+        this.configuracion = configuracion;
+        this.registry = registry;
+        for (String etapa : List.of(LECTOR, DECODIFICADOR, VALIDADOR, ESCRITOR)) {
+            metricas.put(etapa, new MetricasEtapa(etapa, registry));
+        }
+        registrarCola("lineas", e -> e.lineas.size());
+        registrarCola("decodificados", e -> e.decodificados.size());
+        registrarCola("validados", e -> e.validados.size());
+        registrarCola("bloques-libres", e -> e.libres.size());
+        registrarCola("particiones", e -> e.particiones.stream().mapToInt(BlockingQueue::size).max().orElse(0));
+    }
+
+    private void registrarCola(String cola, ToDoubleFunction<Ejecucion> profundidad) {
+        Gauge.builder("energia.importacion.cola", enCurso, referencia -> {
+                Ejecucion ejecucion = referencia.get();
+                return ejecucion == null ? 0 : profundidad.applyAsDouble(ejecucion);
+            })
+            .tag("cola", cola)
+            .description("Bloques en cola entre etapas del pipeline de importacion de energia")
+            .register(registry);
+    }
+
+    /**
+     * Procesa las líneas de {@code [desde, hasta)} y las entrega al escritor por bloques.
+     *
+     * @param escrituraParalela si se permite repartir cada bloque entre varios escritores por
+     *                          cliente (escrituras idempotentes); en caso contrario los bloques se
+     *                          escriben completos uno a uno
+     * @return conteos de líneas leídas y rechazadas
+     */
+    public ResultadoPipeline ejecutar(ArchivoEnergiaMapeado archivo, long desde, long hasta, int tamanoBloque,
+                                      boolean escrituraParalela, EscritorBloques escritor) {
+        int escritores = escrituraParalela ? configuracion.getEscritores() : 1;
+        Ejecucion ejecucion = new Ejecucion(tamanoBloque, escritores);
+        if (!enCurso.compareAndSet(null, ejecucion)) {
+            throw new IllegalStateException("El pipeline de importacion de energia ya esta en uso");
+        }
+        try {
+            return ejecucion.ejecutar(archivo, desde, hasta, escritor);
+        } finally {
+            enCurso.set(null);
+        }
+    }
+
+    public Configuracion getConfiguracion() {
+        return configuracion;
+    }
+
+    /**
+     * Destino de los bloques validados. Se invoca desde los hilos de la etapa escritora.
+     */
+    @FunctionalInterface
+    public interface EscritorBloques {
+        void escribir(BloqueEnergia bloque);
+    }
+
+    /**
+     * Paralelismo por etapa y capacidad de las colas entre etapas (en bloques).
+     */
+    @lombok.Value
+    public static class Configuracion {
+        int decodificadores;
+        int validadores;
+        int escritores;
+        int capacidadCola;
+    }
+
+    @lombok.Value
+    public static class ResultadoPipeline {
+        long registrosLeidos;
+        long registrosRechazados;
+        long bloques;
+    }
+
+    /**
+     * Unidad de trabajo del pipeline: posiciones de líneas consecutivas del archivo y el lote
+     * columnar en que se decodifican. Se reutiliza entre bloques.
+     */
+    public static final class BloqueEnergia {
+
+        private final int[] inicios;
+        private final int[] longitudes;
+        private final LoteConsumoEnergia lote;
+        private final AtomicInteger partesPendientes = new AtomicInteger();
+        private ByteBuffer buffer;
+        private int lineas;
+        private long secuencia;
+        private long offsetInicio;
+        private long offsetFin;
+        private int rechazados;
+
+        BloqueEnergia(int capacidad) {
+            this.inicios = new int[capacidad];
+            this.longitudes = new int[capacidad];
+            this.lote = capacidad > 0 ? new LoteConsumoEnergia(capacidad) : null;
+        }
+
+        private void iniciar(long numero, ByteBuffer origen) {
+            secuencia = numero;
+            buffer = origen;
+            lineas = 0;
+            rechazados = 0;
+            lote.limpiar();
+        }
+
+        private boolean estaLleno() {
+            return lineas == inicios.length;
+        }
+
+        private void agregarLinea(int inicio, int longitud) {
+            inicios[lineas] = inicio;
+            longitudes[lineas] = longitud;
+            lineas++;
+        }
+
+        /**
+         * Orden del bloque en el archivo. Con escritura repartida entre {@code n} escritores es el
+         * de la parte: {@code secuencia del bloque * n + escritor}.
+         */
+        public long getSecuencia() {
+            return secuencia;
+        }
+
+        /**
+         * Posición absoluta hasta la que el archivo queda escrito al confirmar este bloque y los
+         * anteriores (checkpoint tras escribirlo). Para las partes de un bloque repartido es el
+         * inicio del bloque, salvo la última, que lo completa.
+         */
+        public long getOffsetFin() {
+            return offsetFin;
+        }
+
+        public LoteConsumoEnergia getLote() {
+            return lote;
+        }
+
+        public int getLineas() {
+            return lineas;
+        }
+    }
+
+    /**
+     * Estado de una ejecución: colas, pool de bloques, hilos y conteos.
+     */
+    private final class Ejecucion {
+
+        private final int tamanoBloque;
+        private final int escritores;
+        private final BlockingQueue<BloqueEnergia> lineas;
+        private final BlockingQueue<BloqueEnergia> decodificados;
+        private final BlockingQueue<BloqueEnergia> validados;
+        private final BlockingQueue<BloqueEnergia> libres;
+        /** Cola de cada escritor cuando los bloques se reparten por cliente */
+        private final List<BlockingQueue<BloqueEnergia>> particiones = new ArrayList<>();
+        private final int bloquesEnVuelo;
+        private int bloquesCreados;
+        private final AtomicLong leidos = new AtomicLong();
+        private final AtomicLong rechazados = new AtomicLong();
+        private final AtomicLong bloques = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private ExecutorService hilos;
+
+        private Ejecucion(int tamanoBloque, int escritores) {
+            if (tamanoBloque <= 0) {
+                throw new IllegalArgumentException("El tamaño de bloque debe ser mayor a cero");
+            }
+            int capacidad = configuracion.getCapacidadCola();
+            this.tamanoBloque = tamanoBloque;
+            this.escritores = escritores;
+            this.lineas = new ArrayBlockingQueue<>(capacidad + configuracion.getDecodificadores());
+            this.decodificados = new ArrayBlockingQueue<>(capacidad + configuracion.getValidadores());
+            this.validados = new ArrayBlockingQueue<>(capacidad + escritores);
+            if (escritores > 1) {
+                for (int i = 0; i < escritores; i++) {
+                    particiones.add(new ArrayBlockingQueue<>(capacidad));
+                }
+            }
+            this.bloquesEnVuelo = 3 * capacidad + configuracion.getDecodificadores() + configuracion.getValidadores()
+                + escritores + 1 + (escritores > 1 ? capacidad + 1 : 0);
+            this.libres = new ArrayBlockingQueue<>(bloquesEnVuelo);
+        }
+
+        private ResultadoPipeline ejecutar(ArchivoEnergiaMapeado archivo, long desde, long hasta,
+                                           EscritorBloques escritor) {
+            int totalHilos = 1 + configuracion.getDecodificadores() + configuracion.getValidadores() + escritores
+                + (escritores > 1 ? 1 : 0);
+            AtomicInteger numeroHilo = new AtomicInteger();
+            hilos = Executors.newFixedThreadPool(totalHilos, tarea -> {
+                Thread hilo = new Thread(tarea, "energia-pipeline-" + numeroHilo.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            List<Future<?>> tareas = new ArrayList<>();
+            try {
+                tareas.add(hilos.submit(etapa(LECTOR, () -> leer(archivo, desde, hasta))));
+                AtomicInteger decodificadoresActivos = new AtomicInteger(configuracion.getDecodificadores());
+                for (int i = 0; i < configuracion.getDecodificadores(); i++) {
+                    tareas.add(hilos.submit(etapa(DECODIFICADOR,
+                        () -> transformar(DECODIFICADOR, lineas, decodificados, decodificadoresActivos, this::decodificar))));
+                }
+                AtomicInteger validadoresActivos = new AtomicInteger(configuracion.getValidadores());
+                for (int i = 0; i < configuracion.getValidadores(); i++) {
+                    tareas.add(hilos.submit(etapa(VALIDADOR,
+                        () -> transformar(VALIDADOR, decodificados, validados, validadoresActivos, this::validar))));
+                }
+                if (escritores == 1) {
+                    tareas.add(hilos.submit(etapa(ESCRITOR, () -> escribirEnOrden(escritor))));
+                } else {
+                    tareas.add(hilos.submit(etapa(ESCRITOR, this::repartirEnOrden)));
+                    for (int i = 0; i < escritores; i++) {
+                        int particion = i;
+                        tareas.add(hilos.submit(etapa(ESCRITOR, () -> escribirParticion(particion, escritor))));
+                    }
+                }
+                esperar(tareas);
+            } finally {
+                hilos.shutdownNow();
+            }
+            return new ResultadoPipeline(leidos.get(), rechazados.get(), bloques.get());
+        }
+
+        private void esperar(List<Future<?>> tareas) {
+            for (Future<?> tarea : tareas) {
+                try {
+                    tarea.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    hilos.shutdownNow();
+                    throw new IllegalStateException("Importacion de energia interrumpida", e);
+                } catch (ExecutionException e) {
+                    // El error real queda registrado en 'error' por la etapa que fallo
+                }
+            }
+            Throwable causa = error.get();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            if (causa != null) {
+                throw new IllegalStateException("Fallo el pipeline de importacion de energia", causa);
+            }
+        }
+
+        private Callable<Void> etapa(String nombre, Trabajo trabajo) {
+            return () -> {
+                try {
+                    trabajo.ejecutar();
+                } catch (InterruptedException e) {
+                    // Otra etapa fallo y se cancelaron los hilos
+                    Thread.currentThread().interrupt();
+                } catch (Throwable e) {
+                    if (error.compareAndSet(null, e)) {
+                        log.error("Fallo la etapa {} del pipeline de energia: {}", nombre, e.getMessage());
+                    }
+                    hilos.shutdownNow();
+                }
+                return null;
+            };
+        }
+
+        private void leer(ArchivoEnergiaMapeado archivo, long desde, long hasta) throws InterruptedException {
+            Lector lector = new Lector(desde);
+            try {
+                archivo.recorrerRegistros(desde, hasta, lector);
+            } catch (Cancelado e) {
+                throw (InterruptedException) e.getCause();
+            }
+            if (lector.actual != null) {
+                lector.emitir(hasta);
+            }
+            poner(LECTOR, lineas, FIN);
+        }
+
+        private void transformar(String nombre, BlockingQueue<BloqueEnergia> entrada, BlockingQueue<BloqueEnergia> salida,
+                                 AtomicInteger activos, Paso paso) throws InterruptedException {
+            Timer procesamiento = temporizador(nombre);
+            while (true) {
+                BloqueEnergia bloque = tomar(nombre, entrada);
+                if (bloque == FIN) {
+                    entrada.put(FIN);
+                    if (activos.decrementAndGet() == 0) {
+                        poner(nombre, salida, FIN);
+                    }
+                    return;
+                }
+                long inicio = System.nanoTime();
+                int registros = paso.aplicar(bloque);
+                procesamiento.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                contador(nombre).increment(registros);
+                poner(nombre, salida, bloque);
+            }
+        }
+
+        private int decodificar(BloqueEnergia bloque) {
+            RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+            LoteConsumoEnergia lote = bloque.lote;
+            for (int i = 0; i < bloque.lineas; i++) {
+                if (cursor.decodificar(bloque.buffer, bloque.inicios[i], bloque.longitudes[i])) {
+                    lote.agregar(cursor.getClienteId(), cursor.getPeriodo(), cursor.getConsumoKwh(),
+                        cursor.getValorCentavos(), cursor.getFecha());
+                } else {
+                    bloque.rechazados++;
+                }
+            }
+            return bloque.lineas;
+        }
+
+        private int validar(BloqueEnergia bloque) {
+            LoteConsumoEnergia lote = bloque.lote;
+            int validos = 0;
+            for (int i = 0; i < lote.tamano(); i++) {
+                if (RegistroEnergiaCursor.cumpleReglasDominio(lote.periodo(i), lote.consumoKwh(i), lote.fecha(i))) {
+                    if (validos != i) {
+                        lote.moverFila(i, validos);
+                    }
+                    validos++;
+                } else {
+                    bloque.rechazados++;
+                }
+            }
+            lote.truncar(validos);
+            rechazados.addAndGet(bloque.rechazados);
+            return validos;
+        }
+
+        private void escribirEnOrden(EscritorBloques escritor) throws InterruptedException {
+            recorrerEnOrden(bloque -> escribirBloque(escritor, bloque));
+        }
+
+        /**
+         * Entrega cada bloque, en orden de archivo, a la cola de todos los escritores; cada uno
+         * escribe solo las filas de su partición.
+         */
+        private void repartirEnOrden() throws InterruptedException {
+            recorrerEnOrden(bloque -> {
+                bloque.partesPendientes.set(escritores);
+                for (BlockingQueue<BloqueEnergia> cola : particiones) {
+                    poner(ESCRITOR, cola, bloque);
+                }
+            });
+            for (BlockingQueue<BloqueEnergia> cola : particiones) {
+                poner(ESCRITOR, cola, FIN);
+            }
+        }
+
+        private void recorrerEnOrden(Entrega entrega) throws InterruptedException {
+            PriorityQueue<BloqueEnergia> adelantados =
+                new PriorityQueue<>((a, b) -> Long.compare(a.secuencia, b.secuencia));
+            long esperado = 0;
+            while (true) {
+                BloqueEnergia bloque = tomar(ESCRITOR, validados);
+                if (bloque == FIN) {
+                    if (!adelantados.isEmpty()) {
+                        throw new IllegalStateException("Faltan bloques antes del bloque " + adelantados.peek().secuencia);
+                    }
+                    return;
+                }
+                adelantados.add(bloque);
+                while (!adelantados.isEmpty() && adelantados.peek().secuencia == esperado) {
+                    entrega.entregar(adelantados.poll());
+                    esperado++;
+                }
+            }
+        }
+
+        /**
+         * Escribe, bloque a bloque y en orden de archivo, las filas de los clientes de la
+         * partición; el bloque vuelve al pool cuando todos los escritores escribieron su parte.
+         */
+        private void escribirParticion(int particion, EscritorBloques escritor) throws InterruptedException {
+            BlockingQueue<BloqueEnergia> cola = particiones.get(particion);
+            BloqueEnergia parte = new BloqueEnergia(tamanoBloque);
+            while (true) {
+                BloqueEnergia bloque = tomar(ESCRITOR, cola);
+                if (bloque == FIN) {
+                    return;
+                }
+                parte.secuencia = bloque.secuencia * escritores + particion;
+                parte.offsetFin = particion == escritores - 1 ? bloque.offsetFin : bloque.offsetInicio;
+                LoteConsumoEnergia lote = bloque.lote;
+                parte.lote.limpiar();
+                for (int i = 0; i < lote.tamano(); i++) {
+                    if (lote.clienteId(i) % escritores == particion) {
+                        parte.lote.agregar(lote.clienteId(i), lote.periodo(i), lote.consumoKwh(i),
+                            lote.valorCentavos(i), lote.fecha(i));
+                    }
+                }
+                long inicio = System.nanoTime();
+                escritor.escribir(parte);
+                temporizador(ESCRITOR).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                contador(ESCRITOR).increment(parte.lote.tamano());
+                if (bloque.partesPendientes.decrementAndGet() == 0) {
+                    bloques.incrementAndGet();
+                    libres.put(bloque);
+                }
+            }
+        }
+
+        private void escribirBloque(EscritorBloques escritor, BloqueEnergia bloque) throws InterruptedException {
+            long inicio = System.nanoTime();
+            escritor.escribir(bloque);
+            temporizador(ESCRITOR).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            contador(ESCRITOR).increment(bloque.lote.tamano());
+            bloques.incrementAndGet();
+            libres.put(bloque);
+        }
+
+        private BloqueEnergia tomar(String nombre, BlockingQueue<BloqueEnergia> cola) throws InterruptedException {
+            BloqueEnergia bloque = cola.poll();
+            if (bloque == null) {
+                long inicio = System.nanoTime();
+                bloque = cola.take();
+                espera(nombre, "entrada").record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            return bloque;
+        }
+
+        private void poner(String nombre, BlockingQueue<BloqueEnergia> cola, BloqueEnergia bloque)
+                throws InterruptedException {
+            if (!cola.offer(bloque)) {
+                long inicio = System.nanoTime();
+                cola.put(bloque);
+                espera(nombre, "salida").record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Toma un bloque libre (o crea uno mientras el pool no esté completo). Solo lo llama el
+         * lector; esperar aquí es la contrapresión: todos los bloques siguen en etapas posteriores.
+         */
+        private BloqueEnergia bloqueLibre(long secuencia, ByteBuffer buffer) throws InterruptedException {
+            BloqueEnergia bloque = libres.poll();
+            if (bloque == null && bloquesCreados < bloquesEnVuelo) {
+                bloquesCreados++;
+                bloque = new BloqueEnergia(tamanoBloque);
+            }
+            if (bloque == null) {
+                long inicio = System.nanoTime();
+                bloque = libres.take();
+                espera(LECTOR, "salida").record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            bloque.iniciar(secuencia, buffer);
+            return bloque;
+        }
+
+        /**
+         * Visitante del lector: agrupa posiciones de líneas en bloques; un bloque se cierra al
+         * llenarse o al cambiar de segmento mapeado.
+         */
+        private final class Lector implements ArchivoEnergiaMapeado.VisitanteRegistro {
+
+            private BloqueEnergia actual;
+            private long secuencia;
+            private long finAnterior;
+
+            private Lector(long desde) {
+                this.finAnterior = desde;
+            }
+
+            @Override
+            public void visitar(ByteBuffer buffer, int inicio, int longitud, long offsetArchivo) {
+                try {
+                    if (actual != null && (actual.estaLleno() || actual.buffer != buffer)) {
+                        emitir(offsetArchivo);
+                    }
+                    if (actual == null) {
+                        actual = bloqueLibre(secuencia++, buffer);
+                        actual.offsetInicio = finAnterior;
+                    }
+                    actual.agregarLinea(inicio, longitud);
+                    leidos.incrementAndGet();
+                } catch (InterruptedException e) {
+                    throw new Cancelado(e);
+                }
+            }
+
+            private void emitir(long offsetFin) throws InterruptedException {
+                actual.offsetFin = offsetFin;
+                finAnterior = offsetFin;
+                contador(LECTOR).increment(actual.lineas);
+                poner(LECTOR, lineas, actual);
+                actual = null;
+            }
+        }
+    }
+
+    private Counter contador(String etapa) {
+        return metricas.get(etapa).registros;
+    }
+
+    private Timer temporizador(String etapa) {
+        return metricas.get(etapa).procesamiento;
+    }
+
+    private Timer espera(String etapa, String tipo) {
+        MetricasEtapa medidores = metricas.get(etapa);
+        return "entrada".equals(tipo) ? medidores.esperaEntrada : medidores.esperaSalida;
+    }
+
+    /**
+     * Medidores de una etapa, registrados una sola vez al crear el pipeline.
+     */
+    private static final class MetricasEtapa {
+
+        private final Counter registros;
+        private final Timer procesamiento;
+        private final Timer esperaEntrada;
+        private final Timer esperaSalida;
+
+        private MetricasEtapa(String etapa, MeterRegistry registry) {
+            this.registros = Counter.builder("energia.importacion.registros")
+                .tag("etapa", etapa)
+                .description("Registros procesados por etapa del pipeline de importacion de energia")
+                .register(registry);
+            this.procesamiento = Timer.builder("energia.importacion.procesamiento")
+                .tag("etapa", etapa)
+                .description("Tiempo de procesamiento por bloque en cada etapa")
+                .register(registry);
+            this.esperaEntrada = espera(etapa, "entrada", registry);
+            this.esperaSalida = espera(etapa, "salida", registry);
+        }
+
+        private static Timer espera(String etapa, String tipo, MeterRegistry registry) {
+            return Timer.builder("energia.importacion.espera")
+                .tag("etapa", etapa)
+                .tag("tipo", tipo)
+                .description("Tiempo bloqueado esperando trabajo (entrada) o espacio aguas abajo (salida)")
+                .register(registry);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Trabajo {
+        void ejecutar() throws InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Entrega {
+        void entregar(BloqueEnergia bloque) throws InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Paso {
+        int aplicar(BloqueEnergia bloque);
+    }
+
+    /**
+     * Transporta la interrupción del lector fuera del visitante, que no declara excepciones.
+     */
+    private static final class Cancelado extends RuntimeException {
+        private Cancelado(InterruptedException causa) {
+            super(causa);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.infrastructure.adapter.output.archivo.ArchivoEnergiaMapeado.Particion;
+import com.serviciudad.infrastructure.adapter.output.archivo.ArchivoEnergiaMapeado.VisitanteRegistro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decodificación concurrente del archivo legacy de energía sobre un {@link ForkJoinPool} propio.
+ *
+ * <p>El archivo se divide con {@link ArchivoEnergiaMapeado#particionar} en varias particiones
+ * por hilo, para que el work-stealing reparta la carga aunque algunas regiones tengan más
+ * registros inválidos o comentarios que otras. Cada partición se procesa de forma independiente
+ * (cursor y acumuladores propios) y los resultados se retornan en el orden del archivo.</p>
+ *
+ * <p>Los archivos menores a {@link #TAMANO_MINIMO_PARTICION} se procesan en el hilo que llama,
+ * sin costo de coordinación.</p>
+ */
+public final class ProcesadorParaleloEnergia implements AutoCloseable {
+
+    static final long TAMANO_MINIMO_PARTICION = 8L << 20;
+
+    private static final int PARTICIONES_POR_HILO = 4;
+
+    private final ForkJoinPool pool;
+    private final int paralelismo;
+    private final long tamanoMinimoParticion;
+
+    /**
+     * @param paralelismo hilos del pool; {@code 0} o negativo usa los procesadores disponibles
+     */
+    public ProcesadorParaleloEnergia(int paralelismo) {
+        this(paralelismo, TAMANO_MINIMO_PARTICION);
+    }
+
+    ProcesadorParaleloEnergia(int paralelismo, long tamanoMinimoParticion) {
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.tamanoMinimoParticion = tamanoMinimoParticion;
+        this.pool = new ForkJoinPool(this.paralelismo);
+    }
+
+    /**
+     * Aplica {@code tarea} a cada partición del archivo en paralelo.
+     *
+     * @return un resultado por partición, en el orden del archivo
+     */
+    public <R> List<R> procesar(ArchivoEnergiaMapeado archivo, Function<Particion, R> tarea) {
+        return procesar(particionar(archivo), tarea);
+    }
+
+    /**
+     * Particiones que usa este procesador para el archivo, para recorrerlas varias veces
+     * (por ejemplo, contar en una pasada y llenar en otra) con los mismos límites.
+     */
+    public List<Particion> particionar(ArchivoEnergiaMapeado archivo) {
+        return archivo.particionar(paralelismo * PARTICIONES_POR_HILO, tamanoMinimoParticion);
+    }
+
+    /**
+     * Aplica {@code tarea} a cada elemento en paralelo (particiones o índices de partición).
+     *
+     * @return un resultado por elemento, en el mismo orden
+     */
+    public <T, R> List<R> procesar(List<T> particiones, Function<T, R> tarea) {
+        List<R> resultados = new ArrayList<>(particiones.size());
+        if (particiones.size() <= 1) {
+            particiones.forEach(particion -> resultados.add(tarea.apply(particion)));
+            return resultados;
+        }
+
+        List<ForkJoinTask<R>> tareas = new ArrayList<>(particiones.size());
+        for (T particion : particiones) {
+            tareas.add(pool.submit(() -> tarea.apply(particion)));
+        }
+        try {
+            for (ForkJoinTask<R> pendiente : tareas) {
+                resultados.add(pendiente.join());
+            }
+        } catch (RuntimeException e) {
+            tareas.forEach(pendiente -> pendiente.cancel(true));
+            throw e;
+        }
+        return resultados;
+    }
+
+    /**
+     * Recorre cada partición con un sumidero propio creado por {@code fabrica}.
+     *
+     * @return los sumideros, en el orden del archivo, para combinarlos sin sincronización
+     */
+    public <S extends VisitanteRegistro> List<S> recorrerPorParticion(ArchivoEnergiaMapeado archivo,
+                                                                    Supplier<S> fabrica) {
+        return procesar(archivo, particion -> {
+            S sumidero = fabrica.get();
+            particion.recorrerRegistros(sumidero);
+            return sumidero;
+        });
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,166 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.ConsumoEnergia;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.domain.valueobject.Periodo;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Cursor reutilizable (flyweight) que decodifica registros del archivo legacy de energía.
+ *
+ * <p>Los dígitos ASCII se leen directamente del {@link ByteBuffer} a campos primitivos,
+ * sin crear {@code String}, expresiones regulares ni {@code BigDecimal} por registro.
+ * Los objetos de dominio solo se construyen con {@link #aModelo()}, para los registros
+ * que efectivamente se retornan.</p>
+ *
+ * <p>No es thread-safe: cada hilo debe usar su propia instancia.</p>
+ */
+public final class RegistroEnergiaCursor {
+
+    private static final int CONSUMO_MAXIMO_KWH = 100000;
+    private static final int ANIO_MINIMO = 2020;
+    private static final int ANIO_MAXIMO = 2030;
+
+    private long clienteId;
+    private int periodo;
+    private int consumoKwh;
+    private long valorCentavos;
+    private int fecha;
+
+    /**
+     * Decodifica la línea ubicada en {@code [inicio, inicio + longitud)}.
+     *
+     * @return {@code false} si la línea es más corta que el layout o contiene
+     *         caracteres no numéricos; en ese caso el contenido del cursor no es válido
+     */
+    public boolean decodificar(ByteBuffer buffer, int inicio, int longitud) {
+        if (longitud < FormatoEnergiaLegacy.LONGITUD_MINIMA) {
+            return false;
+        }
+        clienteId = leerClienteId(buffer, inicio);
+        long periodoLeido = leerNumero(buffer, inicio + FormatoEnergiaLegacy.PERIODO_INICIO,
+            FormatoEnergiaLegacy.PERIODO_LONGITUD);
+        long consumoLeido = leerNumero(buffer, inicio + FormatoEnergiaLegacy.CONSUMO_INICIO,
+            FormatoEnergiaLegacy.CONSUMO_LONGITUD);
+        valorCentavos = leerNumero(buffer, inicio + FormatoEnergiaLegacy.VALOR_INICIO,
+            FormatoEnergiaLegacy.VALOR_LONGITUD);
+        long fechaLeida = leerNumero(buffer, inicio + FormatoEnergiaLegacy.FECHA_INICIO,
+            FormatoEnergiaLegacy.FECHA_LONGITUD);
+        periodo = (int) periodoLeido;
+        consumoKwh = (int) consumoLeido;
+        fecha = (int) fechaLeida;
+        return (clienteId | periodoLeido | consumoLeido | valorCentavos | fechaLeida) >= 0;
+    }
+
+    /**
+     * Lee solo el ID de cliente de la línea, útil para descartar registros sin decodificarlos.
+     *
+     * @return el ID como número, o -1 si contiene caracteres no numéricos
+     */
+    public static long leerClienteId(ByteBuffer buffer, int inicio) {
+        return leerNumero(buffer, inicio + FormatoEnergiaLegacy.CLIENTE_INICIO, FormatoEnergiaLegacy.CLIENTE_LONGITUD);
+    }
+
+    static long leerNumero(ByteBuffer buffer, int posicion, int longitud) {
+        long valor = 0;
+        for (int i = 0; i < longitud; i++) {
+            int digito = buffer.get(posicion + i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Verifica las mismas reglas que aplican los value objects del dominio
+     * (rango del período, límite de consumo y fecha de calendario válida).
+     */
+    public boolean cumpleReglasDominio() {
+        return cumpleReglasDominio(periodo, consumoKwh, fecha);
+    }
+
+    /**
+     * Reglas de dominio sobre campos ya decodificados, para validarlos fuera del cursor.
+     */
+    public static boolean cumpleReglasDominio(int periodo, int consumoKwh, int fecha) {
+        int anio = periodo / 100;
+        int mes = periodo % 100;
+        return anio >= ANIO_MINIMO && anio <= ANIO_MAXIMO
+            && mes >= 1 && mes <= 12
+            && consumoKwh <= CONSUMO_MAXIMO_KWH
+            && esFechaValida(fecha);
+    }
+
+    static boolean esFechaValida(int fecha) {
+        int anio = fecha / 10000;
+        int mes = fecha / 100 % 100;
+        int dia = fecha % 100;
+        if (anio == 0 || mes < 1 || mes > 12 || dia < 1) {
+            return false;
+        }
+        return dia <= diasDelMes(anio, mes);
+    }
+
+    private static int diasDelMes(int anio, int mes) {
+        if (mes == 2) {
+            boolean bisiesto = (anio % 4 == 0 && anio % 100 != 0) || anio % 400 == 0;
+            return bisiesto ? 29 : 28;
+        }
+        return (mes == 4 || mes == 6 || mes == 9 || mes == 11) ? 30 : 31;
+    }
+
+    /**
+     * Construye el modelo de dominio del registro actual.
+     *
+     * @throws IllegalArgumentException si el registro no cumple las reglas del dominio
+     */
+    public ConsumoEnergiaModel aModelo() {
+        return ConsumoEnergiaModel.builder()
+            .clienteId(ClienteId.of(formatearClienteId(clienteId)))
+            .periodo(Periodo.of(Integer.toString(periodo)))
+            .consumo(ConsumoEnergia.of(consumoKwh))
+            .valorPagar(Dinero.of(BigDecimal.valueOf(valorCentavos, 2)))
+            .fechaLectura(LocalDate.of(fecha / 10000, fecha / 100 % 100, fecha % 100))
+            .build();
+    }
+
+    /**
+     * Representa un ID numérico con los 10 dígitos del layout (ceros a la izquierda).
+     */
+    public static String formatearClienteId(long clienteId) {
+        char[] digitos = new char[FormatoEnergiaLegacy.CLIENTE_LONGITUD];
+        long restante = clienteId;
+        for (int i = digitos.length - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return new String(digitos);
+    }
+
+    public long getClienteId() {
+        return clienteId;
+    }
+
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    public int getConsumoKwh() {
+        return consumoKwh;
+    }
+
+    public long getValorCentavos() {
+        return valorCentavos;
+    }
+
+    public int getFecha() {
+        return fecha;
+    }
+}
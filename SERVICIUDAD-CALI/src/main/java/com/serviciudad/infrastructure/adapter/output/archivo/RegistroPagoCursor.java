@@ -0,0 +1,87 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor reutilizable (flyweight) que decodifica registros de un archivo de pagos bancarios.
+ *
+ * <p>Como {@link RegistroEnergiaCursor}, lee los dígitos ASCII del {@link ByteBuffer} a campos
+ * primitivos sin crear {@code String} por campo ni por registro.</p>
+ *
+ * <p>No es thread-safe: cada hilo debe usar su propia instancia.</p>
+ */
+public final class RegistroPagoCursor {
+
+    private long facturaId;
+    private long clienteId;
+    private int periodo;
+    private long valorCentavos;
+    private int fechaPago;
+
+    /**
+     * Decodifica la línea ubicada en {@code [inicio, inicio + longitud)}.
+     *
+     * @return {@code false} si la línea es más corta que el layout, contiene caracteres no
+     *         numéricos, no identifica la factura (ni por ID ni por cliente) o tiene un período o
+     *         fecha de pago inválidos; en ese caso el contenido del cursor no es válido
+     */
+    public boolean decodificar(ByteBuffer buffer, int inicio, int longitud) {
+        if (longitud < FormatoPagosBanco.LONGITUD_MINIMA) {
+            return false;
+        }
+        facturaId = RegistroEnergiaCursor.leerNumero(buffer, inicio + FormatoPagosBanco.FACTURA_INICIO,
+            FormatoPagosBanco.FACTURA_LONGITUD);
+        clienteId = RegistroEnergiaCursor.leerNumero(buffer, inicio + FormatoPagosBanco.CLIENTE_INICIO,
+            FormatoPagosBanco.CLIENTE_LONGITUD);
+        long periodoLeido = RegistroEnergiaCursor.leerNumero(buffer, inicio + FormatoPagosBanco.PERIODO_INICIO,
+            FormatoPagosBanco.PERIODO_LONGITUD);
+        valorCentavos = RegistroEnergiaCursor.leerNumero(buffer, inicio + FormatoPagosBanco.VALOR_INICIO,
+            FormatoPagosBanco.VALOR_LONGITUD);
+        long fechaLeida = RegistroEnergiaCursor.leerNumero(buffer, inicio + FormatoPagosBanco.FECHA_INICIO,
+            FormatoPagosBanco.FECHA_LONGITUD);
+        periodo = (int) periodoLeido;
+        fechaPago = (int) fechaLeida;
+        if ((facturaId | clienteId | periodoLeido | valorCentavos | fechaLeida) < 0) {
+            return false;
+        }
+        int mes = periodo % 100;
+        return (facturaId > 0 || clienteId > 0)
+            && mes >= 1 && mes <= 12
+            && RegistroEnergiaCursor.esFechaValida(fechaPago);
+    }
+
+    /**
+     * @return {@code true} si el registro se concilia por ID de factura y no por cliente y período
+     */
+    public boolean tieneFacturaId() {
+        return facturaId > 0;
+    }
+
+    /**
+     * Cliente y período empaquetados en un {@code long} ({@code cliente * 10^6 + periodo}), para
+     * buscarlos sin crear objetos por registro.
+     */
+    public static long clave(long clienteId, int periodo) {
+        return clienteId * 1_000_000L + periodo;
+    }
+
+    public long getFacturaId() {
+        return facturaId;
+    }
+
+    public long getClienteId() {
+        return clienteId;
+    }
+
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    public long getValorCentavos() {
+        return valorCentavos;
+    }
+
+    public int getFechaPago() {
+        return fechaPago;
+    }
+}
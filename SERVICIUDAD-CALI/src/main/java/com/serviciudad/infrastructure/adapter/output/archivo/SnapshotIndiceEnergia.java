@@ -0,0 +1,216 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot binario versionado de un {@link IndiceEnergiaOffHeap}, para no volver a parsear el
+ * archivo de texto en cada reinicio.
+ *
+ * <p>Formato (little-endian):</p>
+ * <pre>
+ *   0  long  magico "SCENERG1"
+ *   8  int   version
+ *  12  int   numero de clientes
+ *  16  int   numero de registros
+ *  20  int   longitud de la cabecera de la fuente usada en el checksum
+ *  24  long  tamaño del archivo fuente
+ *  32  long  fecha de modificación del archivo fuente (ms)
+ *  40  long  CRC32 de la cabecera del archivo fuente
+ *  48  long  CRC32 de las columnas
+ *  56  long  CRC32 de los bytes 0..55
+ *  64  columnas clientes, inicios, periodos, consumos, valores, fechas y estratos,
+ *      cada una alineada a 8 bytes
+ * </pre>
+ *
+ * <p>Al cargar solo se lee la cabecera: las columnas se mapean en memoria sin copiarlas, así el
+ * índice queda disponible en milisegundos. El CRC de las columnas se comprueba aparte con
+ * {@link #verificar(Path)}, pensado para ejecutarse en segundo plano.</p>
+ */
+final class SnapshotIndiceEnergia {
+
+    static final long MAGICO = 0x31475245_4E454353L;
+    static final int VERSION = 1;
+    static final int TAMANO_CABECERA = 64;
+
+    private static final int COLUMNAS = 7;
+
+    private SnapshotIndiceEnergia() {
+    }
+
+    /**
+     * Escribe el snapshot en un archivo temporal del mismo directorio y lo mueve de forma atómica,
+     * para que un reinicio nunca encuentre un snapshot a medio escribir.
+     */
+    static void escribir(Path destino, IndiceEnergiaOffHeap indice, Fuente fuente) throws IOException {
+        ByteBuffer[] columnas = indice.columnas();
+        CRC32 crcDatos = new CRC32();
+        for (ByteBuffer columna : columnas) {
+            crcDatos.update(columna.duplicate());
+        }
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA).order(IndiceEnergiaOffHeap.ORDEN_BYTES);
+        cabecera.putLong(MAGICO)
+            .putInt(VERSION)
+            .putInt(indice.getNumeroClientes())
+            .putInt(indice.getNumeroRegistros())
+            .putInt(fuente.getLongitudCabecera())
+            .putLong(fuente.getTamano())
+            .putLong(fuente.getModificacion())
+            .putLong(fuente.getChecksumCabecera())
+            .putLong(crcDatos.getValue());
+        cabecera.putLong(crcCabecera(cabecera)).flip();
+
+        Path temporal = Files.createTempFile(destino.toAbsolutePath().getParent(), destino.getFileName().toString(), ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+            escribirCompleto(canal, cabecera);
+            for (ByteBuffer columna : columnas) {
+                canal.position(alinear(canal.position()));
+                escribirCompleto(canal, columna);
+            }
+            canal.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Mapea el snapshot si existe, tiene el formato y la versión esperados y fue generado a partir
+     * de {@code fuente}. Las columnas no se validan aquí (ver {@link #verificar(Path)}).
+     */
+    static Optional<IndiceEnergiaOffHeap> abrir(Path snapshot, Fuente fuente) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            Optional<Cabecera> cabecera = leerCabecera(canal);
+            if (cabecera.isEmpty() || !cabecera.get().getFuente().equals(fuente)) {
+                return Optional.empty();
+            }
+            long[] longitudes = longitudesColumnas(cabecera.get());
+            ByteBuffer[] columnas = new ByteBuffer[COLUMNAS];
+            long posicion = TAMANO_CABECERA;
+            for (int i = 0; i < COLUMNAS; i++) {
+                posicion = alinear(posicion);
+                if (posicion + longitudes[i] > canal.size()) {
+                    return Optional.empty();
+                }
+                columnas[i] = canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitudes[i]);
+                posicion += longitudes[i];
+            }
+            return Optional.of(new IndiceEnergiaOffHeap(columnas[0], columnas[1], columnas[2], columnas[3],
+                columnas[4], columnas[5], columnas[6]));
+        }
+    }
+
+    /**
+     * Recalcula el CRC32 de las columnas y lo compara con el de la cabecera.
+     */
+    static boolean verificar(Path snapshot) throws IOException {
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            Optional<Cabecera> cabecera = leerCabecera(canal);
+            if (cabecera.isEmpty()) {
+                return false;
+            }
+            long[] longitudes = longitudesColumnas(cabecera.get());
+            CRC32 crc = new CRC32();
+            long posicion = TAMANO_CABECERA;
+            for (long longitud : longitudes) {
+                posicion = alinear(posicion);
+                if (posicion + longitud > canal.size()) {
+                    return false;
+                }
+                crc.update(canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitud));
+                posicion += longitud;
+            }
+            return crc.getValue() == cabecera.get().getCrcDatos();
+        }
+    }
+
+    private static Optional<Cabecera> leerCabecera(FileChannel canal) throws IOException {
+        if (canal.size() < TAMANO_CABECERA) {
+            return Optional.empty();
+        }
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA).order(IndiceEnergiaOffHeap.ORDEN_BYTES);
+        int leidos;
+        do {
+            leidos = canal.read(cabecera, cabecera.position());
+        } while (leidos > 0 && cabecera.hasRemaining());
+        if (cabecera.hasRemaining()) {
+            return Optional.empty();
+        }
+        cabecera.position(TAMANO_CABECERA - Long.BYTES);
+        if (cabecera.getLong(TAMANO_CABECERA - Long.BYTES) != crcCabecera(cabecera)
+                || cabecera.getLong(0) != MAGICO || cabecera.getInt(8) != VERSION) {
+            return Optional.empty();
+        }
+        Fuente fuente = new Fuente(cabecera.getLong(24), cabecera.getLong(32), cabecera.getInt(20),
+            cabecera.getLong(40));
+        return Optional.of(new Cabecera(cabecera.getInt(12), cabecera.getInt(16), fuente, cabecera.getLong(48)));
+    }
+
+    private static long crcCabecera(ByteBuffer cabecera) {
+        CRC32 crc = new CRC32();
+        crc.update(cabecera.duplicate().flip());
+        return crc.getValue();
+    }
+
+    private static long[] longitudesColumnas(Cabecera cabecera) {
+        long clientes = cabecera.getNumeroClientes();
+        long registros = cabecera.getNumeroRegistros();
+        return new long[] {
+            clientes * Long.BYTES,
+            (clientes + 1) * Integer.BYTES,
+            registros * Integer.BYTES,
+            registros * Integer.BYTES,
+            registros * Long.BYTES,
+            registros * Integer.BYTES,
+            registros
+        };
+    }
+
+    private static long alinear(long posicion) {
+        return (posicion + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    private static void escribirCompleto(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    /**
+     * Datos del archivo de texto a partir del cual se generó un snapshot.
+     */
+    @Value
+    static class Fuente {
+        long tamano;
+        long modificacion;
+        int longitudCabecera;
+        long checksumCabecera;
+
+        static Fuente leer(Path archivo) throws IOException {
+            IdentidadArchivo identidad = IdentidadArchivo.leer(archivo);
+            return new Fuente(identidad.getTamano(), Files.getLastModifiedTime(archivo).toMillis(),
+                identidad.getLongitudCabecera(), identidad.getChecksumCabecera());
+        }
+    }
+
+    @Value
+    private static class Cabecera {
+        int numeroClientes;
+        int numeroRegistros;
+        Fuente fuente;
+        long crcDatos;
+    }
+}
@@ -0,0 +1,137 @@
+package com.serviciudad.infrastructure.adapter.output.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache acotada con expiracion de deudas consolidadas, sobre Caffeine.
+ *
+ * <p>Las invalidaciones hechas dentro de una transaccion se repiten al terminarla, de modo que
+ * una consulta concurrente que haya leido las facturas antes del commit no deje en cache la
+ * deuda anterior. La version de energia es global: cuando llega una version nueva se descartan
+ * todas las entradas.</p>
+ *
+ * <p>Metricas: las de {@link CaffeineCacheMetrics} con {@code cache=deuda.consolidada}
+ * ({@code cache.gets} por resultado hit/miss, {@code cache.evictions}, {@code cache.size}) y
+ * {@code deuda.cache.invalidaciones} por alcance (cliente, todo).</p>
+ */
+@Slf4j
+@Component
+public class DeudaCacheCaffeineAdapter implements DeudaCachePort {
+
+    static final String NOMBRE_CACHE = "deuda.consolidada";
+
+    private final Cache<String, DeudaConsolidada> cache;
+    private final AtomicLong invalidaciones = new AtomicLong();
+    private final AtomicLong versionEnergia = new AtomicLong(Long.MIN_VALUE);
+    private final Counter invalidacionesCliente;
+    private final Counter invalidacionesTodo;
+
+    @Autowired
+    public DeudaCacheCaffeineAdapter(@Value("${deuda.cache.maximo-entradas:10000}") long maximoEntradas,
+                                     @Value("${deuda.cache.ttl-segundos:60}") long ttlSegundos,
+                                     MeterRegistry meterRegistry) {
+        this(Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos)), meterRegistry);
+    }
+
+    DeudaCacheCaffeineAdapter(Caffeine<Object, Object> configuracion, MeterRegistry meterRegistry) {
+        this.cache = configuracion.recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOMBRE_CACHE);
+        this.invalidacionesCliente = Counter.builder("deuda.cache.invalidaciones")
+                .tag("alcance", "cliente")
+                .description("Deudas invalidadas por cambios en las facturas del cliente")
+                .register(meterRegistry);
+        this.invalidacionesTodo = Counter.builder("deuda.cache.invalidaciones")
+                .tag("alcance", "todo")
+                .description("Invalidaciones completas por cambios en los datos de energia")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<DeudaConsolidada> obtener(ClienteId clienteId, long version) {
+        long vigente = versionEnergia.get();
+        if (version > vigente) {
+            if (versionEnergia.compareAndSet(vigente, version) && vigente != Long.MIN_VALUE) {
+                log.debug("Datos de energia en version {}; se descarta la cache de deudas", version);
+                invalidarTodo();
+            }
+            return Optional.empty();
+        }
+        if (version < vigente) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(clienteId.getValor()));
+    }
+
+    @Override
+    public long marcaInvalidacion() {
+        return invalidaciones.get();
+    }
+
+    @Override
+    public void guardar(DeudaConsolidada deuda, long marca, long version) {
+        String clave = deuda.getClienteId().getValor();
+        if (marca != invalidaciones.get() || version != versionEnergia.get()) {
+            return;
+        }
+        cache.put(clave, deuda);
+        // Una invalidacion entre la verificacion y el put no debe perderse
+        if (marca != invalidaciones.get()) {
+            cache.invalidate(clave);
+        }
+    }
+
+    @Override
+    public void invalidar(ClienteId clienteId) {
+        String clave = clienteId.getValor();
+        invalidacionesCliente.increment();
+        ejecutarAhoraYAlTerminarTransaccion(() -> {
+            invalidaciones.incrementAndGet();
+            cache.invalidate(clave);
+        });
+    }
+
+    @Override
+    public void invalidarTodo() {
+        invalidacionesTodo.increment();
+        ejecutarAhoraYAlTerminarTransaccion(() -> {
+            invalidaciones.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    long tamano() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static void ejecutarAhoraYAlTerminarTransaccion(Runnable invalidacion) {
+        invalidacion.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacion.run();
+                }
+            });
+        }
+    }
+}
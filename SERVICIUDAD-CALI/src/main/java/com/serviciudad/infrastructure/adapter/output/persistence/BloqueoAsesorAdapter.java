@@ -0,0 +1,139 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Bloqueo entre instancias con advisory locks de sesion de PostgreSQL.
+ *
+ * <p>{@code pg_try_advisory_lock} se toma en una conexion propia, fuera de cualquier
+ * transaccion, que se mantiene abierta mientras dura el bloqueo: si la instancia muere, la
+ * conexion se cierra y PostgreSQL libera el bloqueo sin intervencion. La clave es el CRC32 del
+ * nombre del recurso.</p>
+ *
+ * <p>En otros motores (H2 en desarrollo y pruebas) solo hay exclusion dentro del proceso.</p>
+ */
+@Slf4j
+@Component
+public class BloqueoAsesorAdapter implements BloqueoDistribuidoPort {
+
+    private final DataSource dataSource;
+    private final Set<String> adquiridos = ConcurrentHashMap.newKeySet();
+    private volatile Boolean postgres;
+
+    public BloqueoAsesorAdapter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<Bloqueo> intentarAdquirir(String recurso) {
+        if (!adquiridos.add(recurso)) {
+            return Optional.empty();
+        }
+        try {
+            if (!esPostgres()) {
+                return Optional.of(() -> adquiridos.remove(recurso));
+            }
+            Optional<Bloqueo> bloqueo = adquirirEnPostgres(recurso);
+            if (bloqueo.isEmpty()) {
+                adquiridos.remove(recurso);
+            }
+            return bloqueo;
+        } catch (RuntimeException e) {
+            adquiridos.remove(recurso);
+            throw e;
+        }
+    }
+
+    static long clave(String recurso) {
+        CRC32 crc = new CRC32();
+        crc.update(recurso.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private Optional<Bloqueo> adquirirEnPostgres(String recurso) {
+        long clave = clave(recurso);
+        Connection conexion = null;
+        try {
+            conexion = dataSource.getConnection();
+            conexion.setAutoCommit(true);
+            if (ejecutar(conexion, "SELECT pg_try_advisory_lock(?)", clave)) {
+                Connection adquirida = conexion;
+                return Optional.of(() -> liberar(adquirida, clave, recurso));
+            }
+        } catch (SQLException e) {
+            cerrar(conexion);
+            throw new IllegalStateException("No se pudo solicitar el bloqueo " + recurso, e);
+        }
+        cerrar(conexion);
+        return Optional.empty();
+    }
+
+    private void liberar(Connection conexion, long clave, String recurso) {
+        try {
+            if (!ejecutar(conexion, "SELECT pg_advisory_unlock(?)", clave)) {
+                log.warn("El bloqueo {} ya no estaba tomado por esta conexion", recurso);
+            }
+            conexion.close();
+        } catch (SQLException e) {
+            // Una conexion que aun tenga el bloqueo no debe volver al pool
+            log.warn("No se pudo liberar el bloqueo {}; se descarta la conexion: {}", recurso, e.getMessage());
+            try {
+                conexion.abort(Runnable::run);
+            } catch (SQLException ignorada) {
+                log.debug("Error abortando la conexion del bloqueo {}", recurso, ignorada);
+            }
+        } finally {
+            adquiridos.remove(recurso);
+        }
+    }
+
+    private static boolean ejecutar(Connection conexion, String sql, long clave) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+            sentencia.setLong(1, clave);
+            try (ResultSet rs = sentencia.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void cerrar(Connection conexion) {
+        if (conexion == null) {
+            return;
+        }
+        try {
+            conexion.close();
+        } catch (SQLException e) {
+            log.debug("Error cerrando la conexion del bloqueo", e);
+        }
+    }
+
+    private boolean esPostgres() {
+        Boolean resultado = postgres;
+        if (resultado == null) {
+            try {
+                resultado = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("No se pudo determinar el motor de base de datos", e);
+            }
+            postgres = resultado;
+        }
+        return resultado;
+    }
+}
@@ -1,25 +1,35 @@
 package com.serviciudad.infrastructure.adapter.output.persistence;
 
+import com.serviciudad.domain.model.AgregadoConsumos;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
 import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
 import com.serviciudad.domain.valueobject.Periodo;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.ConsumoEnergiaJpaEntity;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.mapper.ConsumoEnergiaJpaMapper;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoConsumosProjection;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository.ConsumoEnergiaJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@Profile("!energia-archivo")
 @RequiredArgsConstructor
 public class ConsumoEnergiaReaderAdapter implements ConsumoEnergiaReaderPort {
 
     private static final BigDecimal UMBRAL_CONSUMO_ELEVADO = new BigDecimal("500");
     
     private final ConsumoEnergiaJpaRepository jpaRepository;
+    private final CheckpointImportacionRepository checkpointRepository;
 
     @Override
     public List<ConsumoEnergiaModel> findByClienteId(ClienteId clienteId) {
@@ -29,6 +39,35 @@ public class ConsumoEnergiaReaderAdapter implements ConsumoEnergiaReaderPort {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteIdAntesDe(ClienteId clienteId, Periodo antesDe, int limite) {
+        List<ConsumoEnergiaJpaEntity> consumos = antesDe == null
+            ? jpaRepository.findByClienteIdOrderByPeriodoDesc(clienteId.getValor(), Limit.of(limite))
+            : jpaRepository.findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(
+                clienteId.getValor(), antesDe.getValor(), Limit.of(limite));
+        return consumos.stream()
+            .map(ConsumoEnergiaJpaMapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ConsumoEnergiaModel> findByClienteIds(Collection<ClienteId> clienteIds) {
+        return jpaRepository.findByClienteIdIn(clienteIds.stream().map(ClienteId::getValor).collect(Collectors.toList()))
+            .stream()
+            .map(ConsumoEnergiaJpaMapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public AgregadoConsumos agregarPorCliente(ClienteId clienteId) {
+        AgregadoConsumosProjection agregado = jpaRepository.agregarPorCliente(clienteId.getValor());
+        return AgregadoConsumos.builder()
+            .total(agregado.getTotal().intValue())
+            .deuda(Dinero.of(agregado.getDeuda()))
+            .consumoKwh(agregado.getConsumo().longValue())
+            .build();
+    }
+
     @Override
     public List<ConsumoEnergiaModel> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo) {
         return jpaRepository.findByClienteIdAndPeriodo(clienteId.getValor(), periodo.getValor())
@@ -44,4 +83,13 @@ public class ConsumoEnergiaReaderAdapter implements ConsumoEnergiaReaderPort {
             .map(ConsumoEnergiaJpaMapper::toDomain)
             .collect(Collectors.toList());
     }
+
+    /**
+     * La tabla solo cambia al importar, y cada lote importado actualiza su checkpoint en la
+     * misma transaccion.
+     */
+    @Override
+    public long versionDatos() {
+        return checkpointRepository.generacion();
+    }
 }
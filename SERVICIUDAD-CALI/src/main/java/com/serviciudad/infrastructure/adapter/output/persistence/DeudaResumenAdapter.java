@@ -0,0 +1,234 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.port.output.DeudaResumenPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Mantiene la tabla {@code deuda_resumen} y la consulta por clave primaria.
+ *
+ * <p>Quien escribe facturas o consumos registra los clientes afectados con
+ * {@link #registrarCambios}. Dentro de una transaccion los clientes se acumulan y sus
+ * resumenes se recalculan una sola vez justo antes del commit: primero se bloquean sus filas
+ * (en orden de cliente, para no generar deadlocks) y despues se agregan sus facturas y
+ * consumos en sentencias nuevas, que ya ven lo confirmado por cualquier transaccion que
+ * tuviera esas filas. Asi dos escritores concurrentes sobre el mismo cliente no se pisan.</p>
+ *
+ * <p>El recalculo por cliente usa los indices por cliente de ambas tablas; su costo depende de
+ * las facturas del cliente y no del tamano de la tabla.</p>
+ */
+@Slf4j
+@Component
+public class DeudaResumenAdapter implements DeudaResumenPort {
+
+    static final int CLIENTES_POR_SENTENCIA = 500;
+
+    private static final String COLUMNAS = "cliente_id, deuda_acueducto, facturas_pendientes, facturas_vencidas, " +
+        "total_facturas, consumo_acueducto_m3, deuda_energia, total_consumos_energia, consumo_energia_kwh, " +
+        "fecha_actualizacion";
+
+    private static final String AGREGADO_FACTURAS = "SELECT id_cliente, " +
+        "SUM(CASE WHEN estado <> 'PAGADA' THEN valor_pagar ELSE 0 END) AS deuda, " +
+        "SUM(CASE WHEN estado = 'PENDIENTE' THEN 1 ELSE 0 END) AS pendientes, " +
+        "SUM(CASE WHEN estado = 'VENCIDA' THEN 1 ELSE 0 END) AS vencidas, " +
+        "COUNT(*) AS total, SUM(consumo_m3) AS consumo " +
+        "FROM facturas_acueducto";
+
+    private static final String AGREGADO_CONSUMOS = "SELECT cliente_id, SUM(valor_pagar) AS deuda, " +
+        "COUNT(*) AS total, SUM(consumo) AS consumo FROM consumo_energia";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public DeudaResumenAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ResumenDeuda> findByClienteId(ClienteId clienteId) {
+        return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM deuda_resumen WHERE cliente_id = ?",
+                (rs, fila) -> aResumen(rs), clienteId.getValor())
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Registra clientes cuyas facturas o consumos cambiaron. Con una transaccion activa el
+     * recalculo se hace antes del commit; sin transaccion, de inmediato.
+     */
+    public void registrarCambios(Collection<String> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recalcular(clientes);
+            return;
+        }
+        ClientesPendientes pendientes = (ClientesPendientes) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            pendientes = new ClientesPendientes();
+            TransactionSynchronizationManager.bindResource(this, pendientes);
+            TransactionSynchronizationManager.registerSynchronization(pendientes);
+        }
+        pendientes.clientes.addAll(clientes);
+    }
+
+    /**
+     * Bloquea y recalcula el resumen de los clientes, en bloques ordenados por cliente.
+     */
+    void recalcular(Collection<String> clientes) {
+        List<String> ordenados = new ArrayList<>(new TreeSet<>(clientes));
+        for (int desde = 0; desde < ordenados.size(); desde += CLIENTES_POR_SENTENCIA) {
+            recalcularBloque(ordenados.subList(desde, Math.min(desde + CLIENTES_POR_SENTENCIA, ordenados.size())));
+        }
+    }
+
+    @Override
+    public long reconstruir() {
+        if (esPostgres()) {
+            // Los escritores esperan a que termine la reconstruccion y despues recalculan sobre ella
+            jdbcTemplate.execute("LOCK TABLE deuda_resumen IN EXCLUSIVE MODE");
+        }
+        jdbcTemplate.update("DELETE FROM deuda_resumen");
+        int clientes = jdbcTemplate.update("INSERT INTO deuda_resumen (" + COLUMNAS + ") " +
+            "SELECT c.cliente_id, COALESCE(a.deuda, 0), COALESCE(a.pendientes, 0), COALESCE(a.vencidas, 0), " +
+            "COALESCE(a.total, 0), COALESCE(a.consumo, 0), COALESCE(e.deuda, 0), COALESCE(e.total, 0), " +
+            "COALESCE(e.consumo, 0), ? " +
+            "FROM (SELECT id_cliente AS cliente_id FROM facturas_acueducto " +
+            "UNION SELECT cliente_id FROM consumo_energia) c " +
+            "LEFT JOIN (" + AGREGADO_FACTURAS + " GROUP BY id_cliente) a ON a.id_cliente = c.cliente_id " +
+            "LEFT JOIN (" + AGREGADO_CONSUMOS + " GROUP BY cliente_id) e ON e.cliente_id = c.cliente_id",
+            Timestamp.valueOf(LocalDateTime.now()));
+        log.info("Resumen de deuda reconstruido para {} clientes", clientes);
+        return clientes;
+    }
+
+    private void recalcularBloque(List<String> clientes) {
+        Object[] ids = clientes.toArray();
+        String marcadores = String.join(", ", Collections.nCopies(clientes.size(), "?"));
+
+        asegurarFilas(clientes);
+        jdbcTemplate.query("SELECT cliente_id FROM deuda_resumen WHERE cliente_id IN (" + marcadores + ") " +
+            "ORDER BY cliente_id FOR UPDATE", rs -> { }, ids);
+
+        Map<String, Object[]> facturas = new HashMap<>();
+        jdbcTemplate.query(AGREGADO_FACTURAS + " WHERE id_cliente IN (" + marcadores + ") GROUP BY id_cliente",
+            rs -> {
+                facturas.put(rs.getString(1), new Object[] {
+                    rs.getBigDecimal(2), rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getLong(6)});
+            }, ids);
+        Map<String, Object[]> consumos = new HashMap<>();
+        jdbcTemplate.query(AGREGADO_CONSUMOS + " WHERE cliente_id IN (" + marcadores + ") GROUP BY cliente_id",
+            rs -> {
+                consumos.put(rs.getString(1), new Object[] {
+                    rs.getBigDecimal(2), rs.getInt(3), rs.getBigDecimal(4)});
+            }, ids);
+
+        Object[] sinFacturas = {BigDecimal.ZERO, 0, 0, 0, 0L};
+        Object[] sinConsumos = {BigDecimal.ZERO, 0, BigDecimal.ZERO};
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> filas = new ArrayList<>(clientes.size());
+        for (String cliente : clientes) {
+            Object[] a = facturas.getOrDefault(cliente, sinFacturas);
+            Object[] e = consumos.getOrDefault(cliente, sinConsumos);
+            filas.add(new Object[] {a[0], a[1], a[2], a[3], a[4], e[0], e[1], e[2], ahora, cliente});
+        }
+        jdbcTemplate.batchUpdate("UPDATE deuda_resumen SET deuda_acueducto = ?, facturas_pendientes = ?, " +
+            "facturas_vencidas = ?, total_facturas = ?, consumo_acueducto_m3 = ?, deuda_energia = ?, " +
+            "total_consumos_energia = ?, consumo_energia_kwh = ?, fecha_actualizacion = ? WHERE cliente_id = ?", filas);
+    }
+
+    /**
+     * Crea las filas que faltan para poder bloquearlas. En PostgreSQL la insercion espera a
+     * otra transaccion que este creando la misma fila en lugar de fallar por clave duplicada;
+     * en otros motores la clave duplicada indica que la fila ya existe.
+     */
+    private void asegurarFilas(List<String> clientes) {
+        if (esPostgres()) {
+            jdbcTemplate.update("INSERT INTO deuda_resumen (cliente_id) VALUES " +
+                String.join(", ", Collections.nCopies(clientes.size(), "(?)")) + " ON CONFLICT (cliente_id) DO NOTHING",
+                clientes.toArray());
+            return;
+        }
+        for (String cliente : clientes) {
+            try {
+                jdbcTemplate.update("INSERT INTO deuda_resumen (cliente_id) SELECT CAST(? AS VARCHAR(10)) " +
+                    "FROM (VALUES (1)) v WHERE NOT EXISTS (SELECT 1 FROM deuda_resumen WHERE cliente_id = ?)",
+                    cliente, cliente);
+            } catch (DuplicateKeyException e) {
+                log.debug("El resumen del cliente {} fue creado por otra transaccion", cliente);
+            }
+        }
+    }
+
+    private boolean esPostgres() {
+        Boolean resultado = postgres;
+        if (resultado == null) {
+            try {
+                resultado = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("No se pudo determinar el motor de base de datos", e);
+            }
+            postgres = resultado;
+        }
+        return resultado;
+    }
+
+    private static ResumenDeuda aResumen(ResultSet rs) throws SQLException {
+        return ResumenDeuda.builder()
+            .clienteId(ClienteId.of(rs.getString("cliente_id")))
+            .deudaAcueducto(Dinero.of(rs.getBigDecimal("deuda_acueducto")))
+            .facturasPendientes(rs.getInt("facturas_pendientes"))
+            .facturasVencidas(rs.getInt("facturas_vencidas"))
+            .totalFacturasAcueducto(rs.getInt("total_facturas"))
+            .consumoAcueductoM3(rs.getLong("consumo_acueducto_m3"))
+            .deudaEnergia(Dinero.of(rs.getBigDecimal("deuda_energia")))
+            .totalConsumosEnergia(rs.getInt("total_consumos_energia"))
+            .consumoEnergiaKwh(rs.getBigDecimal("consumo_energia_kwh").longValue())
+            .fechaActualizacion(rs.getTimestamp("fecha_actualizacion").toLocalDateTime())
+            .build();
+    }
+
+    /**
+     * Clientes afectados en la transaccion actual; se recalculan antes del commit.
+     */
+    private final class ClientesPendientes implements TransactionSynchronization {
+
+        private final TreeSet<String> clientes = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            recalcular(clientes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DeudaResumenAdapter.this);
+        }
+    }
+}
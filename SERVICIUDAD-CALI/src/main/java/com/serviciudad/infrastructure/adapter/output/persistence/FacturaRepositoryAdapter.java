@@ -1,28 +1,44 @@
 package com.serviciudad.infrastructure.adapter.output.persistence;
 
+import com.serviciudad.domain.model.AgregadoFacturas;
+import com.serviciudad.domain.model.DeudaConsolidada;
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.VersionFacturas;
 import com.serviciudad.domain.port.output.FacturaRepositoryPort;
 import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
 import com.serviciudad.domain.valueobject.FacturaId;
 import com.serviciudad.domain.valueobject.Periodo;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.mapper.FacturaJpaMapper;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoEstadoFacturasProjection;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.VersionFacturasProjection;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository.FacturaJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
 
+    private static final EnumSet<EstadoFacturaJpa> ESTADOS = EnumSet.allOf(EstadoFacturaJpa.class);
+
     private final FacturaJpaRepository jpaRepository;
+    private final DeudaResumenAdapter deudaResumen;
+    private final EntityManager entityManager;
 
     @Override
     public Optional<FacturaAcueducto> findById(FacturaId facturaId) {
@@ -39,42 +55,101 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
     }
 
     @Override
-    public List<FacturaAcueducto> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo) {
-        return jpaRepository.findByClienteIdAndPeriodo(clienteId.getValor(), periodo.getValor())
-            .stream()
+    public List<FacturaAcueducto> findByClienteIdAntesDe(ClienteId clienteId, Periodo antesDe, int limite) {
+        List<FacturaJpaEntity> facturas = antesDe == null
+            ? jpaRepository.findByClienteIdOrderByPeriodoDesc(clienteId.getValor(), Limit.of(limite))
+            : jpaRepository.findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(
+                clienteId.getValor(), antesDe.getValor(), Limit.of(limite));
+        return facturas.stream()
             .map(FacturaJpaMapper::toDomain)
             .collect(Collectors.toList());
     }
 
     @Override
-    public List<FacturaAcueducto> findFacturasPendientes() {
-        return jpaRepository.findByEstado(EstadoFacturaJpa.PENDIENTE)
+    public List<FacturaAcueducto> findByClienteIds(Collection<ClienteId> clienteIds) {
+        return jpaRepository.findByClienteIdIn(clienteIds.stream().map(ClienteId::getValor).collect(Collectors.toList()))
             .stream()
             .map(FacturaJpaMapper::toDomain)
             .collect(Collectors.toList());
     }
 
     @Override
-    public List<FacturaAcueducto> findFacturasPendientes(int pageNumber, int pageSize) {
-        Page<FacturaJpaEntity> page = jpaRepository.findByEstado(
-            EstadoFacturaJpa.PENDIENTE, 
-            PageRequest.of(pageNumber, pageSize)
-        );
-        
-        return page.getContent()
+    public AgregadoFacturas agregarPorCliente(ClienteId clienteId, LocalDate hoy) {
+        List<AgregadoEstadoFacturasProjection> porEstado = jpaRepository.agregarPorEstado(
+            clienteId.getValor(), ESTADOS, hoy, hoy.plusDays(DeudaConsolidada.DIAS_ALERTA_VENCIMIENTO));
+        int total = 0;
+        int pendientes = 0;
+        int vencidas = 0;
+        int proximasVencer = 0;
+        Dinero deuda = Dinero.cero();
+        long consumo = 0;
+        for (AgregadoEstadoFacturasProjection agregado : porEstado) {
+            int facturas = agregado.getTotal().intValue();
+            total += facturas;
+            consumo += agregado.getConsumo();
+            switch (agregado.getEstado()) {
+                case PENDIENTE -> {
+                    pendientes = facturas;
+                    proximasVencer = agregado.getProximasVencer().intValue();
+                }
+                case VENCIDA -> vencidas = facturas;
+                default -> { }
+            }
+            if (agregado.getEstado() != EstadoFacturaJpa.PAGADA) {
+                deuda = deuda.sumar(Dinero.of(agregado.getValor()));
+            }
+        }
+        return AgregadoFacturas.builder()
+            .total(total)
+            .pendientes(pendientes)
+            .vencidas(vencidas)
+            .proximasVencer(proximasVencer)
+            .deuda(deuda)
+            .consumoM3(consumo)
+            .build();
+    }
+
+    @Override
+    public VersionFacturas versionPorCliente(ClienteId clienteId) {
+        VersionFacturasProjection version = jpaRepository.versionPorCliente(clienteId.getValor());
+        return new VersionFacturas(version.getTotal(), version.getUltimaActualizacion(),
+            version.getSumaSegundos().longValue());
+    }
+
+    @Override
+    public List<FacturaAcueducto> findByClienteIdAndPeriodo(ClienteId clienteId, Periodo periodo) {
+        return jpaRepository.findByClienteIdAndPeriodo(clienteId.getValor(), periodo.getValor())
             .stream()
             .map(FacturaJpaMapper::toDomain)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Cada entidad se desacopla apenas se convierte, para que el contexto de persistencia no
+     * crezca con el recorrido.
+     */
+    @Override
+    public long recorrerPorPeriodo(Periodo periodo, Consumer<FacturaAcueducto> destino) {
+        long total = 0;
+        try (Stream<FacturaJpaEntity> facturas = jpaRepository.streamByPeriodo(periodo.getValor())) {
+            Iterator<FacturaJpaEntity> iterador = facturas.iterator();
+            while (iterador.hasNext()) {
+                FacturaJpaEntity entidad = iterador.next();
+                FacturaAcueducto factura = FacturaJpaMapper.toDomain(entidad);
+                entityManager.detach(entidad);
+                destino.accept(factura);
+                total++;
+            }
+        }
+        return total;
+    }
+
     @Override
-    public boolean hasMoreFacturasPendientes(int pageNumber, int pageSize) {
-        Page<FacturaJpaEntity> page = jpaRepository.findByEstado(
-            EstadoFacturaJpa.PENDIENTE, 
-            PageRequest.of(pageNumber, pageSize)
-        );
-        
-        return page.hasNext();
+    public List<FacturaAcueducto> findFacturasPendientes() {
+        return jpaRepository.findByEstado(EstadoFacturaJpa.PENDIENTE)
+            .stream()
+            .map(FacturaJpaMapper::toDomain)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -89,6 +164,9 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
     public FacturaAcueducto save(FacturaAcueducto factura) {
         FacturaJpaEntity entity = FacturaJpaMapper.toJpaEntity(factura);
         FacturaJpaEntity savedEntity = jpaRepository.save(entity);
+        // El resumen se recalcula con SQL antes del commit; los cambios deben estar en la base
+        jpaRepository.flush();
+        deudaResumen.registrarCambios(List.of(savedEntity.getClienteId()));
         return FacturaJpaMapper.toDomain(savedEntity);
     }
 
@@ -98,6 +176,10 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
             .map(FacturaJpaMapper::toJpaEntity)
             .collect(Collectors.toList());
         jpaRepository.saveAll(entities);
+        jpaRepository.flush();
+        deudaResumen.registrarCambios(entities.stream()
+            .map(FacturaJpaEntity::getClienteId)
+            .collect(Collectors.toSet()));
     }
 
     @Override
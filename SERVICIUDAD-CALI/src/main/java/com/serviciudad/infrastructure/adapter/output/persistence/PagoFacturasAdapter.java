@@ -0,0 +1,88 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.LotePagos;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.port.output.PagoFacturasPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.FacturaId;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.FacturaRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pagos por bloques sobre {@code facturas_acueducto} con JDBC.
+ *
+ * <p>Cada bloque se lee con un {@code SELECT ... IN ... FOR UPDATE} en orden de id, para que dos
+ * lotes concurrentes bloqueen las facturas comunes en el mismo orden, y las facturas pagadas se
+ * escriben con un {@code UPDATE} por id enviado como batch JDBC, sin la lectura previa que hace
+ * {@code merge} de JPA. El resumen de deuda de los clientes pagados se recalcula antes del
+ * commit del bloque.</p>
+ */
+@Component
+public class PagoFacturasAdapter implements PagoFacturasPort {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeudaResumenAdapter deudaResumen;
+
+    public PagoFacturasAdapter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               DeudaResumenAdapter deudaResumen) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deudaResumen = deudaResumen;
+    }
+
+    @Override
+    public LotePagos pagar(Collection<FacturaId> facturaIds, Function<FacturaAcueducto, ResultadoPago> regla) {
+        if (facturaIds.isEmpty()) {
+            return new LotePagos(Map.of(), Set.of());
+        }
+        return transactionTemplate.execute(status -> {
+            String marcadores = String.join(", ", Collections.nCopies(facturaIds.size(), "?"));
+            List<FacturaAcueducto> facturas = jdbcTemplate.query("SELECT " + FacturaRowMapper.COLUMNAS +
+                    " FROM facturas_acueducto WHERE id IN (" + marcadores + ") ORDER BY id FOR UPDATE",
+                FacturaRowMapper.INSTANCIA, facturaIds.stream().map(FacturaId::getValor).toArray());
+
+            Map<FacturaId, ResultadoPago> resultados = new HashMap<>();
+            List<FacturaAcueducto> pagadas = new ArrayList<>();
+            for (FacturaAcueducto factura : facturas) {
+                ResultadoPago resultado = regla.apply(factura);
+                resultados.put(factura.getId(), resultado);
+                if (resultado == ResultadoPago.PAGADA) {
+                    pagadas.add(factura);
+                }
+            }
+            if (pagadas.isEmpty()) {
+                return new LotePagos(resultados, Set.of());
+            }
+
+            jdbcTemplate.batchUpdate("UPDATE facturas_acueducto SET estado = ?, fecha_actualizacion = ? WHERE id = ?",
+                pagadas, pagadas.size(), (sentencia, factura) -> {
+                    sentencia.setString(1, factura.getEstado().name());
+                    sentencia.setTimestamp(2, Timestamp.valueOf(factura.getFechaActualizacion()));
+                    sentencia.setLong(3, factura.getId().getValor());
+                });
+            Set<String> clientes = pagadas.stream()
+                .map(f -> f.getClienteId().getValor())
+                .collect(Collectors.toCollection(TreeSet::new));
+            deudaResumen.registrarCambios(clientes);
+            return new LotePagos(resultados, clientes.stream().map(ClienteId::of).collect(Collectors.toUnmodifiableSet()));
+        });
+    }
+}
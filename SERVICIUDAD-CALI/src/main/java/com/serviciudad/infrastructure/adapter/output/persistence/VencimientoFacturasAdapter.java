@@ -0,0 +1,150 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.ParticionVencimiento;
+import com.serviciudad.domain.model.PosicionPendiente;
+import com.serviciudad.domain.port.output.VencimientoFacturasPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ParticionVencimientoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Marca facturas vencidas con sentencias por conjunto sobre {@code facturas_acueducto}.
+ *
+ * <p>Cada lote bloquea hasta {@code limite} facturas pendientes ya vencidas en orden de
+ * {@code (fecha_vencimiento, id)} y las actualiza con un solo {@code UPDATE} por id en su propia
+ * transaccion. El lote siguiente busca en {@code idx_factura_estado_fechavencimiento} a partir de
+ * la ultima factura del anterior ({@code (fecha_vencimiento, id) > (?, ?)}), sin desplazamientos
+ * ni conteos y sin volver a recorrer las entradas que el lote anterior ya marco. Los ids
+ * seleccionados dan ademas los clientes afectados, cuyo resumen de deuda se recalcula antes del
+ * commit del lote.</p>
+ *
+ * <p>El marcado programado recorre en cambio tramos de la clave primaria de una
+ * {@link ParticionVencimiento}; el avance de la particion se guarda en la transaccion de cada
+ * tramo, para que otra instancia o un reinicio continue desde el ultimo tramo confirmado.</p>
+ */
+@Slf4j
+@Component
+public class VencimientoFacturasAdapter implements VencimientoFacturasPort {
+
+    private static final String VENCIDAS = "estado = 'PENDIENTE' AND fecha_vencimiento < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeudaResumenAdapter deudaResumen;
+    private final ParticionVencimientoRepository particiones;
+
+    public VencimientoFacturasAdapter(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      DeudaResumenAdapter deudaResumen,
+                                      ParticionVencimientoRepository particiones) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deudaResumen = deudaResumen;
+        this.particiones = particiones;
+    }
+
+    @Override
+    public LoteFacturasVencidas marcarVencidas(LocalDate hoy, PosicionPendiente despuesDe, int limite) {
+        String orden = " ORDER BY fecha_vencimiento, id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+        return transactionTemplate.execute(status -> despuesDe == null
+            ? marcar("SELECT id, id_cliente, fecha_vencimiento FROM facturas_acueducto WHERE " + VENCIDAS + orden,
+                Date.valueOf(hoy), limite)
+            : marcar("SELECT id, id_cliente, fecha_vencimiento FROM facturas_acueducto WHERE " + VENCIDAS +
+                    " AND (fecha_vencimiento, id) > (?, ?)" + orden,
+                Date.valueOf(hoy), Date.valueOf(despuesDe.getFechaVencimiento()), despuesDe.getId(), limite));
+    }
+
+    @Override
+    public long contarPorVencer(LocalDate hoy) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM facturas_acueducto WHERE " + VENCIDAS,
+            Long.class, Date.valueOf(hoy));
+    }
+
+    @Override
+    public List<ParticionVencimiento> prepararParticiones(LocalDate fechaCorte, int cantidad) {
+        return transactionTemplate.execute(status -> {
+            List<ParticionVencimiento> existentes = particiones.listar(fechaCorte);
+            if (!existentes.isEmpty()) {
+                return existentes;
+            }
+            Map<String, Object> rango = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS minimo, MAX(id) AS maximo FROM facturas_acueducto");
+            if (rango.get("minimo") == null) {
+                return List.of();
+            }
+            List<ParticionVencimiento> nuevas = dividir(fechaCorte,
+                ((Number) rango.get("minimo")).longValue(), ((Number) rango.get("maximo")).longValue(), cantidad);
+            particiones.reemplazar(nuevas);
+            log.info("Marcado de vencidas con corte {}: {} particiones creadas sobre los ids {} a {}",
+                fechaCorte, nuevas.size(), rango.get("minimo"), rango.get("maximo"));
+            return nuevas;
+        });
+    }
+
+    @Override
+    public LoteFacturasVencidas marcarVencidasEnParticion(ParticionVencimiento particion, long hasta) {
+        return transactionTemplate.execute(status -> {
+            LoteFacturasVencidas lote = marcar(
+                "SELECT id, id_cliente, fecha_vencimiento FROM facturas_acueducto WHERE id > ? AND id <= ? AND " +
+                    VENCIDAS + " ORDER BY fecha_vencimiento, id FOR UPDATE",
+                particion.getUltimoId(), hasta, Date.valueOf(particion.getFechaCorte()));
+            particiones.avanzar(particion, hasta, lote.getFacturas());
+            return lote;
+        });
+    }
+
+    static List<ParticionVencimiento> dividir(LocalDate fechaCorte, long minimo, long maximo, int cantidad) {
+        long tamano = Math.max(1, (maximo - minimo + cantidad) / cantidad);
+        List<ParticionVencimiento> resultado = new ArrayList<>(cantidad);
+        for (long desde = minimo; desde <= maximo; desde += tamano) {
+            resultado.add(ParticionVencimiento.nueva(fechaCorte, resultado.size(), desde,
+                Math.min(maximo, desde + tamano - 1)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Bloquea las facturas de la seleccion ({@code id}, {@code id_cliente}, {@code fecha_vencimiento},
+     * ordenada por {@code (fecha_vencimiento, id)}), las marca como vencidas y registra sus clientes
+     * para recalcular el resumen antes del commit.
+     */
+    private LoteFacturasVencidas marcar(String seleccion, Object... argumentos) {
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(Timestamp.valueOf(LocalDateTime.now()));
+        Set<String> clientes = new TreeSet<>();
+        PosicionPendiente[] ultima = new PosicionPendiente[1];
+        jdbcTemplate.query(seleccion, rs -> {
+            parametros.add(rs.getLong(1));
+            clientes.add(rs.getString(2));
+            ultima[0] = new PosicionPendiente(rs.getDate(3).toLocalDate(), rs.getLong(1));
+        }, argumentos);
+        if (clientes.isEmpty()) {
+            return LoteFacturasVencidas.vacio();
+        }
+
+        String marcadores = String.join(", ", Collections.nCopies(parametros.size() - 1, "?"));
+        int marcadas = jdbcTemplate.update("UPDATE facturas_acueducto SET estado = 'VENCIDA', " +
+            "fecha_actualizacion = ? WHERE estado = 'PENDIENTE' AND id IN (" + marcadores + ")",
+            parametros.toArray());
+        deudaResumen.registrarCambios(clientes);
+        return new LoteFacturasVencidas(marcadas,
+            clientes.stream().map(ClienteId::of).collect(Collectors.toUnmodifiableSet()), ultima[0]);
+    }
+}
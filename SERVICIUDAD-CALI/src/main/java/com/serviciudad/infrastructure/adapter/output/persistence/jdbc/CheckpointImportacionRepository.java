@@ -0,0 +1,92 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Persistencia del checkpoint de importación del archivo legacy de energía
+ * (tabla {@code consumo_energia_importacion}).
+ *
+ * <p>Se actualiza en la misma transacción que cada lote importado, de modo que el
+ * offset guardado siempre corresponde a datos confirmados.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CheckpointImportacionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Checkpoint> obtener(String archivo) {
+        return jdbcTemplate.query(
+                "SELECT offset_bytes, registros_importados, clave_archivo, tamano_archivo, longitud_cabecera, " +
+                "checksum_cabecera FROM consumo_energia_importacion WHERE archivo = ?",
+                (rs, rowNum) -> Checkpoint.builder()
+                    .offset(rs.getLong("offset_bytes"))
+                    .registrosImportados(rs.getLong("registros_importados"))
+                    .claveArchivo(rs.getString("clave_archivo"))
+                    .tamanoArchivo(rs.getLong("tamano_archivo"))
+                    .longitudCabecera(rs.getInt("longitud_cabecera"))
+                    .checksumCabecera(rs.getLong("checksum_cabecera"))
+                    .build(),
+                archivo)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Generacion de los datos importados: la ultima actualizacion de cualquier checkpoint en
+     * microsegundos, o {@code 0} si nunca se importo. Crece con cada lote confirmado.
+     */
+    public long generacion() {
+        Timestamp ultima = jdbcTemplate.queryForObject(
+            "SELECT MAX(fecha_actualizacion) FROM consumo_energia_importacion", Timestamp.class);
+        if (ultima == null) {
+            return 0L;
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, ultima.toInstant());
+    }
+
+    public void guardar(String archivo, Checkpoint checkpoint) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        int actualizados = jdbcTemplate.update(
+            "UPDATE consumo_energia_importacion SET offset_bytes = ?, registros_importados = ?, clave_archivo = ?, " +
+            "tamano_archivo = ?, longitud_cabecera = ?, checksum_cabecera = ?, fecha_actualizacion = ? " +
+            "WHERE archivo = ?",
+            checkpoint.getOffset(), checkpoint.getRegistrosImportados(), checkpoint.getClaveArchivo(),
+            checkpoint.getTamanoArchivo(), checkpoint.getLongitudCabecera(), checkpoint.getChecksumCabecera(),
+            ahora, archivo);
+        if (actualizados == 0) {
+            jdbcTemplate.update(
+                "INSERT INTO consumo_energia_importacion (archivo, offset_bytes, registros_importados, clave_archivo, " +
+                "tamano_archivo, longitud_cabecera, checksum_cabecera, fecha_actualizacion) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                archivo, checkpoint.getOffset(), checkpoint.getRegistrosImportados(), checkpoint.getClaveArchivo(),
+                checkpoint.getTamanoArchivo(), checkpoint.getLongitudCabecera(), checkpoint.getChecksumCabecera(),
+                ahora);
+        }
+    }
+
+    /**
+     * Offset confirmado junto con la identidad del archivo leído (clave del sistema de archivos,
+     * tamaño y checksum de la cabecera), para detectar rotaciones y truncamientos.
+     */
+    @Value
+    @Builder
+    public static class Checkpoint {
+        long offset;
+        long registrosImportados;
+        String claveArchivo;
+        long tamanoArchivo;
+        int longitudCabecera;
+        long checksumCabecera;
+    }
+}
@@ -0,0 +1,64 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escritura de números como dígitos ASCII directamente sobre un arreglo de bytes,
+ * sin pasar por {@code String.valueOf} ni formateadores.
+ */
+final class CodificadorAscii {
+
+    private CodificadorAscii() {
+    }
+
+    /**
+     * Escribe {@code valor} con exactamente {@code ancho} dígitos (ceros a la izquierda).
+     *
+     * @return la posición siguiente al último byte escrito
+     */
+    static int escribirDigitos(byte[] destino, int posicion, long valor, int ancho) {
+        long restante = valor;
+        for (int i = posicion + ancho - 1; i >= posicion; i--) {
+            destino[i] = (byte) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return posicion + ancho;
+    }
+
+    /**
+     * Escribe {@code valor} sin ceros a la izquierda.
+     */
+    static int escribirNumero(byte[] destino, int posicion, long valor) {
+        int digitos = 1;
+        for (long resto = valor / 10; resto > 0; resto /= 10) {
+            digitos++;
+        }
+        return escribirDigitos(destino, posicion, valor, digitos);
+    }
+
+    /**
+     * Escribe un valor en centavos como decimal con dos cifras (ej: 18000050 -> 180000.50).
+     */
+    static int escribirDecimal(byte[] destino, int posicion, long centavos) {
+        int siguiente = escribirNumero(destino, posicion, centavos / 100);
+        destino[siguiente++] = '.';
+        return escribirDigitos(destino, siguiente, centavos % 100, 2);
+    }
+
+    /**
+     * Escribe una fecha YYYYMMDD en formato ISO (YYYY-MM-DD).
+     */
+    static int escribirFecha(byte[] destino, int posicion, int fecha) {
+        int siguiente = escribirDigitos(destino, posicion, fecha / 10000, 4);
+        destino[siguiente++] = '-';
+        siguiente = escribirDigitos(destino, siguiente, fecha / 100 % 100, 2);
+        destino[siguiente++] = '-';
+        return escribirDigitos(destino, siguiente, fecha % 100, 2);
+    }
+
+    static String texto(long valor, int ancho) {
+        byte[] destino = new byte[ancho];
+        escribirDigitos(destino, 0, valor, ancho);
+        return new String(destino, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,20 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Estrategia de escritura masiva de lotes en {@code consumo_energia}.
+ *
+ * <p>Las implementaciones se ordenan con {@code @Order}; se usa la primera que
+ * soporte el motor de base de datos de la conexión.</p>
+ */
+public interface ConsumoEnergiaBulkWriter {
+
+    boolean soporta(String productoBaseDatos);
+
+    /**
+     * Escribe el lote usando la conexión de la transacción en curso (no la cierra).
+     */
+    void escribir(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException;
+}
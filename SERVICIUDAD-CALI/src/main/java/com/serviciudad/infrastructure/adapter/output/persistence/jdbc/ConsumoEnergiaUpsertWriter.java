@@ -0,0 +1,23 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Estrategia de fusión de lotes en {@code consumo_energia} por la clave única
+ * {@code (cliente_id, periodo)}.
+ *
+ * <p>Las implementaciones se ordenan con {@code @Order}; se usa la primera que
+ * soporte el motor de base de datos de la conexión. El estrato solo se escribe al insertar:
+ * el archivo legacy no lo trae y no debe sobrescribir el registrado.</p>
+ */
+public interface ConsumoEnergiaUpsertWriter {
+
+    boolean soporta(String productoBaseDatos);
+
+    /**
+     * Fusiona el lote usando la conexión de la transacción en curso (no la cierra). Si una
+     * clave se repite dentro del lote, prevalece su última aparición.
+     */
+    ConteoFusion fusionar(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException;
+}
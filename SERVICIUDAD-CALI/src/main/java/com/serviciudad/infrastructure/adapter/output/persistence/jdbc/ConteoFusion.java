@@ -0,0 +1,20 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import lombok.Value;
+
+/**
+ * Resultado de fusionar un lote: filas insertadas, actualizadas y registros que no
+ * cambiaron la tabla (iguales a lo ya guardado o reemplazados por una aparición posterior
+ * de la misma clave en el lote).
+ */
+@Value
+public class ConteoFusion {
+
+    long insertados;
+    long actualizados;
+    long sinCambios;
+
+    static ConteoFusion de(LoteConsumoEnergia lote, long insertados, long actualizados) {
+        return new ConteoFusion(insertados, actualizados, lote.tamano() - insertados - actualizados);
+    }
+}
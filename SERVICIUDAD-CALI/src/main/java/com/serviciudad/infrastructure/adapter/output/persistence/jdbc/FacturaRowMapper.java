@@ -0,0 +1,46 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.ConsumoAgua;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.domain.valueobject.FacturaId;
+import com.serviciudad.domain.valueobject.Periodo;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Convierte filas de {@code facturas_acueducto} leidas con {@link #COLUMNAS} en facturas de dominio.
+ */
+public final class FacturaRowMapper implements RowMapper<FacturaAcueducto> {
+
+    public static final String COLUMNAS = "id, id_cliente, periodo, consumo_m3, valor_pagar, estado, " +
+        "fecha_vencimiento, fecha_creacion, fecha_actualizacion";
+
+    public static final FacturaRowMapper INSTANCIA = new FacturaRowMapper();
+
+    private FacturaRowMapper() {
+    }
+
+    @Override
+    public FacturaAcueducto mapRow(ResultSet rs, int fila) throws SQLException {
+        Timestamp creacion = rs.getTimestamp("fecha_creacion");
+        Timestamp actualizacion = rs.getTimestamp("fecha_actualizacion");
+        return FacturaAcueducto.builder()
+            .id(FacturaId.of(rs.getLong("id")))
+            .clienteId(ClienteId.of(rs.getString("id_cliente")))
+            .periodo(Periodo.of(rs.getString("periodo")))
+            .consumo(ConsumoAgua.of(rs.getInt("consumo_m3")))
+            .valorPagar(Dinero.of(rs.getBigDecimal("valor_pagar")))
+            .estado(EstadoFactura.valueOf(rs.getString("estado")))
+            .fechaVencimiento(rs.getObject("fecha_vencimiento", LocalDate.class))
+            .fechaCreacion(creacion != null ? creacion.toLocalDateTime() : null)
+            .fechaActualizacion(actualizacion != null ? actualizacion.toLocalDateTime() : null)
+            .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Escritura masiva con batches JDBC estándar, usada cuando el motor no es PostgreSQL
+ * (por ejemplo H2 en los tests).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JdbcBatchConsumoEnergiaWriter implements ConsumoEnergiaBulkWriter {
+
+    static final String SQL_INSERT =
+        "INSERT INTO consumo_energia (cliente_id, periodo, consumo, valor_pagar, fecha_lectura, estrato) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int FILAS_POR_BATCH = 1000;
+
+    @Override
+    public boolean soporta(String productoBaseDatos) {
+        return true;
+    }
+
+    @Override
+    public void escribir(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException {
+        try (PreparedStatement ps = conexion.prepareStatement(SQL_INSERT)) {
+            for (int i = 0; i < lote.tamano(); i++) {
+                int fecha = lote.fecha(i);
+                ps.setString(1, CodificadorAscii.texto(lote.clienteId(i), 10));
+                ps.setString(2, CodificadorAscii.texto(lote.periodo(i), 6));
+                ps.setBigDecimal(3, BigDecimal.valueOf(lote.consumoKwh(i)));
+                ps.setBigDecimal(4, BigDecimal.valueOf(lote.valorCentavos(i), 2));
+                ps.setDate(5, Date.valueOf(LocalDate.of(fecha / 10000, fecha / 100 % 100, fecha % 100)));
+                ps.setString(6, estrato);
+                ps.addBatch();
+                if ((i + 1) % FILAS_POR_BATCH == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Fusión portable con batches JDBC, usada cuando el motor no es PostgreSQL (por ejemplo H2
+ * en los tests).
+ *
+ * <p>Primero un batch de {@code UPDATE} que solo toca las filas cuyo valor cambió; las filas
+ * sin actualizar pasan a un batch de {@code INSERT ... WHERE NOT EXISTS}. Los conteos de cada
+ * batch dan las filas actualizadas e insertadas.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JdbcUpsertConsumoEnergiaWriter implements ConsumoEnergiaUpsertWriter {
+
+    static final String SQL_UPDATE =
+        "UPDATE consumo_energia SET consumo = ?, valor_pagar = ?, fecha_lectura = ? " +
+        "WHERE cliente_id = ? AND periodo = ? AND (consumo <> ? OR valor_pagar <> ? OR fecha_lectura <> ?)";
+
+    static final String SQL_INSERT =
+        "INSERT INTO consumo_energia (cliente_id, periodo, consumo, valor_pagar, fecha_lectura, estrato) " +
+        "SELECT CAST(? AS VARCHAR(10)), CAST(? AS VARCHAR(6)), CAST(? AS DECIMAL(10,2)), " +
+        "CAST(? AS DECIMAL(12,2)), CAST(? AS DATE), CAST(? AS VARCHAR(2)) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM consumo_energia WHERE cliente_id = ? AND periodo = ?)";
+
+    @Override
+    public boolean soporta(String productoBaseDatos) {
+        return true;
+    }
+
+    @Override
+    public ConteoFusion fusionar(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException {
+        int[] filas = lote.filasSinDuplicados();
+        long actualizados = 0;
+        int[] resultados;
+        try (PreparedStatement ps = conexion.prepareStatement(SQL_UPDATE)) {
+            for (int i : filas) {
+                BigDecimal consumo = BigDecimal.valueOf(lote.consumoKwh(i));
+                BigDecimal valor = BigDecimal.valueOf(lote.valorCentavos(i), 2);
+                Date fecha = fecha(lote, i);
+                ps.setBigDecimal(1, consumo);
+                ps.setBigDecimal(2, valor);
+                ps.setDate(3, fecha);
+                ps.setString(4, CodificadorAscii.texto(lote.clienteId(i), 10));
+                ps.setString(5, CodificadorAscii.texto(lote.periodo(i), 6));
+                ps.setBigDecimal(6, consumo);
+                ps.setBigDecimal(7, valor);
+                ps.setDate(8, fecha);
+                ps.addBatch();
+            }
+            resultados = ps.executeBatch();
+        }
+
+        long insertados = 0;
+        try (PreparedStatement ps = conexion.prepareStatement(SQL_INSERT)) {
+            boolean pendientes = false;
+            for (int k = 0; k < filas.length; k++) {
+                if (resultados[k] > 0) {
+                    actualizados++;
+                    continue;
+                }
+                int i = filas[k];
+                String cliente = CodificadorAscii.texto(lote.clienteId(i), 10);
+                String periodo = CodificadorAscii.texto(lote.periodo(i), 6);
+                ps.setString(1, cliente);
+                ps.setString(2, periodo);
+                ps.setBigDecimal(3, BigDecimal.valueOf(lote.consumoKwh(i)));
+                ps.setBigDecimal(4, BigDecimal.valueOf(lote.valorCentavos(i), 2));
+                ps.setDate(5, fecha(lote, i));
+                ps.setString(6, estrato);
+                ps.setString(7, cliente);
+                ps.setString(8, periodo);
+                ps.addBatch();
+                pendientes = true;
+            }
+            if (pendientes) {
+                for (int filasInsertadas : ps.executeBatch()) {
+                    insertados += Math.max(filasInsertadas, 0);
+                }
+            }
+        }
+        return ConteoFusion.de(lote, insertados, actualizados);
+    }
+
+    private static Date fecha(LoteConsumoEnergia lote, int i) {
+        int fecha = lote.fecha(i);
+        return Date.valueOf(LocalDate.of(fecha / 10000, fecha / 100 % 100, fecha % 100));
+    }
+}
@@ -0,0 +1,128 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Buffer columnar reutilizable con los registros de energía de un lote de importación.
+ *
+ * <p>Los campos se guardan en arreglos primitivos paralelos para no crear un objeto por
+ * registro; el mismo lote se limpia y se vuelve a llenar en cada chunk.</p>
+ */
+public final class LoteConsumoEnergia {
+
+    private final long[] clientes;
+    private final int[] periodos;
+    private final int[] consumos;
+    private final long[] valoresCentavos;
+    private final int[] fechas;
+    private int tamano;
+
+    public LoteConsumoEnergia(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del lote debe ser mayor a cero");
+        }
+        this.clientes = new long[capacidad];
+        this.periodos = new int[capacidad];
+        this.consumos = new int[capacidad];
+        this.valoresCentavos = new long[capacidad];
+        this.fechas = new int[capacidad];
+    }
+
+    public void agregar(long clienteId, int periodo, int consumoKwh, long valorCentavos, int fecha) {
+        if (estaLleno()) {
+            throw new IllegalStateException("El lote esta lleno");
+        }
+        clientes[tamano] = clienteId;
+        periodos[tamano] = periodo;
+        consumos[tamano] = consumoKwh;
+        valoresCentavos[tamano] = valorCentavos;
+        fechas[tamano] = fecha;
+        tamano++;
+    }
+
+    public boolean estaLleno() {
+        return tamano == clientes.length;
+    }
+
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    public void limpiar() {
+        tamano = 0;
+    }
+
+    /**
+     * Copia la fila {@code desde} sobre la fila {@code hacia}; junto con {@link #truncar(int)}
+     * permite descartar filas compactando el lote sin copiarlo.
+     */
+    public void moverFila(int desde, int hacia) {
+        clientes[hacia] = clientes[desde];
+        periodos[hacia] = periodos[desde];
+        consumos[hacia] = consumos[desde];
+        valoresCentavos[hacia] = valoresCentavos[desde];
+        fechas[hacia] = fechas[desde];
+    }
+
+    public void truncar(int nuevoTamano) {
+        if (nuevoTamano < 0 || nuevoTamano > tamano) {
+            throw new IllegalArgumentException("Tamaño fuera del lote: " + nuevoTamano);
+        }
+        tamano = nuevoTamano;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public long clienteId(int i) {
+        return clientes[i];
+    }
+
+    public int periodo(int i) {
+        return periodos[i];
+    }
+
+    public int consumoKwh(int i) {
+        return consumos[i];
+    }
+
+    public long valorCentavos(int i) {
+        return valoresCentavos[i];
+    }
+
+    /**
+     * Clave {@code (cliente, periodo)} del registro empaquetada en un {@code long}
+     * (cliente de 10 dígitos seguido del periodo de 6).
+     */
+    public long clave(int i) {
+        return clientes[i] * 1_000_000L + periodos[i];
+    }
+
+    /**
+     * Filas del lote sin claves repetidas, quedándose con la última aparición de cada
+     * {@code (cliente, periodo)} y en el orden original.
+     */
+    public int[] filasSinDuplicados() {
+        Map<Long, Integer> ultimaFila = new HashMap<>(tamano * 2);
+        for (int i = 0; i < tamano; i++) {
+            ultimaFila.put(clave(i), i);
+        }
+        int[] filas = new int[ultimaFila.size()];
+        int n = 0;
+        for (int i = 0; i < tamano; i++) {
+            if (ultimaFila.get(clave(i)) == i) {
+                filas[n++] = i;
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Fecha del registro en formato numérico YYYYMMDD.
+     */
+    public int fecha(int i) {
+        return fechas[i];
+    }
+}
@@ -0,0 +1,59 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import com.serviciudad.domain.model.ParticionVencimiento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Persistencia del avance del marcado de vencidas por particion
+ * (tabla {@code facturas_vencimiento_particion}).
+ *
+ * <p>El avance de una particion se actualiza en la misma transaccion que marca sus facturas,
+ * de modo que el ultimo id guardado siempre corresponde a datos confirmados.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ParticionVencimientoRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ParticionVencimiento> listar(LocalDate fechaCorte) {
+        return jdbcTemplate.query(
+            "SELECT particion, id_desde, id_hasta, ultimo_id, facturas_marcadas FROM facturas_vencimiento_particion " +
+            "WHERE fecha_corte = ? ORDER BY particion",
+            (rs, fila) -> new ParticionVencimiento(fechaCorte, rs.getInt("particion"), rs.getLong("id_desde"),
+                rs.getLong("id_hasta"), rs.getLong("ultimo_id"), rs.getLong("facturas_marcadas")),
+            Date.valueOf(fechaCorte));
+    }
+
+    /**
+     * Reemplaza las particiones de cortes anteriores por las de un nuevo corte.
+     */
+    public void reemplazar(List<ParticionVencimiento> particiones) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("DELETE FROM facturas_vencimiento_particion");
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO facturas_vencimiento_particion (fecha_corte, particion, id_desde, id_hasta, ultimo_id, " +
+            "facturas_marcadas, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            particiones.stream()
+                .map(p -> new Object[] {Date.valueOf(p.getFechaCorte()), p.getNumero(), p.getIdDesde(),
+                    p.getIdHasta(), p.getUltimoId(), p.getFacturasMarcadas(), ahora})
+                .collect(Collectors.toList()));
+    }
+
+    public void avanzar(ParticionVencimiento particion, long ultimoId, int marcadas) {
+        jdbcTemplate.update(
+            "UPDATE facturas_vencimiento_particion SET ultimo_id = ?, facturas_marcadas = facturas_marcadas + ?, " +
+            "fecha_actualizacion = ? WHERE fecha_corte = ? AND particion = ?",
+            ultimoId, marcadas, Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(particion.getFechaCorte()),
+            particion.getNumero());
+    }
+}
@@ -0,0 +1,76 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Escritura masiva con {@code COPY ... FROM STDIN} del driver de PostgreSQL.
+ *
+ * <p>Las filas se codifican como CSV directamente en un buffer de bytes reutilizable
+ * y se envían al servidor en bloques, sin sentencias preparadas ni objetos por fila.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PostgresCopyConsumoEnergiaWriter implements ConsumoEnergiaBulkWriter {
+
+    static final String SQL_COPY =
+        "COPY consumo_energia (cliente_id, periodo, consumo, valor_pagar, fecha_lectura, estrato) " +
+        "FROM STDIN WITH (FORMAT csv)";
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+    private static final int LONGITUD_MAXIMA_FILA = 128;
+
+    @Override
+    public boolean soporta(String productoBaseDatos) {
+        return "PostgreSQL".equalsIgnoreCase(productoBaseDatos);
+    }
+
+    @Override
+    public void escribir(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException {
+        byte[] estratoBytes = estrato.getBytes(StandardCharsets.US_ASCII);
+        CopyIn copyIn = conexion.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY);
+        try {
+            byte[] buffer = new byte[TAMANO_BUFFER];
+            int posicion = 0;
+            for (int i = 0; i < lote.tamano(); i++) {
+                if (posicion > TAMANO_BUFFER - LONGITUD_MAXIMA_FILA) {
+                    copyIn.writeToCopy(buffer, 0, posicion);
+                    posicion = 0;
+                }
+                posicion = escribirFila(buffer, posicion, lote, i, estratoBytes);
+            }
+            if (posicion > 0) {
+                copyIn.writeToCopy(buffer, 0, posicion);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    static int escribirFila(byte[] buffer, int posicion, LoteConsumoEnergia lote, int i, byte[] estrato) {
+        int p = CodificadorAscii.escribirDigitos(buffer, posicion, lote.clienteId(i), 10);
+        buffer[p++] = ',';
+        p = CodificadorAscii.escribirDigitos(buffer, p, lote.periodo(i), 6);
+        buffer[p++] = ',';
+        p = CodificadorAscii.escribirNumero(buffer, p, lote.consumoKwh(i));
+        buffer[p++] = ',';
+        p = CodificadorAscii.escribirDecimal(buffer, p, lote.valorCentavos(i));
+        buffer[p++] = ',';
+        p = CodificadorAscii.escribirFecha(buffer, p, lote.fecha(i));
+        buffer[p++] = ',';
+        System.arraycopy(estrato, 0, buffer, p, estrato.length);
+        p += estrato.length;
+        buffer[p++] = '\n';
+        return p;
+    }
+}
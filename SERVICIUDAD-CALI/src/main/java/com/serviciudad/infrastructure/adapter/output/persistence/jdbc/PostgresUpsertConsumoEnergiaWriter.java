@@ -0,0 +1,92 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Fusión con {@code INSERT ... ON CONFLICT (cliente_id, periodo) DO UPDATE} de PostgreSQL.
+ *
+ * <p>Cada sentencia lleva hasta {@value #FILAS_POR_SENTENCIA} filas en un {@code VALUES}
+ * multi-fila. La actualización solo se aplica si algún valor cambió ({@code IS DISTINCT FROM}),
+ * así que reimportar un archivo igual no genera escrituras; {@code RETURNING (xmax = 0)}
+ * distingue las filas insertadas de las actualizadas y las que no aparecen quedaron igual.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PostgresUpsertConsumoEnergiaWriter implements ConsumoEnergiaUpsertWriter {
+
+    static final int FILAS_POR_SENTENCIA = 500;
+
+    private static final String SQL_INSERT =
+        "INSERT INTO consumo_energia AS c (cliente_id, periodo, consumo, valor_pagar, fecha_lectura, estrato) VALUES ";
+    private static final String SQL_CONFLICTO =
+        " ON CONFLICT (cliente_id, periodo) DO UPDATE SET consumo = EXCLUDED.consumo, " +
+        "valor_pagar = EXCLUDED.valor_pagar, fecha_lectura = EXCLUDED.fecha_lectura " +
+        "WHERE (c.consumo, c.valor_pagar, c.fecha_lectura) " +
+        "IS DISTINCT FROM (EXCLUDED.consumo, EXCLUDED.valor_pagar, EXCLUDED.fecha_lectura) " +
+        "RETURNING (xmax = 0) AS insertado";
+
+    @Override
+    public boolean soporta(String productoBaseDatos) {
+        return "PostgreSQL".equalsIgnoreCase(productoBaseDatos);
+    }
+
+    @Override
+    public ConteoFusion fusionar(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException {
+        int[] filas = lote.filasSinDuplicados();
+        long[] conteo = new long[2];
+        int completas = filas.length / FILAS_POR_SENTENCIA * FILAS_POR_SENTENCIA;
+        if (completas > 0) {
+            try (PreparedStatement ps = conexion.prepareStatement(sentencia(FILAS_POR_SENTENCIA))) {
+                for (int desde = 0; desde < completas; desde += FILAS_POR_SENTENCIA) {
+                    ejecutar(ps, lote, filas, desde, FILAS_POR_SENTENCIA, estrato, conteo);
+                }
+            }
+        }
+        int resto = filas.length - completas;
+        if (resto > 0) {
+            try (PreparedStatement ps = conexion.prepareStatement(sentencia(resto))) {
+                ejecutar(ps, lote, filas, completas, resto, estrato, conteo);
+            }
+        }
+        return ConteoFusion.de(lote, conteo[0], conteo[1]);
+    }
+
+    static String sentencia(int filas) {
+        StringBuilder sql = new StringBuilder(SQL_INSERT.length() + filas * 20 + SQL_CONFLICTO.length());
+        sql.append(SQL_INSERT);
+        for (int i = 0; i < filas; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+        return sql.append(SQL_CONFLICTO).toString();
+    }
+
+    private static void ejecutar(PreparedStatement ps, LoteConsumoEnergia lote, int[] filas, int desde, int cantidad,
+                                 String estrato, long[] conteo) throws SQLException {
+        int parametro = 1;
+        for (int k = desde; k < desde + cantidad; k++) {
+            int i = filas[k];
+            int fecha = lote.fecha(i);
+            ps.setString(parametro++, CodificadorAscii.texto(lote.clienteId(i), 10));
+            ps.setString(parametro++, CodificadorAscii.texto(lote.periodo(i), 6));
+            ps.setBigDecimal(parametro++, BigDecimal.valueOf(lote.consumoKwh(i)));
+            ps.setBigDecimal(parametro++, BigDecimal.valueOf(lote.valorCentavos(i), 2));
+            ps.setDate(parametro++, Date.valueOf(LocalDate.of(fecha / 10000, fecha / 100 % 100, fecha % 100)));
+            ps.setString(parametro++, estrato);
+        }
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                conteo[rs.getBoolean(1) ? 0 : 1]++;
+            }
+        }
+    }
+}
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "consumo_energia")
+@Table(name = "consumo_energia", uniqueConstraints = @UniqueConstraint(
+    name = "uk_consumo_energia_cliente_periodo", columnNames = {"cliente_id", "periodo"}))
 @Data
 @Builder
 @NoArgsConstructor
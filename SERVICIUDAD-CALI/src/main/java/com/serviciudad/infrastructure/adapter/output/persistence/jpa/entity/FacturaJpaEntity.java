@@ -11,7 +11,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "facturas_acueducto")
+@Table(name = "facturas_acueducto", uniqueConstraints = @UniqueConstraint(
+    name = "uk_cliente_periodo", columnNames = {"id_cliente", "periodo"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,15 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Sumas y conteos de los consumos de energia de un cliente calculados en la base de datos.
+ */
+public interface AgregadoConsumosProjection {
+
+    Long getTotal();
+
+    BigDecimal getDeuda();
+
+    BigDecimal getConsumo();
+}
@@ -0,0 +1,21 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection;
+
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
+
+import java.math.BigDecimal;
+
+/**
+ * Sumas y conteos de las facturas de un cliente en un estado, calculados en la base de datos.
+ */
+public interface AgregadoEstadoFacturasProjection {
+
+    EstadoFacturaJpa getEstado();
+
+    Long getTotal();
+
+    BigDecimal getValor();
+
+    Long getConsumo();
+
+    Long getProximasVencer();
+}
@@ -0,0 +1,16 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conteo y fechas de actualizacion de las facturas de un cliente, leidos del indice
+ * {@code idx_factura_cliente_actualizacion}.
+ */
+public interface VersionFacturasProjection {
+
+    Long getTotal();
+
+    LocalDateTime getUltimaActualizacion();
+
+    Number getSumaSegundos();
+}
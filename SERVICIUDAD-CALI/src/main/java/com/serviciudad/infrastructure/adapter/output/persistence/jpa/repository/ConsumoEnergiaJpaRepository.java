@@ -1,12 +1,15 @@
 package com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository;
 
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.ConsumoEnergiaJpaEntity;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoConsumosProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,8 +17,26 @@ public interface ConsumoEnergiaJpaRepository extends JpaRepository<ConsumoEnergi
     
     List<ConsumoEnergiaJpaEntity> findByClienteId(String clienteId);
     
+    /**
+     * Primera pagina del historial del cliente; recorre {@code uk_consumo_energia_cliente_periodo}
+     * en orden inverso.
+     */
+    List<ConsumoEnergiaJpaEntity> findByClienteIdOrderByPeriodoDesc(String clienteId, Limit limite);
+    
+    /**
+     * Pagina siguiente del historial: periodos anteriores al ultimo entregado.
+     */
+    List<ConsumoEnergiaJpaEntity> findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(String clienteId, String periodo,
+                                                                                      Limit limite);
+    
+    List<ConsumoEnergiaJpaEntity> findByClienteIdIn(Collection<String> clienteIds);
+    
     List<ConsumoEnergiaJpaEntity> findByClienteIdAndPeriodo(String clienteId, String periodo);
     
+    @Query("SELECT COUNT(c) AS total, COALESCE(SUM(c.valorPagar), 0) AS deuda, COALESCE(SUM(c.consumo), 0) AS consumo " +
+           "FROM ConsumoEnergiaJpaEntity c WHERE c.clienteId = :clienteId")
+    AgregadoConsumosProjection agregarPorCliente(@Param("clienteId") String clienteId);
+    
     @Query("SELECT c FROM ConsumoEnergiaJpaEntity c WHERE c.clienteId = :clienteId AND c.consumo > :umbral")
     List<ConsumoEnergiaJpaEntity> findConsumosElevados(@Param("clienteId") String clienteId, @Param("umbral") BigDecimal umbral);
 }
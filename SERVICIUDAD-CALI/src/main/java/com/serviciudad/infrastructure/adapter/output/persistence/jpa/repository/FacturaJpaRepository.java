@@ -2,21 +2,80 @@ package com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository
 
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoEstadoFacturasProjection;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.VersionFacturasProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FacturaJpaRepository extends JpaRepository<FacturaJpaEntity, Long> {
-    
+
+    int FILAS_POR_LECTURA = 1000;
+
     List<FacturaJpaEntity> findByClienteId(String clienteId);
     
+    /**
+     * Primera pagina del historial del cliente; recorre {@code idx_factura_cliente_periodo_desc}.
+     */
+    List<FacturaJpaEntity> findByClienteIdOrderByPeriodoDesc(String clienteId, Limit limite);
+    
+    /**
+     * Pagina siguiente del historial: periodos anteriores al ultimo entregado.
+     */
+    List<FacturaJpaEntity> findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(String clienteId, String periodo,
+                                                                               Limit limite);
+    
+    List<FacturaJpaEntity> findByClienteIdIn(Collection<String> clienteIds);
+    
     List<FacturaJpaEntity> findByClienteIdAndPeriodo(String clienteId, String periodo);
     
-    List<FacturaJpaEntity> findByEstado(EstadoFacturaJpa estado);
+    /**
+     * Facturas del periodo como cursor del servidor: el driver trae las filas de
+     * {@link #FILAS_POR_LECTURA} en {@link #FILAS_POR_LECTURA} en lugar de materializar el
+     * resultado completo (en PostgreSQL requiere una transaccion abierta). Las entidades se leen
+     * sin copia para dirty checking; quien consume el stream debe cerrarlo y desacoplar cada una.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FILAS_POR_LECTURA),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FacturaJpaEntity f WHERE f.periodo = :periodo ORDER BY f.id")
+    Stream<FacturaJpaEntity> streamByPeriodo(@Param("periodo") String periodo);
+    
+    /**
+     * Agregados de las facturas del cliente, una fila por estado. El filtro por la lista de
+     * estados permite resolver la busqueda con {@code idx_factura_estado_cliente (estado, id_cliente)}.
+     * Las proximas a vencer son las de vencimiento en {@code (hoy, limite]}; solo cuentan en la
+     * fila de las pendientes.
+     */
+    @Query("SELECT f.estado AS estado, COUNT(f) AS total, SUM(f.valorPagar) AS valor, SUM(f.consumo) AS consumo, " +
+           "COUNT(f) FILTER (WHERE f.fechaVencimiento > :hoy AND f.fechaVencimiento <= :limite) AS proximasVencer " +
+           "FROM FacturaJpaEntity f WHERE f.estado IN :estados AND f.clienteId = :clienteId GROUP BY f.estado")
+    List<AgregadoEstadoFacturasProjection> agregarPorEstado(@Param("clienteId") String clienteId,
+                                                            @Param("estados") Collection<EstadoFacturaJpa> estados,
+                                                            @Param("hoy") LocalDate hoy,
+                                                            @Param("limite") LocalDate limite);
     
-    Page<FacturaJpaEntity> findByEstado(EstadoFacturaJpa estado, Pageable pageable);
+    /**
+     * Huella de las facturas del cliente; solo lee columnas de
+     * {@code idx_factura_cliente_actualizacion (id_cliente, fecha_actualizacion)}, de modo que
+     * PostgreSQL la resuelve con un index-only scan.
+     */
+    @Query("SELECT COUNT(f) AS total, MAX(f.fechaActualizacion) AS ultimaActualizacion, " +
+           "COALESCE(SUM(EXTRACT(EPOCH FROM f.fechaActualizacion)), 0) AS sumaSegundos " +
+           "FROM FacturaJpaEntity f WHERE f.clienteId = :clienteId")
+    VersionFacturasProjection versionPorCliente(@Param("clienteId") String clienteId);
+    
+    List<FacturaJpaEntity> findByEstado(EstadoFacturaJpa estado);
 }
@@ -0,0 +1,165 @@
+package com.serviciudad.infrastructure.adapter.output.trabajo;
+
+import com.serviciudad.domain.exception.TrabajosSaturadosException;
+import com.serviciudad.domain.model.EstadoTrabajo;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.port.output.EjecutorTrabajosPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Trabajos asincronos en el ejecutor acotado {@code trabajosExecutor}, con su estado en memoria.
+ *
+ * <p>Si la cola del ejecutor esta llena el trabajo se rechaza de inmediato, en lugar de
+ * ejecutarse en el hilo de la peticion. La tasa se calcula con los elementos procesados desde el
+ * inicio y el tiempo restante con el total estimado por la operacion. Los trabajos terminados se
+ * descartan tras {@code trabajos.retencion-minutos}; el estado no sobrevive a un reinicio ni se
+ * comparte entre instancias.</p>
+ */
+@Slf4j
+@Component
+public class EjecutorTrabajosAdapter implements EjecutorTrabajosPort {
+
+    private final Executor executor;
+    private final Duration retencion;
+    private final Map<String, Seguimiento> trabajos = new ConcurrentHashMap<>();
+
+    public EjecutorTrabajosAdapter(@Qualifier("trabajosExecutor") Executor executor,
+                                   @Value("${trabajos.retencion-minutos:60}") long retencionMinutos) {
+        this.executor = executor;
+        this.retencion = Duration.ofMinutes(retencionMinutos);
+    }
+
+    @Override
+    public Trabajo enviar(String tipo, Consumer<ProgresoTrabajo> tarea) {
+        descartarAntiguos();
+        Seguimiento seguimiento = new Seguimiento(UUID.randomUUID().toString(), tipo);
+        trabajos.put(seguimiento.id, seguimiento);
+        try {
+            executor.execute(() -> ejecutar(seguimiento, tarea));
+        } catch (RejectedExecutionException e) {
+            trabajos.remove(seguimiento.id);
+            throw new TrabajosSaturadosException("La cola de trabajos esta llena; intente mas tarde");
+        }
+        log.info("Trabajo {} ({}) encolado", seguimiento.id, tipo);
+        return seguimiento.foto();
+    }
+
+    @Override
+    public Optional<Trabajo> consultar(String id) {
+        return Optional.ofNullable(trabajos.get(id)).map(Seguimiento::foto);
+    }
+
+    private void ejecutar(Seguimiento seguimiento, Consumer<ProgresoTrabajo> tarea) {
+        seguimiento.iniciar();
+        try {
+            tarea.accept(seguimiento);
+            seguimiento.terminar(EstadoTrabajo.COMPLETADO, null);
+            log.info("Trabajo {} ({}) completado: {} procesados, {} actualizados", seguimiento.id,
+                seguimiento.tipo, seguimiento.procesados.get(), seguimiento.actualizados.get());
+        } catch (RuntimeException e) {
+            seguimiento.terminar(EstadoTrabajo.FALLIDO, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.error("Trabajo {} ({}) fallido", seguimiento.id, seguimiento.tipo, e);
+        } catch (Throwable e) {
+            // Errores de la JVM (memoria, aserciones): el trabajo no debe quedar en ejecucion para siempre
+            seguimiento.terminar(EstadoTrabajo.FALLIDO, e.getMessage() != null
+                ? e.getClass().getSimpleName() + ": " + e.getMessage() : e.getClass().getSimpleName());
+            log.error("Trabajo {} ({}) fallido", seguimiento.id, seguimiento.tipo, e);
+            throw e;
+        }
+    }
+
+    private void descartarAntiguos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        trabajos.values().removeIf(t -> t.estado.esFinal() && t.fechaFin.isBefore(limite));
+    }
+
+    private static final class Seguimiento implements ProgresoTrabajo {
+
+        private final String id;
+        private final String tipo;
+        private final LocalDateTime fechaCreacion = LocalDateTime.now();
+        private final AtomicLong procesados = new AtomicLong();
+        private final AtomicLong actualizados = new AtomicLong();
+        private volatile EstadoTrabajo estado = EstadoTrabajo.EN_COLA;
+        private volatile LocalDateTime fechaInicio;
+        private volatile LocalDateTime fechaFin;
+        private volatile long inicioNanos;
+        private volatile long duracionNanos = -1;
+        private volatile long total = -1;
+        private volatile String error;
+
+        private Seguimiento(String id, String tipo) {
+            this.id = id;
+            this.tipo = tipo;
+        }
+
+        @Override
+        public void estimarTotal(long total) {
+            this.total = total;
+        }
+
+        @Override
+        public void registrar(long procesados, long actualizados) {
+            this.procesados.addAndGet(procesados);
+            this.actualizados.addAndGet(actualizados);
+        }
+
+        private void iniciar() {
+            inicioNanos = System.nanoTime();
+            fechaInicio = LocalDateTime.now();
+            estado = EstadoTrabajo.EN_EJECUCION;
+        }
+
+        private void terminar(EstadoTrabajo estadoFinal, String error) {
+            duracionNanos = System.nanoTime() - inicioNanos;
+            fechaFin = LocalDateTime.now();
+            this.error = error;
+            estado = estadoFinal;
+        }
+
+        private Trabajo foto() {
+            EstadoTrabajo actual = estado;
+            long hechos = procesados.get();
+            long estimado = total;
+            double tasa = 0;
+            if (actual != EstadoTrabajo.EN_COLA) {
+                long nanos = actual.esFinal() ? duracionNanos : System.nanoTime() - inicioNanos;
+                tasa = nanos > 0 ? hechos * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+            }
+            Long restantes = null;
+            if (actual == EstadoTrabajo.EN_EJECUCION && estimado >= 0 && tasa > 0) {
+                restantes = (long) Math.ceil(Math.max(0, estimado - hechos) / tasa);
+            }
+            return Trabajo.builder()
+                .id(id)
+                .tipo(tipo)
+                .estado(actual)
+                .fechaCreacion(fechaCreacion)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .total(estimado >= 0 ? estimado : null)
+                .procesados(hechos)
+                .actualizados(actualizados.get())
+                .procesadosPorSegundo(tasa)
+                .segundosRestantes(restantes)
+                .error(error)
+                .build();
+        }
+    }
+}
@@ -44,3 +44,17 @@ INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, es
 ('1018901235', '202510', 29, 145000.00, 'VENCIDA', '2025-11-15', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 ('1019012346', '202510', 24, 120000.00, 'PAGADA', '2025-11-15', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 ('1010123457', '202510', 27, 135000.00, 'PENDIENTE', '2025-11-15', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+-- ========================================
+-- RESUMEN DE DEUDA
+-- Las facturas anteriores no pasan por la aplicacion: el resumen se calcula aqui
+-- ========================================
+INSERT INTO deuda_resumen (cliente_id, deuda_acueducto, facturas_pendientes, facturas_vencidas, total_facturas, consumo_acueducto_m3)
+SELECT id_cliente,
+       SUM(CASE WHEN estado <> 'PAGADA' THEN valor_pagar ELSE 0 END),
+       COUNT(*) FILTER (WHERE estado = 'PENDIENTE'),
+       COUNT(*) FILTER (WHERE estado = 'VENCIDA'),
+       COUNT(*),
+       SUM(consumo_m3)
+FROM facturas_acueducto
+GROUP BY id_cliente;
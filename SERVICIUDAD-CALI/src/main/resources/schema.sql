@@ -13,7 +13,7 @@ CREATE TABLE facturas_acueducto (
     consumo_m3          INTEGER NOT NULL CHECK (consumo_m3 >= 0),
     valor_pagar         DECIMAL(12,2) NOT NULL CHECK (valor_pagar >= 0),
     estado              VARCHAR(20) NOT NULL DEFAULT 'PENDIENTE',
-    fecha_vencimiento   DATE,
+    fecha_vencimiento   DATE NOT NULL,
     fecha_creacion      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     
@@ -35,10 +35,10 @@ CREATE INDEX idx_facturas_fecha_vencimiento ON facturas_acueducto(fecha_vencimie
 -- Query pattern: SELECT * FROM facturas WHERE id_cliente = ? AND periodo = ?
 CREATE INDEX idx_factura_cliente_periodo ON facturas_acueducto(id_cliente, periodo);
 
--- Indice 2: Proceso batch de marcar facturas vencidas
--- Mejora rendimiento de: findFacturasPendientes() con paginacion
--- Query pattern: SELECT * FROM facturas WHERE estado = 'PENDIENTE' AND fecha_vencimiento < CURRENT_DATE ORDER BY fecha_vencimiento
-CREATE INDEX idx_factura_estado_fechavencimiento ON facturas_acueducto(estado, fecha_vencimiento);
+-- Indice 2: Procesos batch sobre facturas pendientes
+-- Mejora rendimiento de: VencimientoFacturasAdapter (marcado por lotes con recorrido keyset)
+-- Query pattern: SELECT id FROM facturas WHERE estado = 'PENDIENTE' AND fecha_vencimiento < ? AND (fecha_vencimiento, id) > (?, ?) ORDER BY fecha_vencimiento, id LIMIT ?
+CREATE INDEX idx_factura_estado_fechavencimiento ON facturas_acueducto(estado, fecha_vencimiento, id);
 
 -- Indice 3: Consultas historicas de consumo por cliente
 -- Mejora rendimiento de: findByClienteId() con ORDER BY periodo DESC
@@ -50,6 +50,11 @@ CREATE INDEX idx_factura_cliente_periodo_desc ON facturas_acueducto(id_cliente,
 -- Query pattern: SELECT * FROM facturas WHERE estado IN ('PENDIENTE', 'VENCIDA') AND id_cliente = ?
 CREATE INDEX idx_factura_estado_cliente ON facturas_acueducto(estado, id_cliente);
 
+-- Indice 5: Version de las facturas por cliente para ETags
+-- Mejora rendimiento de: versionPorCliente() con index-only scan
+-- Query pattern: SELECT COUNT(*), MAX(fecha_actualizacion), SUM(EXTRACT(EPOCH FROM fecha_actualizacion)) FROM facturas WHERE id_cliente = ?
+CREATE INDEX idx_factura_cliente_actualizacion ON facturas_acueducto(id_cliente, fecha_actualizacion);
+
 COMMENT ON TABLE facturas_acueducto IS 'Facturas consolidadas del servicio de acueducto';
 COMMENT ON COLUMN facturas_acueducto.id IS 'Identificador unico de la factura';
 COMMENT ON COLUMN facturas_acueducto.id_cliente IS 'Identificador del cliente (10 digitos)';
@@ -78,7 +83,9 @@ CREATE TABLE consumo_energia (
     estrato         VARCHAR(2) NOT NULL
 );
 
-CREATE INDEX idx_consumo_energia_cliente ON consumo_energia(cliente_id);
+-- Una lectura por cliente y periodo: permite la importacion idempotente (ON CONFLICT) y
+-- sirve tambien las busquedas por cliente como prefijo del indice
+CREATE UNIQUE INDEX uk_consumo_energia_cliente_periodo ON consumo_energia(cliente_id, periodo);
 CREATE INDEX idx_consumo_energia_periodo ON consumo_energia(periodo);
 
 COMMENT ON TABLE consumo_energia IS 'Consumos de energia electrica leidos del sistema';
@@ -87,4 +94,76 @@ COMMENT ON COLUMN consumo_energia.periodo IS 'Periodo de consumo YYYYMM';
 COMMENT ON COLUMN consumo_energia.consumo IS 'Consumo en kWh';
 COMMENT ON COLUMN consumo_energia.valor_pagar IS 'Valor a pagar en pesos colombianos';
 COMMENT ON COLUMN consumo_energia.fecha_lectura IS 'Fecha de lectura del medidor';
-COMMENT ON COLUMN consumo_energia.estrato IS 'Estrato socioeconomico del cliente';
\ No newline at end of file
+COMMENT ON COLUMN consumo_energia.estrato IS 'Estrato socioeconomico del cliente';
+
+-- =============================================================================
+-- Tabla: consumo_energia_importacion
+-- Descripcion: Checkpoint de la importacion masiva del archivo legacy de energia
+-- =============================================================================
+
+DROP TABLE IF EXISTS consumo_energia_importacion CASCADE;
+
+CREATE TABLE consumo_energia_importacion (
+    archivo              VARCHAR(500) PRIMARY KEY,
+    offset_bytes         BIGINT NOT NULL CHECK (offset_bytes >= 0),
+    registros_importados BIGINT NOT NULL DEFAULT 0,
+    clave_archivo        VARCHAR(200),
+    tamano_archivo       BIGINT,
+    longitud_cabecera    INTEGER,
+    checksum_cabecera    BIGINT,
+    fecha_actualizacion  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE consumo_energia_importacion IS 'Progreso de la importacion del archivo legacy de energia';
+COMMENT ON COLUMN consumo_energia_importacion.offset_bytes IS 'Byte del primer registro aun no confirmado';
+COMMENT ON COLUMN consumo_energia_importacion.registros_importados IS 'Registros confirmados acumulados';
+COMMENT ON COLUMN consumo_energia_importacion.clave_archivo IS 'Dispositivo e inodo del archivo leido, para detectar rotaciones';
+COMMENT ON COLUMN consumo_energia_importacion.checksum_cabecera IS 'CRC32 de los primeros longitud_cabecera bytes, para detectar reescrituras';
+
+-- =============================================================================
+-- Tabla: facturas_vencimiento_particion
+-- Descripcion: Avance del marcado programado de facturas vencidas por particion de ids
+-- =============================================================================
+
+DROP TABLE IF EXISTS facturas_vencimiento_particion CASCADE;
+
+CREATE TABLE facturas_vencimiento_particion (
+    fecha_corte          DATE NOT NULL,
+    particion            INTEGER NOT NULL,
+    id_desde             BIGINT NOT NULL,
+    id_hasta             BIGINT NOT NULL,
+    ultimo_id            BIGINT NOT NULL,
+    facturas_marcadas    BIGINT NOT NULL DEFAULT 0,
+    fecha_actualizacion  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (fecha_corte, particion)
+);
+
+COMMENT ON TABLE facturas_vencimiento_particion IS 'Progreso del marcado programado de facturas vencidas';
+COMMENT ON COLUMN facturas_vencimiento_particion.ultimo_id IS 'Ultimo id de factura procesado y confirmado en la particion';
+
+-- =============================================================================
+-- Tabla: deuda_resumen
+-- Descripcion: Modelo de lectura con el resumen de deuda por cliente. Se recalcula
+-- para los clientes afectados en la misma transaccion de cada cambio de facturas o
+-- importacion de energia; POST /api/deuda/resumen/reconstruir lo rehace completo
+-- =============================================================================
+
+DROP TABLE IF EXISTS deuda_resumen CASCADE;
+
+CREATE TABLE deuda_resumen (
+    cliente_id             VARCHAR(10) PRIMARY KEY,
+    deuda_acueducto        DECIMAL(14,2) NOT NULL DEFAULT 0,
+    facturas_pendientes    INTEGER NOT NULL DEFAULT 0,
+    facturas_vencidas      INTEGER NOT NULL DEFAULT 0,
+    total_facturas         INTEGER NOT NULL DEFAULT 0,
+    consumo_acueducto_m3   BIGINT NOT NULL DEFAULT 0,
+    deuda_energia          DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_consumos_energia INTEGER NOT NULL DEFAULT 0,
+    consumo_energia_kwh    DECIMAL(14,2) NOT NULL DEFAULT 0,
+    fecha_actualizacion    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE deuda_resumen IS 'Resumen de deuda por cliente (modelo de lectura)';
+COMMENT ON COLUMN deuda_resumen.deuda_acueducto IS 'Suma de las facturas de acueducto no pagadas';
+COMMENT ON COLUMN deuda_resumen.deuda_energia IS 'Suma de los consumos de energia registrados';
+COMMENT ON COLUMN deuda_resumen.fecha_actualizacion IS 'Fecha del ultimo recalculo del cliente';
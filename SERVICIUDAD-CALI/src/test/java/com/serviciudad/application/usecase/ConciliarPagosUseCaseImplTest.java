@@ -0,0 +1,96 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+import com.serviciudad.domain.port.output.ConciliacionPagosPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ConciliarPagosUseCaseImpl.
+ *
+ * Verifica que la conciliación delegue en el puerto con el progreso del trabajo y que la
+ * cache de deudas se invalide para los clientes de cada bloque confirmado, aunque un bloque
+ * posterior falle.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: ConciliarPagos - Tests Unitarios")
+class ConciliarPagosUseCaseImplTest {
+
+    @Mock
+    private ConciliacionPagosPort conciliacionPagos;
+
+    @Mock
+    private DeudaCachePort deudaCache;
+
+    @Mock
+    private ProgresoTrabajo progreso;
+
+    @InjectMocks
+    private ConciliarPagosUseCaseImpl useCase;
+
+    @SuppressWarnings("unchecked")
+    private static void confirmarBloque(InvocationOnMock invocacion, String... clientes) {
+        Set<ClienteId> confirmados = new LinkedHashSet<>();
+        for (String cliente : clientes) {
+            confirmados.add(ClienteId.of(cliente));
+        }
+        invocacion.getArgument(3, Consumer.class).accept(confirmados);
+    }
+
+    @Test
+    @DisplayName("Debe conciliar el archivo e invalidar la cache de los clientes de cada bloque")
+    void debeConciliarEInvalidarCache() {
+        ResultadoConciliacion esperado = ResultadoConciliacion.builder()
+            .archivo("pagos.txt").registrosLeidos(10).facturasPagadas(8).excepciones(2).build();
+        when(conciliacionPagos.conciliar(eq("pagos.txt"), any(), eq(progreso), any())).thenAnswer(invocacion -> {
+            confirmarBloque(invocacion, "0011234567", "0022345678");
+            confirmarBloque(invocacion, "0033456789");
+            return esperado;
+        });
+
+        ResultadoConciliacion resultado = useCase.conciliarArchivo("pagos.txt", progreso);
+
+        assertThat(resultado).isSameAs(esperado);
+        verify(deudaCache).invalidar(ClienteId.of("0011234567"));
+        verify(deudaCache).invalidar(ClienteId.of("0022345678"));
+        verify(deudaCache).invalidar(ClienteId.of("0033456789"));
+        verify(deudaCache, never()).invalidarTodo();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la cache de los bloques confirmados aunque la conciliación falle después")
+    void debeInvalidarCacheSiFalla() {
+        when(conciliacionPagos.conciliar(eq("pagos.txt"), any(), eq(progreso), any())).thenAnswer(invocacion -> {
+            confirmarBloque(invocacion, "0011234567");
+            throw new UncheckedIOException(new IOException("disco lleno"));
+        });
+
+        assertThatThrownBy(() -> useCase.conciliarArchivo("pagos.txt", progreso))
+            .isInstanceOf(UncheckedIOException.class);
+
+        verify(deudaCache).invalidar(ClienteId.of("0011234567"));
+        verifyNoMoreInteractions(deudaCache);
+    }
+}
@@ -1,6 +1,7 @@
 package com.serviciudad.application.usecase;
 
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.Pagina;
 import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
 import com.serviciudad.domain.valueobject.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -90,18 +91,33 @@ class ConsultarConsumoEnergiaUseCaseImplTest {
     void debeConsultarConsumosPorCliente() {
         // Arrange
         List<ConsumoEnergiaModel> consumosEsperados = Arrays.asList(consumo1, consumo2);
-        when(consumoEnergiaReader.findByClienteId(clienteId))
+        when(consumoEnergiaReader.findByClienteIdAntesDe(clienteId, null, 51))
             .thenReturn(consumosEsperados);
 
         // Act
-        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteId);
+        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteId, null, 50).getElementos();
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado).hasSize(2);
         assertThat(resultado).containsExactlyInAnyOrder(consumo1, consumo2);
         
-        verify(consumoEnergiaReader, times(1)).findByClienteId(clienteId);
+        verify(consumoEnergiaReader, times(1)).findByClienteIdAntesDe(clienteId, null, 51);
+    }
+
+    @Test
+    @DisplayName("Debe continuar desde el periodo del cursor y marcar la página siguiente")
+    void debeContinuarDesdeCursor() {
+        // Arrange
+        when(consumoEnergiaReader.findByClienteIdAntesDe(clienteId, Periodo.of("202502"), 2))
+            .thenReturn(Arrays.asList(consumo1, consumo2));
+
+        // Act
+        Pagina<ConsumoEnergiaModel> pagina = useCase.consultarConsumosPorCliente(clienteId, Periodo.of("202502"), 1);
+
+        // Assert
+        assertThat(pagina.getElementos()).containsExactly(consumo1);
+        assertThat(pagina.getSiguienteAntesDe()).isEqualTo(periodo202501);
     }
 
     @Test
@@ -109,17 +125,18 @@ class ConsultarConsumoEnergiaUseCaseImplTest {
     void debeRetornarListaVaciaCuandoClienteNoTieneConsumos() {
         // Arrange
         ClienteId clienteSinConsumos = new ClienteId("0000000000");
-        when(consumoEnergiaReader.findByClienteId(clienteSinConsumos))
+        when(consumoEnergiaReader.findByClienteIdAntesDe(clienteSinConsumos, null, 51))
             .thenReturn(Collections.emptyList());
 
         // Act
-        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteSinConsumos);
+        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteSinConsumos, null, 50)
+            .getElementos();
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado).isEmpty();
         
-        verify(consumoEnergiaReader, times(1)).findByClienteId(clienteSinConsumos);
+        verify(consumoEnergiaReader, times(1)).findByClienteIdAntesDe(clienteSinConsumos, null, 51);
     }
 
     @Test
@@ -213,11 +230,11 @@ class ConsultarConsumoEnergiaUseCaseImplTest {
     void debeValidarDatosCorrectosEnConsumos() {
         // Arrange
         List<ConsumoEnergiaModel> consumosEsperados = Arrays.asList(consumo1, consumo2);
-        when(consumoEnergiaReader.findByClienteId(clienteId))
+        when(consumoEnergiaReader.findByClienteIdAntesDe(clienteId, null, 51))
             .thenReturn(consumosEsperados);
 
         // Act
-        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteId);
+        List<ConsumoEnergiaModel> resultado = useCase.consultarConsumosPorCliente(clienteId, null, 50).getElementos();
 
         // Assert
         assertThat(resultado).allMatch(c -> c.getClienteId() != null);
@@ -0,0 +1,140 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.valueobject.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ConsultarDeudaLoteUseCaseImpl.
+ *
+ * Verifica la resolución por bloques con una consulta por fuente, el agrupamiento por
+ * cliente, el reporte de clientes no encontrados y el descarte de clientes repetidos.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Consultar Deuda en Lote - Tests Unitarios")
+class ConsultarDeudaLoteUseCaseImplTest {
+
+    private static final ClienteId CLIENTE_1 = ClienteId.of("1000000001");
+    private static final ClienteId CLIENTE_2 = ClienteId.of("1000000002");
+    private static final ClienteId CLIENTE_3 = ClienteId.of("1000000003");
+
+    @Mock
+    private FacturaRepositoryPort facturaRepository;
+
+    @Mock
+    private ConsumoEnergiaReaderPort consumoEnergiaReader;
+
+    private ConsultarDeudaLoteUseCaseImpl useCase;
+    private List<DeudaConsolidada> resultados;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ConsultarDeudaLoteUseCaseImpl(facturaRepository, consumoEnergiaReader, 2);
+        resultados = new ArrayList<>();
+    }
+
+    private static FacturaAcueducto factura(ClienteId clienteId, String periodo, String valor) {
+        return FacturaAcueducto.builder()
+            .id(FacturaId.of(1L))
+            .clienteId(clienteId)
+            .periodo(Periodo.of(periodo))
+            .consumo(ConsumoAgua.of(15))
+            .valorPagar(Dinero.of(new BigDecimal(valor)))
+            .estado(EstadoFactura.PENDIENTE)
+            .fechaVencimiento(LocalDate.now().plusDays(20))
+            .fechaCreacion(LocalDateTime.now())
+            .fechaActualizacion(LocalDateTime.now())
+            .build();
+    }
+
+    private static ConsumoEnergiaModel consumo(ClienteId clienteId, String valor) {
+        return ConsumoEnergiaModel.builder()
+            .clienteId(clienteId)
+            .periodo(Periodo.of("202501"))
+            .consumo(ConsumoEnergia.of(300))
+            .valorPagar(Dinero.of(new BigDecimal(valor)))
+            .fechaLectura(LocalDate.now())
+            .estrato("3")
+            .build();
+    }
+
+    @Test
+    @DisplayName("Debe consolidar cada cliente con las filas agrupadas de una consulta por fuente y bloque")
+    void debeConsolidarPorBloques() {
+        when(facturaRepository.findByClienteIds(List.of(CLIENTE_1, CLIENTE_2))).thenReturn(List.of(
+            factura(CLIENTE_1, "202501", "50000.00"),
+            factura(CLIENTE_2, "202501", "30000.00"),
+            factura(CLIENTE_1, "202502", "20000.00")));
+        when(consumoEnergiaReader.findByClienteIds(List.of(CLIENTE_1, CLIENTE_2)))
+            .thenReturn(List.of(consumo(CLIENTE_2, "10000.00")));
+        when(facturaRepository.findByClienteIds(List.of(CLIENTE_3))).thenReturn(List.of());
+        when(consumoEnergiaReader.findByClienteIds(List.of(CLIENTE_3)))
+            .thenReturn(List.of(consumo(CLIENTE_3, "40000.00")));
+
+        List<ClienteId> noEncontrados = useCase.consultarDeudaLote(List.of(CLIENTE_1, CLIENTE_2, CLIENTE_3), resultados::add);
+
+        assertThat(noEncontrados).isEmpty();
+        assertThat(resultados).extracting(DeudaConsolidada::getClienteId).containsExactly(CLIENTE_1, CLIENTE_2, CLIENTE_3);
+        assertThat(resultados.get(0).getTotalGeneral().getMonto()).isEqualByComparingTo("70000.00");
+        assertThat(resultados.get(0).getFacturasAcueducto()).hasSize(2);
+        assertThat(resultados.get(1).getTotalGeneral().getMonto()).isEqualByComparingTo("40000.00");
+        assertThat(resultados.get(2).getDeudaTotalEnergia().getMonto()).isEqualByComparingTo("40000.00");
+        verify(facturaRepository, times(2)).findByClienteIds(anyCollection());
+        verify(consumoEnergiaReader, times(2)).findByClienteIds(anyCollection());
+        verify(facturaRepository, never()).findByClienteId(any());
+    }
+
+    @Test
+    @DisplayName("Debe reportar los clientes sin facturas ni consumos sin fallar el lote")
+    void debeReportarNoEncontrados() {
+        when(facturaRepository.findByClienteIds(List.of(CLIENTE_1, CLIENTE_2)))
+            .thenReturn(List.of(factura(CLIENTE_2, "202501", "30000.00")));
+        when(consumoEnergiaReader.findByClienteIds(List.of(CLIENTE_1, CLIENTE_2))).thenReturn(List.of());
+
+        List<ClienteId> noEncontrados = useCase.consultarDeudaLote(List.of(CLIENTE_1, CLIENTE_2), resultados::add);
+
+        assertThat(noEncontrados).containsExactly(CLIENTE_1);
+        assertThat(resultados).extracting(DeudaConsolidada::getClienteId).containsExactly(CLIENTE_2);
+    }
+
+    @Test
+    @DisplayName("Debe consultar una sola vez los clientes repetidos")
+    void debeDescartarRepetidos() {
+        when(facturaRepository.findByClienteIds(List.of(CLIENTE_1))).thenReturn(List.of(factura(CLIENTE_1, "202501", "50000.00")));
+        when(consumoEnergiaReader.findByClienteIds(List.of(CLIENTE_1))).thenReturn(List.of());
+
+        useCase.consultarDeudaLote(List.of(CLIENTE_1, CLIENTE_1, CLIENTE_1), resultados::add);
+
+        assertThat(resultados).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de bloque no positivo")
+    void debeRechazarBloqueInvalido() {
+        assertThatThrownBy(() -> new ConsultarDeudaLoteUseCaseImpl(facturaRepository, consumoEnergiaReader, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,17 +1,23 @@
 package com.serviciudad.application.usecase;
 
+import com.serviciudad.domain.model.AgregadoConsumos;
+import com.serviciudad.domain.model.AgregadoFacturas;
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.DeudaConsolidadaResumen;
 import com.serviciudad.domain.model.EstadoFactura;
 import com.serviciudad.domain.model.FacturaAcueducto;
 import com.serviciudad.domain.port.output.ConsumoEnergiaReaderPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
 import com.serviciudad.domain.port.output.FacturaRepositoryPort;
 import com.serviciudad.domain.valueobject.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,6 +27,13 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +50,9 @@ import static org.mockito.Mockito.*;
  * - Cálculo correcto de estadísticas
  * - Manejo de listas vacías
  * - Validación de cálculos monetarios
+ * - Consulta en paralelo de ambas fuentes y deuda parcial por timeout
+ * - Cancelacion de la fuente lenta y deuda parcial con el ejecutor saturado
+ * - Uso de la cache de deudas (las parciales no se guardan)
  * 
  * @author Equipo ServiCiudad Cali
  * @version 1.0
@@ -51,8 +67,12 @@ class ConsultarDeudaUseCaseImplTest {
     @Mock
     private ConsumoEnergiaReaderPort consumoEnergiaReader;
 
-    @InjectMocks
+    @Mock
+    private DeudaCachePort deudaCache;
+
     private ConsultarDeudaUseCaseImpl useCase;
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
 
     private ClienteId clienteId;
     private FacturaAcueducto facturaPendiente;
@@ -63,6 +83,10 @@ class ConsultarDeudaUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        registry = new SimpleMeterRegistry();
+        useCase = new ConsultarDeudaUseCaseImpl(facturaRepository, consumoEnergiaReader, deudaCache, executor, 500, 500, registry);
+
         clienteId = new ClienteId("1234567890");
 
         // Factura pendiente
@@ -124,6 +148,11 @@ class ConsultarDeudaUseCaseImplTest {
             .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Test
     @DisplayName("Debe consultar deuda consolidada exitosamente")
     void debeConsultarDeudaConsolidada() {
@@ -328,4 +357,229 @@ class ConsultarDeudaUseCaseImplTest {
                 .isAfter(antes)
                 .isBefore(despues);
     }
+
+    @Test
+    @DisplayName("Debe consultar acueducto y energia en paralelo")
+    void debeConsultarFuentesEnParalelo() {
+        // Arrange - cada fuente espera a que la otra haya iniciado
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        when(facturaRepository.findByClienteId(clienteId)).thenAnswer(invocacion -> {
+            iniciadas.countDown();
+            assertThat(iniciadas.await(400, TimeUnit.MILLISECONDS)).isTrue();
+            Thread.sleep(50);
+            return List.of(facturaPendiente);
+        });
+        when(consumoEnergiaReader.findByClienteId(clienteId)).thenAnswer(invocacion -> {
+            iniciadas.countDown();
+            assertThat(iniciadas.await(400, TimeUnit.MILLISECONDS)).isTrue();
+            Thread.sleep(50);
+            return List.of(consumoEnergia1);
+        });
+
+        // Act
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        assertThat(resultado.isParcial()).isFalse();
+        assertThat(resultado.getFuentesNoDisponibles()).isEmpty();
+        assertThat(resultado.getFacturasAcueducto()).hasSize(1);
+        assertThat(resultado.getConsumosEnergia()).hasSize(1);
+        assertThat(registry.get("deuda.consulta.fuente").tag("fuente", "acueducto").timer().count()).isEqualTo(1);
+        assertThat(registry.get("deuda.consulta.fuente").tag("fuente", "energia").timer().count()).isEqualTo(1);
+        assertThat(registry.get("deuda.consulta.latencia.ahorrada").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("Debe registrar los medidores de cada fuente al crearse y no en cada consulta")
+    void debeRegistrarMedidoresUnaVez() {
+        // Arrange
+        int medidores = registry.getMeters().size();
+        when(facturaRepository.findByClienteId(clienteId)).thenReturn(List.of(facturaPendiente));
+        when(consumoEnergiaReader.findByClienteId(clienteId)).thenReturn(List.of(consumoEnergia1));
+
+        // Act
+        useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        assertThat(registry.getMeters()).hasSize(medidores);
+        for (String fuente : List.of("acueducto", "energia")) {
+            assertThat(registry.get("deuda.consulta.fuente").tag("fuente", fuente).timer().count()).isEqualTo(1);
+            assertThat(registry.get("deuda.consulta.parcial").tag("fuente", fuente).counter().count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe retornar deuda parcial cuando energía supera su timeout")
+    void debeRetornarDeudaParcialPorTimeout() {
+        // Arrange
+        when(facturaRepository.findByClienteId(clienteId)).thenReturn(List.of(facturaPendiente, facturaVencida));
+        when(consumoEnergiaReader.findByClienteId(clienteId)).thenAnswer(invocacion -> {
+            Thread.sleep(5_000);
+            return List.of(consumoEnergia1);
+        });
+
+        // Act
+        long inicio = System.nanoTime();
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+        long transcurridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertThat(transcurridoMs).isLessThan(2_000);
+        assertThat(resultado.isParcial()).isTrue();
+        assertThat(resultado.getFuentesNoDisponibles()).containsExactly("energia");
+        assertThat(resultado.getConsumosEnergia()).isEmpty();
+        assertThat(resultado.getDeudaTotalAcueducto().getMonto())
+                .isEqualByComparingTo(new BigDecimal("215000.00"));
+        assertThat(resultado.getAlertas()).anyMatch(alerta -> alerta.contains("parcial"));
+        assertThat(registry.get("deuda.consulta.parcial").tag("fuente", "energia").counter().count()).isEqualTo(1);
+        verify(deudaCache, never()).guardar(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe cancelar la lectura de la fuente que supera su timeout")
+    void debeCancelarFuenteQueSuperaTimeout() throws InterruptedException {
+        // Arrange
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        when(facturaRepository.findByClienteId(clienteId)).thenReturn(List.of(facturaPendiente));
+        when(consumoEnergiaReader.findByClienteId(clienteId)).thenAnswer(invocacion -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+                throw e;
+            }
+            return List.of(consumoEnergia1);
+        });
+
+        // Act
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        assertThat(resultado.getFuentesNoDisponibles()).containsExactly("energia");
+        assertThat(interrumpida.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe retornar deuda parcial sin ejecutar en el hilo de la peticion si el ejecutor rechaza la fuente")
+    void debeRetornarDeudaParcialSiEjecutorRechazaFuente() {
+        // Arrange - el ejecutor acepta la primera lectura (acueducto) y rechaza la segunda (energia)
+        AtomicInteger enviadas = new AtomicInteger();
+        useCase = new ConsultarDeudaUseCaseImpl(facturaRepository, consumoEnergiaReader, deudaCache, tarea -> {
+            if (enviadas.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("Cola llena");
+            }
+            executor.execute(tarea);
+        }, 500, 500, registry);
+        when(facturaRepository.findByClienteId(clienteId)).thenReturn(List.of(facturaPendiente));
+
+        // Act
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        assertThat(resultado.isParcial()).isTrue();
+        assertThat(resultado.getFuentesNoDisponibles()).containsExactly("energia");
+        assertThat(resultado.getFacturasAcueducto()).hasSize(1);
+        assertThat(registry.get("deuda.consulta.parcial").tag("fuente", "energia").counter().count()).isEqualTo(1);
+        verify(consumoEnergiaReader, never()).findByClienteId(any());
+        verify(deudaCache, never()).guardar(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe propagar el error de una fuente")
+    void debePropagarErrorDeFuente() {
+        // Arrange
+        when(facturaRepository.findByClienteId(clienteId)).thenThrow(new IllegalStateException("BD no disponible"));
+        // La consulta de energia puede no alcanzar a ejecutarse antes de que falle acueducto
+        lenient().when(consumoEnergiaReader.findByClienteId(clienteId)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.consultarDeudaConsolidada(clienteId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("BD no disponible");
+    }
+
+    @Test
+    @DisplayName("Debe consultar el resumen con los agregados de cada fuente sin cargar el detalle")
+    void debeConsultarResumenConAgregados() {
+        // Arrange
+        when(facturaRepository.agregarPorCliente(eq(clienteId), any(LocalDate.class))).thenReturn(AgregadoFacturas.builder()
+            .total(3).pendientes(1).vencidas(1).proximasVencer(1).consumoM3(60)
+            .deuda(Dinero.of(new BigDecimal("215000.00")))
+            .build());
+        when(consumoEnergiaReader.agregarPorCliente(clienteId)).thenReturn(AgregadoConsumos.builder()
+            .total(2).consumoKwh(770)
+            .deuda(Dinero.of(new BigDecimal("395000.00")))
+            .build());
+
+        // Act
+        DeudaConsolidadaResumen resultado = useCase.consultarDeudaResumen(clienteId);
+
+        // Assert
+        assertThat(resultado.getTotalGeneral().getMonto()).isEqualByComparingTo(new BigDecimal("610000.00"));
+        assertThat(resultado.getAlertas()).hasSize(2);
+        assertThat(resultado.getEstadisticas().getPromedioConsumoAcueducto()).isEqualTo(20.0);
+        assertThat(resultado.getEstadisticas().getPromedioConsumoEnergia()).isEqualTo(385.0);
+        assertThat(resultado.isParcial()).isFalse();
+        verify(facturaRepository).agregarPorCliente(clienteId, resultado.getFechaConsulta().toLocalDate());
+        verify(facturaRepository, never()).findByClienteId(any());
+        verify(consumoEnergiaReader, never()).findByClienteId(any());
+        verifyNoInteractions(deudaCache);
+    }
+
+    @Test
+    @DisplayName("Debe retornar un resumen parcial cuando energía supera su timeout")
+    void debeRetornarResumenParcialPorTimeout() {
+        // Arrange
+        when(facturaRepository.agregarPorCliente(eq(clienteId), any(LocalDate.class))).thenReturn(AgregadoFacturas.vacio());
+        when(consumoEnergiaReader.agregarPorCliente(clienteId)).thenAnswer(invocacion -> {
+            Thread.sleep(5_000);
+            return AgregadoConsumos.vacio();
+        });
+
+        // Act
+        DeudaConsolidadaResumen resultado = useCase.consultarDeudaResumen(clienteId);
+
+        // Assert
+        assertThat(resultado.isParcial()).isTrue();
+        assertThat(resultado.getFuentesNoDisponibles()).containsExactly("energia");
+        assertThat(resultado.getDeudaTotalEnergia().esCero()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe retornar la deuda en cache sin consultar las fuentes")
+    void debeRetornarDeudaEnCache() {
+        // Arrange
+        DeudaConsolidada enCache = DeudaConsolidada.construir(clienteId, List.of(facturaPendiente), List.of());
+        when(consumoEnergiaReader.versionDatos()).thenReturn(7L);
+        when(deudaCache.obtener(clienteId, 7L)).thenReturn(Optional.of(enCache));
+
+        // Act
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        assertThat(resultado).isSameAs(enCache);
+        verify(facturaRepository, never()).findByClienteId(any());
+        verify(consumoEnergiaReader, never()).findByClienteId(any());
+    }
+
+    @Test
+    @DisplayName("Debe guardar en cache la deuda calculada con la marca tomada antes de consultar")
+    void debeGuardarDeudaEnCache() {
+        // Arrange
+        when(consumoEnergiaReader.versionDatos()).thenReturn(7L);
+        when(deudaCache.marcaInvalidacion()).thenReturn(3L);
+        when(facturaRepository.findByClienteId(clienteId)).thenReturn(List.of(facturaPendiente));
+        when(consumoEnergiaReader.findByClienteId(clienteId)).thenReturn(List.of(consumoEnergia1));
+
+        // Act
+        DeudaConsolidada resultado = useCase.consultarDeudaConsolidada(clienteId);
+
+        // Assert
+        InOrder orden = inOrder(deudaCache, facturaRepository);
+        orden.verify(deudaCache).obtener(clienteId, 7L);
+        orden.verify(deudaCache).marcaInvalidacion();
+        orden.verify(facturaRepository).findByClienteId(clienteId);
+        orden.verify(deudaCache).guardar(resultado, 3L, 7L);
+    }
 }
@@ -0,0 +1,74 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.port.output.DeudaResumenPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Dinero;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ConsultarResumenDeudaUseCaseImpl.
+ *
+ * Verifica la lectura del resumen, el resumen vacío para clientes sin datos y la
+ * reconstrucción del modelo de lectura.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Consultar Resumen Deuda - Tests Unitarios")
+class ConsultarResumenDeudaUseCaseImplTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+
+    @Mock
+    private DeudaResumenPort deudaResumen;
+
+    @InjectMocks
+    private ConsultarResumenDeudaUseCaseImpl useCase;
+
+    @Test
+    @DisplayName("Debe retornar el resumen guardado del cliente")
+    void debeRetornarResumenGuardado() {
+        ResumenDeuda guardado = ResumenDeuda.builder()
+            .clienteId(CLIENTE)
+            .deudaAcueducto(Dinero.of(new BigDecimal("50000.00")))
+            .deudaEnergia(Dinero.cero())
+            .build();
+        when(deudaResumen.findByClienteId(CLIENTE)).thenReturn(Optional.of(guardado));
+
+        assertThat(useCase.consultarResumen(CLIENTE)).isSameAs(guardado);
+    }
+
+    @Test
+    @DisplayName("Debe retornar un resumen vacio si el cliente no tiene facturas ni consumos")
+    void debeRetornarResumenVacio() {
+        when(deudaResumen.findByClienteId(CLIENTE)).thenReturn(Optional.empty());
+
+        ResumenDeuda resumen = useCase.consultarResumen(CLIENTE);
+
+        assertThat(resumen.getClienteId()).isEqualTo(CLIENTE);
+        assertThat(resumen.tieneDeuda()).isFalse();
+        assertThat(resumen.promedioConsumoAcueducto()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir los resumenes y retornar el numero de clientes")
+    void debeReconstruirResumenes() {
+        when(deudaResumen.reconstruir()).thenReturn(7L);
+
+        assertThat(useCase.reconstruirResumenes()).isEqualTo(7L);
+        verify(deudaResumen).reconstruir();
+    }
+}
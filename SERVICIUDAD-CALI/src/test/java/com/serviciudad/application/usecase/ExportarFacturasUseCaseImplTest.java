@@ -0,0 +1,77 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.valueobject.Periodo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExportarFacturasUseCaseImpl.
+ *
+ * Verifica que las facturas del recorrido lleguen al destino y que se registren las filas
+ * exportadas y la duración.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Exportar Facturas - Tests Unitarios")
+class ExportarFacturasUseCaseImplTest {
+
+    private static final Periodo PERIODO = Periodo.of("202501");
+
+    @Mock
+    private FacturaRepositoryPort facturaRepository;
+
+    private SimpleMeterRegistry registry;
+    private ExportarFacturasUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        useCase = new ExportarFacturasUseCaseImpl(facturaRepository, registry);
+    }
+
+    @Test
+    @DisplayName("Debe entregar las facturas del periodo al destino y contar las filas")
+    void debeExportarFacturas() {
+        List<FacturaAcueducto> facturas = List.of(mock(FacturaAcueducto.class), mock(FacturaAcueducto.class));
+        when(facturaRepository.recorrerPorPeriodo(eq(PERIODO), any())).thenAnswer(invocacion -> {
+            Consumer<FacturaAcueducto> destino = invocacion.getArgument(1);
+            facturas.forEach(destino);
+            return (long) facturas.size();
+        });
+
+        List<FacturaAcueducto> recibidas = new ArrayList<>();
+        long total = useCase.exportarPorPeriodo(PERIODO, recibidas::add);
+
+        assertThat(total).isEqualTo(2);
+        assertThat(recibidas).containsExactlyElementsOf(facturas);
+        assertThat(registry.get("facturas.exportacion.filas").counter().count()).isEqualTo(2);
+        assertThat(registry.get("facturas.exportacion.duracion").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe calcular las filas por segundo de la exportación")
+    void debeCalcularFilasPorSegundo() {
+        assertThat(ExportarFacturasUseCaseImpl.filasPorSegundo(50_000, TimeUnit.MILLISECONDS.toNanos(250)))
+            .isEqualTo(200_000);
+        assertThat(ExportarFacturasUseCaseImpl.filasPorSegundo(0, 0)).isZero();
+    }
+}
@@ -2,13 +2,19 @@ package com.serviciudad.application.usecase;
 
 import com.serviciudad.domain.model.FacturaAcueducto;
 import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.Pagina;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.PosicionPendiente;
+import com.serviciudad.domain.model.ResultadoMarcadoVencidas;
+import com.serviciudad.domain.port.output.DeudaCachePort;
 import com.serviciudad.domain.port.output.FacturaRepositoryPort;
+import com.serviciudad.domain.port.output.VencimientoFacturasPort;
 import com.serviciudad.domain.valueobject.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -18,6 +24,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +39,8 @@ import static org.mockito.Mockito.*;
  * - Consulta de facturas por periodo
  * - Registro de pago de factura
  * - Anulación de factura
- * - Marcado masivo de facturas vencidas
+ * - Marcado de facturas vencidas por lotes
+ * - Invalidación de la deuda en cache del cliente afectado
  * 
  * @author Equipo ServiCiudad Cali
  * @version 1.0
@@ -41,10 +49,20 @@ import static org.mockito.Mockito.*;
 @DisplayName("Use Case: Gestionar Factura - Tests Unitarios")
 class GestionarFacturaUseCaseImplTest {
 
+    private static final int TAMANO_LOTE = 3;
+
     @Mock
     private FacturaRepositoryPort facturaRepository;
 
-    @InjectMocks
+    @Mock
+    private DeudaCachePort deudaCache;
+
+    @Mock
+    private VencimientoFacturasPort vencimientoFacturas;
+
+    @Mock
+    private ProgresoTrabajo progreso;
+
     private GestionarFacturaUseCaseImpl useCase;
 
     private FacturaId facturaId;
@@ -54,6 +72,8 @@ class GestionarFacturaUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
+        useCase = new GestionarFacturaUseCaseImpl(facturaRepository, deudaCache, vencimientoFacturas, TAMANO_LOTE);
+
         // Arrange - Datos de prueba comunes
         facturaId = new FacturaId(1L);
         clienteId = new ClienteId("1234567890");
@@ -126,11 +146,11 @@ class GestionarFacturaUseCaseImplTest {
 
         List<FacturaAcueducto> facturasEsperadas = Arrays.asList(factura, factura2);
 
-        when(facturaRepository.findByClienteId(clienteId))
+        when(facturaRepository.findByClienteIdAntesDe(clienteId, null, 51))
             .thenReturn(facturasEsperadas);
 
         // Act
-        List<FacturaAcueducto> resultado = useCase.consultarFacturasPorCliente(clienteId);
+        List<FacturaAcueducto> resultado = useCase.consultarFacturasPorCliente(clienteId, null, 50).getElementos();
 
         // Assert
         assertThat(resultado).isNotNull();
@@ -139,7 +159,43 @@ class GestionarFacturaUseCaseImplTest {
         assertThat(resultado).extracting("estado")
             .contains(EstadoFactura.PENDIENTE, EstadoFactura.VENCIDA);
 
-        verify(facturaRepository, times(1)).findByClienteId(clienteId);
+        verify(facturaRepository, times(1)).findByClienteIdAntesDe(clienteId, null, 51);
+    }
+
+    @Test
+    @DisplayName("Debe pedir una factura de más para saber si hay página siguiente")
+    void debeIndicarPaginaSiguiente() {
+        // Arrange
+        FacturaAcueducto anterior = FacturaAcueducto.builder()
+            .id(new FacturaId(2L))
+            .clienteId(clienteId)
+            .periodo(Periodo.of("202412"))
+            .consumo(ConsumoAgua.of(12))
+            .valorPagar(Dinero.of(new BigDecimal("80000.00")))
+            .fechaVencimiento(LocalDate.now().minusDays(20))
+            .fechaCreacion(LocalDateTime.now().minusDays(35))
+            .fechaActualizacion(LocalDateTime.now())
+            .estado(EstadoFactura.PAGADA)
+            .build();
+        when(facturaRepository.findByClienteIdAntesDe(clienteId, Periodo.of("202502"), 2))
+            .thenReturn(List.of(factura, anterior));
+
+        // Act
+        Pagina<FacturaAcueducto> pagina = useCase.consultarFacturasPorCliente(clienteId, Periodo.of("202502"), 1);
+
+        // Assert
+        assertThat(pagina.getElementos()).containsExactly(factura);
+        assertThat(pagina.getSiguienteAntesDe()).isEqualTo(factura.getPeriodo());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar límites de página fuera de rango")
+    void debeRechazarLimiteFueraDeRango() {
+        assertThatThrownBy(() -> useCase.consultarFacturasPorCliente(clienteId, null, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> useCase.consultarFacturasPorCliente(clienteId, null, Pagina.LIMITE_MAXIMO + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(facturaRepository);
     }
 
     @Test
@@ -147,17 +203,19 @@ class GestionarFacturaUseCaseImplTest {
     void debeRetornarListaVaciaCuandoClienteNoTieneFacturas() {
         // Arrange
         ClienteId clienteSinFacturas = new ClienteId("9999999999");
-        when(facturaRepository.findByClienteId(clienteSinFacturas))
+        when(facturaRepository.findByClienteIdAntesDe(clienteSinFacturas, null, 51))
             .thenReturn(List.of());
 
         // Act
-        List<FacturaAcueducto> resultado = useCase.consultarFacturasPorCliente(clienteSinFacturas);
+        Pagina<FacturaAcueducto> pagina = useCase.consultarFacturasPorCliente(clienteSinFacturas, null, 50);
+        List<FacturaAcueducto> resultado = pagina.getElementos();
 
         // Assert
         assertThat(resultado).isNotNull();
         assertThat(resultado).isEmpty();
+        assertThat(pagina.tieneSiguiente()).isFalse();
 
-        verify(facturaRepository, times(1)).findByClienteId(clienteSinFacturas);
+        verify(facturaRepository, times(1)).findByClienteIdAntesDe(clienteSinFacturas, null, 51);
     }
 
     @Test
@@ -196,6 +254,7 @@ class GestionarFacturaUseCaseImplTest {
         verify(facturaRepository, times(1)).save(argThat(f -> 
             f.getEstado() == EstadoFactura.PAGADA
         ));
+        verify(deudaCache).invalidar(factura.getClienteId());
     }
 
     @Test
@@ -213,6 +272,7 @@ class GestionarFacturaUseCaseImplTest {
 
         verify(facturaRepository, times(1)).findById(idInexistente);
         verify(facturaRepository, never()).save(any());
+        verifyNoInteractions(deudaCache);
     }
 
     @Test
@@ -232,6 +292,7 @@ class GestionarFacturaUseCaseImplTest {
         verify(facturaRepository, times(1)).save(argThat(f -> 
             f.getEstado() == EstadoFactura.ANULADA
         ));
+        verify(deudaCache).invalidar(factura.getClienteId());
     }
 
     @Test
@@ -249,94 +310,65 @@ class GestionarFacturaUseCaseImplTest {
 
         verify(facturaRepository, times(1)).findById(idInexistente);
         verify(facturaRepository, never()).save(any());
+        verifyNoInteractions(deudaCache);
     }
 
     @Test
-    @DisplayName("Debe marcar facturas vencidas exitosamente")
-    void debeMarcarFacturasVencidasExitosamente() {
+    @DisplayName("Debe marcar facturas vencidas por lotes, cada uno desde el anterior, hasta el primer lote incompleto")
+    void debeMarcarFacturasVencidasPorLotes() {
         // Arrange
-        FacturaAcueducto facturaVencida = FacturaAcueducto.builder()
-            .id(new FacturaId(2L))
-            .clienteId(clienteId)
-            .periodo(Periodo.of("202412"))
-            .consumo(ConsumoAgua.of(10))
-            .valorPagar(Dinero.of(new BigDecimal("75000.00")))
-            .fechaVencimiento(LocalDate.now().minusDays(5)) // Vencida
-            .fechaCreacion(LocalDateTime.now().minusDays(35))
-            .fechaActualizacion(LocalDateTime.now())
-            .estado(EstadoFactura.PENDIENTE)
-            .build();
-
-        FacturaAcueducto facturaNoVencida = FacturaAcueducto.builder()
-            .id(new FacturaId(3L))
-            .clienteId(clienteId)
-            .periodo(Periodo.of("202501"))
-            .consumo(ConsumoAgua.of(12))
-            .valorPagar(Dinero.of(new BigDecimal("85000.00")))
-            .fechaVencimiento(LocalDate.now().plusDays(12)) // No vencida
-            .fechaCreacion(LocalDateTime.now().minusDays(3))
-            .fechaActualizacion(LocalDateTime.now())
-            .estado(EstadoFactura.PENDIENTE)
-            .build();
-
-        List<FacturaAcueducto> facturasPendientes = Arrays.asList(facturaVencida, facturaNoVencida);
-
-        when(facturaRepository.findFacturasPendientes(0, 100))
-            .thenReturn(facturasPendientes);
-        when(facturaRepository.hasMoreFacturasPendientes(0, 100))
-            .thenReturn(false);
-        doNothing().when(facturaRepository).saveAll(any());
-        doNothing().when(facturaRepository).flush();
+        ClienteId otroCliente = ClienteId.of("0987654321");
+        PosicionPendiente primera = new PosicionPendiente(LocalDate.now().minusDays(20), 3);
+        PosicionPendiente segunda = new PosicionPendiente(LocalDate.now().minusDays(5), 6);
+        when(vencimientoFacturas.marcarVencidas(LocalDate.now(), null, TAMANO_LOTE))
+            .thenReturn(new LoteFacturasVencidas(3, Set.of(clienteId, otroCliente), primera));
+        when(vencimientoFacturas.marcarVencidas(LocalDate.now(), primera, TAMANO_LOTE))
+            .thenReturn(new LoteFacturasVencidas(3, Set.of(clienteId), segunda));
+        when(vencimientoFacturas.marcarVencidas(LocalDate.now(), segunda, TAMANO_LOTE))
+            .thenReturn(new LoteFacturasVencidas(1, Set.of(otroCliente), new PosicionPendiente(LocalDate.now(), 7)));
+
+        when(vencimientoFacturas.contarPorVencer(LocalDate.now())).thenReturn(7L);
 
         // Act
-        useCase.marcarFacturasVencidas();
+        ResultadoMarcadoVencidas resultado = useCase.marcarFacturasVencidas(progreso);
 
         // Assert
-        verify(facturaRepository, times(1)).findFacturasPendientes(0, 100);
-        verify(facturaRepository, times(1)).hasMoreFacturasPendientes(0, 100);
-        verify(facturaRepository, times(1)).saveAll(argThat(facturas -> {
-            List<FacturaAcueducto> lista = (List<FacturaAcueducto>) facturas;
-            // Verificar que solo facturaVencida cambió a VENCIDA
-            boolean facturaVencidaMarcada = lista.stream()
-                .anyMatch(f -> f.getId().equals(new FacturaId(2L)) && 
-                             f.getEstado() == EstadoFactura.VENCIDA);
-            // facturaNoVencida NO debe estar en la lista (solo se guardan las actualizadas)
-            return facturaVencidaMarcada && lista.size() == 1;
-        }));
-        verify(facturaRepository, times(1)).flush();
+        verify(progreso).estimarTotal(7);
+        verify(progreso, times(2)).registrar(3, 3);
+        verify(progreso).registrar(1, 1);
+        assertThat(resultado.getFechaCorte()).isEqualTo(LocalDate.now());
+        assertThat(resultado.getFacturasPorLote()).containsExactly(3, 3, 1);
+        assertThat(resultado.getFacturasMarcadas()).isEqualTo(7);
+        assertThat(resultado.getLotes()).isEqualTo(3);
+        verify(vencimientoFacturas, times(3)).marcarVencidas(eq(LocalDate.now()), any(), eq(TAMANO_LOTE));
+        verify(deudaCache, times(2)).invalidar(clienteId);
+        verify(deudaCache, times(2)).invalidar(otroCliente);
+        verifyNoInteractions(facturaRepository);
     }
 
     @Test
-    @DisplayName("Debe manejar correctamente lista vacía al marcar facturas vencidas")
-    void debeManejarListaVaciaAlMarcarFacturasVencidas() {
+    @DisplayName("Debe terminar sin lotes cuando no hay facturas vencidas")
+    void debeTerminarSinLotesCuandoNoHayVencidas() {
         // Arrange
-        when(facturaRepository.findFacturasPendientes(0, 100))
-            .thenReturn(List.of());
+        when(vencimientoFacturas.marcarVencidas(LocalDate.now(), null, TAMANO_LOTE))
+            .thenReturn(LoteFacturasVencidas.vacio());
 
         // Act
-        useCase.marcarFacturasVencidas();
+        ResultadoMarcadoVencidas resultado = useCase.marcarFacturasVencidas(progreso);
 
         // Assert
-        verify(facturaRepository, times(1)).findFacturasPendientes(0, 100);
-        verify(facturaRepository, never()).saveAll(any());
-        verify(facturaRepository, never()).flush();
-        verify(facturaRepository, never()).hasMoreFacturasPendientes(anyInt(), anyInt());
+        verify(progreso).estimarTotal(0);
+        verify(progreso, never()).registrar(anyLong(), anyLong());
+        assertThat(resultado.getFacturasMarcadas()).isZero();
+        assertThat(resultado.getFacturasPorLote()).isEmpty();
+        verify(vencimientoFacturas, times(1)).marcarVencidas(any(LocalDate.class), any(), anyInt());
+        verifyNoInteractions(deudaCache);
     }
 
     @Test
-    @DisplayName("No debe marcar como vencida una factura PAGADA")
-    void noDebeMarcarComoVencidaUnaFacturaPagada() {
-        // Arrange - findFacturasPendientes NO debe retornar facturas PAGADAS
-        when(facturaRepository.findFacturasPendientes(0, 100))
-            .thenReturn(List.of()); 
-
-        // Act
-        useCase.marcarFacturasVencidas();
-
-        // Assert
-        verify(facturaRepository, times(1)).findFacturasPendientes(0, 100);
-        verify(facturaRepository, never()).saveAll(any());
-        verify(facturaRepository, never()).flush();
-        verify(facturaRepository, never()).hasMoreFacturasPendientes(anyInt(), anyInt());
+    @DisplayName("Debe rechazar un tamaño de lote de vencimiento no positivo")
+    void debeRechazarTamanoLoteNoPositivo() {
+        assertThatThrownBy(() -> new GestionarFacturaUseCaseImpl(facturaRepository, deudaCache, vencimientoFacturas, 0))
+            .isInstanceOf(IllegalArgumentException.class);
     }
 }
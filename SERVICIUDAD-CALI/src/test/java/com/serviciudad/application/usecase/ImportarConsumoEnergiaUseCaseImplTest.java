@@ -0,0 +1,78 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.output.ConsumoEnergiaImportPort;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ImportarConsumoEnergiaUseCaseImpl.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Importar Consumo Energía - Tests Unitarios")
+class ImportarConsumoEnergiaUseCaseImplTest {
+
+    @Mock
+    private ConsumoEnergiaImportPort consumoEnergiaImport;
+
+    @Mock
+    private DeudaCachePort deudaCache;
+
+    @InjectMocks
+    private ImportarConsumoEnergiaUseCaseImpl useCase;
+
+    @Test
+    @DisplayName("Debe delegar la importacion al puerto de salida")
+    void debeDelegarImportacion() {
+        ResultadoImportacion esperado = ResultadoImportacion.builder()
+            .archivo("consumos.txt")
+            .registrosImportados(10)
+            .build();
+        when(consumoEnergiaImport.importar(true, ModoImportacion.AGREGAR)).thenReturn(esperado);
+
+        ResultadoImportacion resultado = useCase.importarArchivoLegacy(true, ModoImportacion.AGREGAR);
+
+        assertThat(resultado).isSameAs(esperado);
+        verify(consumoEnergiaImport).importar(true, ModoImportacion.AGREGAR);
+        verify(deudaCache).invalidarTodo();
+    }
+
+    @Test
+    @DisplayName("Debe delegar la importacion incremental de registros agregados")
+    void debeDelegarImportacionIncremental() {
+        ResultadoImportacion esperado = ResultadoImportacion.builder()
+            .archivo("consumos.txt")
+            .registrosLeidos(3)
+            .registrosImportados(3)
+            .archivoReemplazado(true)
+            .build();
+        when(consumoEnergiaImport.importarNuevosRegistros()).thenReturn(esperado);
+
+        assertThat(useCase.importarNuevosRegistros()).isSameAs(esperado);
+        verify(deudaCache).invalidarTodo();
+    }
+
+    @Test
+    @DisplayName("No debe invalidar la cache de deudas si no llegaron registros nuevos")
+    void noDebeInvalidarCacheSinRegistrosNuevos() {
+        when(consumoEnergiaImport.importarNuevosRegistros()).thenReturn(ResultadoImportacion.builder()
+            .archivo("consumos.txt")
+            .build());
+
+        useCase.importarNuevosRegistros();
+
+        verifyNoInteractions(deudaCache);
+    }
+}
@@ -0,0 +1,85 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.LotePagos;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.port.output.PagoFacturasPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.FacturaId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para RegistrarPagosLoteUseCaseImpl.
+ *
+ * Verifica que las facturas se procesen sin repetidas en bloques del tamaño configurado, que
+ * las no encontradas se reporten en su resultado y que se invalide la deuda en cache de los
+ * clientes con facturas pagadas.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: RegistrarPagosLote - Tests Unitarios")
+class RegistrarPagosLoteUseCaseImplTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+
+    @Mock
+    private PagoFacturasPort pagoFacturas;
+
+    @Mock
+    private DeudaCachePort deudaCache;
+
+    private RegistrarPagosLoteUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new RegistrarPagosLoteUseCaseImpl(pagoFacturas, deudaCache, 2);
+    }
+
+    private static FacturaId id(long valor) {
+        return FacturaId.of(valor);
+    }
+
+    @Test
+    @DisplayName("Debe procesar bloques sin repetidas y reportar cada factura en el orden solicitado")
+    void debeProcesarPorBloques() {
+        // Arrange
+        when(pagoFacturas.pagar(eq(List.of(id(5), id(1))), any()))
+            .thenReturn(new LotePagos(Map.of(id(5), ResultadoPago.PAGADA, id(1), ResultadoPago.YA_PAGADA), Set.of(CLIENTE)));
+        when(pagoFacturas.pagar(eq(List.of(id(8))), any()))
+            .thenReturn(new LotePagos(Map.of(), Set.of()));
+
+        // Act
+        Map<FacturaId, ResultadoPago> resultados = useCase.registrarPagos(List.of(id(5), id(1), id(5), id(8)));
+
+        // Assert
+        assertThat(resultados).containsExactly(
+            entry(id(5), ResultadoPago.PAGADA),
+            entry(id(1), ResultadoPago.YA_PAGADA),
+            entry(id(8), ResultadoPago.NO_ENCONTRADA));
+        verify(pagoFacturas, times(2)).pagar(any(), any());
+        verify(deudaCache, times(1)).invalidar(CLIENTE);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de bloque no positivo")
+    void debeRechazarTamanoDeBloqueInvalido() {
+        assertThatThrownBy(() -> new RegistrarPagosLoteUseCaseImpl(pagoFacturas, deudaCache, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.input.ConciliarPagosUseCase;
+import com.serviciudad.domain.port.input.GestionarFacturaUseCase;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import com.serviciudad.domain.port.output.EjecutorTrabajosPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para TrabajosUseCaseImpl.
+ *
+ * Verifica que cada operación se envíe al ejecutor con su tipo y que al ejecutarse
+ * reporte su avance.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Trabajos - Tests Unitarios")
+class TrabajosUseCaseImplTest {
+
+    @Mock
+    private EjecutorTrabajosPort ejecutorTrabajos;
+
+    @Mock
+    private GestionarFacturaUseCase gestionarFacturaUseCase;
+
+    @Mock
+    private ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+
+    @Mock
+    private ConciliarPagosUseCase conciliarPagosUseCase;
+
+    @Mock
+    private ProgresoTrabajo progreso;
+
+    @InjectMocks
+    private TrabajosUseCaseImpl useCase;
+
+    @SuppressWarnings("unchecked")
+    private Consumer<ProgresoTrabajo> tareaEnviada(String tipo) {
+        ArgumentCaptor<Consumer<ProgresoTrabajo>> tarea = ArgumentCaptor.forClass(Consumer.class);
+        verify(ejecutorTrabajos).enviar(eq(tipo), tarea.capture());
+        return tarea.getValue();
+    }
+
+    @Test
+    @DisplayName("Debe enviar el marcado de vencidas con el progreso del trabajo")
+    void debeEnviarMarcadoVencidas() {
+        useCase.lanzarMarcadoVencidas();
+
+        tareaEnviada(TrabajosUseCaseImpl.MARCADO_VENCIDAS).accept(progreso);
+
+        verify(gestionarFacturaUseCase).marcarFacturasVencidas(progreso);
+    }
+
+    @Test
+    @DisplayName("Debe enviar la importación de energía y reportar sus conteos")
+    void debeEnviarImportacionEnergia() {
+        when(importarConsumoEnergiaUseCase.importarArchivoLegacy(false, ModoImportacion.FUSIONAR))
+            .thenReturn(ResultadoImportacion.builder().registrosLeidos(40).registrosImportados(38).build());
+
+        useCase.lanzarImportacionEnergia(false, ModoImportacion.FUSIONAR);
+        verifyNoInteractions(importarConsumoEnergiaUseCase);
+        tareaEnviada(TrabajosUseCaseImpl.IMPORTACION_ENERGIA).accept(progreso);
+
+        verify(progreso).registrar(40, 38);
+    }
+
+    @Test
+    @DisplayName("Debe enviar la conciliación de pagos con el progreso del trabajo")
+    void debeEnviarConciliacionPagos() {
+        useCase.lanzarConciliacionPagos("pagos.txt");
+        verifyNoInteractions(conciliarPagosUseCase);
+        tareaEnviada(TrabajosUseCaseImpl.CONCILIACION_PAGOS).accept(progreso);
+
+        verify(conciliarPagosUseCase).conciliarArchivo("pagos.txt", progreso);
+    }
+}
@@ -0,0 +1,110 @@
+package com.serviciudad.application.usecase;
+
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.ParticionVencimiento;
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort;
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort.Bloqueo;
+import com.serviciudad.domain.port.output.DeudaCachePort;
+import com.serviciudad.domain.port.output.VencimientoFacturasPort;
+import com.serviciudad.domain.valueobject.ClienteId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para VencimientoProgramadoUseCaseImpl.
+ *
+ * Verifica que sin el bloqueo no se ejecute nada, que cada partición se recorra en tramos
+ * desde su avance guardado, que las completas no se vuelvan a recorrer, la invalidación de la
+ * cache y la liberación del bloqueo también cuando una partición falla.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Use Case: Vencimiento Programado - Tests Unitarios")
+class VencimientoProgramadoUseCaseImplTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+
+    @Mock
+    private VencimientoFacturasPort vencimientoFacturas;
+
+    @Mock
+    private BloqueoDistribuidoPort bloqueos;
+
+    @Mock
+    private DeudaCachePort deudaCache;
+
+    @Mock
+    private Bloqueo bloqueo;
+
+    private VencimientoProgramadoUseCaseImpl useCase;
+    private LocalDate hoy;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new VencimientoProgramadoUseCaseImpl(vencimientoFacturas, bloqueos, deudaCache, Runnable::run, 2, 10);
+        hoy = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("No debe marcar facturas si otra instancia tiene el bloqueo")
+    void noDebeEjecutarSinBloqueo() {
+        when(bloqueos.intentarAdquirir(VencimientoProgramadoUseCaseImpl.RECURSO)).thenReturn(Optional.empty());
+
+        assertThat(useCase.ejecutar()).isEmpty();
+
+        verifyNoInteractions(vencimientoFacturas, deudaCache);
+    }
+
+    @Test
+    @DisplayName("Debe recorrer en tramos las particiones pendientes desde su avance")
+    void debeRecorrerParticionesPendientesEnTramos() {
+        ParticionVencimiento completa = new ParticionVencimiento(hoy, 0, 1, 20, 20, 4);
+        ParticionVencimiento reanudada = new ParticionVencimiento(hoy, 1, 21, 45, 30, 1);
+        when(bloqueos.intentarAdquirir(VencimientoProgramadoUseCaseImpl.RECURSO)).thenReturn(Optional.of(bloqueo));
+        when(vencimientoFacturas.prepararParticiones(hoy, 2)).thenReturn(List.of(completa, reanudada));
+        when(vencimientoFacturas.marcarVencidasEnParticion(any(ParticionVencimiento.class), anyLong()))
+            .thenReturn(new LoteFacturasVencidas(2, Set.of(CLIENTE)));
+
+        List<ParticionVencimiento> resultado = useCase.ejecutar().orElseThrow();
+
+        verify(vencimientoFacturas).marcarVencidasEnParticion(reanudada, 40);
+        verify(vencimientoFacturas).marcarVencidasEnParticion(reanudada.avanzar(40, 2), 45);
+        verify(vencimientoFacturas, never()).marcarVencidasEnParticion(eq(completa), anyLong());
+        assertThat(resultado).extracting(ParticionVencimiento::getFacturasMarcadas).containsExactly(4L, 5L);
+        assertThat(resultado).allMatch(ParticionVencimiento::estaCompletada);
+        verify(deudaCache, times(2)).invalidar(CLIENTE);
+        verify(bloqueo).close();
+    }
+
+    @Test
+    @DisplayName("Debe liberar el bloqueo y propagar el error si una partición falla")
+    void debeLiberarBloqueoSiParticionFalla() {
+        ParticionVencimiento particion = ParticionVencimiento.nueva(hoy, 0, 1, 5);
+        when(bloqueos.intentarAdquirir(VencimientoProgramadoUseCaseImpl.RECURSO)).thenReturn(Optional.of(bloqueo));
+        when(vencimientoFacturas.prepararParticiones(hoy, 2)).thenReturn(List.of(particion));
+        when(vencimientoFacturas.marcarVencidasEnParticion(particion, 5))
+            .thenThrow(new IllegalStateException("conexion perdida"));
+
+        assertThatThrownBy(() -> useCase.ejecutar())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("conexion perdida");
+        verify(bloqueo).close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: consolidación de deuda para clientes con 10 a 10.000 facturas.
+ *
+ * Compara {@link DeudaConsolidada#construir} (una sola pasada con centavos en {@code long})
+ * contra la implementación anterior de varias pasadas con streams y {@code Dinero.sumar},
+ * reproducida aquí como referencia. Ambas deben dar los mismos totales.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.filtro=DeudaConsolidada
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeudaConsolidadaBenchmark {
+
+    private static final EstadoFactura[] ESTADOS = {
+        EstadoFactura.PENDIENTE, EstadoFactura.PENDIENTE, EstadoFactura.VENCIDA,
+        EstadoFactura.PAGADA, EstadoFactura.ANULADA
+    };
+
+    @Param({"10", "100", "1000", "10000"})
+    private int facturas;
+
+    private final ClienteId clienteId = ClienteId.of("1234567890");
+    private final Clock reloj = Clock.systemDefaultZone();
+    private List<FacturaAcueducto> facturasAcueducto;
+    private List<ConsumoEnergiaModel> consumosEnergia;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        LocalDate hoy = LocalDate.now();
+        facturasAcueducto = new ArrayList<>(facturas);
+        for (int i = 0; i < facturas; i++) {
+            facturasAcueducto.add(FacturaAcueducto.builder()
+                .id(FacturaId.of((long) i + 1))
+                .clienteId(clienteId)
+                .periodo(Periodo.of(Integer.toString(202001 + i % 12)))
+                .consumo(ConsumoAgua.of(random.nextInt(100)))
+                .valorPagar(Dinero.of(BigDecimal.valueOf(random.nextInt(50_000_000), 2)))
+                .estado(ESTADOS[random.nextInt(ESTADOS.length)])
+                .fechaVencimiento(hoy.plusDays(random.nextInt(30) - 15))
+                .fechaCreacion(LocalDateTime.now())
+                .fechaActualizacion(LocalDateTime.now())
+                .build());
+        }
+        consumosEnergia = new ArrayList<>(facturas);
+        for (int i = 0; i < facturas; i++) {
+            consumosEnergia.add(ConsumoEnergiaModel.builder()
+                .clienteId(clienteId)
+                .periodo(Periodo.of(Integer.toString(202001 + i % 12)))
+                .consumo(ConsumoEnergia.of(random.nextInt(1000)))
+                .valorPagar(Dinero.of(BigDecimal.valueOf(random.nextInt(50_000_000), 2)))
+                .fechaLectura(hoy)
+                .estrato("3")
+                .build());
+        }
+
+        DeudaConsolidada deuda = DeudaConsolidada.construir(clienteId, facturasAcueducto, consumosEnergia, List.of(), reloj);
+        Object[] referencia = consolidarVariasPasadas(facturasAcueducto, consumosEnergia);
+        if (!deuda.getTotalGeneral().equals(referencia[0]) || !deuda.getAlertas().equals(referencia[1])) {
+            throw new IllegalStateException("La consolidacion de una pasada difiere de la referencia");
+        }
+    }
+
+    @Benchmark
+    public DeudaConsolidada unaPasada() {
+        return DeudaConsolidada.construir(clienteId, facturasAcueducto, consumosEnergia, List.of(), reloj);
+    }
+
+    @Benchmark
+    public void variasPasadas(Blackhole blackhole) {
+        blackhole.consume(consolidarVariasPasadas(facturasAcueducto, consumosEnergia));
+    }
+
+    /**
+     * Implementación anterior: cada total, conteo y promedio en su propio recorrido.
+     */
+    private static Object[] consolidarVariasPasadas(List<FacturaAcueducto> facturas, List<ConsumoEnergiaModel> consumos) {
+        Dinero deudaAcueducto = facturas.stream()
+            .filter(f -> !f.isPagada())
+            .map(FacturaAcueducto::getValorPagar)
+            .reduce(Dinero.cero(), Dinero::sumar);
+        Dinero deudaEnergia = consumos.stream()
+            .map(ConsumoEnergiaModel::getValorPagar)
+            .reduce(Dinero.cero(), Dinero::sumar);
+
+        List<String> alertas = new ArrayList<>();
+        long vencidas = facturas.stream().filter(FacturaAcueducto::isVencida).count();
+        if (vencidas > 0) {
+            alertas.add("Tiene " + vencidas + " factura(s) vencida(s)");
+        }
+        long proximas = facturas.stream()
+            .filter(f -> f.isPendiente() && f.diasHastaVencimiento() <= 5 && f.diasHastaVencimiento() > 0)
+            .count();
+        if (proximas > 0) {
+            alertas.add("Tiene " + proximas + " factura(s) proxima(s) a vencer");
+        }
+
+        long facturasVencidas = facturas.stream().filter(FacturaAcueducto::isVencida).count();
+        long facturasPendientes = facturas.stream().filter(FacturaAcueducto::isPendiente).count();
+        double promedioAgua = facturas.stream().mapToInt(f -> f.getConsumo().getMetrosCubicos()).average().orElse(0.0);
+        double promedioEnergia = consumos.stream().mapToInt(c -> c.getConsumo().getKilovatiosHora()).average().orElse(0.0);
+        boolean tieneVencidas = facturas.stream().anyMatch(FacturaAcueducto::isVencida);
+
+        return new Object[] {
+            deudaAcueducto.sumar(deudaEnergia), alertas,
+            facturasVencidas, facturasPendientes, promedioAgua, promedioEnergia, tieneVencidas
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para DeudaConsolidadaResumen.
+ *
+ * Verifica que el resumen construido desde agregados coincida con la deuda consolidada
+ * construida desde las facturas y consumos equivalentes, y el marcado de resumen parcial.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Domain Model: DeudaConsolidadaResumen - Tests Unitarios")
+class DeudaConsolidadaResumenTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+    private static final Clock RELOJ = Clock.fixed(Instant.parse("2025-03-10T15:00:00Z"), ZoneOffset.UTC);
+
+    private static FacturaAcueducto factura(long id, EstadoFactura estado, String valor, int m3, LocalDate vencimiento) {
+        return FacturaAcueducto.builder()
+            .id(FacturaId.of(id))
+            .clienteId(CLIENTE)
+            .periodo(Periodo.of("2025" + String.format("%02d", id)))
+            .consumo(ConsumoAgua.of(m3))
+            .valorPagar(Dinero.of(new BigDecimal(valor)))
+            .estado(estado)
+            .fechaVencimiento(vencimiento)
+            .fechaCreacion(LocalDateTime.now(RELOJ))
+            .fechaActualizacion(LocalDateTime.now(RELOJ))
+            .build();
+    }
+
+    private static ConsumoEnergiaModel consumo(String valor, int kwh) {
+        return ConsumoEnergiaModel.builder()
+            .clienteId(CLIENTE)
+            .periodo(Periodo.of("202502"))
+            .consumo(ConsumoEnergia.of(kwh))
+            .valorPagar(Dinero.of(new BigDecimal(valor)))
+            .fechaLectura(LocalDate.now(RELOJ))
+            .estrato("3")
+            .build();
+    }
+
+    @Test
+    @DisplayName("Debe coincidir con la deuda consolidada construida desde el detalle")
+    void debeCoincidirConDeudaConsolidada() {
+        LocalDate hoy = LocalDate.now(RELOJ);
+        List<FacturaAcueducto> facturas = List.of(
+            factura(1, EstadoFactura.PENDIENTE, "50000.00", 10, hoy.plusDays(3)),
+            factura(2, EstadoFactura.PENDIENTE, "40000.00", 20, hoy.plusDays(20)),
+            factura(3, EstadoFactura.VENCIDA, "70000.00", 30, hoy.minusDays(10)),
+            factura(4, EstadoFactura.PAGADA, "90000.00", 25, hoy.minusDays(40)));
+        List<ConsumoEnergiaModel> consumos = List.of(consumo("150000.00", 300), consumo("120000.00", 250));
+        DeudaConsolidada deuda = DeudaConsolidada.construir(CLIENTE, facturas, consumos, List.of(), RELOJ);
+
+        DeudaConsolidadaResumen resumen = DeudaConsolidadaResumen.construir(CLIENTE,
+            AgregadoFacturas.builder().total(4).pendientes(2).vencidas(1).proximasVencer(1).consumoM3(85)
+                .deuda(Dinero.of(new BigDecimal("160000.00"))).build(),
+            AgregadoConsumos.builder().total(2).consumoKwh(550).deuda(Dinero.of(new BigDecimal("270000.00"))).build(),
+            List.of(), LocalDateTime.now(RELOJ));
+
+        assertThat(resumen.getTotalGeneral()).isEqualTo(deuda.getTotalGeneral());
+        assertThat(resumen.getDeudaTotalAcueducto()).isEqualTo(deuda.getDeudaTotalAcueducto());
+        assertThat(resumen.getDeudaTotalEnergia()).isEqualTo(deuda.getDeudaTotalEnergia());
+        assertThat(resumen.getAlertas()).isEqualTo(deuda.getAlertas());
+        assertThat(resumen.getFechaConsulta()).isEqualTo(deuda.getFechaConsulta());
+        assertThat(resumen.getEstadisticas())
+            .usingRecursiveComparison()
+            .isEqualTo(deuda.getEstadisticas());
+    }
+
+    @Test
+    @DisplayName("Debe marcar el resumen como parcial si una fuente no respondió")
+    void debeMarcarResumenParcial() {
+        DeudaConsolidadaResumen resumen = DeudaConsolidadaResumen.construir(CLIENTE,
+            AgregadoFacturas.vacio(), AgregadoConsumos.vacio(), List.of("energia"), LocalDateTime.now(RELOJ));
+
+        assertThat(resumen.isParcial()).isTrue();
+        assertThat(resumen.tieneDeuda()).isFalse();
+        assertThat(resumen.getAlertas()).containsExactly("Informacion parcial: no respondio energia");
+    }
+}
@@ -5,8 +5,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +23,7 @@ import static org.assertj.core.api.Assertions.*;
  * - Generación de alertas según estado de facturas
  * - Cálculo de estadísticas
  * - Consultas de deuda y facturas vencidas
+ * - Evaluación de vencimientos contra un solo reloj
  * 
  * @author Equipo ServiCiudad Cali
  * @version 1.0
@@ -187,6 +191,36 @@ class DeudaConsolidadaTest {
         assertThat(deuda.getDeudaTotalAcueducto()).isEqualTo(Dinero.of(new BigDecimal("400000.00")));
     }
     
+    @Test
+    @DisplayName("Debe evaluar vencimientos con el reloj de la consulta")
+    void debeEvaluarVencimientosConRelojDeConsulta() {
+        // Arrange - la consulta se hace el 2025-01-10
+        Clock reloj = Clock.fixed(Instant.parse("2025-01-10T23:59:59Z"), ZoneOffset.UTC);
+        LocalDate hoy = LocalDate.of(2025, 1, 10);
+        List<FacturaAcueducto> facturas = new ArrayList<>();
+        facturas.add(crearFacturaPendiente(1L, "10000.10", hoy));                // vence hoy
+        facturas.add(crearFacturaPendiente(2L, "20000.20", hoy.plusDays(1)));
+        facturas.add(crearFacturaPendiente(3L, "30000.30", hoy.plusDays(5)));
+        facturas.add(crearFacturaPendiente(4L, "40000.40", hoy.plusDays(6)));
+        facturas.add(crearFacturaVencida(5L, "50000.50", hoy.minusDays(3)));
+        
+        // Act
+        DeudaConsolidada deuda = DeudaConsolidada.construir(
+                new ClienteId("1234567890"), facturas, crearConsumosEnergia(), List.of(), reloj);
+        
+        // Assert
+        assertThat(deuda.getFechaConsulta()).isEqualTo(LocalDateTime.of(2025, 1, 10, 23, 59, 59));
+        assertThat(deuda.getAlertas()).containsExactly(
+                "Tiene 1 factura(s) vencida(s)",
+                "Tiene 2 factura(s) proxima(s) a vencer");
+        assertThat(deuda.getDeudaTotalAcueducto()).isEqualTo(Dinero.of("150001.50"));
+        assertThat(deuda.getTotalGeneral()).isEqualTo(Dinero.of("650001.50"));
+        assertThat(deuda.getEstadisticas().getFacturasPendientes()).isEqualTo(4);
+        assertThat(deuda.getEstadisticas().getPromedioConsumoAcueducto()).isEqualTo(26.0);
+        assertThat(deuda.getEstadisticas().getPromedioConsumoEnergia()).isEqualTo(375.0);
+        assertThat(deuda.tieneFacturasVencidas()).isTrue();
+    }
+    
     // ==== Métodos auxiliares de creación de datos de prueba ====
     
     private List<FacturaAcueducto> crearFacturasAcueducto() {
@@ -205,6 +239,10 @@ class DeudaConsolidadaTest {
     }
     
     private FacturaAcueducto crearFacturaPendiente(Long id, String valor) {
+        return crearFacturaPendiente(id, valor, LocalDate.now().plusDays(10));
+    }
+    
+    private FacturaAcueducto crearFacturaPendiente(Long id, String valor, LocalDate fechaVencimiento) {
         return FacturaAcueducto.builder()
                 .id(FacturaId.of(id))
                 .clienteId(new ClienteId("1234567890"))
@@ -212,7 +250,7 @@ class DeudaConsolidadaTest {
                 .consumo(ConsumoAgua.of(25))
                 .valorPagar(Dinero.of(new BigDecimal(valor)))
                 .estado(EstadoFactura.PENDIENTE)
-                .fechaVencimiento(LocalDate.now().plusDays(10))
+                .fechaVencimiento(fechaVencimiento)
                 .fechaCreacion(LocalDateTime.now())
                 .fechaActualizacion(LocalDateTime.now())
                 .build();
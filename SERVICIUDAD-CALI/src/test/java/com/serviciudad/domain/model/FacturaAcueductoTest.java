@@ -127,6 +127,34 @@ class FacturaAcueductoTest {
             .hasMessageContaining("No se puede pagar una factura anulada");
     }
     
+    @Test
+    @DisplayName("Debe aplicar el pago en lote según el estado de la factura")
+    void debeAplicarPagoEnLote() {
+        // Arrange
+        FacturaAcueducto anulada = FacturaAcueducto.builder()
+                .id(FacturaId.of(3L))
+                .estado(EstadoFactura.ANULADA)
+                .build();
+        
+        // Act & Assert
+        assertThat(factura.aplicarPago()).isEqualTo(ResultadoPago.PAGADA);
+        assertThat(factura.getEstado()).isEqualTo(EstadoFactura.PAGADA);
+        assertThat(factura.aplicarPago()).isEqualTo(ResultadoPago.YA_PAGADA);
+        assertThat(anulada.aplicarPago()).isEqualTo(ResultadoPago.ANULADA);
+        assertThat(anulada.getEstado()).isEqualTo(EstadoFactura.ANULADA);
+        assertThat(anulada.getFechaActualizacion()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el pago informado por un valor distinto al de la factura")
+    void debeValidarValorPagado() {
+        // Act & Assert
+        assertThat(factura.aplicarPago(Dinero.of(new BigDecimal("99999.00")))).isEqualTo(ResultadoPago.VALOR_DIFERENTE);
+        assertThat(factura.getEstado()).isEqualTo(EstadoFactura.PENDIENTE);
+        assertThat(factura.aplicarPago(Dinero.of(new BigDecimal("100000")))).isEqualTo(ResultadoPago.PAGADA);
+        assertThat(factura.aplicarPago(Dinero.of(new BigDecimal("1.00")))).isEqualTo(ResultadoPago.YA_PAGADA);
+    }
+
     @Test
     @DisplayName("Debe anular factura correctamente")
     void debeAnularFacturaCorrectamente() {
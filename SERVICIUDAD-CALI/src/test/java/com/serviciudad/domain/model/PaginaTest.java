@@ -0,0 +1,46 @@
+package com.serviciudad.domain.model;
+
+import com.serviciudad.domain.valueobject.Periodo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para Pagina.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Domain Model: Pagina - Tests Unitarios")
+class PaginaTest {
+
+    @Test
+    @DisplayName("Debe descartar la fila sobrante y continuar desde el último periodo entregado")
+    void debeContinuarDesdeUltimoPeriodo() {
+        Pagina<String> pagina = Pagina.de(List.of("202503", "202502", "202501"), 2, Periodo::of);
+
+        assertThat(pagina.getElementos()).containsExactly("202503", "202502");
+        assertThat(pagina.tieneSiguiente()).isTrue();
+        assertThat(pagina.getSiguienteAntesDe()).isEqualTo(Periodo.of("202502"));
+    }
+
+    @Test
+    @DisplayName("Debe marcar la última página cuando no sobran filas")
+    void debeMarcarUltimaPagina() {
+        assertThat(Pagina.de(List.of("202503", "202502"), 2, Periodo::of).tieneSiguiente()).isFalse();
+        assertThat(Pagina.de(List.<String>of(), 2, Periodo::of).getElementos()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe aceptar límites entre 1 y el máximo")
+    void debeValidarLimite() {
+        assertThatCode(() -> Pagina.validarLimite(1)).doesNotThrowAnyException();
+        assertThatCode(() -> Pagina.validarLimite(Pagina.LIMITE_MAXIMO)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> Pagina.validarLimite(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Pagina.validarLimite(Pagina.LIMITE_MAXIMO + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -236,4 +236,16 @@ class DineroTest {
         assertThat(dineroOriginal.getMonto()).isEqualByComparingTo(montoOriginal);
         assertThat(dineroSumado).isNotEqualTo(dineroOriginal);
     }
+
+    @Test
+    @DisplayName("Debe convertir a centavos y desde centavos sin perder precisión")
+    void debeConvertirCentavos() {
+        // Arrange
+        Dinero dinero = Dinero.of(new BigDecimal("123456.785"));
+
+        // Act & Assert
+        assertThat(dinero.enCentavos()).isEqualTo(12345679L);
+        assertThat(Dinero.deCentavos(12345679L)).isEqualTo(dinero);
+        assertThat(Dinero.deCentavos(-50L).getMonto()).isEqualByComparingTo("-0.50");
+    }
 }
@@ -3,6 +3,7 @@ package com.serviciudad.exception;
 import com.serviciudad.application.dto.request.RegistrarPagoRequest;
 import com.serviciudad.domain.exception.FacturaDuplicadaException;
 import com.serviciudad.domain.exception.FacturaNoEncontradaException;
+import com.serviciudad.domain.exception.TrabajosSaturadosException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -75,6 +77,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getTimestamp()).isNotNull();
     }
     
+    @Test
+    @DisplayName("Debe manejar TrabajosSaturadosException con código 503 y Retry-After")
+    void debeManejarTrabajosSaturadosException() {
+        // Arrange
+        TrabajosSaturadosException exception =
+            new TrabajosSaturadosException("La cola de trabajos esta llena; intente mas tarde");
+        
+        // Act
+        ResponseEntity<ErrorResponse> response =
+            exceptionHandler.handleTrabajosSaturados(exception, webRequest);
+        
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(503);
+        assertThat(response.getBody().getMessage()).isEqualTo("La cola de trabajos esta llena; intente mas tarde");
+    }
+    
     @Test
     @DisplayName("Debe manejar FacturaDuplicadaException con código 409")
     void debeManejarFacturaDuplicadaException() {
@@ -0,0 +1,121 @@
+package com.serviciudad.infrastructure.adapter.input.archivo;
+
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para SeguidorArchivoEnergia.
+ *
+ * Verifica que solo se importe cuando el archivo cambia y que el hilo de
+ * seguimiento detecte líneas agregadas tanto con WatchService como por sondeo.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Adapter: SeguidorArchivoEnergia - Tests Unitarios")
+class SeguidorArchivoEnergiaTest {
+
+    private static final String REGISTRO = "100123456720251000015000001800005020251115\n";
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = directorio.resolve("consumos_energia.txt");
+        Files.writeString(archivo, REGISTRO, StandardCharsets.US_ASCII);
+    }
+
+    private SeguidorArchivoEnergia crearSeguidor(boolean usarWatchService) {
+        return new SeguidorArchivoEnergia(importarConsumoEnergiaUseCase, archivo.toString(), 50, usarWatchService);
+    }
+
+    private void agregarRegistro() throws IOException {
+        Files.writeString(archivo, REGISTRO, StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    @DisplayName("Debe importar solo cuando el archivo cambia")
+    void debeImportarSoloConCambios() throws IOException {
+        when(importarConsumoEnergiaUseCase.importarNuevosRegistros())
+            .thenReturn(ResultadoImportacion.builder().build());
+        SeguidorArchivoEnergia seguidor = crearSeguidor(false);
+
+        assertThat(seguidor.revisar()).isTrue();
+        assertThat(seguidor.revisar()).isFalse();
+
+        agregarRegistro();
+        assertThat(seguidor.revisar()).isTrue();
+        verify(importarConsumoEnergiaUseCase, times(2)).importarNuevosRegistros();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar un archivo inexistente y reintentar tras un error de importacion")
+    void debeReintentarTrasError() throws IOException {
+        SeguidorArchivoEnergia seguidor = crearSeguidor(false);
+        Files.delete(archivo);
+        assertThat(seguidor.revisar()).isFalse();
+
+        Files.writeString(archivo, REGISTRO, StandardCharsets.US_ASCII);
+        when(importarConsumoEnergiaUseCase.importarNuevosRegistros())
+            .thenThrow(new IllegalStateException("Ya hay una importacion de energia en curso"))
+            .thenReturn(ResultadoImportacion.builder().build());
+
+        assertThat(seguidor.revisar()).isFalse();
+        assertThat(seguidor.revisar()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe detectar lineas agregadas con WatchService")
+    void debeSeguirConWatchService() throws Exception {
+        when(importarConsumoEnergiaUseCase.importarNuevosRegistros())
+            .thenReturn(ResultadoImportacion.builder().build());
+        SeguidorArchivoEnergia seguidor = crearSeguidor(true);
+        seguidor.iniciar();
+        try {
+            verify(importarConsumoEnergiaUseCase, timeout(5000).times(1)).importarNuevosRegistros();
+            agregarRegistro();
+            verify(importarConsumoEnergiaUseCase, timeout(5000).times(2)).importarNuevosRegistros();
+        } finally {
+            seguidor.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe detectar lineas agregadas solo con sondeo")
+    void debeSeguirPorSondeo() throws Exception {
+        when(importarConsumoEnergiaUseCase.importarNuevosRegistros())
+            .thenReturn(ResultadoImportacion.builder().build());
+        SeguidorArchivoEnergia seguidor = crearSeguidor(false);
+        seguidor.iniciar();
+        try {
+            verify(importarConsumoEnergiaUseCase, timeout(5000).times(1)).importarNuevosRegistros();
+            agregarRegistro();
+            verify(importarConsumoEnergiaUseCase, timeout(5000).times(2)).importarNuevosRegistros();
+        } finally {
+            seguidor.detener();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.serviciudad.infrastructure.adapter.input.programacion;
+
+import com.serviciudad.domain.port.input.VencimientoProgramadoUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ProgramadorVencimientoFacturas.
+ *
+ * Verifica que un fallo del ciclo no se propague (lo que cancelaría la programación) y que
+ * el hilo programado ejecute el marcado después del retraso inicial.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Adapter: ProgramadorVencimientoFacturas - Tests Unitarios")
+class ProgramadorVencimientoFacturasTest {
+
+    @Mock
+    private VencimientoProgramadoUseCase vencimientoProgramadoUseCase;
+
+    @Test
+    @DisplayName("Debe indicar si esta instancia coordinó el ciclo sin propagar errores")
+    void debeEjecutarCicloSinPropagarErrores() {
+        ProgramadorVencimientoFacturas programador = new ProgramadorVencimientoFacturas(vencimientoProgramadoUseCase, 0, 1000);
+        when(vencimientoProgramadoUseCase.ejecutar())
+            .thenReturn(Optional.of(List.of()))
+            .thenReturn(Optional.empty())
+            .thenThrow(new IllegalStateException("base de datos no disponible"));
+
+        assertThat(programador.ejecutar()).isTrue();
+        assertThat(programador.ejecutar()).isFalse();
+        assertThat(programador.ejecutar()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar el marcado en el hilo programado")
+    void debeEjecutarEnHiloProgramado() throws InterruptedException {
+        ProgramadorVencimientoFacturas programador = new ProgramadorVencimientoFacturas(vencimientoProgramadoUseCase, 0, 60000);
+        when(vencimientoProgramadoUseCase.ejecutar()).thenReturn(Optional.empty());
+
+        programador.iniciar();
+        try {
+            verify(vencimientoProgramadoUseCase, timeout(2000)).ejecutar();
+        } finally {
+            programador.detener();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.serviciudad.infrastructure.adapter.input.rest;
 
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.Pagina;
 import com.serviciudad.domain.port.input.ConsultarConsumoEnergiaUseCase;
 import com.serviciudad.domain.valueobject.*;
 import com.serviciudad.infrastructure.config.TestSecurityConfig;
@@ -20,6 +21,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -85,39 +88,74 @@ class ConsumoEnergiaRestControllerTest {
     @DisplayName("GET /api/consumos-energia/cliente/{clienteId} - Debe consultar consumos por cliente")
     void debeConsultarConsumosPorCliente() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(consumo1, consumo2));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(consumo1, consumo2), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-            .andExpect(jsonPath("$", hasSize(2)))
-            .andExpect(jsonPath("$[0].clienteId").value("1234567890"))
-            .andExpect(jsonPath("$[0].periodo").value("202501"))
-            .andExpect(jsonPath("$[0].consumo").value(350))
-            .andExpect(jsonPath("$[0].valorPagar").value(180000.00))
-            .andExpect(jsonPath("$[0].estrato").value("3"))
-            .andExpect(jsonPath("$[1].periodo").value("202502"))
-            .andExpect(jsonPath("$[1].consumo").value(320));
+            .andExpect(jsonPath("$.elementos", hasSize(2)))
+            .andExpect(jsonPath("$.elementos[0].clienteId").value("1234567890"))
+            .andExpect(jsonPath("$.elementos[0].periodo").value("202501"))
+            .andExpect(jsonPath("$.elementos[0].consumo").value(350))
+            .andExpect(jsonPath("$.elementos[0].valorPagar").value(180000.00))
+            .andExpect(jsonPath("$.elementos[0].estrato").value("3"))
+            .andExpect(jsonPath("$.elementos[1].periodo").value("202502"))
+            .andExpect(jsonPath("$.elementos[1].consumo").value(320));
 
         verify(consultarConsumoEnergiaUseCase, times(1))
-            .consultarConsumosPorCliente(any(ClienteId.class));
+            .consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("GET /api/consumos-energia/cliente/{clienteId} - Debe entregar el cursor de la página siguiente")
+    void debeEntregarCursorPaginaSiguiente() throws Exception {
+        // Arrange
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(1)))
+            .thenReturn(new Pagina<>(List.of(consumo2), consumo2.getPeriodo()));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(
+            any(ClienteId.class), eq(Periodo.of("202502")), eq(1)))
+            .thenReturn(new Pagina<>(List.of(consumo1), null));
+
+        // Act
+        String cursor = com.jayway.jsonpath.JsonPath.read(mockMvc.perform(
+                get("/api/consumos-energia/cliente/{clienteId}", "1234567890").param("limite", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elementos[0].periodo").value("202502"))
+            .andReturn().getResponse().getContentAsString(), "$.siguienteCursor");
+
+        // Assert
+        mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890")
+                .param("limite", "1")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elementos[0].periodo").value("202501"))
+            .andExpect(jsonPath("$.siguienteCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/consumos-energia/cliente/{clienteId} - Debe rechazar un cursor inválido")
+    void debeRechazarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890").param("cursor", "%%%"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(consultarConsumoEnergiaUseCase);
     }
 
     @Test
     @DisplayName("GET /api/consumos-energia/cliente/{clienteId} - Debe retornar lista vacía sin consumos")
     void debeRetornarListaVaciaSinConsumos() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of());
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "9999999999")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$", hasSize(0)));
+            .andExpect(jsonPath("$.elementos", hasSize(0)));
     }
 
     @Test
@@ -164,44 +202,44 @@ class ConsumoEnergiaRestControllerTest {
     @DisplayName("Debe incluir indicadores de consumo alto/bajo en respuesta")
     void debeIncluirIndicadoresConsumo() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(consumo1));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(consumo1), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$[0].consumoAlto").isBoolean())
-            .andExpect(jsonPath("$[0].consumoBajo").isBoolean());
+            .andExpect(jsonPath("$.elementos[0].consumoAlto").isBoolean())
+            .andExpect(jsonPath("$.elementos[0].consumoBajo").isBoolean());
     }
 
     @Test
     @DisplayName("Debe incluir todos los campos requeridos en la respuesta")
     void debeIncluirTodosCamposRequeridos() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(consumo1));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(consumo1), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$[0].clienteId").exists())
-            .andExpect(jsonPath("$[0].periodo").exists())
-            .andExpect(jsonPath("$[0].consumo").exists())
-            .andExpect(jsonPath("$[0].valorPagar").exists())
-            .andExpect(jsonPath("$[0].fechaLectura").exists())
-            .andExpect(jsonPath("$[0].estrato").exists())
-            .andExpect(jsonPath("$[0].consumoAlto").exists())
-            .andExpect(jsonPath("$[0].consumoBajo").exists());
+            .andExpect(jsonPath("$.elementos[0].clienteId").exists())
+            .andExpect(jsonPath("$.elementos[0].periodo").exists())
+            .andExpect(jsonPath("$.elementos[0].consumo").exists())
+            .andExpect(jsonPath("$.elementos[0].valorPagar").exists())
+            .andExpect(jsonPath("$.elementos[0].fechaLectura").exists())
+            .andExpect(jsonPath("$.elementos[0].estrato").exists())
+            .andExpect(jsonPath("$.elementos[0].consumoAlto").exists())
+            .andExpect(jsonPath("$.elementos[0].consumoBajo").exists());
     }
 
     @Test
     @DisplayName("Debe retornar Content-Type JSON correctamente")
     void debeRetornarContentTypeJson() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(consumo1));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(consumo1), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890"))
@@ -213,13 +251,13 @@ class ConsumoEnergiaRestControllerTest {
     @DisplayName("Debe serializar fechas en formato ISO-8601")
     void debeSerializarFechasCorrectamente() throws Exception {
         // Arrange
-        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(consumo1));
+        when(consultarConsumoEnergiaUseCase.consultarConsumosPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(consumo1), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/consumos-energia/cliente/{clienteId}", "1234567890")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$[0].fechaLectura").value("2025-01-15"));
+            .andExpect(jsonPath("$.elementos[0].fechaLectura").value("2025-01-15"));
     }
 }
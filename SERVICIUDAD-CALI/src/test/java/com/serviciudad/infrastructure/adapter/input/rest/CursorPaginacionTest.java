@@ -0,0 +1,50 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.valueobject.Periodo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para CursorPaginacion.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("REST: CursorPaginacion - Tests Unitarios")
+class CursorPaginacionTest {
+
+    @Test
+    @DisplayName("Debe recuperar el periodo codificado en el cursor")
+    void debeRecuperarPeriodo() {
+        String cursor = CursorPaginacion.codificar(Periodo.of("202412"));
+
+        assertThat(cursor).doesNotContain("202412").matches("[A-Za-z0-9_-]+");
+        assertThat(CursorPaginacion.decodificar(cursor)).isEqualTo(Periodo.of("202412"));
+    }
+
+    @Test
+    @DisplayName("Debe tratar la ausencia de cursor como la primera página")
+    void debeTratarAusenciaComoPrimeraPagina() {
+        assertThat(CursorPaginacion.codificar(null)).isNull();
+        assertThat(CursorPaginacion.decodificar(null)).isNull();
+        assertThat(CursorPaginacion.decodificar("")).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores que no generó el servicio")
+    void debeRechazarCursoresAjenos() {
+        String sinVersion = Base64.getUrlEncoder().encodeToString("202412".getBytes(StandardCharsets.US_ASCII));
+        String periodoInvalido = Base64.getUrlEncoder().encodeToString("v1:209913".getBytes(StandardCharsets.US_ASCII));
+
+        for (String cursor : new String[] {"%%%", sinVersion, periodoInvalido}) {
+            assertThatThrownBy(() -> CursorPaginacion.decodificar(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor de paginacion invalido");
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.serviciudad.infrastructure.adapter.input.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serviciudad.application.dto.request.ConsultarDeudaLoteRequest;
 import com.serviciudad.application.dto.request.ConsultarDeudaRequest;
 import com.serviciudad.application.mapper.DeudaMapper;
 import com.serviciudad.domain.model.*;
+import com.serviciudad.domain.port.input.ConsultarDeudaLoteUseCase;
 import com.serviciudad.domain.port.input.ConsultarDeudaUseCase;
+import com.serviciudad.domain.port.input.ConsultarResumenDeudaUseCase;
+import com.serviciudad.domain.port.input.ConsultarVersionDatosUseCase;
 import com.serviciudad.domain.valueobject.*;
 import com.serviciudad.infrastructure.config.TestSecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +21,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,9 +29,17 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,7 +52,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 
  * Cobertura:
  * - POST /api/deuda/consultar
- * - GET /api/deuda/cliente/{clienteId}
+ * - GET /api/deuda/cliente/{clienteId} (vistas completa y resumen, ETag y 304)
+ * - GET /api/deuda/cliente/{clienteId}/resumen
+ * - POST /api/deuda/resumen/reconstruir
+ * - POST /api/deuda/lote
  * - Validación de inputs
  * - Manejo de errores
  * - Serialización JSON correcta
@@ -47,7 +64,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @version 1.0
  */
 @WebMvcTest(DeudaRestController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, RespuestaCondicional.class, SimpleMeterRegistry.class})
 @DisplayName("REST Controller: Deuda - Tests MockMvc")
 class DeudaRestControllerTest {
 
@@ -60,6 +77,15 @@ class DeudaRestControllerTest {
     @MockBean
     private ConsultarDeudaUseCase consultarDeudaUseCase;
 
+    @MockBean
+    private ConsultarResumenDeudaUseCase consultarResumenDeudaUseCase;
+
+    @MockBean
+    private ConsultarDeudaLoteUseCase consultarDeudaLoteUseCase;
+
+    @MockBean
+    private ConsultarVersionDatosUseCase consultarVersionDatosUseCase;
+
     private DeudaConsolidada deudaMock;
     private ClienteId clienteId;
 
@@ -94,6 +120,12 @@ class DeudaRestControllerTest {
         List<ConsumoEnergiaModel> consumos = List.of(consumo);
 
         deudaMock = DeudaConsolidada.construir(clienteId, facturas, consumos);
+        when(consultarVersionDatosUseCase.versionDeuda(any(ClienteId.class))).thenReturn(version(1L));
+    }
+
+    private VersionDatosCliente version(long versionEnergia) {
+        return new VersionDatosCliente(clienteId,
+            new VersionFacturas(1, LocalDateTime.of(2025, 1, 1, 10, 0), 1735725600L), versionEnergia, LocalDate.now());
     }
 
     @Test
@@ -253,4 +285,172 @@ class DeudaRestControllerTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+
+    @Test
+    @DisplayName("Debe retornar el resumen de deuda del cliente")
+    void debeRetornarResumenDeDeuda() throws Exception {
+        // Arrange
+        ResumenDeuda resumen = ResumenDeuda.builder()
+            .clienteId(clienteId)
+            .deudaAcueducto(Dinero.of(new BigDecimal("95000.00")))
+            .facturasPendientes(1)
+            .totalFacturasAcueducto(2)
+            .consumoAcueductoM3(30)
+            .deudaEnergia(Dinero.of(new BigDecimal("180000.00")))
+            .totalConsumosEnergia(1)
+            .consumoEnergiaKwh(350)
+            .fechaActualizacion(LocalDateTime.now())
+            .build();
+        when(consultarResumenDeudaUseCase.consultarResumen(any(ClienteId.class))).thenReturn(resumen);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/deuda/cliente/1234567890/resumen"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.clienteId").value("1234567890"))
+            .andExpect(jsonPath("$.totalGeneral").value(275000.00))
+            .andExpect(jsonPath("$.facturasPendientes").value(1))
+            .andExpect(jsonPath("$.promedioConsumoAcueducto").value(15.0))
+            .andExpect(jsonPath("$.facturasAcueducto").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir los resumenes y retornar el numero de clientes")
+    void debeReconstruirResumenes() throws Exception {
+        // Arrange
+        when(consultarResumenDeudaUseCase.reconstruirResumenes()).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/deuda/resumen/reconstruir"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.clientes").value(42));
+    }
+
+    @Test
+    @DisplayName("POST /api/deuda/lote - Debe retornar una deuda por cliente y reportar los no encontrados")
+    void debeConsultarDeudaEnLote() throws Exception {
+        // Arrange
+        doAnswer(invocacion -> {
+            Consumer<DeudaConsolidada> resultado = invocacion.getArgument(1);
+            resultado.accept(deudaMock);
+            return List.of(ClienteId.of("0987654321"));
+        }).when(consultarDeudaLoteUseCase).consultarDeudaLote(anyList(), any());
+        ConsultarDeudaLoteRequest request = new ConsultarDeudaLoteRequest(List.of("1234567890", "0987654321"));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/deuda/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.resultados", hasSize(1)))
+            .andExpect(jsonPath("$.resultados[0].clienteId").value("1234567890"))
+            .andExpect(jsonPath("$.resultados[0].totalGeneral").value(275000.00))
+            .andExpect(jsonPath("$.noEncontrados", contains("0987654321")))
+            .andExpect(jsonPath("$.totalSolicitados").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/deuda/lote - Debe rechazar lotes vacíos, con IDs inválidos o mayores al máximo")
+    void debeValidarLote() throws Exception {
+        List<String> demasiados = IntStream.rangeClosed(0, ConsultarDeudaLoteRequest.MAXIMO_CLIENTES)
+            .mapToObj(i -> String.format("%010d", i))
+            .collect(Collectors.toList());
+
+        for (List<String> clientes : List.of(List.<String>of(), List.of("123"), demasiados)) {
+            mockMvc.perform(post("/api/deuda/lote")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new ConsultarDeudaLoteRequest(clientes))))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/deuda/cliente/{clienteId}?vista=resumen - Debe retornar solo totales, alertas y estadísticas")
+    void debeRetornarVistaResumen() throws Exception {
+        // Arrange
+        DeudaConsolidadaResumen resumen = DeudaConsolidadaResumen.construir(clienteId,
+            AgregadoFacturas.builder().total(1).pendientes(1).consumoM3(15)
+                .deuda(Dinero.of(new BigDecimal("95000.00"))).build(),
+            AgregadoConsumos.builder().total(1).consumoKwh(350)
+                .deuda(Dinero.of(new BigDecimal("180000.00"))).build(),
+            List.of(), LocalDateTime.now());
+        when(consultarDeudaUseCase.consultarDeudaResumen(any(ClienteId.class))).thenReturn(resumen);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/deuda/cliente/1234567890").param("vista", "resumen"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalGeneral").value(275000.00))
+            .andExpect(jsonPath("$.alertas").isArray())
+            .andExpect(jsonPath("$.estadisticas.totalFacturasAcueducto").value(1))
+            .andExpect(jsonPath("$.facturasAcueducto").doesNotExist())
+            .andExpect(jsonPath("$.consumosEnergia").doesNotExist());
+        verify(consultarDeudaUseCase, never()).consultarDeudaConsolidada(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/deuda/cliente/{clienteId}?vista=otra - Debe rechazar una vista desconocida")
+    void debeRechazarVistaDesconocida() throws Exception {
+        mockMvc.perform(get("/api/deuda/cliente/1234567890").param("vista", "otra"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/deuda/cliente/{clienteId} - Debe responder 304 sin consolidar con un ETag vigente")
+    void debeResponderNoModificadoConEtagVigente() throws Exception {
+        // Arrange
+        when(consultarDeudaUseCase.consultarDeudaConsolidada(any(ClienteId.class))).thenReturn(deudaMock);
+        when(consultarDeudaUseCase.consultarDeudaResumen(any(ClienteId.class))).thenReturn(DeudaConsolidadaResumen
+            .construir(clienteId, AgregadoFacturas.vacio(), AgregadoConsumos.vacio(), List.of(), LocalDateTime.now()));
+        String etag = mockMvc.perform(get("/api/deuda/cliente/1234567890"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", containsString("no-cache")))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/deuda/cliente/1234567890").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+        // El ETag depende de la vista
+        mockMvc.perform(get("/api/deuda/cliente/1234567890").param("vista", "resumen").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+        verify(consultarDeudaUseCase, times(1)).consultarDeudaConsolidada(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/deuda/cliente/{clienteId} - Debe responder completo al cambiar los datos de energía")
+    void debeResponderCompletoAlCambiarVersion() throws Exception {
+        // Arrange
+        when(consultarDeudaUseCase.consultarDeudaConsolidada(any(ClienteId.class))).thenReturn(deudaMock);
+        String etag = mockMvc.perform(get("/api/deuda/cliente/1234567890"))
+            .andReturn().getResponse().getHeader("ETag");
+        when(consultarVersionDatosUseCase.versionDeuda(any(ClienteId.class))).thenReturn(version(2L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/deuda/cliente/1234567890").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)))
+            .andExpect(jsonPath("$.clienteId").value("1234567890"));
+    }
+
+    @Test
+    @DisplayName("GET /api/deuda/cliente/{clienteId} - No debe entregar ETag para una deuda parcial")
+    void noDebeEntregarEtagParaDeudaParcial() throws Exception {
+        // Arrange
+        DeudaConsolidada parcial = DeudaConsolidada.construir(clienteId, deudaMock.getFacturasAcueducto(), List.of(),
+            List.of("energia"));
+        when(consultarDeudaUseCase.consultarDeudaConsolidada(any(ClienteId.class))).thenReturn(parcial);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/deuda/cliente/1234567890"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parcial").value(true))
+            .andExpect(header().doesNotExist("ETag"))
+            .andExpect(header().string("Cache-Control", containsString("no-store")));
+    }
 }
@@ -0,0 +1,166 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.port.input.ExportarFacturasUseCase;
+import com.serviciudad.domain.valueobject.*;
+import com.serviciudad.infrastructure.config.TestSecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ExportacionFacturasRestController.
+ *
+ * Verifica el contenido NDJSON y CSV escrito a medida que el caso de uso entrega las
+ * facturas, la compresión gzip negociada, la validación de parámetros y la respuesta de
+ * error cuando la exportación falla antes de enviar datos.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@WebMvcTest(ExportacionFacturasRestController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("REST Controller: Exportación de facturas - Tests Unitarios")
+class ExportacionFacturasRestControllerTest {
+
+    private static final Periodo PERIODO = Periodo.of("202501");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportarFacturasUseCase exportarFacturasUseCase;
+
+    private List<FacturaAcueducto> facturas;
+
+    @BeforeEach
+    void setUp() {
+        facturas = List.of(factura(1L, "1234567890", EstadoFactura.PENDIENTE), factura(2L, "0987654321", EstadoFactura.PAGADA));
+        when(exportarFacturasUseCase.exportarPorPeriodo(eq(PERIODO), any())).thenAnswer(invocacion -> {
+            Consumer<FacturaAcueducto> destino = invocacion.getArgument(1);
+            facturas.forEach(destino);
+            return (long) facturas.size();
+        });
+    }
+
+    private static FacturaAcueducto factura(long id, String cliente, EstadoFactura estado) {
+        return FacturaAcueducto.builder()
+            .id(FacturaId.of(id))
+            .clienteId(ClienteId.of(cliente))
+            .periodo(PERIODO)
+            .consumo(ConsumoAgua.of(15))
+            .valorPagar(Dinero.of(new BigDecimal("95000.50")))
+            .estado(estado)
+            .fechaVencimiento(LocalDate.of(2025, 2, 15))
+            .fechaCreacion(LocalDateTime.of(2025, 1, 31, 8, 0))
+            .fechaActualizacion(LocalDateTime.of(2025, 2, 1, 9, 30))
+            .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/exportacion - Debe escribir una factura JSON por línea")
+    void debeExportarNdjson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/facturas/exportacion").param("periodo", "202501"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"facturas-202501.ndjson\""))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andReturn();
+
+        String[] lineas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lineas).hasSize(3);
+        assertThat(lineas[0]).startsWith("{\"id\":1,\"clienteId\":\"1234567890\",\"periodo\":\"202501\"")
+            .contains("\"estado\":\"PENDIENTE\"", "\"fechaVencimiento\":\"2025-02-15\"");
+        assertThat(lineas[1]).startsWith("{\"id\":2,").contains("\"estado\":\"PAGADA\"");
+        assertThat(lineas[2]).isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/exportacion - Debe escribir CSV con encabezado")
+    void debeExportarCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/facturas/exportacion")
+                .param("periodo", "202501")
+                .param("formato", "csv"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+            .andReturn();
+
+        assertThat(resultado.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+            ExportacionFacturasRestController.ENCABEZADO_CSV + "\n" +
+            "1,1234567890,202501,15,95000.50,PENDIENTE,2025-02-15,2025-01-31T08:00,2025-02-01T09:30\n" +
+            "2,0987654321,202501,15,95000.50,PAGADA,2025-02-15,2025-01-31T08:00,2025-02-01T09:30\n");
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/exportacion - Debe comprimir con gzip si el cliente lo acepta")
+    void debeComprimirConGzip() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/facturas/exportacion")
+                .param("periodo", "202501")
+                .param("formato", "CSV")
+                .header("Accept-Encoding", "br, gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Vary", "Accept-Encoding"))
+            .andReturn();
+
+        assertThat(descomprimir(resultado.getResponse().getContentAsByteArray()))
+            .startsWith(ExportacionFacturasRestController.ENCABEZADO_CSV + "\n1,")
+            .hasLineCount(3);
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/exportacion - Debe rechazar periodo o formato inválidos")
+    void debeRechazarParametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/api/facturas/exportacion").param("periodo", "2025-01"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/facturas/exportacion").param("periodo", "202501").param("formato", "xml"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportarFacturasUseCase);
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/exportacion - Debe responder el error sin cabeceras de exportación si falla antes de enviar datos")
+    void debeResponderErrorAntesDeEnviarDatos() throws Exception {
+        when(exportarFacturasUseCase.exportarPorPeriodo(eq(PERIODO), any()))
+            .thenThrow(new IllegalStateException("Base de datos no disponible"));
+
+        mockMvc.perform(get("/api/facturas/exportacion")
+                .param("periodo", "202501")
+                .header("Accept-Encoding", "gzip"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(header().doesNotExist("Content-Disposition"))
+            .andExpect(jsonPath("$.status").value(500));
+    }
+
+    private static String descomprimir(byte[] contenido) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(contenido))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,11 +2,22 @@ package com.serviciudad.infrastructure.adapter.input.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.serviciudad.application.dto.request.RegistrarPagoRequest;
+import com.serviciudad.application.dto.request.RegistrarPagosLoteRequest;
 import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.EstadoTrabajo;
 import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.Pagina;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.model.VersionDatosCliente;
+import com.serviciudad.domain.model.VersionFacturas;
+import com.serviciudad.domain.port.input.ConsultarVersionDatosUseCase;
 import com.serviciudad.domain.port.input.GestionarFacturaUseCase;
+import com.serviciudad.domain.port.input.RegistrarPagosLoteUseCase;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
 import com.serviciudad.domain.valueobject.*;
 import com.serviciudad.infrastructure.config.TestSecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,10 +31,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,7 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @version 1.0
  */
 @WebMvcTest(FacturaRestController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, RespuestaCondicional.class, SimpleMeterRegistry.class})
 @DisplayName("REST Controller: Factura - Tests Unitarios")
 class FacturaRestControllerTest {
 
@@ -51,6 +67,15 @@ class FacturaRestControllerTest {
     @MockBean
     private GestionarFacturaUseCase gestionarFacturaUseCase;
 
+    @MockBean
+    private RegistrarPagosLoteUseCase registrarPagosLoteUseCase;
+
+    @MockBean
+    private ConsultarVersionDatosUseCase consultarVersionDatosUseCase;
+
+    @MockBean
+    private TrabajosUseCase trabajosUseCase;
+
     private FacturaAcueducto factura;
     private FacturaId facturaId;
     private ClienteId clienteId;
@@ -73,6 +98,12 @@ class FacturaRestControllerTest {
             .fechaCreacion(LocalDateTime.of(2025, 1, 1, 10, 0))
             .fechaActualizacion(LocalDateTime.of(2025, 1, 1, 10, 0))
             .build();
+        when(consultarVersionDatosUseCase.versionFacturas(any(ClienteId.class))).thenReturn(version(1));
+    }
+
+    private VersionDatosCliente version(long totalFacturas) {
+        return new VersionDatosCliente(clienteId,
+            new VersionFacturas(totalFacturas, LocalDateTime.of(2025, 1, 1, 10, 0), 1735725600L), 0L, LocalDate.now());
     }
 
     @Test
@@ -116,36 +147,73 @@ class FacturaRestControllerTest {
             .fechaActualizacion(LocalDateTime.now())
             .build();
 
-        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of(factura, factura2));
+        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(factura2, factura), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/facturas/cliente/{clienteId}", "1234567890")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$", hasSize(2)))
-            .andExpect(jsonPath("$[0].id").value(1))
-            .andExpect(jsonPath("$[0].periodo").value("202501"))
-            .andExpect(jsonPath("$[0].estado").value("PENDIENTE"))
-            .andExpect(jsonPath("$[1].id").value(2))
-            .andExpect(jsonPath("$[1].periodo").value("202502"))
-            .andExpect(jsonPath("$[1].estado").value("PAGADA"));
+            .andExpect(jsonPath("$.elementos", hasSize(2)))
+            .andExpect(jsonPath("$.elementos[0].id").value(2))
+            .andExpect(jsonPath("$.elementos[0].periodo").value("202502"))
+            .andExpect(jsonPath("$.elementos[0].estado").value("PAGADA"))
+            .andExpect(jsonPath("$.elementos[1].id").value(1))
+            .andExpect(jsonPath("$.elementos[1].periodo").value("202501"))
+            .andExpect(jsonPath("$.elementos[1].estado").value("PENDIENTE"))
+            .andExpect(jsonPath("$.siguienteCursor").value(nullValue()));
+
+        verify(gestionarFacturaUseCase, times(1)).consultarFacturasPorCliente(any(ClienteId.class), isNull(), eq(50));
+    }
 
-        verify(gestionarFacturaUseCase, times(1)).consultarFacturasPorCliente(any(ClienteId.class));
+    @Test
+    @DisplayName("GET /api/facturas/cliente/{clienteId} - Debe seguir a la página siguiente con el cursor")
+    void debeSeguirPaginaSiguienteConCursor() throws Exception {
+        // Arrange
+        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class), isNull(), eq(1)))
+            .thenReturn(new Pagina<>(List.of(factura), factura.getPeriodo()));
+        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class), eq(Periodo.of("202501")), eq(1)))
+            .thenReturn(new Pagina<>(List.of(), null));
+
+        // Act
+        String cursor = com.jayway.jsonpath.JsonPath.read(mockMvc.perform(get("/api/facturas/cliente/1234567890")
+                .param("limite", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elementos", hasSize(1)))
+            .andReturn().getResponse().getContentAsString(), "$.siguienteCursor");
+
+        // Assert
+        mockMvc.perform(get("/api/facturas/cliente/1234567890")
+                .param("limite", "1")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elementos", hasSize(0)))
+            .andExpect(jsonPath("$.siguienteCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/facturas/cliente/{clienteId} - Debe rechazar cursores y límites inválidos")
+    void debeRechazarCursorYLimiteInvalidos() throws Exception {
+        mockMvc.perform(get("/api/facturas/cliente/1234567890").param("cursor", "no-es-un-cursor"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/facturas/cliente/1234567890").param("limite", "201"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(gestionarFacturaUseCase);
     }
 
     @Test
     @DisplayName("GET /api/facturas/cliente/{clienteId} - Debe retornar lista vacía cuando no hay facturas")
     void debeRetornarListaVaciaCuandoNoHayFacturas() throws Exception {
         // Arrange
-        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class)))
-            .thenReturn(List.of());
+        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class), isNull(), eq(50)))
+            .thenReturn(new Pagina<>(List.of(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/facturas/cliente/{clienteId}", "9999999999")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$", hasSize(0)));
+            .andExpect(jsonPath("$.elementos", hasSize(0)));
     }
 
     @Test
@@ -214,6 +282,50 @@ class FacturaRestControllerTest {
         verify(gestionarFacturaUseCase, never()).registrarPagoFactura(any(FacturaId.class));
     }
 
+    @Test
+    @DisplayName("POST /api/facturas/pagos/lote - Debe retornar el resultado de cada factura y los totales")
+    void debeRegistrarPagosLote() throws Exception {
+        // Arrange
+        Map<FacturaId, ResultadoPago> resultados = new LinkedHashMap<>();
+        resultados.put(FacturaId.of(3L), ResultadoPago.PAGADA);
+        resultados.put(FacturaId.of(1L), ResultadoPago.YA_PAGADA);
+        resultados.put(FacturaId.of(7L), ResultadoPago.ANULADA);
+        resultados.put(FacturaId.of(9L), ResultadoPago.NO_ENCONTRADA);
+        when(registrarPagosLoteUseCase.registrarPagos(
+            List.of(FacturaId.of(3L), FacturaId.of(1L), FacturaId.of(7L), FacturaId.of(9L))))
+            .thenReturn(resultados);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/facturas/pagos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegistrarPagosLoteRequest(List.of(3L, 1L, 7L, 9L)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSolicitados").value(4))
+            .andExpect(jsonPath("$.pagadas").value(1))
+            .andExpect(jsonPath("$.yaPagadas").value(1))
+            .andExpect(jsonPath("$.anuladas").value(1))
+            .andExpect(jsonPath("$.noEncontradas").value(1))
+            .andExpect(jsonPath("$.resultados[*].facturaId", contains(3, 1, 7, 9)))
+            .andExpect(jsonPath("$.resultados[0].resultado").value("PAGADA"))
+            .andExpect(jsonPath("$.resultados[3].resultado").value("NO_ENCONTRADA"));
+    }
+
+    @Test
+    @DisplayName("POST /api/facturas/pagos/lote - Debe validar ids positivos y lista no vacía")
+    void debeValidarPagosLote() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/facturas/pagos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegistrarPagosLoteRequest(List.of(3L, -1L)))))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/facturas/pagos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegistrarPagosLoteRequest(List.of()))))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(registrarPagosLoteUseCase);
+    }
+
     @Test
     @DisplayName("POST /api/facturas/{facturaId}/anular - Debe anular factura exitosamente")
     void debeAnularFacturaExitosamente() throws Exception {
@@ -229,17 +341,48 @@ class FacturaRestControllerTest {
     }
 
     @Test
-    @DisplayName("POST /api/facturas/marcar-vencidas - Debe marcar facturas vencidas")
+    @DisplayName("POST /api/facturas/marcar-vencidas - Debe lanzar el marcado como trabajo y retornar 202")
     void debeMarcarFacturasVencidas() throws Exception {
         // Arrange
-        doNothing().when(gestionarFacturaUseCase).marcarFacturasVencidas();
+        when(trabajosUseCase.lanzarMarcadoVencidas()).thenReturn(Trabajo.builder()
+            .id("7f3a")
+            .tipo("marcado-vencidas")
+            .estado(EstadoTrabajo.EN_COLA)
+            .fechaCreacion(LocalDateTime.now())
+            .build());
 
         // Act & Assert
         mockMvc.perform(post("/api/facturas/marcar-vencidas")
                 .contentType(MediaType.APPLICATION_JSON))
-            .andExpect(status().isOk());
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/api/jobs/7f3a"))
+            .andExpect(jsonPath("$.id").value("7f3a"))
+            .andExpect(jsonPath("$.estado").value("EN_COLA"));
 
-        verify(gestionarFacturaUseCase, times(1)).marcarFacturasVencidas();
+        verify(trabajosUseCase, times(1)).lanzarMarcadoVencidas();
+        verifyNoInteractions(gestionarFacturaUseCase);
+    }
+
+    @Test
+    @DisplayName("POST /api/facturas/pagos/conciliaciones - Debe lanzar la conciliación como trabajo y retornar 202")
+    void debeConciliarArchivoDePagos() throws Exception {
+        // Arrange
+        when(trabajosUseCase.lanzarConciliacionPagos("pagos-20251015.txt")).thenReturn(Trabajo.builder()
+            .id("9c1d")
+            .tipo("conciliacion-pagos")
+            .estado(EstadoTrabajo.EN_COLA)
+            .fechaCreacion(LocalDateTime.now())
+            .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/facturas/pagos/conciliaciones")
+                .param("archivo", "pagos-20251015.txt"))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/api/jobs/9c1d"))
+            .andExpect(jsonPath("$.tipo").value("conciliacion-pagos"));
+
+        verify(trabajosUseCase, times(1)).lanzarConciliacionPagos("pagos-20251015.txt");
+        verifyNoInteractions(registrarPagosLoteUseCase);
     }
 
     @Test
@@ -259,4 +402,30 @@ class FacturaRestControllerTest {
             .andExpect(jsonPath("$.fechaCreacion").exists())
             .andExpect(jsonPath("$.fechaActualizacion").exists());
     }
+
+    @Test
+    @DisplayName("GET /api/facturas/cliente/{clienteId} - Debe responder 304 sin cargar facturas con un ETag vigente")
+    void debeResponderNoModificadoConEtagVigente() throws Exception {
+        // Arrange
+        when(gestionarFacturaUseCase.consultarFacturasPorCliente(any(ClienteId.class), isNull(), anyInt()))
+            .thenReturn(new Pagina<>(List.of(factura), null));
+        String etag = mockMvc.perform(get("/api/facturas/cliente/1234567890"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/facturas/cliente/1234567890").header("If-None-Match", "W/" + etag))
+            .andExpect(status().isNotModified());
+        verify(gestionarFacturaUseCase, times(1)).consultarFacturasPorCliente(any(), any(), anyInt());
+
+        // Otro tamaño de página es otra representación con su propio ETag
+        mockMvc.perform(get("/api/facturas/cliente/1234567890").param("limite", "10").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+
+        when(consultarVersionDatosUseCase.versionFacturas(any(ClienteId.class))).thenReturn(version(2));
+        mockMvc.perform(get("/api/facturas/cliente/1234567890").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elementos", hasSize(1)));
+    }
 }
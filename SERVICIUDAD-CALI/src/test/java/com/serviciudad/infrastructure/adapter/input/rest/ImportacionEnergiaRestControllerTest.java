@@ -0,0 +1,130 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.model.EstadoTrabajo;
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.port.input.ImportarConsumoEnergiaUseCase;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
+import com.serviciudad.infrastructure.config.TestSecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ImportacionEnergiaRestController.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@WebMvcTest(ImportacionEnergiaRestController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("REST Controller: ImportacionEnergia - Tests Unitarios")
+class ImportacionEnergiaRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportarConsumoEnergiaUseCase importarConsumoEnergiaUseCase;
+
+    @MockBean
+    private TrabajosUseCase trabajosUseCase;
+
+    @Test
+    @DisplayName("POST /api/consumos-energia/importaciones - Debe retornar el resultado de la importacion")
+    void debeImportarArchivoLegacy() throws Exception {
+        // Arrange
+        when(importarConsumoEnergiaUseCase.importarArchivoLegacy(false, ModoImportacion.AGREGAR)).thenReturn(ResultadoImportacion.builder()
+            .archivo("/data/consumos_energia.txt")
+            .offsetInicial(1024)
+            .offsetFinal(4096)
+            .registrosLeidos(40)
+            .registrosImportados(38)
+            .registrosRechazados(2)
+            .lotesConfirmados(1)
+            .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/consumos-energia/importaciones"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.registrosImportados").value(38))
+            .andExpect(jsonPath("$.registrosRechazados").value(2))
+            .andExpect(jsonPath("$.offsetFinal").value(4096))
+            .andExpect(jsonPath("$.reanudada").value(true));
+
+        verify(importarConsumoEnergiaUseCase).importarArchivoLegacy(false, ModoImportacion.AGREGAR);
+    }
+
+    @Test
+    @DisplayName("POST /api/consumos-energia/importaciones?reiniciar=true - Debe reiniciar desde el inicio")
+    void debeReiniciarImportacion() throws Exception {
+        // Arrange
+        when(importarConsumoEnergiaUseCase.importarArchivoLegacy(true, ModoImportacion.AGREGAR)).thenReturn(ResultadoImportacion.builder()
+            .archivo("/data/consumos_energia.txt")
+            .offsetFinal(4096)
+            .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/consumos-energia/importaciones").param("reiniciar", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.offsetInicial").value(0))
+            .andExpect(jsonPath("$.reanudada").value(false));
+
+        verify(importarConsumoEnergiaUseCase).importarArchivoLegacy(true, ModoImportacion.AGREGAR);
+    }
+
+    @Test
+    @DisplayName("POST /api/consumos-energia/importaciones?modo=FUSIONAR - Debe reportar insertados, actualizados y sin cambios")
+    void debeFusionarImportacion() throws Exception {
+        // Arrange
+        when(importarConsumoEnergiaUseCase.importarArchivoLegacy(false, ModoImportacion.FUSIONAR))
+            .thenReturn(ResultadoImportacion.builder()
+                .archivo("/data/consumos_energia.txt")
+                .modo(ModoImportacion.FUSIONAR)
+                .registrosImportados(40)
+                .registrosInsertados(3)
+                .registrosActualizados(2)
+                .registrosSinCambios(35)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/consumos-energia/importaciones").param("modo", "FUSIONAR"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.modo").value("FUSIONAR"))
+            .andExpect(jsonPath("$.registrosInsertados").value(3))
+            .andExpect(jsonPath("$.registrosActualizados").value(2))
+            .andExpect(jsonPath("$.registrosSinCambios").value(35));
+
+        verify(importarConsumoEnergiaUseCase).importarArchivoLegacy(false, ModoImportacion.FUSIONAR);
+    }
+
+    @Test
+    @DisplayName("POST /api/consumos-energia/importaciones/trabajos - Debe lanzar la importacion como trabajo")
+    void debeLanzarImportacionComoTrabajo() throws Exception {
+        // Arrange
+        when(trabajosUseCase.lanzarImportacionEnergia(true, ModoImportacion.FUSIONAR)).thenReturn(Trabajo.builder()
+            .id("b41c")
+            .tipo("importacion-energia")
+            .estado(EstadoTrabajo.EN_COLA)
+            .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/consumos-energia/importaciones/trabajos")
+                .param("reiniciar", "true")
+                .param("modo", "FUSIONAR"))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/api/jobs/b41c"))
+            .andExpect(jsonPath("$.tipo").value("importacion-energia"));
+
+        verifyNoInteractions(importarConsumoEnergiaUseCase);
+    }
+}
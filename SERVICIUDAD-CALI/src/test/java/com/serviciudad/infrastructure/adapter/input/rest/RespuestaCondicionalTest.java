@@ -0,0 +1,141 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.model.VersionDatosCliente;
+import com.serviciudad.domain.model.VersionFacturas;
+import com.serviciudad.domain.valueobject.ClienteId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para RespuestaCondicional.
+ *
+ * Verifica la comparación de If-None-Match (varios validadores, prefijo débil y comodín),
+ * que el cuerpo no se construye en un 304, que el ETag cambia con cada componente de la
+ * versión y las métricas por resultado.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("REST: RespuestaCondicional - Tests Unitarios")
+class RespuestaCondicionalTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+    private static final VersionDatosCliente VERSION = new VersionDatosCliente(CLIENTE,
+        new VersionFacturas(3, LocalDateTime.of(2025, 3, 1, 8, 30, 0, 123_456_000), 5_222_000_000L), 7L, HOY);
+
+    private SimpleMeterRegistry registry;
+    private RespuestaCondicional respuestaCondicional;
+    private AtomicInteger construidos;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        respuestaCondicional = new RespuestaCondicional(registry);
+        construidos = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> responder(VersionDatosCliente version, String... ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/facturas/cliente/1234567890");
+        for (String valor : ifNoneMatch) {
+            request.addHeader("If-None-Match", valor);
+        }
+        return respuestaCondicional.responder("facturas", version, new ServletWebRequest(request), () -> {
+            construidos.incrementAndGet();
+            return "cuerpo";
+        });
+    }
+
+    private double contador(String resultado) {
+        return registry.get(RespuestaCondicional.METRICA).tag("recurso", "facturas").tag("resultado", resultado)
+            .counter().count();
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 sin construir el cuerpo cuando algún validador coincide")
+    void debeResponderNoModificado() {
+        String etag = responder(VERSION).getHeaders().getETag();
+
+        ResponseEntity<String> lista = responder(VERSION, "\"otro\", W/" + etag);
+        ResponseEntity<String> comodin = responder(VERSION, "*");
+
+        assertThat(lista.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(lista.getBody()).isNull();
+        assertThat(lista.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(comodin.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(construidos).hasValue(1);
+        assertThat(contador("sin_validador")).isEqualTo(1);
+        assertThat(contador("no_modificado")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe cambiar el ETag con cada componente de la versión")
+    void debeCambiarEtagConLaVersion() {
+        VersionFacturas facturas = VERSION.getFacturas();
+        String etag = responder(VERSION).getHeaders().getETag();
+
+        assertThat(new VersionDatosCliente[] {
+            new VersionDatosCliente(CLIENTE, new VersionFacturas(4, facturas.getUltimaActualizacion(),
+                facturas.getSumaSegundosActualizacion()), 7L, HOY),
+            new VersionDatosCliente(CLIENTE, new VersionFacturas(3, facturas.getUltimaActualizacion().plusNanos(1000),
+                facturas.getSumaSegundosActualizacion()), 7L, HOY),
+            new VersionDatosCliente(CLIENTE, new VersionFacturas(3, facturas.getUltimaActualizacion(),
+                facturas.getSumaSegundosActualizacion() - 86400), 7L, HOY),
+            new VersionDatosCliente(CLIENTE, facturas, 8L, HOY),
+            new VersionDatosCliente(CLIENTE, facturas, 7L, HOY.plusDays(1)),
+            new VersionDatosCliente(ClienteId.of("0987654321"), facturas, 7L, HOY)
+        }).allSatisfy(version -> {
+            ResponseEntity<String> respuesta = responder(version, etag);
+            assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(respuesta.getHeaders().getETag()).isNotEqualTo(etag);
+        });
+        assertThat(contador("modificado")).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Debe incluir la variante solo en el ETag y reutilizar los contadores del recurso")
+    void debeIncluirVarianteSoloEnEtag() {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        ResponseEntity<String> primera = respuestaCondicional.responder("facturas", "50", VERSION, request, () -> "p1");
+        int medidores = registry.getMeters().size();
+        ResponseEntity<String> segunda = respuestaCondicional.responder("facturas", "50-202501", VERSION, request,
+            () -> "p2");
+
+        assertThat(primera.getHeaders().getETag()).startsWith("\"facturas-50.1234567890.");
+        assertThat(segunda.getHeaders().getETag()).startsWith("\"facturas-50-202501.1234567890.");
+        assertThat(registry.getMeters()).hasSize(medidores);
+        assertThat(contador("sin_validador")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe entregar sin ETag una respuesta que no se puede reutilizar")
+    void debeOmitirEtagSiNoEsValidable() {
+        ResponseEntity<String> respuesta = respuestaCondicional.responder("facturas", VERSION,
+            new ServletWebRequest(new MockHttpServletRequest()), () -> "parcial", cuerpo -> false);
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(respuesta.getHeaders().getETag()).isNull();
+        assertThat(respuesta.getHeaders().getCacheControl()).contains("no-store");
+    }
+
+    @Test
+    @DisplayName("Debe generar la etiqueta de un cliente sin facturas")
+    void debeGenerarEtiquetaSinFacturas() {
+        VersionDatosCliente sinFacturas = new VersionDatosCliente(CLIENTE, VersionFacturas.sinFacturas(), 0L, HOY);
+
+        assertThat(responder(sinFacturas).getHeaders().getETag()).startsWith("\"facturas.1234567890.0.0.0.0.");
+    }
+}
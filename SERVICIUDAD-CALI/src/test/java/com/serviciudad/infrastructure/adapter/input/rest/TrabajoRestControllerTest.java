@@ -0,0 +1,76 @@
+package com.serviciudad.infrastructure.adapter.input.rest;
+
+import com.serviciudad.domain.model.EstadoTrabajo;
+import com.serviciudad.domain.model.Trabajo;
+import com.serviciudad.domain.port.input.TrabajosUseCase;
+import com.serviciudad.infrastructure.config.TestSecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para TrabajoRestController.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@WebMvcTest(TrabajoRestController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("REST Controller: Trabajo - Tests Unitarios")
+class TrabajoRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TrabajosUseCase trabajosUseCase;
+
+    @Test
+    @DisplayName("GET /api/jobs/{id} - Debe retornar el avance del trabajo")
+    void debeRetornarAvanceDelTrabajo() throws Exception {
+        // Arrange
+        when(trabajosUseCase.consultar("7f3a")).thenReturn(Optional.of(Trabajo.builder()
+            .id("7f3a")
+            .tipo("marcado-vencidas")
+            .estado(EstadoTrabajo.EN_EJECUCION)
+            .fechaInicio(LocalDateTime.now())
+            .total(100000L)
+            .procesados(25000)
+            .actualizados(25000)
+            .procesadosPorSegundo(12500.04)
+            .segundosRestantes(6L)
+            .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/jobs/7f3a"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.estado").value("EN_EJECUCION"))
+            .andExpect(jsonPath("$.total").value(100000))
+            .andExpect(jsonPath("$.procesados").value(25000))
+            .andExpect(jsonPath("$.actualizados").value(25000))
+            .andExpect(jsonPath("$.procesadosPorSegundo").value(12500.0))
+            .andExpect(jsonPath("$.segundosRestantes").value(6));
+    }
+
+    @Test
+    @DisplayName("GET /api/jobs/{id} - Debe retornar 404 si el trabajo no existe")
+    void debeRetornar404SiNoExiste() throws Exception {
+        // Arrange
+        when(trabajosUseCase.consultar("desconocido")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/jobs/desconocido"))
+            .andExpect(status().isNotFound());
+    }
+}
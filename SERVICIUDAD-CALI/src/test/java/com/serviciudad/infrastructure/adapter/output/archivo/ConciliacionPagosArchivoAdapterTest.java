@@ -0,0 +1,226 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.ProgresoTrabajo;
+import com.serviciudad.domain.model.ResultadoConciliacion;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.infrastructure.adapter.output.persistence.DeudaResumenAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ConciliacionPagosArchivoAdapter.
+ *
+ * Usa una base H2 embebida y archivos temporales para verificar la conciliación por ID de
+ * factura y por cliente y período, el reporte de excepciones en el orden del archivo, la
+ * confirmación por bloques con sus clientes pagados, los registros que nombran la misma factura
+ * de las dos formas y el rechazo de nombres de archivo fuera del directorio.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: ConciliacionPagosArchivo - Tests Unitarios")
+class ConciliacionPagosArchivoAdapterTest {
+
+    private static final String CLIENTE = "0011234567";
+    private static final String OTRO_CLIENTE = "0022345678";
+    private static final String VALOR = "000005000000";
+    private static final String FECHA = "20251020";
+    private static final LocalDateTime ACTUALIZACION_INICIAL = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path directorio;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ProgresoTrabajo progreso;
+    private List<Set<ClienteId>> bloquesConfirmados;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL, fecha_vencimiento DATE NOT NULL, " +
+            "fecha_creacion TIMESTAMP NOT NULL, fecha_actualizacion TIMESTAMP NOT NULL, " +
+            "CONSTRAINT uk_cliente_periodo UNIQUE (id_cliente, periodo))");
+        jdbcTemplate.execute("CREATE TABLE consumo_energia (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "cliente_id VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo DECIMAL(10,2) NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE deuda_resumen (cliente_id VARCHAR(10) PRIMARY KEY, " +
+            "deuda_acueducto DECIMAL(14,2) NOT NULL DEFAULT 0, facturas_pendientes INTEGER NOT NULL DEFAULT 0, " +
+            "facturas_vencidas INTEGER NOT NULL DEFAULT 0, total_facturas INTEGER NOT NULL DEFAULT 0, " +
+            "consumo_acueducto_m3 BIGINT NOT NULL DEFAULT 0, deuda_energia DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "total_consumos_energia INTEGER NOT NULL DEFAULT 0, consumo_energia_kwh DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        progreso = mock(ProgresoTrabajo.class);
+        bloquesConfirmados = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private ConciliacionPagosArchivoAdapter adapter(int tamanoLote) {
+        return new ConciliacionPagosArchivoAdapter(directorio.toString(), tamanoLote, jdbcTemplate,
+            new DataSourceTransactionManager(dataSource), new DeudaResumenAdapter(jdbcTemplate));
+    }
+
+    private long insertarFactura(String cliente, String periodo, String estado) {
+        jdbcTemplate.update("INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, estado, " +
+            "fecha_vencimiento, fecha_creacion, fecha_actualizacion) VALUES (?, ?, 10, ?, ?, ?, ?, ?)", cliente, periodo,
+            new BigDecimal("50000.00"), estado, Date.valueOf(LocalDate.of(2025, 2, 15)),
+            Timestamp.valueOf(ACTUALIZACION_INICIAL), Timestamp.valueOf(ACTUALIZACION_INICIAL));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM facturas_acueducto", Long.class);
+    }
+
+    private String estado(long id) {
+        return jdbcTemplate.queryForObject("SELECT estado FROM facturas_acueducto WHERE id = ?", String.class, id);
+    }
+
+    private static String registro(long facturaId, String cliente, String periodo, String valor) {
+        return String.format("%012d", facturaId) + cliente + periodo + valor + FECHA;
+    }
+
+    private void escribirArchivo(String nombre, String... lineas) throws IOException {
+        Files.write(directorio.resolve(nombre), List.of(lineas), StandardCharsets.US_ASCII);
+    }
+
+    private List<String> reporte(ResultadoConciliacion resultado) throws IOException {
+        return Files.readAllLines(Path.of(resultado.getReporteExcepciones()), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("Debe pagar por ID de factura y por cliente y período en lotes confirmados por separado")
+    void debePagarPorIdYPorClientePeriodo() throws IOException {
+        long porId = insertarFactura(CLIENTE, "202509", "PENDIENTE");
+        long porClave = insertarFactura(OTRO_CLIENTE, "202510", "VENCIDA");
+        long sinPagar = insertarFactura(CLIENTE, "202510", "PENDIENTE");
+        escribirArchivo("pagos.txt",
+            "# pagos banco 20251020",
+            registro(porId, CLIENTE, "202509", VALOR),
+            "",
+            registro(0, OTRO_CLIENTE, "202510", VALOR));
+
+        ResultadoConciliacion resultado = adapter(1).conciliar("pagos.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add);
+
+        assertThat(resultado.getRegistrosLeidos()).isEqualTo(2);
+        assertThat(resultado.getFacturasPagadas()).isEqualTo(2);
+        assertThat(resultado.getExcepciones()).isZero();
+        assertThat(resultado.getLotesConfirmados()).isEqualTo(2);
+        assertThat(estado(porId)).isEqualTo("PAGADA");
+        assertThat(estado(porClave)).isEqualTo("PAGADA");
+        assertThat(estado(sinPagar)).isEqualTo("PENDIENTE");
+        assertThat(jdbcTemplate.queryForObject("SELECT deuda_acueducto FROM deuda_resumen WHERE cliente_id = ?",
+            BigDecimal.class, CLIENTE)).isEqualByComparingTo("50000.00");
+        assertThat(reporte(resultado)).containsExactly("offset,factura_id,cliente_id,periodo,valor_centavos,motivo");
+        verify(progreso, times(2)).registrar(1, 1);
+        assertThat(bloquesConfirmados).containsExactly(Set.of(ClienteId.of(CLIENTE)),
+            Set.of(ClienteId.of(OTRO_CLIENTE)));
+    }
+
+    @Test
+    @DisplayName("Debe reportar en orden del archivo los registros no pagados con su motivo")
+    void debeReportarExcepciones() throws IOException {
+        long pendiente = insertarFactura(CLIENTE, "202509", "PENDIENTE");
+        long pagada = insertarFactura(CLIENTE, "202508", "PAGADA");
+        long anulada = insertarFactura(CLIENTE, "202507", "ANULADA");
+        long otroValor = insertarFactura(OTRO_CLIENTE, "202509", "PENDIENTE");
+        String invalido = "0000000000X1" + CLIENTE + "202509" + VALOR + FECHA;
+        escribirArchivo("pagos.txt",
+            registro(pendiente, CLIENTE, "202509", VALOR),
+            registro(pendiente, CLIENTE, "202509", VALOR),
+            registro(pagada, CLIENTE, "202508", VALOR),
+            registro(anulada, CLIENTE, "202507", VALOR),
+            registro(otroValor, OTRO_CLIENTE, "202509", "000004999900"),
+            registro(999, CLIENTE, "202509", VALOR),
+            registro(0, OTRO_CLIENTE, "202501", VALOR),
+            invalido);
+        long offsetInvalido = 7L * (FormatoPagosBanco.LONGITUD_MINIMA + 1);
+
+        ResultadoConciliacion resultado = adapter(100).conciliar("pagos.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add);
+
+        assertThat(resultado.getRegistrosLeidos()).isEqualTo(8);
+        assertThat(resultado.getFacturasPagadas()).isEqualTo(1);
+        assertThat(resultado.getExcepciones()).isEqualTo(7);
+        assertThat(estado(pendiente)).isEqualTo("PAGADA");
+        assertThat(estado(otroValor)).isEqualTo("PENDIENTE");
+        assertThat(reporte(resultado)).extracting(linea -> linea.substring(linea.lastIndexOf(',') + 1))
+            .containsExactly("motivo", "YA_PAGADA", "YA_PAGADA", "ANULADA", "VALOR_DIFERENTE", "NO_ENCONTRADA",
+                "NO_ENCONTRADA", ConciliacionPagosArchivoAdapter.REGISTRO_INVALIDO);
+        assertThat(reporte(resultado)).contains(
+            "49," + pendiente + "," + CLIENTE + ",202509,5000000,YA_PAGADA",
+            offsetInvalido + ",,,,,REGISTRO_INVALIDO");
+        verify(progreso).registrar(8, 1);
+    }
+
+    @Test
+    @DisplayName("Debe pagar una sola vez la factura nombrada por ID y por cliente y período en el mismo bloque")
+    void debePagarUnaVezFacturaPorIdYPorClave() throws IOException {
+        long factura = insertarFactura(CLIENTE, "202509", "PENDIENTE");
+        escribirArchivo("pagos.txt",
+            registro(factura, CLIENTE, "202509", VALOR),
+            registro(0, CLIENTE, "202509", VALOR));
+
+        ResultadoConciliacion resultado = adapter(100).conciliar("pagos.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add);
+
+        assertThat(resultado.getFacturasPagadas()).isEqualTo(1);
+        assertThat(resultado.getExcepciones()).isEqualTo(1);
+        assertThat(estado(factura)).isEqualTo("PAGADA");
+        assertThat(reporte(resultado)).containsExactly("offset,factura_id,cliente_id,periodo,valor_centavos,motivo",
+            "49,0," + CLIENTE + ",202509,5000000,YA_PAGADA");
+        assertThat(bloquesConfirmados).containsExactly(Set.of(ClienteId.of(CLIENTE)));
+        verify(progreso).registrar(2, 1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar nombres de archivo fuera del directorio de conciliación o inexistentes")
+    void debeRechazarArchivosFueraDelDirectorio() {
+        ConciliacionPagosArchivoAdapter adapter = adapter(100);
+
+        assertThatThrownBy(() -> adapter.conciliar("../pagos.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("invalido");
+        assertThatThrownBy(() -> adapter.conciliar("sub/pagos.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> adapter.conciliar("no-existe.txt", FacturaAcueducto::aplicarPago, progreso,
+            bloquesConfirmados::add))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("No existe");
+        verifyNoInteractions(progreso);
+    }
+}
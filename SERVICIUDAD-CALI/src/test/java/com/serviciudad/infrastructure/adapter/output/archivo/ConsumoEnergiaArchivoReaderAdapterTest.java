@@ -0,0 +1,328 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.model.VersionDatosCliente;
+import com.serviciudad.domain.model.VersionFacturas;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.Periodo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para ConsumoEnergiaArchivoReaderAdapter.
+ *
+ * Verifica la lectura de registros de ancho fijo desde el archivo legacy
+ * mapeado en memoria, incluyendo comentarios, registros cortos y largos,
+ * finales de línea CRLF y segmentos de mapeo pequeños, y que la versión de los datos se
+ * derive del archivo y no de un contador que se reinicia.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: ConsumoEnergiaArchivoReader - Tests Unitarios")
+class ConsumoEnergiaArchivoReaderAdapterTest {
+
+    static final String CONTENIDO =
+        "# Archivo legacy de prueba\n" +
+        "# 1001234567202510000150000018000050202511150000000000000000000000000000000\n" +
+        "\n" +
+        "100123456720251000015000001800005020251115000000000000000000000000000000000\n" +
+        "100123456720250900062000007440000020251015000000000000000000000000000000000\r\n" +
+        "100234567820251000012500001350007520251115000000000000000000000000000000000\n" +
+        "001123456720251000025000003150000020251115\n" +
+        "1001234567202508\n" +
+        "10012345672025070000X0000010000000020250815\n" +
+        "100123456720250600010000000500000020250715";
+
+    @TempDir
+    Path directorio;
+
+    private ConsumoEnergiaArchivoReaderAdapter adapter;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (adapter != null) {
+            adapter.cerrar();
+        }
+    }
+
+    private ConsumoEnergiaArchivoReaderAdapter crearAdapter(long tamanoSegmento) throws IOException {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, tamanoSegmento);
+        adapter.abrir();
+        return adapter;
+    }
+
+    @Test
+    @DisplayName("Debe encontrar consumos por cliente omitiendo comentarios y registros invalidos")
+    void debeEncontrarConsumosPorCliente() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        List<ConsumoEnergiaModel> consumos = adapter.findByClienteId(ClienteId.of("1001234567"));
+
+        assertThat(consumos).hasSize(3);
+        assertThat(consumos).extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202510", "202509", "202506");
+
+        ConsumoEnergiaModel primero = consumos.get(0);
+        assertThat(primero.getConsumo().getKilovatiosHora()).isEqualTo(150);
+        assertThat(primero.getValorPagar().getMonto()).isEqualByComparingTo(new BigDecimal("180000.50"));
+        assertThat(primero.getFechaLectura()).isEqualTo(LocalDate.of(2025, 11, 15));
+    }
+
+    @Test
+    @DisplayName("Debe encontrar consumos de varios clientes")
+    void debeEncontrarConsumosDeVariosClientes() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        List<ConsumoEnergiaModel> consumos = adapter.findByClienteIds(
+            List.of(ClienteId.of("1001234567"), ClienteId.of("1002345678"), ClienteId.of("9999999999")));
+
+        assertThat(consumos).extracting(c -> c.getClienteId().getValor())
+            .containsExactly("1001234567", "1001234567", "1001234567", "1002345678");
+    }
+
+    @Test
+    @DisplayName("Debe leer registros cortos de 42 caracteres")
+    void debeLeerRegistrosCortos() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        List<ConsumoEnergiaModel> consumos = adapter.findByClienteId(ClienteId.of("0011234567"));
+
+        assertThat(consumos).singleElement().satisfies(c -> {
+            assertThat(c.getConsumo().getKilovatiosHora()).isEqualTo(250);
+            assertThat(c.getValorPagar().getMonto()).isEqualByComparingTo(new BigDecimal("315000.00"));
+        });
+    }
+
+    @Test
+    @DisplayName("Debe filtrar por cliente y periodo")
+    void debeFiltrarPorClienteYPeriodo() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        List<ConsumoEnergiaModel> consumos = adapter.findByClienteIdAndPeriodo(
+            ClienteId.of("1001234567"), Periodo.of("202509"));
+
+        assertThat(consumos).singleElement()
+            .satisfies(c -> assertThat(c.getConsumo().getKilovatiosHora()).isEqualTo(620));
+    }
+
+    @Test
+    @DisplayName("Debe paginar los consumos del cliente por periodo descendente")
+    void debePaginarPorPeriodo() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        ClienteId cliente = ClienteId.of("1001234567");
+
+        assertThat(adapter.findByClienteIdAntesDe(cliente, null, 2))
+            .extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202510", "202509");
+        assertThat(adapter.findByClienteIdAntesDe(cliente, Periodo.of("202509"), 2))
+            .extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202506");
+    }
+
+    @Test
+    @DisplayName("Debe retornar solo consumos elevados")
+    void debeRetornarConsumosElevados() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        List<ConsumoEnergiaModel> consumos = adapter.findConsumosElevados(ClienteId.of("1001234567"));
+
+        assertThat(consumos).singleElement()
+            .satisfies(c -> assertThat(c.getPeriodo().getValor()).isEqualTo("202509"));
+    }
+
+    @Test
+    @DisplayName("Debe retornar lista vacia para cliente inexistente")
+    void debeRetornarVacioParaClienteInexistente() throws IOException {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+
+        assertThat(adapter.findByClienteId(ClienteId.of("9999999999"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe producir el mismo resultado con segmentos de mapeo pequeños")
+    void debeLeerConSegmentosPequenos() throws IOException {
+        crearAdapter(100);
+
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567"))).hasSize(3);
+        assertThat(adapter.findByClienteId(ClienteId.of("1002345678"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe producir el mismo resultado y orden al buscar en paralelo")
+    void debeBuscarEnParalelo() throws IOException {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, 100, new ProcesadorParaleloEnergia(4, 1));
+        adapter.abrir();
+
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567")))
+            .extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202510", "202509", "202506");
+        assertThat(adapter.findByClienteId(ClienteId.of("0011234567"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe responder desde el indice fuera del heap con los mismos resultados")
+    void debeBuscarConIndice() throws Exception {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        adapter.recargar().get(5, TimeUnit.SECONDS);
+
+        assertThat(adapter.indiceActual()).isNotNull();
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567")))
+            .extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202510", "202509", "202506");
+        assertThat(adapter.findByClienteIdAndPeriodo(ClienteId.of("1001234567"), Periodo.of("202509")))
+            .singleElement()
+            .satisfies(c -> assertThat(c.getConsumo().getKilovatiosHora()).isEqualTo(620));
+        assertThat(adapter.findConsumosElevados(ClienteId.of("1001234567"))).hasSize(1);
+        assertThat(adapter.findByClienteId(ClienteId.of("9999999999"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe intercambiar la generacion al recargar un archivo modificado")
+    void debeRecargarArchivoModificado() throws Exception {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        adapter.recargar().get(5, TimeUnit.SECONDS);
+        IndiceEnergiaOffHeap anterior = adapter.indiceActual();
+        long versionAnterior = adapter.versionDatos();
+
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Path nuevo = directorio.resolve("consumos_energia.nuevo");
+        Files.writeString(nuevo, "100999999920251000030000003600000020251115\n", StandardCharsets.US_ASCII);
+        Files.move(nuevo, archivo, StandardCopyOption.REPLACE_EXISTING);
+        adapter.recargar().get(5, TimeUnit.SECONDS);
+
+        assertThat(adapter.indiceActual()).isNotSameAs(anterior);
+        assertThat(adapter.versionDatos()).isGreaterThan(versionAnterior);
+        assertThat(adapter.findByClienteId(ClienteId.of("1009999999"))).hasSize(1);
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe derivar la version del archivo para que el ETag cambie con el contenido y no al reiniciar")
+    void debeDerivarVersionDelArchivo() throws Exception {
+        crearAdapter(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        String etiqueta = etiqueta(adapter.versionDatos());
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        FileTime modificacion = Files.getLastModifiedTime(archivo);
+
+        adapter.cerrar();
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        adapter.abrir();
+        assertThat(etiqueta(adapter.versionDatos())).isEqualTo(etiqueta);
+
+        // Mismo tamaño y misma fecha de modificacion: solo cambia el contenido
+        adapter.cerrar();
+        Files.writeString(archivo, CONTENIDO.replace("100234567820251000012500", "100234567820251000013000"),
+            StandardCharsets.US_ASCII, StandardOpenOption.TRUNCATE_EXISTING);
+        Files.setLastModifiedTime(archivo, modificacion);
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+        adapter.abrir();
+
+        assertThat(Files.size(archivo)).isEqualTo(CONTENIDO.length());
+        assertThat(etiqueta(adapter.versionDatos())).isNotEqualTo(etiqueta);
+    }
+
+    private static String etiqueta(long versionEnergia) {
+        return new VersionDatosCliente(ClienteId.of("1001234567"), VersionFacturas.sinFacturas(), versionEnergia,
+            LocalDate.of(2025, 11, 20)).etiqueta();
+    }
+
+    @Test
+    @DisplayName("Debe detectar cambios del archivo y recargar en segundo plano")
+    void debeRecargarPeriodicamente() throws Exception {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(1), 20);
+        adapter.abrir();
+
+        Files.writeString(archivo, "\n100999999920251000030000003600000020251115\n", StandardCharsets.US_ASCII,
+            StandardOpenOption.APPEND);
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (adapter.findByClienteId(ClienteId.of("1009999999")).isEmpty() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(adapter.findByClienteId(ClienteId.of("1009999999"))).hasSize(1);
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567"))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Debe cargar el indice desde el snapshot al reiniciar")
+    void debeCargarIndiceDesdeSnapshot() throws Exception {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Path snapshot = directorio.resolve("consumos_energia.idx");
+        Files.write(archivo, CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(1), 0, snapshot);
+        adapter.abrir();
+        adapter.recargar().get(5, TimeUnit.SECONDS);
+        assertThat(adapter.indiceDesdeSnapshot()).isFalse();
+        assertThat(snapshot).exists();
+        adapter.cerrar();
+
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(1), 0, snapshot);
+        adapter.abrir();
+
+        assertThat(adapter.indiceDesdeSnapshot()).isTrue();
+        assertThat(adapter.indiceActual()).isNotNull();
+        assertThat(adapter.findByClienteId(ClienteId.of("1001234567")))
+            .extracting(c -> c.getPeriodo().getValor())
+            .containsExactly("202510", "202509", "202506");
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el indice si el snapshot no corresponde al archivo")
+    void debeIgnorarSnapshotDesactualizado() throws Exception {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Path snapshot = directorio.resolve("consumos_energia.idx");
+        Files.write(archivo, CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(1), 0, snapshot);
+        adapter.abrir();
+        adapter.recargar().get(5, TimeUnit.SECONDS);
+        adapter.cerrar();
+        Files.writeString(archivo, "\n100999999920251000030000003600000020251115\n", StandardCharsets.US_ASCII,
+            StandardOpenOption.APPEND);
+
+        adapter = new ConsumoEnergiaArchivoReaderAdapter(archivo, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO,
+            new ProcesadorParaleloEnergia(1), 0, snapshot);
+        adapter.abrir();
+
+        assertThat(adapter.indiceDesdeSnapshot()).isFalse();
+        assertThat(adapter.findByClienteId(ClienteId.of("1009999999"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe fallar al abrir un archivo inexistente")
+    void debeFallarConArchivoInexistente() {
+        ConsumoEnergiaArchivoReaderAdapter sinArchivo =
+            new ConsumoEnergiaArchivoReaderAdapter(directorio.resolve("no-existe.txt"), 1024);
+
+        assertThatThrownBy(sinArchivo::abrir)
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("no-existe.txt");
+    }
+}
@@ -0,0 +1,494 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ModoImportacion;
+import com.serviciudad.domain.model.ResultadoImportacion;
+import com.serviciudad.infrastructure.adapter.output.persistence.DeudaResumenAdapter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository.Checkpoint;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConsumoEnergiaBulkWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConsumoEnergiaUpsertWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ConteoFusion;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.JdbcBatchConsumoEnergiaWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.JdbcUpsertConsumoEnergiaWriter;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.LoteConsumoEnergia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para ConsumoEnergiaImportAdapter.
+ *
+ * Usa una base H2 embebida (escritura por batches JDBC) para verificar la
+ * importación por lotes, los conteos, la reanudación desde el checkpoint y el
+ * modo incremental con detección de rotación y truncamiento, la fusión idempotente
+ * por (cliente, periodo) bajo el mismo índice único que el esquema y el recálculo
+ * del resumen de deuda de los clientes importados.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: ConsumoEnergiaImport - Tests Unitarios")
+class ConsumoEnergiaImportAdapterTest {
+
+    @TempDir
+    Path directorio;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE consumo_energia (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "cliente_id VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo DECIMAL(10,2) NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, fecha_lectura DATE NOT NULL, estrato VARCHAR(2) NOT NULL)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uk_consumo ON consumo_energia(cliente_id, periodo)");
+        jdbcTemplate.execute("CREATE TABLE consumo_energia_importacion (archivo VARCHAR(500) PRIMARY KEY, " +
+            "offset_bytes BIGINT NOT NULL, registros_importados BIGINT NOT NULL DEFAULT 0, " +
+            "clave_archivo VARCHAR(200), tamano_archivo BIGINT, longitud_cabecera INTEGER, " +
+            "checksum_cabecera BIGINT, fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE deuda_resumen (cliente_id VARCHAR(10) PRIMARY KEY, " +
+            "deuda_acueducto DECIMAL(14,2) NOT NULL DEFAULT 0, facturas_pendientes INTEGER NOT NULL DEFAULT 0, " +
+            "facturas_vencidas INTEGER NOT NULL DEFAULT 0, total_facturas INTEGER NOT NULL DEFAULT 0, " +
+            "consumo_acueducto_m3 BIGINT NOT NULL DEFAULT 0, deuda_energia DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "total_consumos_energia INTEGER NOT NULL DEFAULT 0, consumo_energia_kwh DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+
+        archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private ConsumoEnergiaImportAdapter crearAdapter(int tamanoLote, ConsumoEnergiaBulkWriter writer) {
+        return crearAdapter(tamanoLote, writer, new JdbcUpsertConsumoEnergiaWriter(),
+            new CheckpointImportacionRepository(jdbcTemplate));
+    }
+
+    private ConsumoEnergiaImportAdapter crearAdapter(int tamanoLote, ConsumoEnergiaBulkWriter writer,
+                                                     ConsumoEnergiaUpsertWriter upsertWriter,
+                                                     CheckpointImportacionRepository checkpoints) {
+        return new ConsumoEnergiaImportAdapter(archivo.toString(), tamanoLote, "3", dataSource,
+            new DataSourceTransactionManager(dataSource), checkpoints,
+            List.of(writer), List.of(upsertWriter),
+            new PipelineImportacionEnergia(new PipelineImportacionEnergia.Configuracion(2, 2, 2, 1),
+                new SimpleMeterRegistry()),
+            new DeudaResumenAdapter(jdbcTemplate));
+    }
+
+    private int contarConsumos() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consumo_energia", Integer.class);
+    }
+
+    private long offsetGuardado() {
+        return jdbcTemplate.queryForObject("SELECT offset_bytes FROM consumo_energia_importacion", Long.class);
+    }
+
+    @Test
+    @DisplayName("Debe importar los registros validos y contar los rechazados")
+    void debeImportarRegistrosValidos() throws IOException {
+        ResultadoImportacion resultado = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter())
+            .importar(false, ModoImportacion.AGREGAR);
+
+        assertThat(resultado.getRegistrosLeidos()).isEqualTo(7);
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(5);
+        assertThat(resultado.getRegistrosRechazados()).isEqualTo(2);
+        assertThat(resultado.getLotesConfirmados()).isEqualTo(1);
+        assertThat(resultado.getOffsetFinal()).isEqualTo(Files.size(archivo));
+        assertThat(resultado.fueReanudada()).isFalse();
+        assertThat(contarConsumos()).isEqualTo(5);
+        assertThat(offsetGuardado()).isEqualTo(Files.size(archivo));
+
+        assertThat(jdbcTemplate.queryForMap(
+            "SELECT consumo, valor_pagar, fecha_lectura, estrato FROM consumo_energia " +
+            "WHERE cliente_id = '0011234567'"))
+            .containsEntry("ESTRATO", "3")
+            .satisfies(fila -> {
+                assertThat((BigDecimal) fila.get("CONSUMO")).isEqualByComparingTo("250");
+                assertThat((BigDecimal) fila.get("VALOR_PAGAR")).isEqualByComparingTo("315000.00");
+                assertThat(fila.get("FECHA_LECTURA").toString()).isEqualTo("2025-11-15");
+            });
+    }
+
+    @Test
+    @DisplayName("Debe recalcular el resumen de deuda de los clientes importados en cada lote")
+    void debeRecalcularResumenDeClientesImportados() {
+        crearAdapter(2, new JdbcBatchConsumoEnergiaWriter()).importar(false, ModoImportacion.AGREGAR);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deuda_resumen", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForMap(
+            "SELECT total_consumos_energia, deuda_energia FROM deuda_resumen WHERE cliente_id = '1001234567'"))
+            .satisfies(fila -> {
+                assertThat(fila.get("TOTAL_CONSUMOS_ENERGIA")).isEqualTo(3);
+                assertThat((BigDecimal) fila.get("DEUDA_ENERGIA")).isEqualByComparingTo(jdbcTemplate.queryForObject(
+                    "SELECT SUM(valor_pagar) FROM consumo_energia WHERE cliente_id = '1001234567'", BigDecimal.class));
+            });
+    }
+
+    @Test
+    @DisplayName("Debe confirmar un lote por cada chunk lleno")
+    void debeConfirmarPorLotes() {
+        ResultadoImportacion resultado = crearAdapter(2, new JdbcBatchConsumoEnergiaWriter())
+            .importar(false, ModoImportacion.AGREGAR);
+
+        assertThat(resultado.getLotesConfirmados()).isEqualTo(3);
+        assertThat(contarConsumos()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe avanzar la generacion de los datos importados con cada importacion")
+    void debeAvanzarGeneracion() {
+        CheckpointImportacionRepository checkpoints = new CheckpointImportacionRepository(jdbcTemplate);
+        assertThat(checkpoints.generacion()).isZero();
+
+        crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter()).importar(false, ModoImportacion.AGREGAR);
+        long primera = checkpoints.generacion();
+        crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter()).importar(false, ModoImportacion.FUSIONAR);
+
+        assertThat(primera).isPositive();
+        assertThat(checkpoints.generacion()).isGreaterThan(primera);
+    }
+
+    @Test
+    @DisplayName("Debe reanudar desde el ultimo lote confirmado sin duplicar registros")
+    void debeReanudarDesdeCheckpoint() throws IOException {
+        ConsumoEnergiaBulkWriter fallaEnSegundoLote = new FallaEnLote(2);
+
+        assertThatThrownBy(() -> crearAdapter(2, fallaEnSegundoLote).importar(false, ModoImportacion.AGREGAR))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(contarConsumos()).isEqualTo(2);
+        long checkpoint = offsetGuardado();
+        assertThat(checkpoint).isPositive().isLessThan(Files.size(archivo));
+
+        ResultadoImportacion resultado = crearAdapter(2, new JdbcBatchConsumoEnergiaWriter())
+            .importar(false, ModoImportacion.AGREGAR);
+
+        assertThat(resultado.fueReanudada()).isTrue();
+        assertThat(resultado.getOffsetInicial()).isEqualTo(checkpoint);
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(3);
+        assertThat(contarConsumos()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT registros_importados FROM consumo_energia_importacion", Long.class)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar el checkpoint y fusionar con las lecturas existentes al reiniciar la importacion")
+    void debeReiniciarImportacion() {
+        crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter()).importar(false, ModoImportacion.AGREGAR);
+
+        ResultadoImportacion resultado = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter())
+            .importar(true, ModoImportacion.AGREGAR);
+
+        assertThat(resultado.getOffsetInicial()).isZero();
+        assertThat(resultado.getModo()).isEqualTo(ModoImportacion.FUSIONAR);
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(5);
+        assertThat(resultado.getRegistrosSinCambios()).isEqualTo(5);
+        assertThat(contarConsumos()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe importar desde el inicio si el archivo es menor que el checkpoint")
+    void debeReiniciarSiArchivoFueTruncado() throws IOException {
+        new CheckpointImportacionRepository(jdbcTemplate).guardar(archivo.toAbsolutePath().normalize().toString(),
+            Checkpoint.builder().offset(Files.size(archivo) + 100).registrosImportados(99).build());
+
+        ResultadoImportacion resultado = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter())
+            .importar(false, ModoImportacion.AGREGAR);
+
+        assertThat(resultado.getOffsetInicial()).isZero();
+        assertThat(contarConsumos()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe importar en modo incremental solo las lineas completas agregadas")
+    void debeImportarSoloLineasCompletasAgregadas() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+
+        ResultadoImportacion inicial = adapter.importarNuevosRegistros();
+
+        // El contenido de prueba no termina en salto de linea: el ultimo registro queda pendiente
+        assertThat(inicial.getRegistrosImportados()).isEqualTo(4);
+        assertThat(inicial.getOffsetFinal()).isLessThan(Files.size(archivo));
+
+        Files.writeString(archivo, "\n100345678920251000030000003600000020251115\n1003456789202510",
+            StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+        ResultadoImportacion agregados = adapter.importarNuevosRegistros();
+
+        assertThat(agregados.getOffsetInicial()).isEqualTo(inicial.getOffsetFinal());
+        assertThat(agregados.getRegistrosImportados()).isEqualTo(2);
+        assertThat(agregados.isArchivoReemplazado()).isFalse();
+        assertThat(contarConsumos()).isEqualTo(6);
+
+        ResultadoImportacion sinCambios = adapter.importarNuevosRegistros();
+        assertThat(sinCambios.getRegistrosLeidos()).isZero();
+        assertThat(contarConsumos()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Debe actualizar en modo incremental una linea agregada para un cliente y periodo existentes")
+    void debeFusionarLineaAgregadaDeClienteYPeriodoExistentes() throws IOException {
+        Files.writeString(archivo, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO + "\n", StandardCharsets.US_ASCII,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+        adapter.importarNuevosRegistros();
+
+        Files.writeString(archivo, "100234567820251000013000001404000020251116\n", StandardCharsets.US_ASCII,
+            StandardOpenOption.APPEND);
+        ResultadoImportacion corregido = adapter.importarNuevosRegistros();
+        ResultadoImportacion siguiente = adapter.importarNuevosRegistros();
+
+        assertThat(corregido.isArchivoReemplazado()).isFalse();
+        assertThat(corregido.getModo()).isEqualTo(ModoImportacion.FUSIONAR);
+        assertThat(corregido.getRegistrosActualizados()).isEqualTo(1);
+        assertThat(corregido.getOffsetFinal()).isEqualTo(Files.size(archivo));
+        assertThat(offsetGuardado()).isEqualTo(Files.size(archivo));
+        assertThat(siguiente.getRegistrosLeidos()).isZero();
+        assertThat(contarConsumos()).isEqualTo(5);
+        assertThat((BigDecimal) jdbcTemplate.queryForObject(
+            "SELECT consumo FROM consumo_energia WHERE cliente_id = '1002345678' AND periodo = '202510'",
+            BigDecimal.class)).isEqualByComparingTo("130");
+    }
+
+    @Test
+    @DisplayName("Debe importar desde el inicio si el archivo fue rotado")
+    void debeReescanearArchivoRotado() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+        adapter.importar(false, ModoImportacion.AGREGAR);
+
+        Path rotado = directorio.resolve("consumos_energia.txt.1");
+        Files.move(archivo, rotado);
+        Files.writeString(archivo, "100345678920251000030000003600000020251115\n", StandardCharsets.US_ASCII);
+        ResultadoImportacion resultado = adapter.importarNuevosRegistros();
+
+        assertThat(resultado.isArchivoReemplazado()).isTrue();
+        assertThat(resultado.getOffsetInicial()).isZero();
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(1);
+        assertThat(contarConsumos()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Debe importar desde el inicio si el archivo fue truncado o reescrito en sitio")
+    void debeReescanearArchivoTruncadoOReescrito() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+        adapter.importar(false, ModoImportacion.AGREGAR);
+
+        Files.writeString(archivo, "100345678920251000030000003600000020251115\n", StandardCharsets.US_ASCII,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ResultadoImportacion truncado = adapter.importarNuevosRegistros();
+
+        assertThat(truncado.isArchivoReemplazado()).isTrue();
+        assertThat(truncado.getRegistrosImportados()).isEqualTo(1);
+
+        byte[] reescrito = new byte[(int) Files.size(archivo) + 43];
+        byte[] registro = "100456789020251000030000003600000020251115\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(registro, 0, reescrito, 0, registro.length);
+        System.arraycopy(registro, 0, reescrito, registro.length, registro.length);
+        Files.write(archivo, reescrito, StandardOpenOption.TRUNCATE_EXISTING);
+        ResultadoImportacion conOtraCabecera = adapter.importarNuevosRegistros();
+
+        assertThat(conOtraCabecera.isArchivoReemplazado()).isTrue();
+        assertThat(conOtraCabecera.getRegistrosImportados()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe fusionar por cliente y periodo sin duplicar al reimportar")
+    void debeFusionarSinDuplicar() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(2, new JdbcBatchConsumoEnergiaWriter());
+
+        ResultadoImportacion inicial = adapter.importar(true, ModoImportacion.FUSIONAR);
+        ResultadoImportacion repetida = adapter.importar(true, ModoImportacion.FUSIONAR);
+
+        assertThat(inicial.getModo()).isEqualTo(ModoImportacion.FUSIONAR);
+        assertThat(inicial.getRegistrosInsertados()).isEqualTo(5);
+        assertThat(repetida.getRegistrosInsertados()).isZero();
+        assertThat(repetida.getRegistrosActualizados()).isZero();
+        assertThat(repetida.getRegistrosSinCambios()).isEqualTo(5);
+        assertThat(contarConsumos()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe actualizar solo los registros que cambiaron e insertar los nuevos")
+    void debeFusionarSoloDiferencias() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+        adapter.importar(true, ModoImportacion.FUSIONAR);
+        jdbcTemplate.update("UPDATE consumo_energia SET estrato = '5' WHERE cliente_id = '1002345678'");
+
+        Files.writeString(archivo, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO
+                .replace("100234567820251000012500001350007520251115", "100234567820251000013000001404000020251116")
+                + "\n100345678920251000030000003600000020251115\n",
+            StandardCharsets.US_ASCII, StandardOpenOption.TRUNCATE_EXISTING);
+        ResultadoImportacion resultado = adapter.importar(true, ModoImportacion.FUSIONAR);
+
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(6);
+        assertThat(resultado.getRegistrosInsertados()).isEqualTo(1);
+        assertThat(resultado.getRegistrosActualizados()).isEqualTo(1);
+        assertThat(resultado.getRegistrosSinCambios()).isEqualTo(4);
+        assertThat(contarConsumos()).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForMap(
+            "SELECT consumo, fecha_lectura, estrato FROM consumo_energia WHERE cliente_id = '1002345678'"))
+            .containsEntry("ESTRATO", "5")
+            .satisfies(fila -> {
+                assertThat((BigDecimal) fila.get("CONSUMO")).isEqualByComparingTo("130");
+                assertThat(fila.get("FECHA_LECTURA").toString()).isEqualTo("2025-11-16");
+            });
+    }
+
+    @Test
+    @DisplayName("Debe fusionar en modo incremental cuando el archivo fue reentregado")
+    void debeFusionarArchivoReentregadoEnModoIncremental() throws IOException {
+        ConsumoEnergiaImportAdapter adapter = crearAdapter(50000, new JdbcBatchConsumoEnergiaWriter());
+        adapter.importar(false, ModoImportacion.AGREGAR);
+
+        Path reentregado = directorio.resolve("consumos_energia.tmp");
+        Files.writeString(reentregado, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO
+            + "\n100345678920251000030000003600000020251115\n", StandardCharsets.US_ASCII);
+        Files.move(reentregado, archivo, StandardCopyOption.REPLACE_EXISTING);
+        ResultadoImportacion resultado = adapter.importarNuevosRegistros();
+
+        assertThat(resultado.isArchivoReemplazado()).isTrue();
+        assertThat(resultado.getModo()).isEqualTo(ModoImportacion.FUSIONAR);
+        assertThat(resultado.getRegistrosInsertados()).isEqualTo(1);
+        assertThat(resultado.getRegistrosSinCambios()).isEqualTo(5);
+        assertThat(contarConsumos()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Debe guardar checkpoints que nunca retroceden con varios escritores en paralelo")
+    void debeGuardarCheckpointsMonotonosConVariosEscritores() throws IOException {
+        List<Long> offsets = new CopyOnWriteArrayList<>();
+        CheckpointImportacionRepository registrados = new CheckpointImportacionRepository(jdbcTemplate) {
+            @Override
+            public void guardar(String clave, Checkpoint checkpoint) {
+                offsets.add(checkpoint.getOffset());
+                super.guardar(clave, checkpoint);
+            }
+        };
+        AtomicInteger llamadas = new AtomicInteger();
+        ConsumoEnergiaUpsertWriter alterno = new JdbcUpsertConsumoEnergiaWriter() {
+            @Override
+            public ConteoFusion fusionar(Connection conexion, LoteConsumoEnergia lote, String estrato)
+                    throws SQLException {
+                if (llamadas.incrementAndGet() % 2 == 1) {
+                    try {
+                        Thread.sleep(30);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.fusionar(conexion, lote, estrato);
+            }
+        };
+
+        ResultadoImportacion resultado = crearAdapter(1, new JdbcBatchConsumoEnergiaWriter(), alterno, registrados)
+            .importar(false, ModoImportacion.FUSIONAR);
+
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(5);
+        assertThat(offsets).isSorted();
+        assertThat(offsets.get(offsets.size() - 1)).isEqualTo(Files.size(archivo));
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT registros_importados FROM consumo_energia_importacion", Long.class)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe conservar la ultima lectura de un cliente y periodo repetido en bloques distintos")
+    void debeConservarUltimaLecturaConVariosEscritores() throws IOException {
+        Files.writeString(archivo, "100234567820251000012500001350007520251115\n" +
+                "100345678920251000030000003600000020251115\n" +
+                "100234567820251000013000001404000020251116\n",
+            StandardCharsets.US_ASCII, StandardOpenOption.TRUNCATE_EXISTING);
+        ConsumoEnergiaUpsertWriter primeraLecturaLenta = new JdbcUpsertConsumoEnergiaWriter() {
+            @Override
+            public ConteoFusion fusionar(Connection conexion, LoteConsumoEnergia lote, String estrato)
+                    throws SQLException {
+                if (lote.tamano() > 0 && lote.consumoKwh(0) == 125) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.fusionar(conexion, lote, estrato);
+            }
+        };
+
+        ResultadoImportacion resultado = crearAdapter(1, new JdbcBatchConsumoEnergiaWriter(), primeraLecturaLenta,
+            new CheckpointImportacionRepository(jdbcTemplate)).importar(false, ModoImportacion.FUSIONAR);
+
+        assertThat(resultado.getRegistrosImportados()).isEqualTo(3);
+        assertThat(contarConsumos()).isEqualTo(2);
+        assertThat((BigDecimal) jdbcTemplate.queryForObject(
+            "SELECT consumo FROM consumo_energia WHERE cliente_id = '1002345678' AND periodo = '202510'",
+            BigDecimal.class)).isEqualByComparingTo("130");
+        assertThat(offsetGuardado()).isEqualTo(Files.size(archivo));
+    }
+
+    @Test
+    @DisplayName("Debe fallar si ningun escritor soporta el motor de base de datos")
+    void debeFallarSinEscritorCompatible() {
+        ConsumoEnergiaBulkWriter soloPostgres = new FallaEnLote(1) {
+            @Override
+            public boolean soporta(String productoBaseDatos) {
+                return false;
+            }
+        };
+
+        assertThatThrownBy(() -> crearAdapter(10, soloPostgres).importar(false, ModoImportacion.AGREGAR))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("H2");
+    }
+
+    /**
+     * Escritor JDBC que falla al escribir el lote indicado, para simular una caída a mitad de importación.
+     */
+    private static class FallaEnLote extends JdbcBatchConsumoEnergiaWriter {
+
+        private final int loteQueFalla;
+        private final AtomicInteger lotes = new AtomicInteger();
+
+        FallaEnLote(int loteQueFalla) {
+            this.loteQueFalla = loteQueFalla;
+        }
+
+        @Override
+        public void escribir(Connection conexion, LoteConsumoEnergia lote, String estrato) throws SQLException {
+            if (lotes.incrementAndGet() == loteQueFalla) {
+                throw new SQLException("Fallo simulado");
+            }
+            super.escribir(conexion, lote, estrato);
+        }
+    }
+}
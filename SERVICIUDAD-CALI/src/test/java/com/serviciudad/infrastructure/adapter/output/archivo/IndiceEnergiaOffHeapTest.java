@@ -0,0 +1,119 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para IndiceEnergiaOffHeap y ConstructorIndiceEnergia.
+ *
+ * Verifica el orden de la columna de clientes, la conservación del orden del archivo
+ * dentro de cada cliente (radix sort estable) y la equivalencia con un índice en heap.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: IndiceEnergiaOffHeap - Tests Unitarios")
+class IndiceEnergiaOffHeapTest {
+
+    @TempDir
+    Path directorio;
+
+    private IndiceEnergiaOffHeap construir(String contenido, int hilos) throws IOException {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, contenido.getBytes(StandardCharsets.US_ASCII));
+        try (ArchivoEnergiaMapeado mapeado = ArchivoEnergiaMapeado.abrir(archivo);
+             ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(hilos, 1)) {
+            return ConstructorIndiceEnergia.construir(mapeado, procesador);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe indexar solo registros validos agrupados por cliente")
+    void debeIndexarRegistrosValidos() throws IOException {
+        IndiceEnergiaOffHeap indice = construir(ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO, 2);
+
+        assertThat(indice.getNumeroRegistros()).isEqualTo(5);
+        assertThat(indice.getNumeroClientes()).isEqualTo(3);
+        assertThat(indice.clienteEn(0)).isEqualTo(11234567L);
+        assertThat(indice.clienteEn(1)).isEqualTo(1001234567L);
+        assertThat(indice.clienteEn(2)).isEqualTo(1002345678L);
+
+        int posicion = indice.buscarCliente(1001234567L);
+        List<Integer> periodos = new ArrayList<>();
+        for (int fila = indice.primerRegistro(posicion); fila < indice.finRegistros(posicion); fila++) {
+            periodos.add(indice.periodo(fila));
+        }
+        assertThat(periodos).containsExactly(202510, 202509, 202506);
+        assertThat(indice.buscarCliente(9999999999L)).isEqualTo(-1);
+        assertThat(indice.getBytesColumnas()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Debe construir el modelo de dominio desde las columnas")
+    void debeConstruirModelo() throws IOException {
+        IndiceEnergiaOffHeap indice = construir(ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO, 1);
+        int fila = indice.primerRegistro(indice.buscarCliente(11234567L));
+
+        ConsumoEnergiaModel modelo = indice.aModelo(11234567L, fila);
+
+        assertThat(modelo.getClienteId().getValor()).isEqualTo("0011234567");
+        assertThat(modelo.getPeriodo().getValor()).isEqualTo("202510");
+        assertThat(modelo.getConsumo().getKilovatiosHora()).isEqualTo(250);
+        assertThat(modelo.getValorPagar().getMonto()).isEqualByComparingTo(new BigDecimal("315000.00"));
+        assertThat(modelo.getFechaLectura()).isEqualTo(LocalDate.of(2025, 11, 15));
+        assertThat(modelo.getEstrato()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe coincidir con un indice en heap para datos aleatorios")
+    void debeCoincidirConIndiceEnHeap() throws IOException {
+        Random random = new Random(7);
+        StringBuilder contenido = new StringBuilder("# generado\n");
+        Map<Long, List<Integer>> esperado = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long cliente = random.nextBoolean() ? random.nextInt(300) : 9_999_999_000L + random.nextInt(300);
+            int consumo = i % 100000;
+            contenido.append(String.format("%010d%06d%06d%012d%08d%n", cliente, 202501, consumo, i, 20250115));
+            esperado.computeIfAbsent(cliente, c -> new ArrayList<>()).add(consumo);
+        }
+
+        IndiceEnergiaOffHeap indice = construir(contenido.toString(), 4);
+
+        Map<Long, List<Integer>> obtenido = new LinkedHashMap<>();
+        for (int c = 0; c < indice.getNumeroClientes(); c++) {
+            List<Integer> consumos = new ArrayList<>();
+            for (int fila = indice.primerRegistro(c); fila < indice.finRegistros(c); fila++) {
+                consumos.add(indice.consumoKwh(fila));
+            }
+            obtenido.put(indice.clienteEn(c), consumos);
+        }
+        assertThat(obtenido).containsExactlyEntriesOf(esperado);
+    }
+
+    @Test
+    @DisplayName("Debe construir un indice vacio para un archivo sin registros validos")
+    void debeConstruirIndiceVacio() throws IOException {
+        IndiceEnergiaOffHeap indice = construir("# solo comentarios\n\n", 1);
+
+        assertThat(indice.getNumeroRegistros()).isZero();
+        assertThat(indice.getNumeroClientes()).isZero();
+        assertThat(indice.buscarCliente(1L)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.infrastructure.adapter.output.archivo.PipelineImportacionEnergia.BloqueEnergia;
+import com.serviciudad.infrastructure.adapter.output.archivo.PipelineImportacionEnergia.Configuracion;
+import com.serviciudad.infrastructure.adapter.output.archivo.PipelineImportacionEnergia.ResultadoPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para PipelineImportacionEnergia.
+ *
+ * Verifica el orden de escritura con uno y con varios escritores, los conteos de registros leídos y
+ * rechazados, la contrapresión de un escritor lento, la propagación de errores y las
+ * métricas por etapa.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: PipelineImportacionEnergia - Tests Unitarios")
+class PipelineImportacionEnergiaTest {
+
+    private static final int REGISTROS = 2000;
+
+    @TempDir
+    Path directorio;
+
+    private Path archivo;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder contenido = new StringBuilder("# generado\n");
+        for (int i = 0; i < REGISTROS; i++) {
+            // Cada registro numero 100 tiene un periodo fuera de rango
+            int periodo = i % 100 == 99 ? 201901 : 202501 + i % 12;
+            contenido.append(String.format("%010d%06d%06d%012d%08d%n", 1000000000L + i, periodo, i, i, 20250115));
+        }
+        contenido.append("registro-corto\n");
+        archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, contenido.toString().getBytes(StandardCharsets.US_ASCII));
+        registry = new SimpleMeterRegistry();
+    }
+
+    private ResultadoPipeline ejecutar(Configuracion configuracion, boolean paralelo,
+                                       PipelineImportacionEnergia.EscritorBloques escritor) throws IOException {
+        PipelineImportacionEnergia pipeline = new PipelineImportacionEnergia(configuracion, registry);
+        try (ArchivoEnergiaMapeado mapeado = ArchivoEnergiaMapeado.abrir(archivo)) {
+            return pipeline.ejecutar(mapeado, 0, mapeado.getTamano(), 64, paralelo, escritor);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir los bloques en orden de archivo con un solo escritor")
+    void debeEscribirEnOrden() throws IOException {
+        List<Long> secuencias = new ArrayList<>();
+        List<Long> clientes = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+
+        ResultadoPipeline resultado = ejecutar(new Configuracion(4, 3, 4, 2), false, bloque -> {
+            secuencias.add(bloque.getSecuencia());
+            offsets.add(bloque.getOffsetFin());
+            for (int i = 0; i < bloque.getLote().tamano(); i++) {
+                clientes.add(bloque.getLote().clienteId(i));
+            }
+        });
+
+        assertThat(resultado.getRegistrosLeidos()).isEqualTo(REGISTROS + 1);
+        assertThat(resultado.getRegistrosRechazados()).isEqualTo(REGISTROS / 100 + 1);
+        assertThat(resultado.getBloques()).isEqualTo(secuencias.size());
+        assertThat(secuencias).isSorted().doesNotHaveDuplicates();
+        assertThat(offsets).isSorted().last().isEqualTo(Files.size(archivo));
+        assertThat(clientes).hasSize(REGISTROS - REGISTROS / 100).isSorted();
+    }
+
+    @Test
+    @DisplayName("Debe repartir cada bloque por cliente entre varios escritores en orden de archivo")
+    void debeEscribirConVariosEscritores() throws IOException {
+        Set<Long> secuencias = ConcurrentHashMap.newKeySet();
+        AtomicLong registros = new AtomicLong();
+        Map<Long, List<Long>> porEscritor = new ConcurrentHashMap<>();
+
+        ResultadoPipeline resultado = ejecutar(new Configuracion(2, 2, 3, 1), true, bloque -> {
+            assertThat(secuencias.add(bloque.getSecuencia())).isTrue();
+            registros.addAndGet(bloque.getLote().tamano());
+            List<Long> clientes = porEscritor.computeIfAbsent(bloque.getSecuencia() % 3, k -> new ArrayList<>());
+            for (int i = 0; i < bloque.getLote().tamano(); i++) {
+                assertThat(bloque.getLote().clienteId(i) % 3).isEqualTo(bloque.getSecuencia() % 3);
+                clientes.add(bloque.getLote().clienteId(i));
+            }
+        });
+
+        assertThat(secuencias).hasSize((int) resultado.getBloques() * 3);
+        assertThat(registros.get()).isEqualTo(REGISTROS - REGISTROS / 100);
+        assertThat(porEscritor.values()).allSatisfy(clientes -> assertThat(clientes).isSorted());
+    }
+
+    @Test
+    @DisplayName("Debe acotar los bloques en memoria y registrar la espera del lector con un escritor lento")
+    void debeAplicarContrapresion() throws IOException {
+        Set<BloqueEnergia> distintos = Collections.newSetFromMap(new IdentityHashMap<>());
+        Configuracion configuracion = new Configuracion(1, 1, 1, 1);
+
+        ejecutar(configuracion, false, bloque -> {
+            distintos.add(bloque);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        int enVuelo = 3 * configuracion.getCapacidadCola() + configuracion.getDecodificadores()
+            + configuracion.getValidadores() + 1 + 1;
+        assertThat(distintos).hasSizeLessThanOrEqualTo(enVuelo);
+        assertThat(registry.get("energia.importacion.espera").tag("etapa", "lector").tag("tipo", "salida")
+            .timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Debe propagar el error del escritor y detener las demas etapas")
+    void debePropagarErrorDelEscritor() {
+        AtomicInteger escritos = new AtomicInteger();
+
+        assertThatThrownBy(() -> ejecutar(new Configuracion(2, 1, 1, 1), false, bloque -> {
+            if (escritos.incrementAndGet() == 3) {
+                throw new IllegalStateException("Fallo simulado");
+            }
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Fallo simulado");
+        assertThat(escritos.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Debe exportar throughput por etapa y profundidad de colas")
+    void debeExportarMetricas() throws IOException {
+        ejecutar(new Configuracion(2, 1, 1, 2), false, bloque -> { });
+
+        assertThat(registry.get("energia.importacion.registros").tag("etapa", "lector").counter().count())
+            .isEqualTo(REGISTROS + 1);
+        assertThat(registry.get("energia.importacion.registros").tag("etapa", "decodificador").counter().count())
+            .isEqualTo(REGISTROS + 1);
+        assertThat(registry.get("energia.importacion.registros").tag("etapa", "escritor").counter().count())
+            .isEqualTo(REGISTROS - REGISTROS / 100);
+        assertThat(registry.get("energia.importacion.procesamiento").tag("etapa", "validador").timer().count())
+            .isPositive();
+        assertThat(registry.get("energia.importacion.cola").tag("cola", "lineas").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar configuraciones sin paralelismo")
+    void debeRechazarConfiguracionInvalida() {
+        assertThatThrownBy(() -> new PipelineImportacionEnergia(new Configuracion(0, 1, 1, 1), registry))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
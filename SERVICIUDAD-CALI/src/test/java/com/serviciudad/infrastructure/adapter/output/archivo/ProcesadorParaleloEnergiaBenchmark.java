@@ -0,0 +1,96 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: recorrido paralelo del archivo legacy de energía.
+ *
+ * Genera un archivo temporal de registros de 75 caracteres y mide el tiempo de decodificar
+ * y agregar todos los registros con distinto número de hilos. Con el archivo en page cache,
+ * el tiempo debe bajar casi linealmente con los hilos hasta el ancho de banda de memoria/disco.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.filtro=ProcesadorParaleloEnergia
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcesadorParaleloEnergiaBenchmark {
+
+    @Param({"2000000"})
+    private int registros;
+
+    @Param({"1", "2", "4", "8"})
+    private int hilos;
+
+    private Path ruta;
+    private ArchivoEnergiaMapeado archivo;
+    private ProcesadorParaleloEnergia procesador;
+
+    @Setup
+    public void preparar() throws IOException {
+        ruta = Files.createTempFile("consumos_energia", ".txt");
+        Random random = new Random(42);
+        try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(ruta), 1 << 16)) {
+            salida.write("# Archivo generado para benchmark\n".getBytes(StandardCharsets.US_ASCII));
+            for (int i = 0; i < registros; i++) {
+                String linea = String.format("%010d%06d%06d%012d%08d%033d\n",
+                    1000000000L + random.nextInt(100000),
+                    202001 + random.nextInt(12),
+                    random.nextInt(1000),
+                    random.nextInt(50_000_000),
+                    20251115,
+                    0);
+                salida.write(linea.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        archivo = ArchivoEnergiaMapeado.abrir(ruta);
+        procesador = new ProcesadorParaleloEnergia(hilos);
+    }
+
+    @TearDown
+    public void liberar() throws IOException {
+        procesador.close();
+        archivo.close();
+        Files.deleteIfExists(ruta);
+    }
+
+    @Benchmark
+    public void totalizarConsumos(Blackhole blackhole) {
+        List<long[]> parciales = procesador.procesar(archivo, particion -> {
+            RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+            long[] totales = new long[2];
+            particion.recorrerRegistros((buffer, inicio, longitud, offset) -> {
+                if (cursor.decodificar(buffer, inicio, longitud) && cursor.cumpleReglasDominio()) {
+                    totales[0] += cursor.getConsumoKwh();
+                    totales[1] += cursor.getValorCentavos();
+                }
+            });
+            return totales;
+        });
+        long kwh = 0;
+        long centavos = 0;
+        for (long[] totales : parciales) {
+            kwh += totales[0];
+            centavos += totales[1];
+        }
+        blackhole.consume(kwh);
+        blackhole.consume(centavos);
+    }
+}
@@ -0,0 +1,148 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.infrastructure.adapter.output.archivo.ArchivoEnergiaMapeado.Particion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para ProcesadorParaleloEnergia y el particionado de ArchivoEnergiaMapeado.
+ *
+ * Verifica que los rangos queden alineados a inicios de línea (con comentarios y
+ * registros cortos en los bordes) y que el recorrido paralelo produzca exactamente
+ * las mismas líneas, en el mismo orden, que el recorrido secuencial.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: ProcesadorParaleloEnergia - Tests Unitarios")
+class ProcesadorParaleloEnergiaTest {
+
+    @TempDir
+    Path directorio;
+
+    private ArchivoEnergiaMapeado abrir(long tamanoSegmento) throws IOException {
+        Path archivo = directorio.resolve("consumos_energia.txt");
+        Files.write(archivo, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        return ArchivoEnergiaMapeado.abrir(archivo, tamanoSegmento);
+    }
+
+    private static List<Long> offsetsSecuenciales(ArchivoEnergiaMapeado archivo) {
+        List<Long> offsets = new ArrayList<>();
+        archivo.recorrerRegistros((buffer, inicio, longitud, offset) -> offsets.add(offset));
+        return offsets;
+    }
+
+    @Test
+    @DisplayName("Debe generar particiones contiguas que empiezan al inicio de una linea")
+    void debeAlinearParticionesAInicioDeLinea() throws IOException {
+        try (ArchivoEnergiaMapeado archivo = abrir(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO)) {
+            byte[] contenido = Files.readAllBytes(archivo.getRuta());
+
+            for (int cantidad = 1; cantidad <= 40; cantidad++) {
+                List<Particion> particiones = archivo.particionar(cantidad, 1);
+
+                long esperado = 0;
+                for (Particion particion : particiones) {
+                    assertThat(particion.getOffsetInicio()).isEqualTo(esperado);
+                    assertThat(esperado == 0 || contenido[(int) esperado - 1] == '\n').isTrue();
+                    esperado = particion.getOffsetBase() + particion.getHasta();
+                }
+                assertThat(esperado).isEqualTo(archivo.getTamano());
+                assertThat(particiones.size()).isLessThanOrEqualTo(cantidad);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe respetar el tamaño minimo por particion")
+    void debeRespetarTamanoMinimo() throws IOException {
+        try (ArchivoEnergiaMapeado archivo = abrir(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO)) {
+            assertThat(archivo.particionar(16, archivo.getTamano())).hasSize(1);
+            assertThatThrownBy(() -> archivo.particionar(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe recorrer en paralelo las mismas lineas y en el mismo orden que el recorrido secuencial")
+    void debeRecorrerEnParaleloComoSecuencial() throws IOException {
+        for (long tamanoSegmento : new long[] {100, 256, ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO}) {
+            try (ArchivoEnergiaMapeado archivo = abrir(tamanoSegmento);
+                 ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(4, 1)) {
+
+                List<List<Long>> parciales = procesador.procesar(archivo, particion -> {
+                    List<Long> offsets = new ArrayList<>();
+                    particion.recorrerRegistros((buffer, inicio, longitud, offset) -> offsets.add(offset));
+                    return offsets;
+                });
+
+                assertThat(parciales.size()).isGreaterThan(1);
+                assertThat(parciales.stream().flatMap(List::stream).collect(Collectors.toList()))
+                    .containsExactlyElementsOf(offsetsSecuenciales(archivo));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe combinar sumideros por particion sin sincronizacion")
+    void debeCombinarSumiderosPorParticion() throws IOException {
+        try (ArchivoEnergiaMapeado archivo = abrir(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+             ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(3, 1)) {
+
+            List<ContadorValidos> sumideros = procesador.recorrerPorParticion(archivo, ContadorValidos::new);
+
+            assertThat(sumideros.stream().mapToInt(c -> c.validos).sum()).isEqualTo(5);
+            assertThat(sumideros.stream().mapToInt(c -> c.invalidos).sum()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe propagar la excepcion de una particion")
+    void debePropagarExcepcion() throws IOException {
+        try (ArchivoEnergiaMapeado archivo = abrir(ArchivoEnergiaMapeado.TAMANO_SEGMENTO_POR_DEFECTO);
+             ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(2, 1)) {
+
+            assertThatThrownBy(() -> procesador.procesar(archivo, particion -> {
+                if (particion.getOffsetInicio() > 0) {
+                    throw new IllegalStateException("Fallo en particion");
+                }
+                return particion;
+            })).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe usar los procesadores disponibles con paralelismo cero")
+    void debeUsarProcesadoresDisponibles() {
+        try (ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(0)) {
+            assertThat(procesador.getParalelismo()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private static class ContadorValidos implements ArchivoEnergiaMapeado.VisitanteRegistro {
+
+        private final RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        private int validos;
+        private int invalidos;
+
+        @Override
+        public void visitar(java.nio.ByteBuffer buffer, int inicio, int longitud, long offsetArchivo) {
+            if (cursor.decodificar(buffer, inicio, longitud) && cursor.cumpleReglasDominio()) {
+                validos++;
+            } else {
+                invalidos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.ConsumoEnergia;
+import com.serviciudad.domain.valueobject.Dinero;
+import com.serviciudad.domain.valueobject.Periodo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: decodificación de registros legacy de energía.
+ *
+ * Compara el parseo tradicional (un String por campo, regex de los value objects
+ * y BigDecimal por registro) contra {@link RegistroEnergiaCursor}, que lee los
+ * dígitos del buffer a primitivos y solo crea objetos de dominio para los
+ * registros que coinciden con la búsqueda.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.filtro=RegistroEnergiaCursor
+ * (agregar -prof gc en jmh.filtro para comparar la basura generada por operación).
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistroEnergiaCursorBenchmark {
+
+    private static final int LONGITUD_LINEA = 76;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Param({"100000"})
+    private int registros;
+
+    private ByteBuffer buffer;
+    private long clienteBuscado;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        buffer = ByteBuffer.allocateDirect(registros * LONGITUD_LINEA);
+        for (int i = 0; i < registros; i++) {
+            String linea = String.format("%010d%06d%06d%012d%08d%033d\n",
+                1000000000L + random.nextInt(1000),
+                202001 + random.nextInt(12),
+                random.nextInt(1000),
+                random.nextInt(50_000_000),
+                20251115,
+                0);
+            buffer.put(linea.getBytes(StandardCharsets.US_ASCII));
+        }
+        buffer.flip();
+        clienteBuscado = 1000000500L;
+    }
+
+    @Benchmark
+    public void parseoConStrings(Blackhole blackhole) {
+        byte[] linea = new byte[LONGITUD_LINEA - 1];
+        String cliente = RegistroEnergiaCursor.formatearClienteId(clienteBuscado);
+        for (int inicio = 0; inicio < buffer.limit(); inicio += LONGITUD_LINEA) {
+            buffer.get(inicio, linea);
+            String texto = new String(linea, StandardCharsets.US_ASCII);
+            ConsumoEnergiaModel consumo = ConsumoEnergiaModel.builder()
+                .clienteId(ClienteId.of(texto.substring(0, 10)))
+                .periodo(Periodo.of(texto.substring(10, 16)))
+                .consumo(ConsumoEnergia.of(Integer.parseInt(texto.substring(16, 22))))
+                .valorPagar(Dinero.of(new BigDecimal(texto.substring(22, 34)).movePointLeft(2)))
+                .fechaLectura(LocalDate.parse(texto.substring(34, 42), FORMATO_FECHA))
+                .build();
+            if (consumo.getClienteId().getValor().equals(cliente)) {
+                blackhole.consume(consumo);
+            }
+        }
+    }
+
+    @Benchmark
+    public void cursorFlyweight(Blackhole blackhole) {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        for (int inicio = 0; inicio < buffer.limit(); inicio += LONGITUD_LINEA) {
+            if (cursor.decodificar(buffer, inicio, LONGITUD_LINEA - 1)
+                    && cursor.cumpleReglasDominio()
+                    && cursor.getClienteId() == clienteBuscado) {
+                blackhole.consume(cursor.aModelo());
+            }
+        }
+    }
+
+    @Benchmark
+    public void cursorFlyweightSoloAgregados(Blackhole blackhole) {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        long totalCentavos = 0;
+        long totalKwh = 0;
+        for (int inicio = 0; inicio < buffer.limit(); inicio += LONGITUD_LINEA) {
+            if (cursor.decodificar(buffer, inicio, LONGITUD_LINEA - 1)) {
+                totalCentavos += cursor.getValorCentavos();
+                totalKwh += cursor.getConsumoKwh();
+            }
+        }
+        blackhole.consume(totalCentavos);
+        blackhole.consume(totalKwh);
+    }
+}
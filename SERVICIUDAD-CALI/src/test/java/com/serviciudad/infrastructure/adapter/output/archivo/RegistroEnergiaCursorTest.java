@@ -0,0 +1,104 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import com.serviciudad.domain.model.ConsumoEnergiaModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para RegistroEnergiaCursor.
+ *
+ * Verifica la decodificación a primitivos, la validación de reglas de dominio
+ * y la construcción del modelo solo bajo demanda.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: RegistroEnergiaCursor - Tests Unitarios")
+class RegistroEnergiaCursorTest {
+
+    private static ByteBuffer buffer(String contenido) {
+        return ByteBuffer.wrap(contenido.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Debe decodificar los campos del registro a primitivos")
+    void debeDecodificarCampos() {
+        String linea = "xx001123456720251000025000003150000020251115";
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+
+        boolean valido = cursor.decodificar(buffer(linea), 2, linea.length() - 2);
+
+        assertThat(valido).isTrue();
+        assertThat(cursor.getClienteId()).isEqualTo(11234567L);
+        assertThat(cursor.getPeriodo()).isEqualTo(202510);
+        assertThat(cursor.getConsumoKwh()).isEqualTo(250);
+        assertThat(cursor.getValorCentavos()).isEqualTo(31500000L);
+        assertThat(cursor.getFecha()).isEqualTo(20251115);
+        assertThat(cursor.cumpleReglasDominio()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe construir el modelo de dominio con ceros a la izquierda en el cliente")
+    void debeConstruirModelo() {
+        String linea = "001123456720251000025000003150000020251115";
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        cursor.decodificar(buffer(linea), 0, linea.length());
+
+        ConsumoEnergiaModel modelo = cursor.aModelo();
+
+        assertThat(modelo.getClienteId().getValor()).isEqualTo("0011234567");
+        assertThat(modelo.getPeriodo().getValor()).isEqualTo("202510");
+        assertThat(modelo.getConsumo().getKilovatiosHora()).isEqualTo(250);
+        assertThat(modelo.getValorPagar().getMonto()).isEqualByComparingTo(new BigDecimal("315000.00"));
+        assertThat(modelo.getFechaLectura()).isEqualTo(LocalDate.of(2025, 11, 15));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar lineas cortas o con caracteres no numericos")
+    void debeRechazarLineasInvalidas() {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        String corta = "1001234567202510";
+        String conLetra = "10012345672025100001X0000018000050202511150";
+
+        assertThat(cursor.decodificar(buffer(corta), 0, corta.length())).isFalse();
+        assertThat(cursor.decodificar(buffer(conLetra), 0, conLetra.length())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe detectar registros que violan las reglas del dominio")
+    void debeDetectarReglasDeDominio() {
+        RegistroEnergiaCursor cursor = new RegistroEnergiaCursor();
+        String periodoInvalido = "100123456720251300015000001800005020251115";
+        String fechaInvalida = "100123456720251000015000001800005020250230";
+
+        cursor.decodificar(buffer(periodoInvalido), 0, periodoInvalido.length());
+        assertThat(cursor.cumpleReglasDominio()).isFalse();
+
+        cursor.decodificar(buffer(fechaInvalida), 0, fechaInvalida.length());
+        assertThat(cursor.cumpleReglasDominio()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe validar fechas de calendario incluyendo años bisiestos")
+    void debeValidarFechas() {
+        assertThat(RegistroEnergiaCursor.esFechaValida(20240229)).isTrue();
+        assertThat(RegistroEnergiaCursor.esFechaValida(20250229)).isFalse();
+        assertThat(RegistroEnergiaCursor.esFechaValida(20250431)).isFalse();
+        assertThat(RegistroEnergiaCursor.esFechaValida(20251231)).isTrue();
+        assertThat(RegistroEnergiaCursor.esFechaValida(20250001)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe formatear el cliente con 10 digitos")
+    void debeFormatearClienteId() {
+        assertThat(RegistroEnergiaCursor.formatearClienteId(42L)).isEqualTo("0000000042");
+        assertThat(RegistroEnergiaCursor.formatearClienteId(1001234567L)).isEqualTo("1001234567");
+    }
+}
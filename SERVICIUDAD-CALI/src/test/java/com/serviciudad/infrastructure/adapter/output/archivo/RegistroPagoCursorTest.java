@@ -0,0 +1,72 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para RegistroPagoCursor.
+ *
+ * Verifica la decodificación a primitivos de los registros de pagos bancarios y el rechazo
+ * de registros que no identifican la factura o traen campos inválidos.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: RegistroPagoCursor - Tests Unitarios")
+class RegistroPagoCursorTest {
+
+    private static ByteBuffer buffer(String contenido) {
+        return ByteBuffer.wrap(contenido.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Debe decodificar los campos del registro a primitivos")
+    void debeDecodificarCampos() {
+        String linea = "xx000000001234001123456720251000000500000020251020";
+        RegistroPagoCursor cursor = new RegistroPagoCursor();
+
+        boolean valido = cursor.decodificar(buffer(linea), 2, linea.length() - 2);
+
+        assertThat(valido).isTrue();
+        assertThat(cursor.tieneFacturaId()).isTrue();
+        assertThat(cursor.getFacturaId()).isEqualTo(1234L);
+        assertThat(cursor.getClienteId()).isEqualTo(11234567L);
+        assertThat(cursor.getPeriodo()).isEqualTo(202510);
+        assertThat(cursor.getValorCentavos()).isEqualTo(5000000L);
+        assertThat(cursor.getFechaPago()).isEqualTo(20251020);
+    }
+
+    @Test
+    @DisplayName("Debe aceptar registros sin ID de factura que identifican cliente y período")
+    void debeAceptarRegistroPorClienteYPeriodo() {
+        String linea = "000000000000001123456720251000000500000020251020";
+        RegistroPagoCursor cursor = new RegistroPagoCursor();
+
+        assertThat(cursor.decodificar(buffer(linea), 0, linea.length())).isTrue();
+        assertThat(cursor.tieneFacturaId()).isFalse();
+        assertThat(RegistroPagoCursor.clave(cursor.getClienteId(), cursor.getPeriodo()))
+            .isEqualTo(11234567_202510L);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar registros cortos, no numéricos, sin factura ni cliente o con fechas inválidas")
+    void debeRechazarRegistrosInvalidos() {
+        RegistroPagoCursor cursor = new RegistroPagoCursor();
+        String corta = "00000000123400112345672025100000050000";
+        String conLetra = "000000001234001123456720251000000500X00020251020";
+        String sinIdentificacion = "000000000000000000000020251000000500000020251020";
+        String periodoInvalido = "000000001234001123456720251300000500000020251020";
+        String fechaInvalida = "000000001234001123456720251000000500000020250230";
+
+        assertThat(cursor.decodificar(buffer(corta), 0, corta.length())).isFalse();
+        assertThat(cursor.decodificar(buffer(conLetra), 0, conLetra.length())).isFalse();
+        assertThat(cursor.decodificar(buffer(sinIdentificacion), 0, sinIdentificacion.length())).isFalse();
+        assertThat(cursor.decodificar(buffer(periodoInvalido), 0, periodoInvalido.length())).isFalse();
+        assertThat(cursor.decodificar(buffer(fechaInvalida), 0, fechaInvalida.length())).isFalse();
+    }
+}
@@ -0,0 +1,110 @@
+package com.serviciudad.infrastructure.adapter.output.archivo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para SnapshotIndiceEnergia.
+ *
+ * Verifica la ida y vuelta del índice por el formato binario, el rechazo de snapshots
+ * de otro archivo fuente o con cabecera inválida y la detección de columnas corruptas.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Archivo: SnapshotIndiceEnergia - Tests Unitarios")
+class SnapshotIndiceEnergiaTest {
+
+    @TempDir
+    Path directorio;
+
+    private Path archivo;
+    private Path snapshot;
+    private IndiceEnergiaOffHeap indice;
+    private SnapshotIndiceEnergia.Fuente fuente;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = directorio.resolve("consumos_energia.txt");
+        snapshot = directorio.resolve("consumos_energia.idx");
+        Files.write(archivo, ConsumoEnergiaArchivoReaderAdapterTest.CONTENIDO.getBytes(StandardCharsets.US_ASCII));
+        try (ArchivoEnergiaMapeado mapeado = ArchivoEnergiaMapeado.abrir(archivo);
+             ProcesadorParaleloEnergia procesador = new ProcesadorParaleloEnergia(1)) {
+            indice = ConstructorIndiceEnergia.construir(mapeado, procesador);
+        }
+        fuente = SnapshotIndiceEnergia.Fuente.leer(archivo);
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el mismo indice desde el snapshot")
+    void debeReconstruirIndice() throws IOException {
+        SnapshotIndiceEnergia.escribir(snapshot, indice, fuente);
+
+        IndiceEnergiaOffHeap cargado = SnapshotIndiceEnergia.abrir(snapshot, fuente).orElseThrow();
+
+        assertThat(cargado.getNumeroClientes()).isEqualTo(indice.getNumeroClientes());
+        assertThat(cargado.getNumeroRegistros()).isEqualTo(indice.getNumeroRegistros());
+        for (int c = 0; c < indice.getNumeroClientes(); c++) {
+            assertThat(cargado.clienteEn(c)).isEqualTo(indice.clienteEn(c));
+            assertThat(cargado.primerRegistro(c)).isEqualTo(indice.primerRegistro(c));
+            assertThat(cargado.finRegistros(c)).isEqualTo(indice.finRegistros(c));
+        }
+        for (int fila = 0; fila < indice.getNumeroRegistros(); fila++) {
+            assertThat(cargado.periodo(fila)).isEqualTo(indice.periodo(fila));
+            assertThat(cargado.consumoKwh(fila)).isEqualTo(indice.consumoKwh(fila));
+            assertThat(cargado.valorCentavos(fila)).isEqualTo(indice.valorCentavos(fila));
+            assertThat(cargado.fecha(fila)).isEqualTo(indice.fecha(fila));
+            assertThat(cargado.estrato(fila)).isEqualTo(indice.estrato(fila));
+        }
+        assertThat(SnapshotIndiceEnergia.verificar(snapshot)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar el snapshot si el archivo fuente cambio")
+    void debeIgnorarSnapshotDeOtraFuente() throws IOException {
+        SnapshotIndiceEnergia.escribir(snapshot, indice, fuente);
+        SnapshotIndiceEnergia.Fuente otra = new SnapshotIndiceEnergia.Fuente(fuente.getTamano() + 1,
+            fuente.getModificacion(), fuente.getLongitudCabecera(), fuente.getChecksumCabecera());
+
+        assertThat(SnapshotIndiceEnergia.abrir(snapshot, otra)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe detectar columnas corruptas al verificar el CRC")
+    void debeDetectarColumnasCorruptas() throws IOException {
+        SnapshotIndiceEnergia.escribir(snapshot, indice, fuente);
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), SnapshotIndiceEnergia.TAMANO_CABECERA + 3);
+        }
+
+        assertThat(SnapshotIndiceEnergia.verificar(snapshot)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar snapshots inexistentes o con cabecera invalida")
+    void debeRechazarCabeceraInvalida() throws IOException {
+        assertThat(SnapshotIndiceEnergia.abrir(snapshot, fuente)).isEmpty();
+
+        SnapshotIndiceEnergia.escribir(snapshot, indice, fuente);
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {2}), 8);
+        }
+        Optional<IndiceEnergiaOffHeap> cargado = SnapshotIndiceEnergia.abrir(snapshot, fuente);
+
+        assertThat(cargado).isEmpty();
+        assertThat(SnapshotIndiceEnergia.verificar(snapshot)).isFalse();
+    }
+}
@@ -0,0 +1,154 @@
+package com.serviciudad.infrastructure.adapter.output.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.valueobject.ClienteId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para DeudaCacheCaffeineAdapter.
+ *
+ * Verifica aciertos y fallos, la invalidación por cliente y completa, el descarte de
+ * deudas calculadas antes de una invalidación o con otra versión de energía, la
+ * invalidación repetida al terminar la transacción y las métricas expuestas.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Cache: DeudaCacheCaffeineAdapter - Tests Unitarios")
+class DeudaCacheCaffeineAdapterTest {
+
+    private static final ClienteId CLIENTE = ClienteId.of("1234567890");
+    private static final ClienteId OTRO_CLIENTE = ClienteId.of("0987654321");
+
+    private SimpleMeterRegistry registry;
+    private DeudaCacheCaffeineAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new DeudaCacheCaffeineAdapter(Caffeine.newBuilder().maximumSize(2).executor(Runnable::run), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static DeudaConsolidada deuda(ClienteId clienteId) {
+        return DeudaConsolidada.construir(clienteId, List.of(), List.of());
+    }
+
+    private void guardar(DeudaConsolidada deuda) {
+        cache.obtener(deuda.getClienteId(), 1L);
+        cache.guardar(deuda, cache.marcaInvalidacion(), 1L);
+    }
+
+    @Test
+    @DisplayName("Debe retornar la deuda guardada y contar aciertos y fallos")
+    void debeRetornarDeudaGuardada() {
+        DeudaConsolidada deuda = deuda(CLIENTE);
+
+        assertThat(cache.obtener(CLIENTE, 1L)).isEmpty();
+        cache.guardar(deuda, cache.marcaInvalidacion(), 1L);
+
+        assertThat(cache.obtener(CLIENTE, 1L)).containsSame(deuda);
+        assertThat(cache.obtener(OTRO_CLIENTE, 1L)).isEmpty();
+        assertThat(registry.get("cache.gets").tag("cache", "deuda.consolidada").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "deuda.consolidada").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar solo la deuda del cliente afectado")
+    void debeInvalidarPorCliente() {
+        guardar(deuda(CLIENTE));
+        guardar(deuda(OTRO_CLIENTE));
+
+        cache.invalidar(CLIENTE);
+
+        assertThat(cache.obtener(CLIENTE, 1L)).isEmpty();
+        assertThat(cache.obtener(OTRO_CLIENTE, 1L)).isPresent();
+        assertThat(registry.get("deuda.cache.invalidaciones").tag("alcance", "cliente").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar todas las deudas al importar energía")
+    void debeInvalidarTodo() {
+        guardar(deuda(CLIENTE));
+        guardar(deuda(OTRO_CLIENTE));
+
+        cache.invalidarTodo();
+
+        assertThat(cache.tamano()).isZero();
+        assertThat(registry.get("deuda.cache.invalidaciones").tag("alcance", "todo").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe guardar una deuda calculada antes de una invalidación")
+    void noDebeGuardarDeudaObsoleta() {
+        cache.obtener(CLIENTE, 1L);
+        long marca = cache.marcaInvalidacion();
+
+        cache.invalidar(CLIENTE);
+        cache.guardar(deuda(CLIENTE), marca, 1L);
+
+        assertThat(cache.obtener(CLIENTE, 1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe descartar las deudas al cambiar la versión de energía")
+    void debeDescartarAlCambiarVersionEnergia() {
+        guardar(deuda(CLIENTE));
+
+        assertThat(cache.obtener(CLIENTE, 2L)).isEmpty();
+        cache.guardar(deuda(OTRO_CLIENTE), cache.marcaInvalidacion(), 1L);
+
+        assertThat(cache.obtener(CLIENTE, 2L)).isEmpty();
+        assertThat(cache.obtener(OTRO_CLIENTE, 2L)).isEmpty();
+        assertThat(cache.tamano()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe repetir la invalidación al terminar la transacción")
+    void debeInvalidarAlTerminarTransaccion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidar(CLIENTE);
+        // Una consulta concurrente lee la factura antes del commit y guarda la deuda anterior
+        guardar(deuda(CLIENTE));
+        assertThat(cache.obtener(CLIENTE, 1L)).isPresent();
+
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacion.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(cache.obtener(CLIENTE, 1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe acotar el número de entradas y contar los desalojos")
+    void debeAcotarEntradas() {
+        for (int i = 0; i < 5; i++) {
+            guardar(deuda(ClienteId.of(String.format("%010d", 1000000000L + i))));
+        }
+
+        assertThat(cache.tamano()).isLessThanOrEqualTo(2);
+        assertThat(registry.get("cache.evictions").tag("cache", "deuda.consolidada").functionCounter().count())
+            .isGreaterThanOrEqualTo(3);
+    }
+}
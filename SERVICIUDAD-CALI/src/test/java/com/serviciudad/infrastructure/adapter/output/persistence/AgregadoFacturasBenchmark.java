@@ -0,0 +1,169 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.DeudaConsolidada;
+import com.serviciudad.domain.model.EstadoFactura;
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.valueobject.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: estadísticas de deuda de clientes con muchas facturas.
+ *
+ * Compara traer todas las filas del cliente y consolidarlas en Java (vista completa) contra la
+ * agregación por estado en la base de datos que usa la vista resumen (la misma sentencia que
+ * genera {@code FacturaJpaRepository.agregarPorEstado}). Al preparar cada caso se imprimen las
+ * filas y valores que cada estrategia transfiere desde la base.
+ *
+ * Usa H2 en memoria, así que la latencia no incluye red: contra PostgreSQL la diferencia
+ * crece con el volumen transferido. Solo se crea el índice por cliente porque H2 no busca en
+ * {@code idx_factura_estado_cliente} con un IN sobre la primera columna y una igualdad sobre la
+ * segunda (recorre todas las filas de esos estados); PostgreSQL sí lo resuelve con una búsqueda
+ * por estado.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.filtro=AgregadoFacturas
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgregadoFacturasBenchmark {
+
+    private static final String CLIENTE = "1234567890";
+    private static final int CLIENTES_RELLENO = 2000;
+    private static final int FACTURAS_POR_CLIENTE_RELLENO = 12;
+    private static final String[] ESTADOS = {"PENDIENTE", "PENDIENTE", "VENCIDA", "PAGADA", "ANULADA"};
+
+    private static final String FILAS = "SELECT id, id_cliente, periodo, consumo_m3, valor_pagar, estado, " +
+        "fecha_vencimiento, fecha_creacion, fecha_actualizacion FROM facturas_acueducto WHERE id_cliente = ?";
+
+    private static final String AGREGADO = "SELECT estado, COUNT(*), SUM(valor_pagar), SUM(consumo_m3), " +
+        "COUNT(*) FILTER (WHERE fecha_vencimiento > ? AND fecha_vencimiento <= ?) FROM facturas_acueducto " +
+        "WHERE estado IN ('PENDIENTE', 'PAGADA', 'VENCIDA', 'ANULADA') AND id_cliente = ? GROUP BY estado";
+
+    @Param({"100", "1000", "10000"})
+    private int facturas;
+
+    private final ClienteId clienteId = ClienteId.of(CLIENTE);
+    private final Clock reloj = Clock.systemDefaultZone();
+    private EmbeddedDatabase baseDatos;
+    private JdbcTemplate jdbcTemplate;
+    private Date hoy;
+    private Date limite;
+
+    @Setup
+    public void preparar() {
+        baseDatos = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(baseDatos);
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL, fecha_vencimiento DATE, " +
+            "fecha_creacion TIMESTAMP NOT NULL, fecha_actualizacion TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_facturas_id_cliente ON facturas_acueducto(id_cliente)");
+
+        Random random = new Random(42);
+        LocalDate fecha = LocalDate.now();
+        hoy = Date.valueOf(fecha);
+        limite = Date.valueOf(fecha.plusDays(DeudaConsolidada.DIAS_ALERTA_VENCIMIENTO));
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < facturas; i++) {
+            filas.add(fila(CLIENTE, i, random, fecha, ahora));
+        }
+        for (int c = 0; c < CLIENTES_RELLENO; c++) {
+            for (int i = 0; i < FACTURAS_POR_CLIENTE_RELLENO; i++) {
+                filas.add(fila(Long.toString(2000000000L + c), i, random, fecha, ahora));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, " +
+            "estado, fecha_vencimiento, fecha_creacion, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+
+        List<Object[]> agregado = agregarPorEstado();
+        System.out.printf("%n%d facturas: filas transfieren %d filas x 9 columnas; agregado transfiere %d filas x 5 columnas%n",
+            facturas, facturas, agregado.size());
+        if (!DeudaConsolidada.construir(clienteId, cargarFacturas(), List.of(), List.of(), reloj).getTotalGeneral()
+                .equals(deuda(agregado))) {
+            throw new IllegalStateException("La agregacion en la base de datos difiere de la consolidacion en Java");
+        }
+    }
+
+    @TearDown
+    public void liberar() {
+        baseDatos.shutdown();
+    }
+
+    @Benchmark
+    public DeudaConsolidada filasEnJava() {
+        return DeudaConsolidada.construir(clienteId, cargarFacturas(), List.of(), List.of(), reloj);
+    }
+
+    @Benchmark
+    public Dinero agregadoEnBaseDatos() {
+        return deuda(agregarPorEstado());
+    }
+
+    private List<FacturaAcueducto> cargarFacturas() {
+        return jdbcTemplate.query(FILAS, (rs, n) -> FacturaAcueducto.builder()
+            .id(FacturaId.of(rs.getLong(1)))
+            .clienteId(ClienteId.of(rs.getString(2)))
+            .periodo(Periodo.of(rs.getString(3)))
+            .consumo(ConsumoAgua.of(rs.getInt(4)))
+            .valorPagar(Dinero.of(rs.getBigDecimal(5)))
+            .estado(EstadoFactura.valueOf(rs.getString(6)))
+            .fechaVencimiento(rs.getDate(7).toLocalDate())
+            .fechaCreacion(rs.getTimestamp(8).toLocalDateTime())
+            .fechaActualizacion(rs.getTimestamp(9).toLocalDateTime())
+            .build(), CLIENTE);
+    }
+
+    private List<Object[]> agregarPorEstado() {
+        return jdbcTemplate.query(AGREGADO, (rs, n) -> new Object[] {
+            rs.getString(1), rs.getLong(2), rs.getBigDecimal(3), rs.getLong(4), rs.getLong(5)
+        }, hoy, limite, CLIENTE);
+    }
+
+    private static Dinero deuda(List<Object[]> agregado) {
+        Dinero deuda = Dinero.cero();
+        for (Object[] estado : agregado) {
+            if (!"PAGADA".equals(estado[0])) {
+                deuda = deuda.sumar(Dinero.of((BigDecimal) estado[2]));
+            }
+        }
+        return deuda;
+    }
+
+    private static Object[] fila(String cliente, int i, Random random, LocalDate hoy, Timestamp ahora) {
+        return new Object[] {
+            cliente,
+            Integer.toString(202001 + i % 12),
+            random.nextInt(100),
+            BigDecimal.valueOf(random.nextInt(50_000_000), 2),
+            ESTADOS[random.nextInt(ESTADOS.length)],
+            Date.valueOf(hoy.plusDays(random.nextInt(30) - 15)),
+            ahora,
+            ahora
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.port.output.BloqueoDistribuidoPort.Bloqueo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para BloqueoAsesorAdapter.
+ *
+ * Con H2 verifica la exclusión dentro del proceso: un recurso tomado no se vuelve a entregar
+ * hasta liberarlo y los recursos distintos son independientes. La clave del advisory lock
+ * debe ser estable para que todas las instancias usen la misma.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: BloqueoAsesor - Tests Unitarios")
+class BloqueoAsesorAdapterTest {
+
+    private EmbeddedDatabase dataSource;
+    private BloqueoAsesorAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        adapter = new BloqueoAsesorAdapter(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("No debe entregar un recurso tomado hasta que se libere")
+    void noDebeEntregarRecursoTomado() {
+        Optional<Bloqueo> primero = adapter.intentarAdquirir("facturas.vencimiento");
+
+        assertThat(primero).isPresent();
+        assertThat(adapter.intentarAdquirir("facturas.vencimiento")).isEmpty();
+        assertThat(adapter.intentarAdquirir("otro.recurso")).isPresent();
+
+        primero.get().close();
+        assertThat(adapter.intentarAdquirir("facturas.vencimiento")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Debe derivar una clave estable del nombre del recurso")
+    void debeDerivarClaveEstable() {
+        assertThat(BloqueoAsesorAdapter.clave("facturas.vencimiento"))
+            .isEqualTo(BloqueoAsesorAdapter.clave("facturas.vencimiento"))
+            .isNotEqualTo(BloqueoAsesorAdapter.clave("otro.recurso"))
+            .isNotNegative();
+    }
+}
@@ -2,6 +2,7 @@ package com.serviciudad.infrastructure.adapter.output.persistence;
 
 import com.serviciudad.domain.model.ConsumoEnergiaModel;
 import com.serviciudad.domain.valueobject.*;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.CheckpointImportacionRepository;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.ConsumoEnergiaJpaEntity;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.mapper.ConsumoEnergiaJpaMapper;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository.ConsumoEnergiaJpaRepository;
@@ -37,6 +38,9 @@ class ConsumoEnergiaReaderAdapterTest {
     @Mock
     private ConsumoEnergiaJpaRepository jpaRepository;
 
+    @Mock
+    private CheckpointImportacionRepository checkpointRepository;
+
     @InjectMocks
     private ConsumoEnergiaReaderAdapter adapter;
 
@@ -200,4 +204,14 @@ class ConsumoEnergiaReaderAdapterTest {
         assertThat(consumo.getConsumo()).isInstanceOf(ConsumoEnergia.class);
         assertThat(consumo.getValorPagar()).isInstanceOf(Dinero.class);
     }
+
+    @Test
+    @DisplayName("Debe usar la generación de las importaciones como versión de los datos")
+    void debeUsarGeneracionDeImportaciones() {
+        // Arrange
+        when(checkpointRepository.generacion()).thenReturn(1_760_000_000_000_000L);
+
+        // Act & Assert
+        assertThat(adapter.versionDatos()).isEqualTo(1_760_000_000_000_000L);
+    }
 }
@@ -0,0 +1,172 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.valueobject.ClienteId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para DeudaResumenAdapter.
+ *
+ * Usa una base H2 embebida para verificar el recálculo de los clientes registrados antes del
+ * commit (y su descarte en un rollback), el recálculo por bloques, la reconstrucción completa
+ * y la consulta por cliente.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: DeudaResumen - Tests Unitarios")
+class DeudaResumenAdapterTest {
+
+    private static final String CLIENTE = "1234567890";
+    private static final String OTRO_CLIENTE = "0987654321";
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private DeudaResumenAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE consumo_energia (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "cliente_id VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo DECIMAL(10,2) NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE deuda_resumen (cliente_id VARCHAR(10) PRIMARY KEY, " +
+            "deuda_acueducto DECIMAL(14,2) NOT NULL DEFAULT 0, facturas_pendientes INTEGER NOT NULL DEFAULT 0, " +
+            "facturas_vencidas INTEGER NOT NULL DEFAULT 0, total_facturas INTEGER NOT NULL DEFAULT 0, " +
+            "consumo_acueducto_m3 BIGINT NOT NULL DEFAULT 0, deuda_energia DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "total_consumos_energia INTEGER NOT NULL DEFAULT 0, consumo_energia_kwh DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        adapter = new DeudaResumenAdapter(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private void insertarFactura(String cliente, String periodo, int consumo, String valor, String estado) {
+        jdbcTemplate.update("INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, estado) " +
+            "VALUES (?, ?, ?, ?, ?)", cliente, periodo, consumo, new BigDecimal(valor), estado);
+    }
+
+    private void insertarConsumo(String cliente, String periodo, int consumo, String valor) {
+        jdbcTemplate.update("INSERT INTO consumo_energia (cliente_id, periodo, consumo, valor_pagar) VALUES (?, ?, ?, ?)",
+            cliente, periodo, consumo, new BigDecimal(valor));
+    }
+
+    private ResumenDeuda resumen(String cliente) {
+        return adapter.findByClienteId(ClienteId.of(cliente)).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Debe recalcular antes del commit los clientes registrados en la transaccion")
+    void debeRecalcularAntesDelCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            insertarFactura(CLIENTE, "202501", 10, "50000.00", "PENDIENTE");
+            adapter.registrarCambios(List.of(CLIENTE));
+            insertarFactura(CLIENTE, "202502", 20, "70000.00", "VENCIDA");
+            insertarFactura(CLIENTE, "202503", 30, "90000.00", "PAGADA");
+            insertarConsumo(CLIENTE, "202501", 300, "150000.00");
+            adapter.registrarCambios(List.of(CLIENTE));
+
+            assertThat(adapter.findByClienteId(ClienteId.of(CLIENTE))).isEmpty();
+        });
+
+        ResumenDeuda resumen = resumen(CLIENTE);
+        assertThat(resumen.getDeudaAcueducto().getMonto()).isEqualByComparingTo("120000.00");
+        assertThat(resumen.getFacturasPendientes()).isEqualTo(1);
+        assertThat(resumen.getFacturasVencidas()).isEqualTo(1);
+        assertThat(resumen.getTotalFacturasAcueducto()).isEqualTo(3);
+        assertThat(resumen.promedioConsumoAcueducto()).isEqualTo(20.0);
+        assertThat(resumen.getDeudaEnergia().getMonto()).isEqualByComparingTo("150000.00");
+        assertThat(resumen.getTotalConsumosEnergia()).isEqualTo(1);
+        assertThat(resumen.getConsumoEnergiaKwh()).isEqualTo(300);
+        assertThat(resumen.totalGeneral().getMonto()).isEqualByComparingTo("270000.00");
+    }
+
+    @Test
+    @DisplayName("No debe modificar el resumen si la transaccion se revierte")
+    void noDebeModificarResumenEnRollback() {
+        insertarFactura(CLIENTE, "202501", 10, "50000.00", "PENDIENTE");
+        adapter.registrarCambios(List.of(CLIENTE));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE facturas_acueducto SET estado = 'PAGADA'");
+            adapter.registrarCambios(List.of(CLIENTE));
+            status.setRollbackOnly();
+        });
+
+        assertThat(resumen(CLIENTE).getDeudaAcueducto().getMonto()).isEqualByComparingTo("50000.00");
+    }
+
+    @Test
+    @DisplayName("Debe dejar en cero el resumen de un cliente sin facturas ni consumos")
+    void debeDejarEnCeroClienteSinDatos() {
+        insertarFactura(CLIENTE, "202501", 10, "50000.00", "PENDIENTE");
+        adapter.registrarCambios(List.of(CLIENTE));
+
+        jdbcTemplate.update("DELETE FROM facturas_acueducto");
+        adapter.registrarCambios(List.of(CLIENTE));
+
+        ResumenDeuda resumen = resumen(CLIENTE);
+        assertThat(resumen.tieneDeuda()).isFalse();
+        assertThat(resumen.getTotalFacturasAcueducto()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe recalcular en bloques cuando hay mas clientes que el tamano de sentencia")
+    void debeRecalcularEnBloques() {
+        List<String> clientes = IntStream.range(0, DeudaResumenAdapter.CLIENTES_POR_SENTENCIA + 3)
+            .mapToObj(i -> String.format("%010d", 1000000000L + i))
+            .collect(Collectors.toList());
+        clientes.forEach(cliente -> insertarConsumo(cliente, "202501", 100, "1000.00"));
+
+        adapter.registrarCambios(clientes);
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM deuda_resumen WHERE total_consumos_energia = 1", Integer.class))
+            .isEqualTo(clientes.size());
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el resumen de todos los clientes desde facturas y consumos")
+    void debeReconstruirTodos() {
+        insertarFactura(CLIENTE, "202501", 10, "50000.00", "PENDIENTE");
+        insertarConsumo(OTRO_CLIENTE, "202501", 200, "80000.00");
+        jdbcTemplate.update("INSERT INTO deuda_resumen (cliente_id, deuda_acueducto) VALUES ('5555555555', 1)");
+
+        long clientes = adapter.reconstruir();
+
+        assertThat(clientes).isEqualTo(2);
+        assertThat(adapter.findByClienteId(ClienteId.of("5555555555"))).isEmpty();
+        assertThat(resumen(CLIENTE).getDeudaAcueducto().getMonto()).isEqualByComparingTo("50000.00");
+        assertThat(resumen(CLIENTE).getDeudaEnergia().esCero()).isTrue();
+        assertThat(resumen(OTRO_CLIENTE).getDeudaEnergia().getMonto()).isEqualByComparingTo("80000.00");
+        assertThat(resumen(OTRO_CLIENTE).getTotalFacturasAcueducto()).isZero();
+    }
+}
@@ -0,0 +1,94 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.valueobject.Periodo;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests del recorrido de facturas por periodo de FacturaRepositoryAdapter sobre H2.
+ *
+ * Verifica que se entreguen solo las facturas del periodo, en orden de id, y que el contexto
+ * de persistencia no crezca durante el recorrido.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DataJpaTest(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({FacturaRepositoryAdapter.class, DeudaResumenAdapter.class})
+@DisplayName("Adapter: FacturaRepository - Recorrido por periodo")
+class FacturaRepositoryAdapterRecorridoTest {
+
+    @Autowired
+    private FacturaRepositoryAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private void guardar(String cliente, String periodo) {
+        entityManager.persist(FacturaJpaEntity.builder()
+            .clienteId(cliente)
+            .periodo(periodo)
+            .consumo(10)
+            .valorPagar(new BigDecimal("50000.00"))
+            .estado(EstadoFacturaJpa.PENDIENTE)
+            .fechaVencimiento(LocalDate.of(2025, 2, 15))
+            .fechaCreacion(LocalDateTime.now())
+            .fechaActualizacion(LocalDateTime.now())
+            .build());
+    }
+
+    @Test
+    @DisplayName("Debe entregar solo las facturas del periodo en orden de id")
+    void debeRecorrerFacturasDelPeriodo() {
+        for (int i = 0; i < 25; i++) {
+            guardar(String.format("%010d", 1000000000L + i), "202501");
+            guardar(String.format("%010d", 1000000000L + i), "202502");
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<FacturaAcueducto> recibidas = new ArrayList<>();
+        long total = adapter.recorrerPorPeriodo(Periodo.of("202501"), recibidas::add);
+
+        assertThat(total).isEqualTo(25);
+        assertThat(recibidas).allMatch(f -> f.getPeriodo().equals(Periodo.of("202501")));
+        assertThat(recibidas).extracting(f -> f.getId().getValor()).isSorted().doesNotHaveDuplicates();
+        assertThat(adapter.recorrerPorPeriodo(Periodo.of("202412"), f -> fail("Periodo sin facturas"))).isZero();
+    }
+
+    @Test
+    @DisplayName("No debe retener en el contexto de persistencia las entidades leídas")
+    void noDebeRetenerEntidades() {
+        for (int i = 0; i < 10; i++) {
+            guardar(String.format("%010d", 1000000000L + i), "202501");
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SessionStatistics contexto = entityManager.unwrap(Session.class).getStatistics();
+
+        List<Integer> entidadesEnContexto = new ArrayList<>();
+        adapter.recorrerPorPeriodo(Periodo.of("202501"), f -> entidadesEnContexto.add(contexto.getEntityCount()));
+
+        assertThat(entidadesEnContexto).hasSize(10).containsOnly(0);
+    }
+}
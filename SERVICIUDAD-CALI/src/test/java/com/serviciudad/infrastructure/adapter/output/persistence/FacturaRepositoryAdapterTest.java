@@ -1,10 +1,13 @@
 package com.serviciudad.infrastructure.adapter.output.persistence;
 
+import com.serviciudad.domain.model.AgregadoFacturas;
 import com.serviciudad.domain.model.EstadoFactura;
 import com.serviciudad.domain.model.FacturaAcueducto;
 import com.serviciudad.domain.valueobject.*;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.mapper.FacturaJpaMapper;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoEstadoFacturasProjection;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository.FacturaJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,6 +45,9 @@ class FacturaRepositoryAdapterTest {
     @Mock
     private FacturaJpaRepository jpaRepository;
 
+    @Mock
+    private DeudaResumenAdapter deudaResumen;
+
     @InjectMocks
     private FacturaRepositoryAdapter adapter;
 
@@ -80,6 +89,7 @@ class FacturaRepositoryAdapterTest {
         assertThat(resultado.getId().getValor()).isEqualTo(1L);
         assertThat(resultado.getClienteId().getValor()).isEqualTo("1234567890");
         verify(jpaRepository, times(1)).save(any(FacturaJpaEntity.class));
+        verify(deudaResumen).registrarCambios(List.of("1234567890"));
     }
 
     @Test
@@ -112,4 +122,91 @@ class FacturaRepositoryAdapterTest {
         assertThat(resultado.get(0).getClienteId().getValor()).isEqualTo("1234567890");
         verify(jpaRepository).findByClienteId("1234567890");
     }
+
+    @Test
+    @DisplayName("Debe consultar la primera página o la siguiente según el cursor")
+    void debeConsultarPaginaSegunCursor() {
+        // Arrange
+        when(jpaRepository.findByClienteIdOrderByPeriodoDesc("1234567890", Limit.of(3)))
+            .thenReturn(List.of(facturaEntity));
+
+        // Act
+        List<FacturaAcueducto> primera = adapter.findByClienteIdAntesDe(clienteId, null, 3);
+        List<FacturaAcueducto> siguiente = adapter.findByClienteIdAntesDe(clienteId, Periodo.of("202501"), 3);
+
+        // Assert
+        assertThat(primera).hasSize(1);
+        assertThat(siguiente).isEmpty();
+        verify(jpaRepository).findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc("1234567890", "202501", Limit.of(3));
+        verify(jpaRepository, never()).findByClienteId(any());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar facturas de varios clientes con una sola consulta")
+    void debeEncontrarFacturasDeVariosClientes() {
+        // Arrange
+        when(jpaRepository.findByClienteIdIn(List.of("1234567890", "0987654321"))).thenReturn(List.of(facturaEntity));
+
+        // Act
+        List<FacturaAcueducto> resultado = adapter.findByClienteIds(List.of(clienteId, ClienteId.of("0987654321")));
+
+        // Assert
+        assertThat(resultado).extracting(f -> f.getClienteId().getValor()).containsExactly("1234567890");
+        verify(jpaRepository, never()).findByClienteId(any());
+    }
+
+    @Test
+    @DisplayName("Debe combinar los agregados por estado en los totales del cliente")
+    void debeCombinarAgregadosPorEstado() {
+        // Arrange
+        LocalDate hoy = LocalDate.of(2025, 3, 10);
+        when(jpaRepository.agregarPorEstado(eq("1234567890"), eq(EnumSet.allOf(EstadoFacturaJpa.class)),
+                eq(hoy), eq(hoy.plusDays(5))))
+            .thenReturn(List.of(
+                agregado(EstadoFacturaJpa.PENDIENTE, 3, "100000.00", 35, 1),
+                agregado(EstadoFacturaJpa.VENCIDA, 1, "70000.00", 30, 0),
+                agregado(EstadoFacturaJpa.PAGADA, 2, "90000.00", 25, 0),
+                agregado(EstadoFacturaJpa.ANULADA, 1, "5000.00", 4, 0)));
+
+        // Act
+        AgregadoFacturas resultado = adapter.agregarPorCliente(clienteId, hoy);
+
+        // Assert
+        assertThat(resultado.getTotal()).isEqualTo(7);
+        assertThat(resultado.getPendientes()).isEqualTo(3);
+        assertThat(resultado.getVencidas()).isEqualTo(1);
+        assertThat(resultado.getProximasVencer()).isEqualTo(1);
+        assertThat(resultado.getDeuda()).isEqualTo(Dinero.of(new BigDecimal("175000.00")));
+        assertThat(resultado.getConsumoM3()).isEqualTo(94);
+    }
+
+    private static AgregadoEstadoFacturasProjection agregado(EstadoFacturaJpa estado, long total, String valor,
+                                                             long consumo, long proximasVencer) {
+        return new AgregadoEstadoFacturasProjection() {
+            @Override
+            public EstadoFacturaJpa getEstado() {
+                return estado;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public BigDecimal getValor() {
+                return new BigDecimal(valor);
+            }
+
+            @Override
+            public Long getConsumo() {
+                return consumo;
+            }
+
+            @Override
+            public Long getProximasVencer() {
+                return proximasVencer;
+            }
+        };
+    }
 }
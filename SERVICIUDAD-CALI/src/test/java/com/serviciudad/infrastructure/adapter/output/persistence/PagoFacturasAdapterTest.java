@@ -0,0 +1,144 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.FacturaAcueducto;
+import com.serviciudad.domain.model.LotePagos;
+import com.serviciudad.domain.model.ResultadoPago;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.domain.valueobject.FacturaId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para PagoFacturasAdapter.
+ *
+ * Usa una base H2 embebida para verificar que solo se escriban las facturas que la regla paga,
+ * que las facturas inexistentes no aparezcan en el resultado, que un fallo no escriba el bloque y
+ * que se recalcule el resumen de deuda de los clientes pagados.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: PagoFacturas - Tests Unitarios")
+class PagoFacturasAdapterTest {
+
+    private static final String CLIENTE = "1234567890";
+    private static final String OTRO_CLIENTE = "0987654321";
+    private static final LocalDateTime ACTUALIZACION_INICIAL = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PagoFacturasAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL, fecha_vencimiento DATE NOT NULL, " +
+            "fecha_creacion TIMESTAMP NOT NULL, fecha_actualizacion TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE consumo_energia (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "cliente_id VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo DECIMAL(10,2) NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE deuda_resumen (cliente_id VARCHAR(10) PRIMARY KEY, " +
+            "deuda_acueducto DECIMAL(14,2) NOT NULL DEFAULT 0, facturas_pendientes INTEGER NOT NULL DEFAULT 0, " +
+            "facturas_vencidas INTEGER NOT NULL DEFAULT 0, total_facturas INTEGER NOT NULL DEFAULT 0, " +
+            "consumo_acueducto_m3 BIGINT NOT NULL DEFAULT 0, deuda_energia DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "total_consumos_energia INTEGER NOT NULL DEFAULT 0, consumo_energia_kwh DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        adapter = new PagoFacturasAdapter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            new DeudaResumenAdapter(jdbcTemplate));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private FacturaId insertarFactura(String cliente, String periodo, String estado) {
+        jdbcTemplate.update("INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, estado, " +
+            "fecha_vencimiento, fecha_creacion, fecha_actualizacion) VALUES (?, ?, 10, ?, ?, ?, ?, ?)", cliente, periodo,
+            new BigDecimal("50000.00"), estado, Date.valueOf(LocalDate.of(2025, 2, 15)),
+            Timestamp.valueOf(ACTUALIZACION_INICIAL), Timestamp.valueOf(ACTUALIZACION_INICIAL));
+        return FacturaId.of(jdbcTemplate.queryForObject("SELECT MAX(id) FROM facturas_acueducto", Long.class));
+    }
+
+    private String estado(FacturaId id) {
+        return jdbcTemplate.queryForObject("SELECT estado FROM facturas_acueducto WHERE id = ?", String.class,
+            id.getValor());
+    }
+
+    @Test
+    @DisplayName("Debe pagar solo las facturas que la regla acepta y reportar las demás")
+    void debePagarSegunLaRegla() {
+        FacturaId pendiente = insertarFactura(CLIENTE, "202501", "PENDIENTE");
+        FacturaId vencida = insertarFactura(OTRO_CLIENTE, "202501", "VENCIDA");
+        FacturaId pagada = insertarFactura(CLIENTE, "202502", "PAGADA");
+        FacturaId anulada = insertarFactura(CLIENTE, "202503", "ANULADA");
+        FacturaId inexistente = FacturaId.of(999L);
+
+        LotePagos lote = adapter.pagar(List.of(inexistente, anulada, pagada, vencida, pendiente),
+            FacturaAcueducto::aplicarPago);
+
+        assertThat(lote.getResultados()).containsOnly(
+            entry(pendiente, ResultadoPago.PAGADA),
+            entry(vencida, ResultadoPago.PAGADA),
+            entry(pagada, ResultadoPago.YA_PAGADA),
+            entry(anulada, ResultadoPago.ANULADA));
+        assertThat(lote.getClientes()).containsExactlyInAnyOrder(ClienteId.of(CLIENTE), ClienteId.of(OTRO_CLIENTE));
+        assertThat(estado(pendiente)).isEqualTo("PAGADA");
+        assertThat(estado(vencida)).isEqualTo("PAGADA");
+        assertThat(estado(anulada)).isEqualTo("ANULADA");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM facturas_acueducto " +
+            "WHERE fecha_actualizacion > ?", Integer.class, Timestamp.valueOf(ACTUALIZACION_INICIAL))).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT deuda_acueducto FROM deuda_resumen WHERE cliente_id = ?",
+            BigDecimal.class, OTRO_CLIENTE)).isZero();
+    }
+
+    @Test
+    @DisplayName("No debe escribir ni recalcular resúmenes si ninguna factura se paga")
+    void noDebeEscribirSinPagos() {
+        FacturaId pagada = insertarFactura(CLIENTE, "202501", "PAGADA");
+
+        LotePagos lote = adapter.pagar(List.of(pagada), FacturaAcueducto::aplicarPago);
+
+        assertThat(lote.getResultados()).containsOnly(entry(pagada, ResultadoPago.YA_PAGADA));
+        assertThat(lote.getClientes()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deuda_resumen", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("No debe escribir ninguna factura del bloque si la regla falla")
+    void noDebeEscribirSiLaReglaFalla() {
+        FacturaId primera = insertarFactura(CLIENTE, "202501", "PENDIENTE");
+        FacturaId segunda = insertarFactura(CLIENTE, "202502", "PENDIENTE");
+
+        assertThatThrownBy(() -> adapter.pagar(List.of(primera, segunda), factura -> {
+            if (factura.getId().equals(segunda)) {
+                throw new IllegalStateException("regla fallida");
+            }
+            return factura.aplicarPago();
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(estado(primera)).isEqualTo("PENDIENTE");
+    }
+}
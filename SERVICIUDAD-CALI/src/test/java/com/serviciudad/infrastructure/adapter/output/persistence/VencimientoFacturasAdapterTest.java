@@ -0,0 +1,236 @@
+package com.serviciudad.infrastructure.adapter.output.persistence;
+
+import com.serviciudad.domain.model.LoteFacturasVencidas;
+import com.serviciudad.domain.model.ParticionVencimiento;
+import com.serviciudad.domain.model.PosicionPendiente;
+import com.serviciudad.domain.model.ResumenDeuda;
+import com.serviciudad.domain.valueobject.ClienteId;
+import com.serviciudad.infrastructure.adapter.output.persistence.jdbc.ParticionVencimientoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para VencimientoFacturasAdapter.
+ *
+ * Usa una base H2 embebida para verificar el marcado por lotes de las facturas pendientes ya
+ * vencidas y su recorrido por (fecha_vencimiento, id), que las pagadas, las que vencen hoy y las
+ * futuras no cambien, la fecha de actualización y el recálculo del resumen de deuda de los clientes afectados. También la
+ * división del rango de ids en particiones, su reutilización en el mismo corte y el avance
+ * guardado al marcar cada tramo de una partición.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: VencimientoFacturas - Tests Unitarios")
+class VencimientoFacturasAdapterTest {
+
+    private static final String CLIENTE = "1234567890";
+    private static final String OTRO_CLIENTE = "0987654321";
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+    private static final LocalDateTime ACTUALIZACION_INICIAL = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DeudaResumenAdapter deudaResumen;
+    private VencimientoFacturasAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE facturas_acueducto (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "id_cliente VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo_m3 INTEGER NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL, estado VARCHAR(20) NOT NULL, fecha_vencimiento DATE NOT NULL, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_factura_estado_fechavencimiento " +
+            "ON facturas_acueducto(estado, fecha_vencimiento, id)");
+        jdbcTemplate.execute("CREATE TABLE consumo_energia (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "cliente_id VARCHAR(10) NOT NULL, periodo VARCHAR(6) NOT NULL, consumo DECIMAL(10,2) NOT NULL, " +
+            "valor_pagar DECIMAL(12,2) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE deuda_resumen (cliente_id VARCHAR(10) PRIMARY KEY, " +
+            "deuda_acueducto DECIMAL(14,2) NOT NULL DEFAULT 0, facturas_pendientes INTEGER NOT NULL DEFAULT 0, " +
+            "facturas_vencidas INTEGER NOT NULL DEFAULT 0, total_facturas INTEGER NOT NULL DEFAULT 0, " +
+            "consumo_acueducto_m3 BIGINT NOT NULL DEFAULT 0, deuda_energia DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "total_consumos_energia INTEGER NOT NULL DEFAULT 0, consumo_energia_kwh DECIMAL(14,2) NOT NULL DEFAULT 0, " +
+            "fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE facturas_vencimiento_particion (fecha_corte DATE NOT NULL, " +
+            "particion INTEGER NOT NULL, id_desde BIGINT NOT NULL, id_hasta BIGINT NOT NULL, ultimo_id BIGINT NOT NULL, " +
+            "facturas_marcadas BIGINT NOT NULL DEFAULT 0, fecha_actualizacion TIMESTAMP NOT NULL, " +
+            "PRIMARY KEY (fecha_corte, particion))");
+        deudaResumen = new DeudaResumenAdapter(jdbcTemplate);
+        adapter = new VencimientoFacturasAdapter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            deudaResumen, new ParticionVencimientoRepository(jdbcTemplate));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private long insertarFactura(String cliente, String periodo, String estado, LocalDate vencimiento) {
+        jdbcTemplate.update("INSERT INTO facturas_acueducto (id_cliente, periodo, consumo_m3, valor_pagar, estado, " +
+            "fecha_vencimiento, fecha_actualizacion) VALUES (?, ?, 10, ?, ?, ?, ?)", cliente, periodo,
+            new BigDecimal("50000.00"), estado, Date.valueOf(vencimiento), Timestamp.valueOf(ACTUALIZACION_INICIAL));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM facturas_acueducto", Long.class);
+    }
+
+    private String estado(long id) {
+        return jdbcTemplate.queryForObject("SELECT estado FROM facturas_acueducto WHERE id = ?", String.class, id);
+    }
+
+    @Test
+    @DisplayName("Debe marcar las facturas vencidas en lotes hasta agotarlas")
+    void debeMarcarPorLotes() {
+        for (int mes = 1; mes <= 3; mes++) {
+            insertarFactura(CLIENTE, "20240" + mes, "PENDIENTE", HOY.minusMonths(4 - mes));
+        }
+        insertarFactura(OTRO_CLIENTE, "202401", "PENDIENTE", HOY.minusDays(1));
+        insertarFactura(OTRO_CLIENTE, "202402", "PENDIENTE", HOY.minusDays(2));
+
+        LoteFacturasVencidas primero = adapter.marcarVencidas(HOY, null, 2);
+        LoteFacturasVencidas segundo = adapter.marcarVencidas(HOY, primero.getUltima(), 2);
+        LoteFacturasVencidas tercero = adapter.marcarVencidas(HOY, segundo.getUltima(), 2);
+        LoteFacturasVencidas cuarto = adapter.marcarVencidas(HOY, tercero.getUltima(), 2);
+
+        assertThat(primero.getFacturas()).isEqualTo(2);
+        assertThat(segundo.getFacturas()).isEqualTo(2);
+        assertThat(tercero.getFacturas()).isEqualTo(1);
+        assertThat(cuarto).isEqualTo(LoteFacturasVencidas.vacio());
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM facturas_acueducto WHERE estado = 'VENCIDA'", Integer.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM facturas_acueducto " +
+            "WHERE fecha_actualizacion > ?", Integer.class, Timestamp.valueOf(ACTUALIZACION_INICIAL))).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe continuar cada lote despues de la ultima factura del anterior por (fecha_vencimiento, id)")
+    void debeContinuarDesdeUltimaFacturaDelLote() {
+        long primeraDelDia = insertarFactura(CLIENTE, "202401", "PENDIENTE", HOY.minusDays(3));
+        long segundaDelDia = insertarFactura(OTRO_CLIENTE, "202401", "PENDIENTE", HOY.minusDays(3));
+        long anterior = insertarFactura(CLIENTE, "202402", "PENDIENTE", HOY.minusDays(9));
+        long posterior = insertarFactura(OTRO_CLIENTE, "202402", "PENDIENTE", HOY.minusDays(1));
+
+        LoteFacturasVencidas primero = adapter.marcarVencidas(HOY, null, 2);
+
+        assertThat(primero.getUltima()).isEqualTo(new PosicionPendiente(HOY.minusDays(3), primeraDelDia));
+        assertThat(estado(anterior)).isEqualTo("VENCIDA");
+        assertThat(estado(primeraDelDia)).isEqualTo("VENCIDA");
+
+        // Una factura pendiente anterior a la posicion no se vuelve a recorrer en esta pasada
+        jdbcTemplate.update("UPDATE facturas_acueducto SET estado = 'PENDIENTE' WHERE id = ?", anterior);
+        LoteFacturasVencidas segundo = adapter.marcarVencidas(HOY, primero.getUltima(), 2);
+
+        assertThat(segundo.getFacturas()).isEqualTo(2);
+        assertThat(segundo.getUltima()).isEqualTo(new PosicionPendiente(HOY.minusDays(1), posterior));
+        assertThat(estado(segundaDelDia)).isEqualTo("VENCIDA");
+        assertThat(estado(posterior)).isEqualTo("VENCIDA");
+        assertThat(estado(anterior)).isEqualTo("PENDIENTE");
+    }
+
+    @Test
+    @DisplayName("No debe marcar facturas pagadas, anuladas, que vencen hoy o futuras")
+    void noDebeMarcarFacturasQueNoEstanPendientesYVencidas() {
+        long pagada = insertarFactura(CLIENTE, "202401", "PAGADA", HOY.minusDays(10));
+        long anulada = insertarFactura(CLIENTE, "202402", "ANULADA", HOY.minusDays(10));
+        long venceHoy = insertarFactura(CLIENTE, "202403", "PENDIENTE", HOY);
+        long futura = insertarFactura(CLIENTE, "202404", "PENDIENTE", HOY.plusDays(5));
+        long vencida = insertarFactura(CLIENTE, "202405", "PENDIENTE", HOY.minusDays(1));
+
+        assertThat(adapter.contarPorVencer(HOY)).isEqualTo(1);
+        LoteFacturasVencidas lote = adapter.marcarVencidas(HOY, null, 10);
+
+        assertThat(lote.getFacturas()).isEqualTo(1);
+        assertThat(lote.getClientes()).containsExactly(ClienteId.of(CLIENTE));
+        assertThat(estado(vencida)).isEqualTo("VENCIDA");
+        assertThat(estado(pagada)).isEqualTo("PAGADA");
+        assertThat(estado(anulada)).isEqualTo("ANULADA");
+        assertThat(estado(venceHoy)).isEqualTo("PENDIENTE");
+        assertThat(estado(futura)).isEqualTo("PENDIENTE");
+    }
+
+    @Test
+    @DisplayName("Debe recalcular el resumen de deuda de los clientes del lote")
+    void debeRecalcularResumenDeClientesDelLote() {
+        insertarFactura(CLIENTE, "202401", "PENDIENTE", HOY.minusDays(3));
+        insertarFactura(CLIENTE, "202402", "PENDIENTE", HOY.plusDays(3));
+        insertarFactura(OTRO_CLIENTE, "202401", "PENDIENTE", HOY.minusDays(1));
+
+        LoteFacturasVencidas lote = adapter.marcarVencidas(HOY, null, 10);
+
+        assertThat(lote.getClientes()).containsExactlyInAnyOrder(ClienteId.of(CLIENTE), ClienteId.of(OTRO_CLIENTE));
+        ResumenDeuda resumen = deudaResumen.findByClienteId(ClienteId.of(CLIENTE)).orElseThrow();
+        assertThat(resumen.getFacturasVencidas()).isEqualTo(1);
+        assertThat(resumen.getFacturasPendientes()).isEqualTo(1);
+        assertThat(deudaResumen.findByClienteId(ClienteId.of(OTRO_CLIENTE)).orElseThrow().getFacturasVencidas())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe dividir el rango de ids en particiones contiguas que lo cubren")
+    void debeDividirRangoEnParticiones() {
+        List<ParticionVencimiento> particiones = VencimientoFacturasAdapter.dividir(HOY, 5, 14, 3);
+
+        assertThat(particiones).extracting(ParticionVencimiento::getIdDesde).containsExactly(5L, 9L, 13L);
+        assertThat(particiones).extracting(ParticionVencimiento::getIdHasta).containsExactly(8L, 12L, 14L);
+        assertThat(particiones).extracting(ParticionVencimiento::getUltimoId).containsExactly(4L, 8L, 12L);
+        assertThat(VencimientoFacturasAdapter.dividir(HOY, 7, 8, 4)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Debe crear las particiones del corte una vez y descartar las de cortes anteriores")
+    void debePrepararParticionesDelCorte() {
+        for (int i = 0; i < 4; i++) {
+            insertarFactura(CLIENTE, "20240" + (i + 1), "PENDIENTE", HOY.minusDays(1));
+        }
+        List<ParticionVencimiento> anteriores = adapter.prepararParticiones(HOY.minusDays(1), 2);
+        adapter.marcarVencidasEnParticion(anteriores.get(0), anteriores.get(0).getIdHasta());
+
+        List<ParticionVencimiento> creadas = adapter.prepararParticiones(HOY, 2);
+        List<ParticionVencimiento> reutilizadas = adapter.prepararParticiones(HOY, 5);
+
+        assertThat(creadas).hasSize(2);
+        assertThat(reutilizadas).isEqualTo(creadas);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM facturas_vencimiento_particion", Integer.class))
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe marcar solo el tramo de la partición y guardar su avance")
+    void debeMarcarTramoDeParticionYGuardarAvance() {
+        long primera = insertarFactura(CLIENTE, "202401", "PENDIENTE", HOY.minusDays(1));
+        long segunda = insertarFactura(CLIENTE, "202402", "PENDIENTE", HOY.minusDays(1));
+        long tercera = insertarFactura(OTRO_CLIENTE, "202401", "PENDIENTE", HOY.minusDays(1));
+        ParticionVencimiento particion = adapter.prepararParticiones(HOY, 1).get(0);
+
+        LoteFacturasVencidas lote = adapter.marcarVencidasEnParticion(particion, segunda);
+
+        assertThat(lote.getFacturas()).isEqualTo(2);
+        assertThat(lote.getClientes()).containsExactly(ClienteId.of(CLIENTE));
+        assertThat(estado(primera)).isEqualTo("VENCIDA");
+        assertThat(estado(segunda)).isEqualTo("VENCIDA");
+        assertThat(estado(tercera)).isEqualTo("PENDIENTE");
+        ParticionVencimiento guardada = adapter.prepararParticiones(HOY, 1).get(0);
+        assertThat(guardada.getUltimoId()).isEqualTo(segunda);
+        assertThat(guardada.getFacturasMarcadas()).isEqualTo(2);
+        assertThat(guardada.estaCompletada()).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para PostgresCopyConsumoEnergiaWriter.
+ *
+ * Verifica la codificación CSV de las filas enviadas por COPY y la
+ * selección del escritor según el motor de base de datos.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Writer: PostgresCopyConsumoEnergia - Tests Unitarios")
+class PostgresCopyConsumoEnergiaWriterTest {
+
+    private final PostgresCopyConsumoEnergiaWriter writer = new PostgresCopyConsumoEnergiaWriter();
+
+    @Test
+    @DisplayName("Debe codificar la fila CSV con ceros a la izquierda, decimales y fecha ISO")
+    void debeCodificarFilaCsv() {
+        LoteConsumoEnergia lote = new LoteConsumoEnergia(2);
+        lote.agregar(11234567L, 202510, 250, 31500000L, 20251115);
+        lote.agregar(1001234567L, 202501, 0, 5L, 20250105);
+        byte[] buffer = new byte[256];
+        byte[] estrato = "3".getBytes(StandardCharsets.US_ASCII);
+
+        int fin = PostgresCopyConsumoEnergiaWriter.escribirFila(buffer, 0, lote, 0, estrato);
+        fin = PostgresCopyConsumoEnergiaWriter.escribirFila(buffer, fin, lote, 1, estrato);
+
+        assertThat(new String(buffer, 0, fin, StandardCharsets.US_ASCII)).isEqualTo(
+            "0011234567,202510,250,315000.00,2025-11-15,3\n" +
+            "1001234567,202501,0,0.05,2025-01-05,3\n");
+    }
+
+    @Test
+    @DisplayName("Debe soportar solo PostgreSQL")
+    void debeSoportarSoloPostgres() {
+        assertThat(writer.soporta("PostgreSQL")).isTrue();
+        assertThat(writer.soporta("H2")).isFalse();
+        assertThat(new JdbcBatchConsumoEnergiaWriter().soporta("H2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar lotes sin capacidad y agregar a un lote lleno")
+    void debeValidarCapacidadDelLote() {
+        LoteConsumoEnergia lote = new LoteConsumoEnergia(1);
+        lote.agregar(1L, 202501, 1, 1L, 20250101);
+
+        assertThat(lote.estaLleno()).isTrue();
+        assertThatThrownBy(() -> lote.agregar(2L, 202501, 1, 1L, 20250101))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new LoteConsumoEnergia(0))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        lote.limpiar();
+        assertThat(lote.estaVacio()).isTrue();
+    }
+}
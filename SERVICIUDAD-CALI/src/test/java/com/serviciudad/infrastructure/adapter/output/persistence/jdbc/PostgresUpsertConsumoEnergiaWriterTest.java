@@ -0,0 +1,53 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para PostgresUpsertConsumoEnergiaWriter.
+ *
+ * Verifica la sentencia INSERT ... ON CONFLICT generada, la eliminación de claves
+ * repetidas dentro del lote y la selección del escritor según el motor.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Writer: PostgresUpsertConsumoEnergia - Tests Unitarios")
+class PostgresUpsertConsumoEnergiaWriterTest {
+
+    @Test
+    @DisplayName("Debe generar un VALUES multi-fila con conflicto por cliente y periodo")
+    void debeGenerarSentenciaMultiFila() {
+        String sql = PostgresUpsertConsumoEnergiaWriter.sentencia(3);
+
+        assertThat(sql).contains("VALUES (?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?) ON CONFLICT");
+        assertThat(sql).contains("ON CONFLICT (cliente_id, periodo) DO UPDATE");
+        assertThat(sql).contains("IS DISTINCT FROM").endsWith("RETURNING (xmax = 0) AS insertado");
+        assertThat(sql).doesNotContain("estrato = EXCLUDED.estrato");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("Debe conservar la ultima aparicion de cada clave del lote")
+    void debeEliminarClavesRepetidas() {
+        LoteConsumoEnergia lote = new LoteConsumoEnergia(4);
+        lote.agregar(1001234567L, 202510, 100, 1L, 20251115);
+        lote.agregar(1002345678L, 202510, 200, 2L, 20251115);
+        lote.agregar(1001234567L, 202510, 300, 3L, 20251115);
+        lote.agregar(1001234567L, 202509, 400, 4L, 20251015);
+
+        assertThat(lote.filasSinDuplicados()).containsExactly(1, 2, 3);
+        assertThat(lote.clave(0)).isEqualTo(1001234567_202510L);
+        assertThat(ConteoFusion.de(lote, 1, 1).getSinCambios()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe soportar solo PostgreSQL")
+    void debeSoportarSoloPostgres() {
+        assertThat(new PostgresUpsertConsumoEnergiaWriter().soporta("PostgreSQL")).isTrue();
+        assertThat(new PostgresUpsertConsumoEnergiaWriter().soporta("H2")).isFalse();
+        assertThat(new JdbcUpsertConsumoEnergiaWriter().soporta("H2")).isTrue();
+    }
+}
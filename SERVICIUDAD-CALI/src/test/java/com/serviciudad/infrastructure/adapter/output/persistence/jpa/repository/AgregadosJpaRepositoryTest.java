@@ -0,0 +1,158 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository;
+
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.ConsumoEnergiaJpaEntity;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoConsumosProjection;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.AgregadoEstadoFacturasProjection;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.projection.VersionFacturasProjection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios de las proyecciones de agregados de FacturaJpaRepository y
+ * ConsumoEnergiaJpaRepository.
+ *
+ * Usa @DataJpaTest con H2 y el esquema generado por Hibernate para verificar las sumas y
+ * conteos por estado, las facturas próximas a vencer calculadas con FILTER, la huella de
+ * actualización por cliente y el resultado de un cliente sin filas.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DataJpaTest(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@DisplayName("Repository: Agregados JPA - Tests Unitarios")
+class AgregadosJpaRepositoryTest {
+
+    private static final String CLIENTE = "1234567890";
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private FacturaJpaRepository facturaRepository;
+
+    @Autowired
+    private ConsumoEnergiaJpaRepository consumoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private void guardarFactura(String cliente, String periodo, EstadoFacturaJpa estado, String valor, int m3,
+                                LocalDate vencimiento) {
+        facturaRepository.save(FacturaJpaEntity.builder()
+            .clienteId(cliente)
+            .periodo(periodo)
+            .consumo(m3)
+            .valorPagar(new BigDecimal(valor))
+            .estado(estado)
+            .fechaVencimiento(vencimiento)
+            .fechaCreacion(LocalDateTime.now())
+            .fechaActualizacion(LocalDateTime.now())
+            .build());
+    }
+
+    private List<AgregadoEstadoFacturasProjection> agregarPorEstado() {
+        return facturaRepository.agregarPorEstado(CLIENTE, EnumSet.allOf(EstadoFacturaJpa.class), HOY, HOY.plusDays(5));
+    }
+
+    @Test
+    @DisplayName("Debe agregar las facturas del cliente por estado en la consulta")
+    void debeAgregarFacturasPorEstado() {
+        guardarFactura(CLIENTE, "202501", EstadoFacturaJpa.PENDIENTE, "50000.00", 10, HOY.plusDays(3));
+        guardarFactura(CLIENTE, "202502", EstadoFacturaJpa.PENDIENTE, "40000.00", 20, HOY.plusDays(20));
+        guardarFactura(CLIENTE, "202503", EstadoFacturaJpa.PENDIENTE, "10000.00", 5, HOY);
+        guardarFactura(CLIENTE, "202412", EstadoFacturaJpa.VENCIDA, "70000.00", 30, HOY.minusDays(10));
+        guardarFactura(CLIENTE, "202411", EstadoFacturaJpa.PAGADA, "90000.00", 25, HOY.minusDays(40));
+        guardarFactura("0987654321", "202501", EstadoFacturaJpa.PENDIENTE, "99999.00", 99, HOY.plusDays(1));
+
+        Map<EstadoFacturaJpa, AgregadoEstadoFacturasProjection> porEstado = agregarPorEstado().stream()
+            .collect(Collectors.toMap(AgregadoEstadoFacturasProjection::getEstado, Function.identity()));
+
+        assertThat(porEstado).containsOnlyKeys(EstadoFacturaJpa.PENDIENTE, EstadoFacturaJpa.VENCIDA, EstadoFacturaJpa.PAGADA);
+        AgregadoEstadoFacturasProjection pendientes = porEstado.get(EstadoFacturaJpa.PENDIENTE);
+        assertThat(pendientes.getTotal()).isEqualTo(3);
+        assertThat(pendientes.getValor()).isEqualByComparingTo("100000.00");
+        assertThat(pendientes.getConsumo()).isEqualTo(35);
+        assertThat(pendientes.getProximasVencer()).isEqualTo(1);
+        assertThat(porEstado.get(EstadoFacturaJpa.VENCIDA).getTotal()).isEqualTo(1);
+        assertThat(porEstado.get(EstadoFacturaJpa.VENCIDA).getValor()).isEqualByComparingTo("70000.00");
+        assertThat(porEstado.get(EstadoFacturaJpa.PAGADA).getConsumo()).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Debe retornar vacío o ceros para un cliente sin facturas ni consumos")
+    void debeRetornarCerosSinFilas() {
+        AgregadoConsumosProjection consumos = consumoRepository.agregarPorCliente(CLIENTE);
+
+        assertThat(agregarPorEstado()).isEmpty();
+        assertThat(consumos.getTotal()).isZero();
+        assertThat(consumos.getDeuda()).isEqualByComparingTo("0");
+        assertThat(consumos.getConsumo()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Debe agregar los consumos de energía del cliente en la consulta")
+    void debeAgregarConsumos() {
+        for (String periodo : new String[] {"202501", "202502"}) {
+            consumoRepository.save(ConsumoEnergiaJpaEntity.builder()
+                .clienteId(CLIENTE)
+                .periodo(periodo)
+                .consumo(new BigDecimal("300"))
+                .valorPagar(new BigDecimal("150000.00"))
+                .fechaLectura(HOY)
+                .estrato("3")
+                .build());
+        }
+
+        AgregadoConsumosProjection agregado = consumoRepository.agregarPorCliente(CLIENTE);
+
+        assertThat(agregado.getTotal()).isEqualTo(2);
+        assertThat(agregado.getDeuda()).isEqualByComparingTo("300000.00");
+        assertThat(agregado.getConsumo()).isEqualByComparingTo("600");
+    }
+
+    @Test
+    @DisplayName("Debe cambiar la huella aunque una actualización no supere la fecha máxima")
+    void debeCalcularVersionPorCliente() {
+        guardarFactura(CLIENTE, "202501", EstadoFacturaJpa.PENDIENTE, "50000.00", 10, HOY.plusDays(3));
+        guardarFactura(CLIENTE, "202502", EstadoFacturaJpa.PAGADA, "40000.00", 20, HOY.minusDays(3));
+        guardarFactura("0987654321", "202501", EstadoFacturaJpa.PENDIENTE, "99999.00", 99, HOY.plusDays(1));
+        entityManager.flush();
+        LocalDateTime ultima = facturaRepository.findByClienteId(CLIENTE).stream()
+            .map(FacturaJpaEntity::getFechaActualizacion).max(LocalDateTime::compareTo).orElseThrow();
+
+        VersionFacturasProjection antes = facturaRepository.versionPorCliente(CLIENTE);
+        // Una transaccion que escribio la fila antes que la ultima y confirmo despues
+        entityManager.getEntityManager().createNativeQuery("UPDATE facturas_acueducto " +
+                "SET fecha_actualizacion = fecha_actualizacion - INTERVAL '1' DAY WHERE periodo = '202501'")
+            .executeUpdate();
+        entityManager.clear();
+        VersionFacturasProjection despues = facturaRepository.versionPorCliente(CLIENTE);
+        VersionFacturasProjection sinFacturas = facturaRepository.versionPorCliente("1111111111");
+
+        assertThat(antes.getTotal()).isEqualTo(2);
+        assertThat(antes.getUltimaActualizacion()).isCloseTo(ultima, within(1, ChronoUnit.MICROS));
+        assertThat(despues.getTotal()).isEqualTo(antes.getTotal());
+        assertThat(despues.getSumaSegundos().longValue()).isNotEqualTo(antes.getSumaSegundos().longValue());
+        assertThat(sinFacturas.getTotal()).isZero();
+        assertThat(sinFacturas.getUltimaActualizacion()).isNull();
+        assertThat(sinFacturas.getSumaSegundos().longValue()).isZero();
+    }
+}
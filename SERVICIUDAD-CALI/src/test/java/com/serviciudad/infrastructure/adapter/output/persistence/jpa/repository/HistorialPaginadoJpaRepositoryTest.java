@@ -0,0 +1,99 @@
+package com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository;
+
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.ConsumoEnergiaJpaEntity;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
+import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios de las consultas keyset del historial de FacturaJpaRepository y
+ * ConsumoEnergiaJpaRepository.
+ *
+ * Recorre el historial de un cliente página a página con el último periodo entregado y
+ * verifica el orden descendente, el límite y que no se repitan ni salten periodos.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DataJpaTest(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@DisplayName("Repository: Historial paginado JPA - Tests Unitarios")
+class HistorialPaginadoJpaRepositoryTest {
+
+    private static final String CLIENTE = "1234567890";
+    private static final List<String> PERIODOS = List.of("202410", "202411", "202412", "202501", "202502");
+
+    @Autowired
+    private FacturaJpaRepository facturaRepository;
+
+    @Autowired
+    private ConsumoEnergiaJpaRepository consumoRepository;
+
+    @Test
+    @DisplayName("Debe recorrer las facturas del cliente por periodo descendente sin repetir")
+    void debeRecorrerFacturasPorPeriodo() {
+        for (String cliente : new String[] {CLIENTE, "0987654321"}) {
+            for (String periodo : PERIODOS) {
+                facturaRepository.save(FacturaJpaEntity.builder()
+                    .clienteId(cliente)
+                    .periodo(periodo)
+                    .consumo(10)
+                    .valorPagar(new BigDecimal("50000.00"))
+                    .estado(EstadoFacturaJpa.PENDIENTE)
+                    .fechaVencimiento(LocalDate.of(2025, 3, 10))
+                    .fechaCreacion(LocalDateTime.now())
+                    .fechaActualizacion(LocalDateTime.now())
+                    .build());
+            }
+        }
+
+        List<String> recorridos = new ArrayList<>();
+        List<FacturaJpaEntity> pagina = facturaRepository.findByClienteIdOrderByPeriodoDesc(CLIENTE, Limit.of(2));
+        while (!pagina.isEmpty()) {
+            assertThat(pagina).hasSizeLessThanOrEqualTo(2).allMatch(f -> f.getClienteId().equals(CLIENTE));
+            pagina.forEach(f -> recorridos.add(f.getPeriodo()));
+            pagina = facturaRepository.findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(
+                CLIENTE, recorridos.get(recorridos.size() - 1), Limit.of(2));
+        }
+
+        assertThat(recorridos).containsExactly("202502", "202501", "202412", "202411", "202410");
+    }
+
+    @Test
+    @DisplayName("Debe retornar los consumos anteriores al periodo del cursor con el límite pedido")
+    void debeRetornarConsumosAnterioresAlCursor() {
+        for (String periodo : PERIODOS) {
+            consumoRepository.save(ConsumoEnergiaJpaEntity.builder()
+                .clienteId(CLIENTE)
+                .periodo(periodo)
+                .consumo(new BigDecimal("300"))
+                .valorPagar(new BigDecimal("150000.00"))
+                .fechaLectura(LocalDate.of(2025, 3, 1))
+                .estrato("3")
+                .build());
+        }
+
+        assertThat(consumoRepository.findByClienteIdOrderByPeriodoDesc(CLIENTE, Limit.of(1)))
+            .extracting(ConsumoEnergiaJpaEntity::getPeriodo)
+            .containsExactly("202502");
+        assertThat(consumoRepository.findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(CLIENTE, "202501", Limit.of(3)))
+            .extracting(ConsumoEnergiaJpaEntity::getPeriodo)
+            .containsExactly("202412", "202411", "202410");
+        assertThat(consumoRepository.findByClienteIdAndPeriodoLessThanOrderByPeriodoDesc(CLIENTE, "202410", Limit.of(3)))
+            .isEmpty();
+    }
+}
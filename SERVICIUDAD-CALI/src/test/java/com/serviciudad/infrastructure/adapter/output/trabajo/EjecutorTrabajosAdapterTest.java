@@ -0,0 +1,158 @@
+package com.serviciudad.infrastructure.adapter.output.trabajo;
+
+import com.serviciudad.domain.exception.TrabajosSaturadosException;
+import com.serviciudad.domain.model.EstadoTrabajo;
+import com.serviciudad.domain.model.Trabajo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para EjecutorTrabajosAdapter.
+ *
+ * Verifica los estados del trabajo, los conteos y la tasa reportados, la estimación del
+ * tiempo restante mientras se ejecuta, el registro del error de un trabajo fallido y el
+ * rechazo cuando la cola del ejecutor está llena.
+ *
+ * @author Equipo ServiCiudad Cali
+ * @version 1.0
+ */
+@DisplayName("Adapter: EjecutorTrabajos - Tests Unitarios")
+class EjecutorTrabajosAdapterTest {
+
+    private ExecutorService hilos;
+
+    @AfterEach
+    void tearDown() {
+        if (hilos != null) {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe completar el trabajo con sus conteos y tasa")
+    void debeCompletarTrabajoConConteos() {
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(Runnable::run, 60);
+
+        Trabajo enviado = adapter.enviar("marcado-vencidas", progreso -> {
+            progreso.estimarTotal(10);
+            progreso.registrar(6, 4);
+            progreso.registrar(4, 4);
+        });
+
+        Trabajo trabajo = adapter.consultar(enviado.getId()).orElseThrow();
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.COMPLETADO);
+        assertThat(trabajo.getTipo()).isEqualTo("marcado-vencidas");
+        assertThat(trabajo.getTotal()).isEqualTo(10);
+        assertThat(trabajo.getProcesados()).isEqualTo(10);
+        assertThat(trabajo.getActualizados()).isEqualTo(8);
+        assertThat(trabajo.getProcesadosPorSegundo()).isPositive();
+        assertThat(trabajo.getSegundosRestantes()).isNull();
+        assertThat(trabajo.getFechaFin()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debe estimar el tiempo restante mientras el trabajo se ejecuta")
+    void debeEstimarTiempoRestante() throws InterruptedException {
+        hilos = Executors.newSingleThreadExecutor();
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(hilos, 60);
+        CountDownLatch avanzado = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+
+        Trabajo enviado = adapter.enviar("importacion-energia", progreso -> {
+            progreso.estimarTotal(1000);
+            progreso.registrar(250, 250);
+            avanzado.countDown();
+            try {
+                continuar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(avanzado.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(20);
+
+        Trabajo enCurso = adapter.consultar(enviado.getId()).orElseThrow();
+        continuar.countDown();
+
+        assertThat(enCurso.getEstado()).isEqualTo(EstadoTrabajo.EN_EJECUCION);
+        assertThat(enCurso.getProcesados()).isEqualTo(250);
+        assertThat(enCurso.getSegundosRestantes()).isNotNull().isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Debe registrar el error de un trabajo fallido")
+    void debeRegistrarErrorDeTrabajoFallido() {
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(Runnable::run, 60);
+
+        Trabajo enviado = adapter.enviar("marcado-vencidas", progreso -> {
+            throw new IllegalStateException("conexion perdida");
+        });
+
+        Trabajo trabajo = adapter.consultar(enviado.getId()).orElseThrow();
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.FALLIDO);
+        assertThat(trabajo.getError()).isEqualTo("conexion perdida");
+    }
+
+    @Test
+    @DisplayName("Debe marcar como fallido un trabajo que termina con un Error")
+    void debeMarcarFallidoTrabajoConError() throws InterruptedException {
+        hilos = Executors.newSingleThreadExecutor();
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(hilos, 60);
+
+        Trabajo enviado = adapter.enviar("importacion-energia", progreso -> {
+            throw new AssertionError("invariante rota");
+        });
+
+        Trabajo trabajo = adapter.consultar(enviado.getId()).orElseThrow();
+        for (int intentos = 0; !trabajo.getEstado().esFinal() && intentos < 100; intentos++) {
+            Thread.sleep(10);
+            trabajo = adapter.consultar(enviado.getId()).orElseThrow();
+        }
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.FALLIDO);
+        assertThat(trabajo.getError()).isEqualTo("AssertionError: invariante rota");
+        assertThat(trabajo.getFechaFin()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el trabajo si la cola está llena y no conservarlo")
+    void debeRechazarTrabajoConColaLlena() {
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(tarea -> {
+            throw new RejectedExecutionException("cola llena");
+        }, 60);
+
+        assertThatThrownBy(() -> adapter.enviar("marcado-vencidas", progreso -> { }))
+            .isInstanceOf(TrabajosSaturadosException.class);
+    }
+
+    @Test
+    @DisplayName("Debe reportar un trabajo encolado sin tasa ni tiempo restante")
+    void debeReportarTrabajoEncolado() {
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(tarea -> { }, 60);
+
+        Trabajo trabajo = adapter.enviar("marcado-vencidas", progreso -> { });
+
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.EN_COLA);
+        assertThat(trabajo.getProcesadosPorSegundo()).isZero();
+        assertThat(adapter.consultar("desconocido")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe descartar los trabajos terminados tras la retención")
+    void debeDescartarTrabajosTerminados() {
+        EjecutorTrabajosAdapter adapter = new EjecutorTrabajosAdapter(Runnable::run, 0);
+        Trabajo terminado = adapter.enviar("marcado-vencidas", progreso -> { });
+
+        adapter.enviar("marcado-vencidas", progreso -> { });
+
+        assertThat(adapter.consultar(terminado.getId())).isEmpty();
+    }
+}
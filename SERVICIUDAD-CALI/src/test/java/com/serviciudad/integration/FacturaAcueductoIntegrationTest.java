@@ -1,5 +1,7 @@
 package com.serviciudad.integration;
 
+import com.serviciudad.application.dto.response.TrabajoResponse;
+import com.serviciudad.domain.model.EstadoTrabajo;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.EstadoFacturaJpa;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.entity.FacturaJpaEntity;
 import com.serviciudad.infrastructure.adapter.output.persistence.jpa.repository.FacturaJpaRepository;
@@ -154,7 +156,7 @@ class FacturaAcueductoIntegrationTest extends AbstractIntegrationTest {
 
     @Test
     @DisplayName("E2E: Debe marcar facturas vencidas automáticamente")
-    void debeMarcarFacturasVencidas() {
+    void debeMarcarFacturasVencidas() throws InterruptedException {
         // Arrange - Crear factura con fecha vencida
         FacturaJpaEntity facturaVencida = FacturaJpaEntity.builder()
             .clienteId(clienteId)
@@ -168,15 +170,27 @@ class FacturaAcueductoIntegrationTest extends AbstractIntegrationTest {
             .build();
         facturaRepository.save(facturaVencida);
 
-        // Act - Llamar endpoint para marcar vencidas
-        ResponseEntity<Void> response = restTemplate.postForEntity(
+        // Act - Lanzar el marcado de vencidas como trabajo asincrono
+        ResponseEntity<TrabajoResponse> response = restTemplate.postForEntity(
             "/api/facturas/marcar-vencidas",
             null,
-            Void.class
+            TrabajoResponse.class
         );
 
-        // Assert
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // Assert - 202 con la URL de seguimiento del trabajo
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        String trabajoId = response.getBody().getId();
+        assertThat(trabajoId).isNotBlank();
+        assertThat(response.getHeaders().getLocation()).hasToString("/api/jobs/" + trabajoId);
+
+        // Esperar a que el trabajo termine
+        TrabajoResponse trabajo = response.getBody();
+        for (int intentos = 0; !esFinal(trabajo) && intentos < 100; intentos++) {
+            Thread.sleep(100);
+            trabajo = restTemplate.getForObject("/api/jobs/{id}", TrabajoResponse.class, trabajoId);
+        }
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.COMPLETADO.name());
 
         // Verificar que el estado cambió a VENCIDA en BD
         Optional<FacturaJpaEntity> facturaActualizada = facturaRepository.findById(facturaVencida.getId());
@@ -217,4 +231,9 @@ class FacturaAcueductoIntegrationTest extends AbstractIntegrationTest {
             .build();
         return facturaRepository.save(factura);
     }
+
+    private static boolean esFinal(TrabajoResponse trabajo) {
+        return EstadoTrabajo.valueOf(trabajo.getEstado()).esFinal();
+    }
+
 }